@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# Compara latência e throughput entre os endpoints MVC (porta 8080) e reativos (porta 8081)
+# com 10k conexões concorrentes.
+#
+# Sobe a aplicação uma vez com o profile reactive (as duas pilhas ficam no mesmo processo) e roda
+# o k6 contra cada porta em sequência. Ao final imprime uma tabela com req/s e p50/p99 por endpoint.
+#
+# Pré-requisitos: Postgres do docker-compose rodando, k6 instalado, ./gradlew bootJar executado,
+# ulimit -n acima de 20000 na máquina do k6 e dois usuários comuns com saldo.
+#
+# Uso: USER_ID=<uuid> PAYER_CPF=<cpf> PAYEE_CPF=<cpf> USERNAME=<email> PASSWORD=<senha> \
+#        VUS=10000 DURATION=60s scripts/load-test/compare-reactive-mvc.sh
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/../.." && pwd)"
+JAR="$(ls "$ROOT_DIR"/build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)"
+VUS="${VUS:-10000}"
+DURATION="${DURATION:-60s}"
+OUT_DIR="${OUT_DIR:-$ROOT_DIR/build/load-test}"
+mkdir -p "$OUT_DIR"
+
+: "${USER_ID:?defina USER_ID}"
+: "${PAYER_CPF:?defina PAYER_CPF}"
+: "${PAYEE_CPF:?defina PAYEE_CPF}"
+: "${USERNAME:?defina USERNAME}"
+: "${PASSWORD:?defina PASSWORD}"
+
+SPRING_PROFILES_ACTIVE="${SPRING_PROFILES_ACTIVE:-dev},reactive" java -Xmx2g -jar "$JAR" \
+  > "$OUT_DIR/reactive-mvc-app.log" 2>&1 &
+APP_PID=$!
+trap "kill $APP_PID 2>/dev/null || true" EXIT
+
+until curl -sf "http://localhost:8080/api/v1/health/ready" > /dev/null; do sleep 1; done
+
+summary() {
+  # Extrai uma estatística do resumo exportado pelo k6
+  python3 - "$1" "$2" "$3" <<'PY'
+import json, sys
+path, metric, stat = sys.argv[1:]
+value = json.load(open(path))['metrics'][metric][stat]
+print(round(value, 1))
+PY
+}
+
+run_stack() {
+  local stack="$1" port="$2"
+  echo "==> $stack (porta $port)"
+
+  k6 run -q -e BASE_URL="http://localhost:$port/api/v1" -e USER_ID="$USER_ID" \
+    -e PAYER_CPF="$PAYER_CPF" -e PAYEE_CPF="$PAYEE_CPF" -e USERNAME="$USERNAME" -e PASSWORD="$PASSWORD" \
+    -e VUS="$VUS" -e DURATION="$DURATION" --summary-export "$OUT_DIR/$stack-summary.json" \
+    "$ROOT_DIR/scripts/load-test/reactive-vs-mvc.js" > "$OUT_DIR/$stack-k6.log" 2>&1 || true
+
+  local file="$OUT_DIR/$stack-summary.json"
+  printf "%s,%s,%s,%s,%s\n" "$stack" \
+    "$(summary "$file" http_reqs rate)" \
+    "$(summary "$file" http_req_duration 'p(50)')" \
+    "$(summary "$file" http_req_duration 'p(99)')" \
+    "$(summary "$file" http_req_failed rate)" >> "$OUT_DIR/reactive-mvc.csv"
+}
+
+echo "stack,req_per_s,p50_ms,p99_ms,error_rate" > "$OUT_DIR/reactive-mvc.csv"
+run_stack mvc 8080
+run_stack reactive "${REACTIVE_PORT:-8081}"
+
+column -s, -t "$OUT_DIR/reactive-mvc.csv"
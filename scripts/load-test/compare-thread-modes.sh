@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Compara throughput e memória por requisição concorrente entre platform threads e virtual threads.
+#
+# Para cada modo: sobe a aplicação (bootJar), roda o k6 com VUS usuários concorrentes e, no pico,
+# coleta RSS do processo, heap usada e threads vivas. Ao final imprime uma tabela comparativa.
+#
+# Pré-requisitos: Postgres do docker-compose rodando, k6 instalado, ./gradlew bootJar executado,
+# e um lojista com chave de API (MERCHANT_ID e API_KEY).
+#
+# Uso: MERCHANT_ID=<uuid> API_KEY=<mk_...> VUS=1000 DURATION=60s scripts/load-test/compare-thread-modes.sh
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/../.." && pwd)"
+JAR="$(ls "$ROOT_DIR"/build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)"
+BASE_URL="http://localhost:8080/api/v1"
+VUS="${VUS:-1000}"
+DURATION="${DURATION:-60s}"
+OUT_DIR="${OUT_DIR:-$ROOT_DIR/build/load-test}"
+mkdir -p "$OUT_DIR"
+
+: "${MERCHANT_ID:?defina MERCHANT_ID}"
+: "${API_KEY:?defina API_KEY}"
+
+metric() {
+  # Soma as séries de uma métrica Prometheus
+  curl -s "$BASE_URL/v1/metrics" | awk -v name="$1" '$1 ~ "^"name"({|$)" { sum += $2 } END { printf "%.0f", sum }'
+}
+
+run_mode() {
+  local mode="$1" enabled="$2"
+  echo "==> $mode (spring.threads.virtual.enabled=$enabled)"
+
+  VIRTUAL_THREADS_ENABLED="$enabled" java -Xmx1g -jar "$JAR" > "$OUT_DIR/$mode-app.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" RETURN
+
+  until curl -sf "$BASE_URL/health/ready" > /dev/null; do sleep 1; done
+
+  k6 run -q -e BASE_URL="$BASE_URL" -e MERCHANT_ID="$MERCHANT_ID" -e API_KEY="$API_KEY" \
+    -e VUS="$VUS" -e DURATION="$DURATION" --summary-export "$OUT_DIR/$mode-summary.json" \
+    "$ROOT_DIR/scripts/load-test/thread-modes.js" > "$OUT_DIR/$mode-k6.log" 2>&1 &
+  local k6_pid=$!
+
+  # Amostra no meio do teste, com todos os VUs ativos
+  sleep "$(( ${DURATION%s} / 2 ))"
+  local rss_kb heap threads
+  rss_kb="$(ps -o rss= -p "$pid" | tr -d ' ')"
+  heap="$(metric jvm_memory_used_bytes)"
+  threads="$(metric jvm_threads_live_threads)"
+  wait "$k6_pid" || true
+
+  local rps p99
+  rps="$(python3 -c "import json;print(round(json.load(open('$OUT_DIR/$mode-summary.json'))['metrics']['http_reqs']['rate'],1))")"
+  p99="$(python3 -c "import json;print(round(json.load(open('$OUT_DIR/$mode-summary.json'))['metrics']['http_req_duration']['p(99)'],1))")"
+
+  printf "%s,%s,%s,%s,%s,%s,%s\n" "$mode" "$rps" "$p99" "$rss_kb" "$heap" "$threads" \
+    "$(( rss_kb * 1024 / VUS ))" >> "$OUT_DIR/results.csv"
+}
+
+echo "mode,req_per_s,p99_ms,rss_kb,jvm_memory_used_bytes,live_threads,rss_bytes_per_concurrent_request" > "$OUT_DIR/results.csv"
+run_mode platform false
+run_mode virtual true
+
+column -s, -t "$OUT_DIR/results.csv"
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Mede a busca de credenciais do login (por cpf e por email) direto no Postgres, com pgbench.
+#
+# Insere BENCH_USERS usuários sintéticos (email @login-bench.test), roda VACUUM (ANALYZE) e, para
+# cada busca, imprime o plano (EXPLAIN ANALYZE, BUFFERS) e o TPS/latência do pgbench com CLIENTS
+# conexões. Com os índices cobrindo do V7, o plano esperado é "Index Only Scan" com
+# "Heap Fetches: 0". Os usuários sintéticos são removidos ao final.
+#
+# Pré-requisitos: Postgres do docker-compose rodando e migrado (./gradlew bootRun uma vez).
+#
+# Uso: BENCH_USERS=200000 CLIENTS=32 DURATION=30 scripts/load-test/login-lookup.sh
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/../.." && pwd)"
+CONTAINER="${CONTAINER:-payment-api-postgres}"
+DB="${DB:-payment_api}"
+DB_USER="${DB_USER:-payment_user}"
+BENCH_USERS="${BENCH_USERS:-200000}"
+CLIENTS="${CLIENTS:-32}"
+DURATION="${DURATION:-30}"
+OUT_DIR="${OUT_DIR:-$ROOT_DIR/build/load-test}"
+mkdir -p "$OUT_DIR"
+
+psql() {
+  docker exec -i "$CONTAINER" psql -v ON_ERROR_STOP=1 -q -U "$DB_USER" -d "$DB" "$@"
+}
+
+cleanup() {
+  psql -c "DELETE FROM users WHERE email LIKE '%@login-bench.test'" || true
+}
+trap cleanup EXIT
+
+echo "==> Inserindo $BENCH_USERS usuários sintéticos"
+# CPFs sintéticos começam com 9 e e-mails usam um domínio próprio: não colidem com dados reais
+psql <<SQL
+INSERT INTO users (nome_completo, cpf, email, senha, user_type)
+SELECT 'Bench ' || i, '9' || lpad(i::text, 10, '0'), 'user' || i || '@login-bench.test',
+       repeat('x', 60), 'COMMON_USER'
+FROM generate_series(1, $BENCH_USERS) AS i
+ON CONFLICT DO NOTHING;
+VACUUM (ANALYZE) users;
+SQL
+
+run_lookup() {
+  local name="$1" predicate="$2"
+  echo "==> $name"
+  psql -c "EXPLAIN (ANALYZE, BUFFERS) SELECT id, senha, user_type, nome_completo, email FROM users
+           WHERE $(sed "s/:i/1234/g" <<< "$predicate")" | tee "$OUT_DIR/login-$name-plan.txt"
+
+  cat > "$OUT_DIR/login-$name.sql" <<SQL
+\set i random(1, $BENCH_USERS)
+SELECT id, senha, user_type, nome_completo, email FROM users WHERE $predicate;
+SQL
+  docker exec -i "$CONTAINER" sh -c "cat > /tmp/login-$name.sql" < "$OUT_DIR/login-$name.sql"
+  docker exec "$CONTAINER" pgbench -n -M prepared -U "$DB_USER" -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" \
+    -f "/tmp/login-$name.sql" "$DB" | tee "$OUT_DIR/login-$name-pgbench.txt" | grep -E "latency|tps"
+}
+
+run_lookup by_cpf "cpf = '9' || lpad(:i::text, 10, '0')"
+run_lookup by_email "email = 'user' || :i || '@login-bench.test'"
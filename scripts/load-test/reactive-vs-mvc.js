@@ -0,0 +1,48 @@
+// Teste de carga para comparar a pilha MVC (Tomcat/JDBC) com a variante reativa (Reactor Netty/R2DBC).
+// Cada VU alterna consultas de saldo com transferências de 1 centavo entre dois usuários comuns,
+// autenticado por Basic auth do pagador.
+//
+// Uso: k6 run -e BASE_URL=http://localhost:8081/api/v1 -e USER_ID=<uuid> -e PAYER_CPF=<cpf> \
+//        -e PAYEE_CPF=<cpf> -e USERNAME=<email> -e PASSWORD=<senha> -e VUS=10000 -e DURATION=60s \
+//        scripts/load-test/reactive-vs-mvc.js
+import http from 'k6/http';
+import encoding from 'k6/encoding';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api/v1';
+const USER_ID = __ENV.USER_ID;
+const AUTH = `Basic ${encoding.b64encode(`${__ENV.USERNAME}:${__ENV.PASSWORD}`)}`;
+const TRANSFER_RATIO = Number(__ENV.TRANSFER_RATIO || 0.1);
+
+export const options = {
+  scenarios: {
+    steady: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 10000),
+      duration: __ENV.DURATION || '60s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+  if (Math.random() < TRANSFER_RATIO) {
+    const transfer = http.post(`${BASE_URL}/transfer`, JSON.stringify({
+      value: 0.01,
+      payer: __ENV.PAYER_CPF,
+      payee: __ENV.PAYEE_CPF,
+    }), {
+      headers: { Authorization: AUTH, 'Content-Type': 'application/json' },
+      tags: { endpoint: 'transfer' },
+    });
+    // 422 (saldo esgotado) e 403 (autorização negada) são respostas válidas sob carga
+    check(transfer, { 'transfer respondido': (r) => [201, 403, 422].includes(r.status) });
+    return;
+  }
+
+  const balance = http.get(`${BASE_URL}/wallets/${USER_ID}/balance`, {
+    headers: { Authorization: AUTH },
+    tags: { endpoint: 'balance' },
+  });
+  check(balance, { 'balance 200': (r) => r.status === 200 });
+}
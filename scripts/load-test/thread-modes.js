@@ -0,0 +1,34 @@
+// Teste de carga para comparar platform threads x virtual threads.
+// Cada VU faz uma requisição autenticada por chave de API que consulta o banco
+// (listagem de chaves do lojista) e um readiness check.
+//
+// Uso: k6 run -e BASE_URL=http://localhost:8080/api/v1 -e MERCHANT_ID=<uuid> -e API_KEY=<mk_...> \
+//        -e VUS=500 -e DURATION=60s scripts/load-test/thread-modes.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api/v1';
+const MERCHANT_ID = __ENV.MERCHANT_ID;
+const API_KEY = __ENV.API_KEY;
+
+export const options = {
+  scenarios: {
+    steady: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 500),
+      duration: __ENV.DURATION || '60s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+  const keys = http.get(`${BASE_URL}/merchants/${MERCHANT_ID}/api-keys`, {
+    headers: { 'X-API-Key': API_KEY },
+    tags: { endpoint: 'list_api_keys' },
+  });
+  check(keys, { 'api keys 200': (r) => r.status === 200 });
+
+  const ready = http.get(`${BASE_URL}/health/ready`, { tags: { endpoint: 'ready' } });
+  check(ready, { 'ready 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,73 @@
+package com.paymentapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.response.ErrorResponse;
+import com.paymentapi.service.MerchantApiKeyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filtro de autenticação por chave de API (header X-API-Key) para integrações de lojistas.
+ * Requisições sem o header seguem para a autenticação HTTP Basic normalmente.
+ * Não é um @Component: é registrado só na cadeia do Spring Security, pelo SecurityConfig.
+ */
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+    public static final String MERCHANT_ROLE = "ROLE_MERCHANT";
+
+    private static final List<SimpleGrantedAuthority> MERCHANT_AUTHORITIES =
+        List.of(new SimpleGrantedAuthority(MERCHANT_ROLE));
+
+    private final MerchantApiKeyService merchantApiKeyService;
+    private final ObjectMapper objectMapper;
+
+    public ApiKeyAuthenticationFilter(MerchantApiKeyService merchantApiKeyService, ObjectMapper objectMapper) {
+        this.merchantApiKeyService = merchantApiKeyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey == null || apiKey.isBlank()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<UserContext> merchant = merchantApiKeyService.authenticate(apiKey.trim());
+        if (merchant.isEmpty()) {
+            // Chave apresentada e inválida: responde 401 sem cair no HTTP Basic
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse("Chave de API inválida ou revogada", "authentication_error"));
+            return;
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(
+            new UsernamePasswordAuthenticationToken(merchant.get(), null, MERCHANT_AUTHORITIES));
+        SecurityContextHolder.setContext(context);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.paymentapi.config;
+
+import com.paymentapi.metrics.DomainEventMetrics;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor dos listeners assíncronos dos eventos de domínio (saldo alterado, transferência concluída).
+ * <p>
+ * Os eventos são publicados dentro da transação e só entram neste executor depois do commit, com o
+ * lock das linhas já liberado. O executor é limitado: com a fila cheia o listener roda na própria
+ * thread que commitou (backpressure para quem publica em vez de descartar o evento). A falha de um
+ * listener é registrada e não afeta os demais nem a transação, que já foi commitada.
+ * O MDC (correlation ID) de quem publicou é propagado para o listener.
+ */
+@Configuration
+public class DomainEventConfig implements AsyncConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventConfig.class);
+
+    public static final String DOMAIN_EVENT_EXECUTOR = "domainEventExecutor";
+
+    private final DomainEventMetrics domainEventMetrics;
+
+    public DomainEventConfig(@Lazy DomainEventMetrics domainEventMetrics) {
+        this.domainEventMetrics = domainEventMetrics;
+    }
+
+    @Bean(name = DOMAIN_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor domainEventExecutor(
+            @Value("${payment.domain-events.core-size:4}") int coreSize,
+            @Value("${payment.domain-events.max-size:8}") int maxSize,
+            @Value("${payment.domain-events.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("domain-event-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(task -> {
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            return () -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    task.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        });
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            domainEventMetrics.recordCallerRuns();
+            new ThreadPoolExecutor.CallerRunsPolicy().rejectedExecution(task, pool);
+        });
+        // No shutdown, os eventos já enfileirados ainda são entregues
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        domainEventMetrics.bindQueueDepthGauge(executor.getThreadPoolExecutor());
+        return executor;
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (e, method, params) -> {
+            domainEventMetrics.recordListenerFailure(method.getName());
+            logger.error("Async listener failed. Listener: {}.{}, Error: {}",
+                method.getDeclaringClass().getSimpleName(), method.getName(), e.getMessage(), e);
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.paymentapi.config;
+
+import com.paymentapi.dto.response.ErrorResponse;
+import com.paymentapi.service.MerchantApiKeyService;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Autenticação dos endpoints reativos, com as mesmas credenciais da cadeia MVC:
+ * chave de API de lojista (X-API-Key) ou HTTP Basic.
+ * Verificações que podem bloquear (cache miss de chave, BCrypt) rodam no scheduler boundedElastic,
+ * fora do event loop. O lojista autenticado por chave fica no atributo {@link #MERCHANT_ATTRIBUTE}
+ * da requisição, para os handlers restringirem o acesso às próprias carteiras.
+ */
+public class ReactiveAuthenticationFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    public static final String MERCHANT_ATTRIBUTE = ReactiveAuthenticationFilter.class.getName() + ".merchant";
+
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final MerchantApiKeyService merchantApiKeyService;
+    private final ReactiveAuthenticationManager authenticationManager;
+
+    public ReactiveAuthenticationFilter(MerchantApiKeyService merchantApiKeyService,
+                                        ReactiveAuthenticationManager authenticationManager) {
+        this.merchantApiKeyService = merchantApiKeyService;
+        this.authenticationManager = authenticationManager;
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String apiKey = request.headers().firstHeader(ApiKeyAuthenticationFilter.API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank()) {
+            return Mono.fromCallable(() -> merchantApiKeyService.authenticate(apiKey.trim()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(merchant -> {
+                    if (merchant.isEmpty()) {
+                        return unauthorized("Chave de API inválida ou revogada");
+                    }
+                    request.attributes().put(MERCHANT_ATTRIBUTE, merchant.get());
+                    return next.handle(request);
+                });
+        }
+
+        String authorization = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BASIC_PREFIX)) {
+            UsernamePasswordAuthenticationToken token = decodeBasic(authorization);
+            if (token == null) {
+                return unauthorized("Credenciais inválidas");
+            }
+            return authenticationManager.authenticate(token)
+                .flatMap(authentication -> next.handle(request))
+                .onErrorResume(AuthenticationException.class, e -> unauthorized("Credenciais inválidas"));
+        }
+
+        return unauthorized("Autenticação obrigatória");
+    }
+
+    private static UsernamePasswordAuthenticationToken decodeBasic(String header) {
+        try {
+            String decoded = new String(Base64.getDecoder().decode(header.substring(BASIC_PREFIX.length()).trim()),
+                StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            if (separator < 0) {
+                return null;
+            }
+            return UsernamePasswordAuthenticationToken.unauthenticated(
+                decoded.substring(0, separator), decoded.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Mono<ServerResponse> unauthorized(String detail) {
+        return ServerResponse.status(HttpStatus.UNAUTHORIZED)
+            .header(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"Realm\"")
+            .bodyValue(new ErrorResponse(detail, "authentication_error"));
+    }
+}
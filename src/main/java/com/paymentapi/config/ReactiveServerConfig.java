@@ -0,0 +1,106 @@
+package com.paymentapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.controller.ReactivePaymentHandler;
+import com.paymentapi.service.MerchantApiKeyService;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.security.authentication.ReactiveAuthenticationManagerAdapter;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Servidor Reactor Netty (event loop) da variante reativa, ativado pelo profile reactive.
+ * <p>
+ * Sobe numa porta própria ao lado do Tomcat, então as rotas MVC e as reativas rodam lado a lado
+ * no mesmo processo, com os mesmos serviços, credenciais e métricas. Rotas:
+ * <ul>
+ *   <li>GET {base-path}/wallets/{userId}/balance</li>
+ *   <li>POST {base-path}/transfer</li>
+ * </ul>
+ */
+@Component
+@Profile("reactive")
+public class ReactiveServerConfig implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveServerConfig.class);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ReactivePaymentHandler handler;
+    private final ReactiveAuthenticationFilter authenticationFilter;
+    private final ObjectMapper objectMapper;
+    private final int port;
+    private final String basePath;
+    private volatile DisposableServer server;
+
+    public ReactiveServerConfig(
+            ReactivePaymentHandler handler,
+            MerchantApiKeyService merchantApiKeyService,
+            AuthenticationConfiguration authenticationConfiguration,
+            ObjectMapper objectMapper,
+            @Value("${payment.reactive.port:8081}") int port,
+            @Value("${payment.reactive.base-path:/api/v1}") String basePath) throws Exception {
+        this.handler = handler;
+        this.authenticationFilter = new ReactiveAuthenticationFilter(merchantApiKeyService,
+            new ReactiveAuthenticationManagerAdapter(authenticationConfiguration.getAuthenticationManager()));
+        this.objectMapper = objectMapper;
+        this.port = port;
+        this.basePath = basePath;
+    }
+
+    /**
+     * @return rotas reativas com autenticação
+     */
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+            .path(basePath, builder -> builder
+                .GET("/wallets/{userId}/balance", handler::getBalance)
+                .POST("/transfer", handler::transfer))
+            .filter(authenticationFilter)
+            .build();
+    }
+
+    @Override
+    public void start() {
+        // Usa o ObjectMapper da aplicação para manter o mesmo formato JSON do MVC
+        HandlerStrategies strategies = HandlerStrategies.builder()
+            .codecs(codecs -> {
+                codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+            })
+            .build();
+
+        ReactorHttpHandlerAdapter adapter =
+            new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes(), strategies));
+        server = HttpServer.create().port(port).handle(adapter).bindNow();
+        logger.info("Reactive server started on port {} (base path {})", port, basePath);
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        if (current != null) {
+            current.disposeNow(SHUTDOWN_TIMEOUT);
+            server = null;
+            logger.info("Reactive server stopped");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
@@ -1,12 +1,22 @@
 package com.paymentapi.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.service.MerchantApiKeyService;
+import java.util.function.Supplier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 /**
  * Configuração de segurança da aplicação.
@@ -17,8 +27,14 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final AuthorizationManager<RequestAuthorizationContext> AUTHENTICATED =
+        AuthenticatedAuthorizationManager.authenticated();
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(
+            HttpSecurity http,
+            MerchantApiKeyService merchantApiKeyService,
+            ObjectMapper objectMapper) throws Exception {
         return http
             // Configura as autorizações de requisições
             .authorizeHttpRequests(authz -> authz
@@ -30,16 +46,36 @@ public class SecurityConfig {
                 .requestMatchers("/v1/health/**", "/v1/metrics").permitAll()
                 // Endpoints do Swagger são públicos
                 .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-                // Qualquer outra requisição precisa estar autenticada
-                .anyRequest().authenticated()
+                // Rotas liberadas à chave de API de lojista; a posse do recurso é checada no controller
+                .requestMatchers(HttpMethod.POST, "/payouts").authenticated()
+                .requestMatchers(HttpMethod.GET, "/wallets/*/balance", "/wallets/*/balance/stream").authenticated()
+                .requestMatchers("/merchants/*/api-keys", "/merchants/*/api-keys/*").authenticated()
+                // Qualquer outra requisição é só do usuário de serviço (HTTP Basic): transferência e
+                // saldos em lote recebem documentos de terceiros, importação cria usuários e os rollups
+                // analíticos são globais. Lojistas recebem 403
+                .anyRequest().access(SecurityConfig::authenticatedNotMerchant)
             )
             // Desabilita CSRF
             .csrf(AbstractHttpConfigurer::disable)
             // Autenticação HTTP Basic
             .httpBasic(httpBasic -> {})
+            // Autenticação por chave de API (X-API-Key) para lojistas, antes do HTTP Basic
+            .addFilterBefore(new ApiKeyAuthenticationFilter(merchantApiKeyService, objectMapper),
+                BasicAuthenticationFilter.class)
             .build();
     }
 
+    /**
+     * Autenticado e sem ROLE_MERCHANT. Lojistas autenticados recebem 403.
+     */
+    static AuthorizationDecision authenticatedNotMerchant(Supplier<Authentication> authentication,
+                                                          RequestAuthorizationContext context) {
+        AuthorizationDecision authenticated = AUTHENTICATED.check(authentication, context);
+        boolean merchant = authentication.get().getAuthorities().stream()
+            .anyMatch(authority -> ApiKeyAuthenticationFilter.MERCHANT_ROLE.equals(authority.getAuthority()));
+        return new AuthorizationDecision(authenticated != null && authenticated.isGranted() && !merchant);
+    }
+
     /**
      * Configura BCryptPasswordEncoder para hashing seguro de senhas.
      *
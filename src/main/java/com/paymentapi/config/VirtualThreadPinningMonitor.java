@@ -0,0 +1,90 @@
+package com.paymentapi.config;
+
+import com.paymentapi.service.MetricsService;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monitora pinning de virtual threads (thread bloqueada dentro de synchronized ou código nativo,
+ * prendendo a carrier thread) usando o evento JFR jdk.VirtualThreadPinned.
+ * Só é ativado quando spring.threads.virtual.enabled=true.
+ * Cada ocorrência incrementa payment_virtual_thread_pinned_total e é logada com o primeiro
+ * frame da aplicação, para localizar o trecho a corrigir.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String PINNED_TOTAL = "payment_virtual_thread_pinned_total";
+    private static final String APPLICATION_PACKAGE = "com.paymentapi.";
+
+    private final MetricsService metricsService;
+    private final Duration threshold;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(
+            MetricsService metricsService,
+            @Value("${payment.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        this.metricsService = metricsService;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Inicia o stream JFR em background quando a aplicação termina de subir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        logger.info("Virtual thread pinning monitor started (threshold={})", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String frame = firstApplicationFrame(event);
+        metricsService.incrementCounter(PINNED_TOTAL, Map.of());
+        logger.warn("Virtual thread pinned: durationMs={} frame={}", event.getDuration().toMillis(), frame);
+    }
+
+    private static String firstApplicationFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        RecordedFrame top = null;
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            if (top == null) {
+                top = frame;
+            }
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return top == null ? "unknown" : describe(top);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
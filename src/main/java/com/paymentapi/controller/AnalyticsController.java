@@ -0,0 +1,71 @@
+package com.paymentapi.controller;
+
+import com.paymentapi.dto.response.AnalyticsSeriesResponse;
+import com.paymentapi.entity.enums.RollupGranularity;
+import com.paymentapi.service.AnalyticsRollupService;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller responsável pelas consultas dos rollups de eventos analíticos.
+ */
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsRollupService analyticsRollupService;
+
+    public AnalyticsController(AnalyticsRollupService analyticsRollupService) {
+        this.analyticsRollupService = analyticsRollupService;
+    }
+
+    /**
+     * Consulta as séries de contagem e soma de valores dos eventos analíticos no intervalo.
+     *
+     * @param from início do intervalo, em epoch millis ou ISO-8601 com offset
+     * @param to fim do intervalo (exclusivo), em epoch millis ou ISO-8601 com offset
+     * @param eventType filtro por tipo de evento (opcional)
+     * @param userType filtro por tipo de usuário (opcional)
+     * @param granularity minute, hour ou day (opcional; escolhida pelo tamanho do intervalo)
+     * @return séries com os instantes em milissegundos
+     */
+    @GetMapping("/rollups")
+    public ResponseEntity<AnalyticsSeriesResponse> getRollups(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String userType,
+            @RequestParam(required = false) String granularity) {
+        return ResponseEntity.ok(analyticsRollupService.getSeries(
+            eventType, userType, parseInstant("from", from), parseInstant("to", to), parseGranularity(granularity)));
+    }
+
+    private static Instant parseInstant(String name, String value) {
+        try {
+            if (value.chars().allMatch(Character::isDigit)) {
+                return Instant.ofEpochMilli(Long.parseLong(value));
+            }
+            return OffsetDateTime.parse(value).toInstant();
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Parâmetro '" + name + "' inválido: " + value);
+        }
+    }
+
+    private static RollupGranularity parseGranularity(String granularity) {
+        if (granularity == null || granularity.isBlank()) {
+            return null;
+        }
+        try {
+            return RollupGranularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Granularidade inválida: " + granularity);
+        }
+    }
+}
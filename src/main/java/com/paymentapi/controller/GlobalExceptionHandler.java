@@ -1,7 +1,21 @@
 package com.paymentapi.controller;
 
 import com.paymentapi.dto.response.ErrorResponse;
+import com.paymentapi.exception.ApiKeyNotAllowedException;
+import com.paymentapi.exception.ApiKeyNotFoundException;
+import com.paymentapi.exception.AuthorizationUnavailableException;
+import com.paymentapi.exception.BalanceStreamLimitException;
+import com.paymentapi.exception.BusinessException;
+import com.paymentapi.exception.InsufficientFundsException;
+import com.paymentapi.exception.NegativeBalanceException;
+import com.paymentapi.exception.ScheduledTransferNotFoundException;
+import com.paymentapi.exception.TransferBlockedException;
+import com.paymentapi.exception.TransferLimitExceededException;
+import com.paymentapi.exception.TransferNotAllowedException;
+import com.paymentapi.exception.TransferNotAuthorizedException;
+import com.paymentapi.exception.TransferTimeoutException;
 import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.exception.WalletAccessDeniedException;
 import com.paymentapi.util.CorrelationIdUtil;
 import java.time.Instant;
 import java.util.HashMap;
@@ -121,6 +135,338 @@ public class GlobalExceptionHandler {
         }
     }
 
+    /**
+     * Trata tentativas de emitir chave de API para usuário que não é lojista.
+     * <p>
+     * Retorna HTTP 403 Forbidden.
+     *
+     * @param ex exceção de chave de API não permitida
+     * @param request contexto da requisição web
+     * @return ResponseEntity com ErrorResponse e HTTP 403
+     */
+    @ExceptionHandler(ApiKeyNotAllowedException.class)
+    public ResponseEntity<ErrorResponse> handleApiKeyNotAllowedException(
+            ApiKeyNotAllowedException ex,
+            WebRequest request) {
+
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        String requestPath = getRequestPath(request);
+        String errorType = ex.getClass().getSimpleName();
+
+        try {
+            CorrelationIdUtil.setMdcContext("error_type", errorType);
+            CorrelationIdUtil.setMdcContext("request_path", requestPath);
+
+            logger.warn(
+                    "API key not allowed: correlationId={} requestPath={} message={}",
+                    correlationId,
+                    requestPath,
+                    ex.getMessage()
+            );
+
+            ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                "api_key_not_allowed"
+            );
+
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+        } finally {
+            cleanupErrorContext();
+        }
+    }
+
+    /**
+     * Trata chaves de API inexistentes.
+     * <p>
+     * Retorna HTTP 404 Not Found.
+     *
+     * @param ex exceção de chave de API não encontrada
+     * @param request contexto da requisição web
+     * @return ResponseEntity com ErrorResponse e HTTP 404
+     */
+    @ExceptionHandler(ApiKeyNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleApiKeyNotFoundException(
+            ApiKeyNotFoundException ex,
+            WebRequest request) {
+
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        String requestPath = getRequestPath(request);
+        String errorType = ex.getClass().getSimpleName();
+
+        try {
+            CorrelationIdUtil.setMdcContext("error_type", errorType);
+            CorrelationIdUtil.setMdcContext("request_path", requestPath);
+
+            logger.warn(
+                    "API key not found: correlationId={} requestPath={} message={}",
+                    correlationId,
+                    requestPath,
+                    ex.getMessage()
+            );
+
+            ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                "api_key_not_found"
+            );
+
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        } finally {
+            cleanupErrorContext();
+        }
+    }
+
+    /**
+     * Trata transferências agendadas inexistentes.
+     * <p>
+     * Retorna HTTP 404 Not Found.
+     *
+     * @param ex exceção de agendamento não encontrado
+     * @param request contexto da requisição web
+     * @return ResponseEntity com ErrorResponse e HTTP 404
+     */
+    @ExceptionHandler(ScheduledTransferNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleScheduledTransferNotFoundException(
+            ScheduledTransferNotFoundException ex,
+            WebRequest request) {
+
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        String requestPath = getRequestPath(request);
+        String errorType = ex.getClass().getSimpleName();
+
+        try {
+            CorrelationIdUtil.setMdcContext("error_type", errorType);
+            CorrelationIdUtil.setMdcContext("request_path", requestPath);
+
+            logger.warn(
+                    "Scheduled transfer not found: correlationId={} requestPath={} message={}",
+                    correlationId,
+                    requestPath,
+                    ex.getMessage()
+            );
+
+            ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                "scheduled_transfer_not_found"
+            );
+
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        } finally {
+            cleanupErrorContext();
+        }
+    }
+
+    /**
+     * Trata acesso à carteira de outro usuário.
+     * <p>
+     * Retorna HTTP 403 Forbidden.
+     *
+     * @param ex exceção de acesso negado à carteira
+     * @param request contexto da requisição web
+     * @return ResponseEntity com ErrorResponse e HTTP 403
+     */
+    @ExceptionHandler(WalletAccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleWalletAccessDeniedException(
+            WalletAccessDeniedException ex,
+            WebRequest request) {
+
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        String requestPath = getRequestPath(request);
+        String errorType = ex.getClass().getSimpleName();
+
+        try {
+            CorrelationIdUtil.setMdcContext("error_type", errorType);
+            CorrelationIdUtil.setMdcContext("request_path", requestPath);
+
+            logger.warn(
+                    "Wallet access denied: correlationId={} requestPath={} message={}",
+                    correlationId,
+                    requestPath,
+                    ex.getMessage()
+            );
+
+            ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                "wallet_access_denied"
+            );
+
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+        } finally {
+            cleanupErrorContext();
+        }
+    }
+
+    /**
+     * Trata aberturas de stream de saldo acima do limite do nó ou do usuário.
+     * <p>
+     * Retorna HTTP 429 Too Many Requests.
+     *
+     * @param ex exceção de limite de streams
+     * @param request contexto da requisição web
+     * @return ResponseEntity com ErrorResponse e HTTP 429
+     */
+    @ExceptionHandler(BalanceStreamLimitException.class)
+    public ResponseEntity<ErrorResponse> handleBalanceStreamLimitException(
+            BalanceStreamLimitException ex,
+            WebRequest request) {
+
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        String requestPath = getRequestPath(request);
+        String errorType = ex.getClass().getSimpleName();
+
+        try {
+            CorrelationIdUtil.setMdcContext("error_type", errorType);
+            CorrelationIdUtil.setMdcContext("request_path", requestPath);
+
+            logger.warn(
+                    "Balance stream limit reached: correlationId={} requestPath={} message={}",
+                    correlationId,
+                    requestPath,
+                    ex.getMessage()
+            );
+
+            ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                "balance_stream_limit"
+            );
+
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorResponse);
+        } finally {
+            cleanupErrorContext();
+        }
+    }
+
+    /**
+     * Trata transferências recusadas por regra de negócio (saldo insuficiente, lojista como
+     * pagador, pagador igual ao recebedor, limite de valor ou frequência atingido,
+     * regra antifraude).
+     * <p>
+     * Retorna HTTP 422 Unprocessable Entity.
+     *
+     * @param ex exceção de regra de transferência
+     * @param request contexto da requisição web
+     * @return ResponseEntity com ErrorResponse e HTTP 422
+     */
+    @ExceptionHandler({
+        InsufficientFundsException.class,
+        NegativeBalanceException.class,
+        TransferNotAllowedException.class,
+        TransferLimitExceededException.class,
+        TransferBlockedException.class
+    })
+    public ResponseEntity<ErrorResponse> handleTransferRejectedException(
+            BusinessException ex,
+            WebRequest request) {
+
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        String requestPath = getRequestPath(request);
+        String errorType = ex.getClass().getSimpleName();
+
+        try {
+            CorrelationIdUtil.setMdcContext("error_type", errorType);
+            CorrelationIdUtil.setMdcContext("request_path", requestPath);
+
+            logger.warn(
+                    "Transfer rejected: correlationId={} requestPath={} errorType={} message={}",
+                    correlationId,
+                    requestPath,
+                    errorType,
+                    ex.getMessage()
+            );
+
+            ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                transferRejectionCode(ex)
+            );
+
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+        } finally {
+            cleanupErrorContext();
+        }
+    }
+
+    /**
+     * Trata transferências negadas pelo serviço externo de autorização.
+     * <p>
+     * Retorna HTTP 403 Forbidden.
+     *
+     * @param ex exceção de transferência não autorizada
+     * @param request contexto da requisição web
+     * @return ResponseEntity com ErrorResponse e HTTP 403
+     */
+    @ExceptionHandler(TransferNotAuthorizedException.class)
+    public ResponseEntity<ErrorResponse> handleTransferNotAuthorizedException(
+            TransferNotAuthorizedException ex,
+            WebRequest request) {
+
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        String requestPath = getRequestPath(request);
+        String errorType = ex.getClass().getSimpleName();
+
+        try {
+            CorrelationIdUtil.setMdcContext("error_type", errorType);
+            CorrelationIdUtil.setMdcContext("request_path", requestPath);
+
+            logger.warn(
+                    "Transfer not authorized: correlationId={} requestPath={} message={}",
+                    correlationId,
+                    requestPath,
+                    ex.getMessage()
+            );
+
+            ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                "transfer_not_authorized"
+            );
+
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+        } finally {
+            cleanupErrorContext();
+        }
+    }
+
+    /**
+     * Trata indisponibilidade ou demora do serviço de autorização durante uma transferência.
+     * <p>
+     * Retorna HTTP 503 Service Unavailable (falha do serviço) ou 504 Gateway Timeout (prazo estourado).
+     *
+     * @param ex exceção de indisponibilidade ou timeout
+     * @param request contexto da requisição web
+     * @return ResponseEntity com ErrorResponse e HTTP 503 ou 504
+     */
+    @ExceptionHandler({AuthorizationUnavailableException.class, TransferTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleTransferUnavailableException(
+            BusinessException ex,
+            WebRequest request) {
+
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        String requestPath = getRequestPath(request);
+        String errorType = ex.getClass().getSimpleName();
+
+        try {
+            CorrelationIdUtil.setMdcContext("error_type", errorType);
+            CorrelationIdUtil.setMdcContext("request_path", requestPath);
+
+            logger.error(
+                    "Transfer unavailable: correlationId={} requestPath={} errorType={} message={}",
+                    correlationId,
+                    requestPath,
+                    errorType,
+                    ex.getMessage()
+            );
+
+            boolean timeout = ex instanceof TransferTimeoutException;
+            ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                timeout ? "transfer_timeout" : "authorization_unavailable"
+            );
+
+            return ResponseEntity.status(timeout ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(errorResponse);
+        } finally {
+            cleanupErrorContext();
+        }
+    }
+
     /**
      * Trata exceções de argumentos inválidos (principalmente valores monetários).
      * <p>
@@ -206,6 +552,22 @@ public class GlobalExceptionHandler {
         }
     }
 
+    /**
+     * Código de erro das transferências recusadas por regra de negócio
+     */
+    private static String transferRejectionCode(BusinessException ex) {
+        if (ex instanceof TransferNotAllowedException) {
+            return "transfer_not_allowed";
+        }
+        if (ex instanceof TransferLimitExceededException) {
+            return "transfer_limit_exceeded";
+        }
+        if (ex instanceof TransferBlockedException) {
+            return "transfer_blocked";
+        }
+        return "insufficient_funds";
+    }
+
     /**
      * Extrai o path da requisição do WebRequest
      */
@@ -0,0 +1,91 @@
+package com.paymentapi.controller;
+
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.request.ApiKeyCreateRequest;
+import com.paymentapi.dto.response.ApiKeyResponse;
+import com.paymentapi.exception.WalletAccessDeniedException;
+import com.paymentapi.service.MerchantApiKeyService;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller de gestão das chaves de API dos lojistas.
+ * <p>
+ * Quando o principal autenticado é um lojista (chave de API), só as próprias chaves podem ser
+ * emitidas, listadas e revogadas.
+ */
+@RestController
+@RequestMapping("/merchants/{merchantId}/api-keys")
+public class MerchantApiKeyController {
+
+    private final MerchantApiKeyService merchantApiKeyService;
+
+    public MerchantApiKeyController(MerchantApiKeyService merchantApiKeyService) {
+        this.merchantApiKeyService = merchantApiKeyService;
+    }
+
+    /**
+     * Emite uma nova chave. A chave em texto plano só aparece nesta resposta.
+     *
+     * @param merchantId UUID do lojista
+     * @param request nome da chave
+     * @param authentication autenticação da requisição
+     * @return chave emitida (HTTP 201)
+     */
+    @PostMapping
+    public ResponseEntity<ApiKeyResponse> issueKey(
+            @PathVariable UUID merchantId,
+            @Valid @RequestBody ApiKeyCreateRequest request,
+            Authentication authentication) {
+        checkOwner(merchantId, authentication);
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(merchantApiKeyService.issueKey(merchantId, request.name()));
+    }
+
+    /**
+     * Lista as chaves do lojista.
+     *
+     * @param merchantId UUID do lojista
+     * @param authentication autenticação da requisição
+     * @return chaves do lojista, sem o texto plano
+     */
+    @GetMapping
+    public ResponseEntity<List<ApiKeyResponse>> listKeys(@PathVariable UUID merchantId,
+                                                         Authentication authentication) {
+        checkOwner(merchantId, authentication);
+        return ResponseEntity.ok(merchantApiKeyService.listKeys(merchantId));
+    }
+
+    /**
+     * Revoga uma chave.
+     *
+     * @param merchantId UUID do lojista
+     * @param keyId UUID da chave
+     * @param authentication autenticação da requisição
+     * @return chave revogada
+     */
+    @DeleteMapping("/{keyId}")
+    public ResponseEntity<ApiKeyResponse> revokeKey(@PathVariable UUID merchantId, @PathVariable UUID keyId,
+                                                    Authentication authentication) {
+        checkOwner(merchantId, authentication);
+        return ResponseEntity.ok(merchantApiKeyService.revokeKey(merchantId, keyId));
+    }
+
+    private static void checkOwner(UUID merchantId, Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserContext user
+                && !user.userId().equals(merchantId)) {
+            throw new WalletAccessDeniedException(merchantId);
+        }
+    }
+}
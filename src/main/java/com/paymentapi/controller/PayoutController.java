@@ -0,0 +1,47 @@
+package com.paymentapi.controller;
+
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.request.PayoutRequest;
+import com.paymentapi.dto.response.PayoutResponse;
+import com.paymentapi.exception.WalletAccessDeniedException;
+import com.paymentapi.service.PayoutService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller responsável pelos repasses em massa de lojistas.
+ */
+@RestController
+public class PayoutController {
+
+    private final PayoutService payoutService;
+
+    public PayoutController(PayoutService payoutService) {
+        this.payoutService = payoutService;
+    }
+
+    /**
+     * Executa um repasse em massa.
+     * <p>
+     * Quando o principal autenticado é um lojista (chave de API), só a própria carteira pode ser
+     * debitada.
+     *
+     * @param request UUID do lojista pagador e valores por recebedor
+     * @param authentication autenticação da requisição
+     * @return resultado por recebedor (HTTP 201)
+     */
+    @PostMapping("/payouts")
+    public ResponseEntity<PayoutResponse> payout(@Valid @RequestBody PayoutRequest request,
+                                                 Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserContext user
+                && !user.userId().equals(request.payerId())) {
+            throw new WalletAccessDeniedException(request.payerId());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(payoutService.payout(request));
+    }
+}
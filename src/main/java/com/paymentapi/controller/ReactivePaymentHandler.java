@@ -0,0 +1,158 @@
+package com.paymentapi.controller;
+
+import com.paymentapi.config.ReactiveAuthenticationFilter;
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.request.TransferRequest;
+import com.paymentapi.dto.response.ErrorResponse;
+import com.paymentapi.exception.AuthorizationUnavailableException;
+import com.paymentapi.exception.InsufficientFundsException;
+import com.paymentapi.exception.NegativeBalanceException;
+import com.paymentapi.exception.TransferBlockedException;
+import com.paymentapi.exception.TransferLimitExceededException;
+import com.paymentapi.exception.TransferNotAllowedException;
+import com.paymentapi.exception.TransferNotAuthorizedException;
+import com.paymentapi.exception.TransferTimeoutException;
+import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.exception.WalletAccessDeniedException;
+import com.paymentapi.service.ReactiveTransferService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handlers funcionais da variante reativa (profile reactive) para saldo e transferência.
+ * Os status HTTP e o corpo de erro seguem os mesmos do {@link GlobalExceptionHandler}, e o
+ * acesso de lojistas (chave de API) segue as mesmas regras da cadeia MVC: só a própria carteira,
+ * e nenhuma transferência.
+ */
+@Component
+@Profile("reactive")
+public class ReactivePaymentHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePaymentHandler.class);
+
+    private final ReactiveTransferService reactiveTransferService;
+    private final Validator validator;
+
+    public ReactivePaymentHandler(ReactiveTransferService reactiveTransferService, Validator validator) {
+        this.reactiveTransferService = reactiveTransferService;
+        this.validator = validator;
+    }
+
+    /**
+     * GET /wallets/{userId}/balance
+     */
+    public Mono<ServerResponse> getBalance(ServerRequest request) {
+        return Mono.fromCallable(() -> UUID.fromString(request.pathVariable("userId")))
+            .map(userId -> {
+                if (merchant(request) instanceof UserContext user && !user.userId().equals(userId)) {
+                    throw new WalletAccessDeniedException(userId);
+                }
+                return userId;
+            })
+            .flatMap(reactiveTransferService::getBalance)
+            .flatMap(balance -> ServerResponse.ok().bodyValue(balance))
+            .onErrorResume(ReactivePaymentHandler::errorResponse);
+    }
+
+    /**
+     * POST /transfer
+     */
+    public Mono<ServerResponse> transfer(ServerRequest request) {
+        if (merchant(request) != null) {
+            // O pagador vem no corpo: a chave de um lojista não pode debitar terceiros
+            return ServerResponse.status(HttpStatus.FORBIDDEN).bodyValue(new ErrorResponse(
+                "Chaves de API de lojista não podem enviar transferências", "access_denied"));
+        }
+        return request.bodyToMono(TransferRequest.class)
+            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Corpo da requisição é obrigatório")))
+            .flatMap(this::validate)
+            .flatMap(reactiveTransferService::transfer)
+            .flatMap(response -> ServerResponse.status(HttpStatus.CREATED).bodyValue(response))
+            .onErrorResume(ReactivePaymentHandler::errorResponse);
+    }
+
+    private static UserContext merchant(ServerRequest request) {
+        return (UserContext) request.attributes().get(ReactiveAuthenticationFilter.MERCHANT_ATTRIBUTE);
+    }
+
+    private Mono<TransferRequest> validate(TransferRequest request) {
+        Set<ConstraintViolation<TransferRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return Mono.just(request);
+        }
+        String detail = violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .collect(Collectors.joining("; "));
+        return Mono.error(new ValidationFailure(detail));
+    }
+
+    private static Mono<ServerResponse> errorResponse(Throwable e) {
+        HttpStatus status;
+        String type;
+
+        if (e instanceof ValidationFailure) {
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+            type = "validation_error";
+        } else if (e instanceof UserNotFoundException) {
+            status = HttpStatus.CONFLICT;
+            type = "user_not_found";
+        } else if (e instanceof InsufficientFundsException || e instanceof NegativeBalanceException) {
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+            type = "insufficient_funds";
+        } else if (e instanceof TransferNotAllowedException) {
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+            type = "transfer_not_allowed";
+        } else if (e instanceof TransferLimitExceededException) {
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+            type = "transfer_limit_exceeded";
+        } else if (e instanceof TransferBlockedException) {
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+            type = "transfer_blocked";
+        } else if (e instanceof WalletAccessDeniedException) {
+            status = HttpStatus.FORBIDDEN;
+            type = "wallet_access_denied";
+        } else if (e instanceof TransferNotAuthorizedException) {
+            status = HttpStatus.FORBIDDEN;
+            type = "transfer_not_authorized";
+        } else if (e instanceof AuthorizationUnavailableException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            type = "authorization_unavailable";
+        } else if (e instanceof TransferTimeoutException) {
+            status = HttpStatus.GATEWAY_TIMEOUT;
+            type = "transfer_timeout";
+        } else if (e instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+            type = "validation_error";
+        } else {
+            logger.error("Unexpected error on reactive endpoint: errorType={} message={}",
+                e.getClass().getSimpleName(), e.getMessage(), e);
+            return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).bodyValue(new ErrorResponse(
+                "Erro interno do servidor. Por favor, tente novamente mais tarde.",
+                "internal_server_error"));
+        }
+
+        logger.warn("Reactive request failed: errorType={} message={}", e.getClass().getSimpleName(), e.getMessage());
+        return ServerResponse.status(status).bodyValue(new ErrorResponse(e.getMessage(), type));
+    }
+
+    /**
+     * Violações de Bean Validation no corpo da requisição.
+     */
+    private static final class ValidationFailure extends RuntimeException {
+
+        ValidationFailure(String detail) {
+            super(detail);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.paymentapi.controller;
+
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.request.ScheduledTransferRequest;
+import com.paymentapi.dto.response.ScheduledTransferResponse;
+import com.paymentapi.service.ScheduledTransferService;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller responsável pelas transferências agendadas e recorrentes.
+ * <p>
+ * O SecurityConfig só libera estas rotas ao usuário de serviço. Se o principal autenticado for um
+ * usuário da aplicação (chave de API), só os agendamentos em que ele é o pagador podem ser criados,
+ * consultados ou cancelados.
+ */
+@RestController
+public class ScheduledTransferController {
+
+    private final ScheduledTransferService scheduledTransferService;
+
+    public ScheduledTransferController(ScheduledTransferService scheduledTransferService) {
+        this.scheduledTransferService = scheduledTransferService;
+    }
+
+    /**
+     * Agenda uma transferência.
+     *
+     * @param request valor, documentos, primeira execução e recorrência
+     * @param authentication autenticação da requisição
+     * @return agendamento criado (HTTP 201)
+     */
+    @PostMapping("/scheduled-transfers")
+    public ResponseEntity<ScheduledTransferResponse> schedule(@Valid @RequestBody ScheduledTransferRequest request,
+                                                              Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(scheduledTransferService.create(request, ownerId(authentication)));
+    }
+
+    /**
+     * Consulta um agendamento.
+     *
+     * @param id UUID do agendamento
+     * @param authentication autenticação da requisição
+     * @return agendamento
+     */
+    @GetMapping("/scheduled-transfers/{id}")
+    public ResponseEntity<ScheduledTransferResponse> get(@PathVariable UUID id, Authentication authentication) {
+        return ResponseEntity.ok(scheduledTransferService.get(id, ownerId(authentication)));
+    }
+
+    /**
+     * Cancela um agendamento.
+     *
+     * @param id UUID do agendamento
+     * @param authentication autenticação da requisição
+     * @return agendamento após o cancelamento
+     */
+    @DeleteMapping("/scheduled-transfers/{id}")
+    public ResponseEntity<ScheduledTransferResponse> cancel(@PathVariable UUID id, Authentication authentication) {
+        return ResponseEntity.ok(scheduledTransferService.cancel(id, ownerId(authentication)));
+    }
+
+    private static UUID ownerId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserContext user) {
+            return user.userId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.paymentapi.controller;
+
+import com.paymentapi.dto.request.TransferRequest;
+import com.paymentapi.dto.response.TransferResponse;
+import com.paymentapi.service.TransferService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller responsável pelas transferências entre usuários.
+ */
+@RestController
+public class TransferController {
+
+    private final TransferService transferService;
+
+    public TransferController(TransferService transferService) {
+        this.transferService = transferService;
+    }
+
+    /**
+     * Executa uma transferência.
+     *
+     * @param request valor, CPF do pagador e CPF/CNPJ do recebedor
+     * @return transação concluída (HTTP 201)
+     */
+    @PostMapping("/transfer")
+    public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(transferService.transfer(request));
+    }
+}
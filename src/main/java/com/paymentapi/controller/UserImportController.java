@@ -0,0 +1,49 @@
+package com.paymentapi.controller;
+
+import com.paymentapi.dto.response.UserImportResponse;
+import com.paymentapi.service.UserImportService;
+import com.paymentapi.service.UserImportService.ImportFormat;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller responsável pela importação em massa de usuários.
+ * Recebe o arquivo no corpo da requisição (CSV com cabeçalho ou NDJSON) e o processa em streaming.
+ */
+@RestController
+@RequestMapping("/users")
+public class UserImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final UserImportService userImportService;
+
+    public UserImportController(UserImportService userImportService) {
+        this.userImportService = userImportService;
+    }
+
+    /**
+     * Importa usuários em massa.
+     *
+     * @param contentType text/csv ou application/x-ndjson
+     * @param body conteúdo do arquivo
+     * @return resumo da importação com erros por linha
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<UserImportResponse> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        ImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf(TEXT_CSV))
+            ? ImportFormat.CSV
+            : ImportFormat.NDJSON;
+
+        return ResponseEntity.ok(userImportService.importUsers(body, format));
+    }
+}
@@ -0,0 +1,115 @@
+package com.paymentapi.controller;
+
+import com.paymentapi.dto.request.BulkBalanceRequest;
+import com.paymentapi.dto.response.BulkBalanceResponse;
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.response.WalletBalanceResponse;
+import com.paymentapi.exception.WalletAccessDeniedException;
+import com.paymentapi.metrics.WalletMetrics;
+import com.paymentapi.service.BalanceStreamHub;
+import com.paymentapi.service.WalletService;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller responsável pelas consultas de saldo da carteira.
+ */
+@RestController
+@RequestMapping("/wallets")
+public class WalletController {
+
+    private final WalletService walletService;
+    private final WalletMetrics walletMetrics;
+    private final BalanceStreamHub balanceStreamHub;
+
+    public WalletController(WalletService walletService, WalletMetrics walletMetrics,
+                            BalanceStreamHub balanceStreamHub) {
+        this.walletService = walletService;
+        this.walletMetrics = walletMetrics;
+        this.balanceStreamHub = balanceStreamHub;
+    }
+
+    /**
+     * Consulta o saldo atual da carteira de um usuário.
+     * <p>
+     * A resposta leva um ETag forte derivado de id e versão do user. Com If-None-Match, só a
+     * versão é lida do banco e, se o ETag ainda bate, a resposta é 304 sem corpo.
+     * <p>
+     * Quando o principal autenticado é um usuário da aplicação (chave de API), só a própria
+     * carteira pode ser consultada.
+     *
+     * @param userId UUID do user
+     * @param webRequest requisição atual, usada na validação do If-None-Match
+     * @param authentication autenticação da requisição
+     * @return saldo e timestamp da última atualização, ou 304 se não mudou
+     */
+    @GetMapping("/{userId}/balance")
+    public ResponseEntity<WalletBalanceResponse> getBalance(@PathVariable UUID userId, WebRequest webRequest,
+                                                            Authentication authentication) {
+        checkOwner(userId, authentication);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Integer> version = walletService.getBalanceVersion(userId);
+            if (version.isPresent()
+                    && webRequest.checkNotModified(WalletService.balanceETag(userId, version.get()))) {
+                walletMetrics.recordConditionalRead("not_modified");
+                return null;
+            }
+            walletMetrics.recordConditionalRead("modified");
+        }
+
+        WalletBalanceResponse balance = walletService.getBalance(userId);
+        return ResponseEntity.ok()
+            .eTag(WalletService.balanceETag(userId, balance.version()))
+            .body(balance);
+    }
+
+    /**
+     * Abre um stream SSE com o saldo da carteira: o saldo atual e, depois, um evento "balance"
+     * a cada atualização commitada. Substitui o polling do endpoint de saldo.
+     * <p>
+     * Quando o principal autenticado é um usuário da aplicação (chave de API), só a própria
+     * carteira pode ser acompanhada.
+     *
+     * @param userId UUID do user
+     * @param authentication autenticação da requisição
+     * @return emitter SSE
+     */
+    @GetMapping(value = "/{userId}/balance/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBalance(@PathVariable UUID userId, Authentication authentication) {
+        checkOwner(userId, authentication);
+        return balanceStreamHub.subscribe(userId, () -> walletService.getBalance(userId));
+    }
+
+    /**
+     * Consulta os saldos de várias carteiras de uma vez, por UUID ou por CPF/CNPJ.
+     * <p>
+     * Restrito ao usuário de serviço no {@code SecurityConfig}: chaves de API de lojista recebem
+     * 403 e consultam só a própria carteira pelo endpoint individual.
+     *
+     * @param request lista de UUIDs ou de CPFs/CNPJs
+     * @return saldos na ordem da requisição, com found=false para as chaves não encontradas
+     */
+    @PostMapping("/balances")
+    public ResponseEntity<BulkBalanceResponse> getBalances(@RequestBody BulkBalanceRequest request) {
+        return ResponseEntity.ok(walletService.getBalances(request));
+    }
+
+    private static void checkOwner(UUID userId, Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserContext user
+                && !user.userId().equals(userId)) {
+            throw new WalletAccessDeniedException(userId);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.paymentapi.dto.internal;
+
+import com.paymentapi.entity.enums.UserType;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Evento analítico aguardando gravação em lote na tabela analytical_events.
+ * userType e amount não vão para a tabela: alimentam só os rollups por minuto e por hora.
+ *
+ * @param id UUID do evento, gerado na aplicação
+ * @param eventType tipo do evento (ex.: TRANSFER_COMPLETED)
+ * @param userId UUID do usuário relacionado (opcional)
+ * @param userType tipo do usuário, chave dos rollups (opcional)
+ * @param transactionId UUID da transação relacionada (opcional)
+ * @param amount valor do evento em centavos, somado nos rollups (opcional)
+ * @param eventData dados do evento já serializados em JSON (opcional)
+ * @param correlationId correlation ID da requisição de origem (opcional)
+ * @param createdAt instante do evento
+ */
+public record AnalyticsEventRecord(
+    UUID id,
+    String eventType,
+    UUID userId,
+    UserType userType,
+    UUID transactionId,
+    Long amount,
+    String eventData,
+    String correlationId,
+    OffsetDateTime createdAt
+) {
+}
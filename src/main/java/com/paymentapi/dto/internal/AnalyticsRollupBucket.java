@@ -0,0 +1,21 @@
+package com.paymentapi.dto.internal;
+
+import java.time.Instant;
+
+/**
+ * Um bucket de rollup de eventos analíticos: incremento a gravar ou linha lida na consulta.
+ *
+ * @param eventType tipo do evento
+ * @param userType tipo do usuário (nome do enum ou UNKNOWN)
+ * @param bucketStart início do bucket, em UTC
+ * @param eventCount quantidade de eventos
+ * @param amountSum soma dos valores dos eventos, em centavos
+ */
+public record AnalyticsRollupBucket(
+    String eventType,
+    String userType,
+    Instant bucketStart,
+    long eventCount,
+    long amountSum
+) {
+}
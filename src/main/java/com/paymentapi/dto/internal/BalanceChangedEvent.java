@@ -0,0 +1,32 @@
+package com.paymentapi.dto.internal;
+
+import com.paymentapi.entity.enums.UserType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento de domínio publicado dentro da transação que alterou um saldo e entregue aos
+ * listeners só depois do commit.
+ *
+ * @param userId UUID do usuário
+ * @param userType tipo do usuário
+ * @param transactionId UUID da transação associada (nulo para ajustes)
+ * @param operationType tipo da operação (TRANSFER_DEBIT, TRANSFER_CREDIT, ...)
+ * @param previousBalance saldo anterior, em centavos
+ * @param newBalance saldo novo, em centavos
+ * @param balanceChange delta aplicado, em centavos
+ * @param version versão da linha do usuário após a alteração
+ * @param updatedAt timestamp da alteração
+ */
+public record BalanceChangedEvent(
+    UUID userId,
+    UserType userType,
+    UUID transactionId,
+    String operationType,
+    Integer previousBalance,
+    Integer newBalance,
+    Integer balanceChange,
+    Integer version,
+    LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,21 @@
+package com.paymentapi.dto.internal;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Saldo de um user logo depois de um UPDATE set-based (RETURNING), com a versão e o updated_at
+ * gravados pela trigger da tabela users.
+ *
+ * @param userId UUID do user
+ * @param newBalance saldo após a alteração, em centavos
+ * @param version versão da linha após a alteração
+ * @param updatedAt timestamp da alteração
+ */
+public record BalanceUpdate(
+    UUID userId,
+    int newBalance,
+    int version,
+    LocalDateTime updatedAt
+) {
+}
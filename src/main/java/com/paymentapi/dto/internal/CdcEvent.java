@@ -0,0 +1,69 @@
+package com.paymentapi.dto.internal;
+
+import com.paymentapi.entity.enums.UserType;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento tipado decodificado do stream de replicação lógica (CDC).
+ * Todo evento pertence a uma transação já commitada.
+ */
+public sealed interface CdcEvent {
+
+    /**
+     * @return end LSN da transação de origem
+     */
+    long lsn();
+
+    /**
+     * @return instante do commit da transação de origem
+     */
+    Instant committedAt();
+
+    /**
+     * Linha de users inserida ou atualizada. Sem REPLICA IDENTITY FULL o stream não traz o valor
+     * anterior, então o evento carrega o saldo atual e a versão, que cresce a cada UPDATE.
+     *
+     * @param userId UUID do usuário
+     * @param walletBalance saldo após o commit, em centavos
+     * @param version versão da linha após o commit
+     * @param lsn end LSN da transação
+     * @param committedAt instante do commit
+     */
+    record UserChanged(
+        UUID userId,
+        Integer walletBalance,
+        Integer version,
+        long lsn,
+        Instant committedAt
+    ) implements CdcEvent {
+    }
+
+    /**
+     * Registro de balance_audit inserido: uma alteração de saldo com valores antes e depois.
+     *
+     * @param auditId UUID do registro de auditoria
+     * @param userId UUID do usuário
+     * @param userType tipo do usuário, da linha de users alterada na mesma transação (nulo se não houver)
+     * @param transactionId UUID da transação (nulo para ajustes)
+     * @param previousBalance saldo anterior, em centavos
+     * @param newBalance saldo novo, em centavos
+     * @param balanceChange delta aplicado, em centavos
+     * @param operationType tipo da operação (TRANSFER_DEBIT, TRANSFER_CREDIT, ...)
+     * @param lsn end LSN da transação
+     * @param committedAt instante do commit
+     */
+    record BalanceAuditInserted(
+        UUID auditId,
+        UUID userId,
+        UserType userType,
+        UUID transactionId,
+        Integer previousBalance,
+        Integer newBalance,
+        Integer balanceChange,
+        String operationType,
+        long lsn,
+        Instant committedAt
+    ) implements CdcEvent {
+    }
+}
@@ -0,0 +1,17 @@
+package com.paymentapi.dto.internal;
+
+import java.util.Set;
+
+/**
+ * Valores das chaves únicas de users já cadastrados, usados para explicar os conflitos de um lote.
+ *
+ * @param cpfs CPFs cadastrados
+ * @param emails e-mails cadastrados
+ * @param cnpjs CNPJs cadastrados
+ */
+public record ExistingUserKeys(
+    Set<String> cpfs,
+    Set<String> emails,
+    Set<String> cnpjs
+) {
+}
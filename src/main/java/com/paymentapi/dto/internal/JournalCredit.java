@@ -0,0 +1,21 @@
+package com.paymentapi.dto.internal;
+
+import java.util.UUID;
+
+/**
+ * Crédito diferido retirado do journal pelo merger, a somar no saldo materializado.
+ *
+ * @param id id da linha no journal (ordem de chegada)
+ * @param userId UUID do user creditado
+ * @param transactionId UUID da transação associada (opcional)
+ * @param amount valor em centavos
+ * @param operationType tipo da operação (ex.: TRANSFER_CREDIT)
+ */
+public record JournalCredit(
+    long id,
+    UUID userId,
+    UUID transactionId,
+    int amount,
+    String operationType
+) {
+}
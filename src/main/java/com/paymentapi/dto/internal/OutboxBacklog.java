@@ -0,0 +1,15 @@
+package com.paymentapi.dto.internal;
+
+import java.time.LocalDateTime;
+
+/**
+ * Backlog do outbox de notificações.
+ *
+ * @param count notificações pendentes de entrega
+ * @param oldestCreatedAt gravação da pendente mais antiga (nulo se não houver)
+ */
+public record OutboxBacklog(
+    long count,
+    LocalDateTime oldestCreatedAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.paymentapi.dto.internal;
+
+import java.time.Duration;
+
+/**
+ * Entrega de notificação sem sucesso, a registrar no outbox.
+ *
+ * @param id id da linha no outbox
+ * @param retryIn espera até a próxima tentativa; nulo quando as tentativas se esgotaram
+ * @param error motivo da falha
+ */
+public record OutboxDeliveryFailure(
+    long id,
+    Duration retryIn,
+    String error
+) {
+}
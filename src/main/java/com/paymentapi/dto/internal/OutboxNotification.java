@@ -0,0 +1,24 @@
+package com.paymentapi.dto.internal;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Notificação ao recebedor retirada do outbox pelo relay.
+ *
+ * @param id id da linha no outbox (também a chave de idempotência da entrega)
+ * @param transactionId UUID da transação notificada
+ * @param recipientId UUID do recebedor (o destino da entrega)
+ * @param payload corpo JSON da notificação
+ * @param attempts tentativas anteriores sem sucesso
+ * @param createdAt gravação no outbox (commit da transferência)
+ */
+public record OutboxNotification(
+    long id,
+    UUID transactionId,
+    UUID recipientId,
+    String payload,
+    int attempts,
+    LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,41 @@
+package com.paymentapi.dto.internal;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Transação presa em PENDING, com o que a auditoria registra de movimentação de cada lado.
+ *
+ * @param id UUID da transação
+ * @param payerId UUID do pagador
+ * @param payeeId UUID do recebedor
+ * @param amount valor em centavos
+ * @param createdAt criação da transação
+ * @param payerChange soma das alterações de saldo do pagador ligadas à transação (negativa se debitado)
+ * @param payeeChange soma das alterações de saldo do recebedor ligadas à transação, incluindo
+ *                    créditos ainda no journal (positiva se creditado)
+ */
+public record PendingTransaction(
+    UUID id,
+    UUID payerId,
+    UUID payeeId,
+    int amount,
+    LocalDateTime createdAt,
+    int payerChange,
+    int payeeChange
+) {
+
+    /**
+     * @return true se o débito do pagador foi aplicado
+     */
+    public boolean payerDebited() {
+        return payerChange < 0;
+    }
+
+    /**
+     * @return true se o crédito do recebedor foi aplicado
+     */
+    public boolean payeeCredited() {
+        return payeeChange > 0;
+    }
+}
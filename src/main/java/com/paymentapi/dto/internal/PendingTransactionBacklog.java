@@ -0,0 +1,15 @@
+package com.paymentapi.dto.internal;
+
+import java.time.LocalDateTime;
+
+/**
+ * Backlog de transações em PENDING.
+ *
+ * @param count quantidade de transações pendentes
+ * @param oldestCreatedAt criação da pendente mais antiga (nulo se não houver)
+ */
+public record PendingTransactionBacklog(
+    long count,
+    LocalDateTime oldestCreatedAt
+) {
+}
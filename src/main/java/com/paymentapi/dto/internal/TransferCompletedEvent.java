@@ -0,0 +1,26 @@
+package com.paymentapi.dto.internal;
+
+import com.paymentapi.entity.enums.UserType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento de domínio publicado dentro da transação da transferência e entregue aos
+ * listeners só depois do commit.
+ *
+ * @param transactionId UUID da transação
+ * @param payerId UUID do pagador
+ * @param payerType tipo do pagador
+ * @param payeeId UUID do recebedor
+ * @param amount valor em centavos
+ * @param createdAt timestamp da transação
+ */
+public record TransferCompletedEvent(
+    UUID transactionId,
+    UUID payerId,
+    UserType payerType,
+    UUID payeeId,
+    Integer amount,
+    LocalDateTime createdAt
+) {
+}
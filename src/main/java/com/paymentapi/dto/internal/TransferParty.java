@@ -0,0 +1,19 @@
+package com.paymentapi.dto.internal;
+
+import com.paymentapi.entity.enums.UserType;
+import java.util.UUID;
+
+/**
+ * Projeção somente-leitura de um participante de transferência (pagador ou recebedor),
+ * usada na fase de resolução concorrente, antes da transação de escrita.
+ *
+ * @param id identificador único do usuário
+ * @param userType tipo do usuário (COMMON_USER ou MERCHANT)
+ * @param walletBalance saldo no momento da leitura (sem lock), em centavos
+ */
+public record TransferParty(
+    UUID id,
+    UserType userType,
+    Integer walletBalance
+) {
+}
@@ -0,0 +1,24 @@
+package com.paymentapi.dto.internal;
+
+import com.paymentapi.entity.enums.UserType;
+import java.util.UUID;
+
+/**
+ * Projeção somente-leitura com os dados necessários para autenticar um usuário.
+ * Carregada direto da query (sem entidade gerenciada nem dirty checking) e servida
+ * por index-only scan nos índices cobrindo cpf e email.
+ *
+ * @param id identificador único do usuário
+ * @param senha hash BCrypt da senha
+ * @param userType tipo do usuário (COMMON_USER ou MERCHANT)
+ * @param nomeCompleto nome completo do usuário
+ * @param email endereço de email do usuário
+ */
+public record UserCredentials(
+    UUID id,
+    String senha,
+    UserType userType,
+    String nomeCompleto,
+    String email
+) {
+}
@@ -0,0 +1,22 @@
+package com.paymentapi.dto.internal;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projeção somente-leitura do saldo de uma carteira, usada na consulta de saldos em lote.
+ *
+ * @param id identificador único do usuário
+ * @param cpf CPF do usuário
+ * @param cnpj CNPJ do usuário (null para COMMON_USER)
+ * @param walletBalance saldo em centavos
+ * @param updatedAt timestamp da última atualização do usuário
+ */
+public record WalletBalanceView(
+    UUID id,
+    String cpf,
+    String cnpj,
+    Integer walletBalance,
+    LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,15 @@
+package com.paymentapi.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO para requisições de criação de chave de API de lojista.
+ *
+ * @param name nome descritivo da chave (ex: "backend-producao")
+ */
+public record ApiKeyCreateRequest(
+    @NotBlank(message = "Nome da chave é obrigatório")
+    @Size(max = 100, message = "Nome da chave deve ter no máximo 100 caracteres")
+    String name
+) {}
@@ -0,0 +1,15 @@
+package com.paymentapi.dto.request;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO para consulta de saldos em lote. Informar exatamente uma das listas.
+ *
+ * @param userIds UUIDs dos usuários
+ * @param documents CPFs (11 dígitos) ou CNPJs (14 dígitos) sem formatação
+ */
+public record BulkBalanceRequest(
+    List<UUID> userIds,
+    List<String> documents
+) {}
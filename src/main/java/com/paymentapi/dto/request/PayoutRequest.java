@@ -0,0 +1,39 @@
+package com.paymentapi.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO para requisição de repasse em massa: um lojista pagando vários recebedores de uma vez.
+ *
+ * @param payerId UUID do lojista pagador
+ * @param payouts valores por recebedor
+ */
+public record PayoutRequest(
+    @NotNull(message = "O pagador é obrigatório")
+    UUID payerId,
+
+    @NotEmpty(message = "O repasse deve ter ao menos um recebedor")
+    List<@Valid @NotNull Item> payouts
+) {
+
+    /**
+     * Valor a repassar a um recebedor.
+     *
+     * @param payeeId UUID do recebedor
+     * @param value valor em formato decimal (deve ser positivo)
+     */
+    public record Item(
+        @NotNull(message = "O recebedor é obrigatório")
+        UUID payeeId,
+
+        @NotNull(message = "O valor do repasse é obrigatório")
+        @Positive(message = "O valor do repasse deve ser positivo")
+        BigDecimal value
+    ) {}
+}
@@ -0,0 +1,46 @@
+package com.paymentapi.dto.request;
+
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.validation.constraints.ValidCnpj;
+import com.paymentapi.validation.constraints.ValidCpf;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO de uma linha da importação em massa de usuários (CSV ou NDJSON).
+ *
+ * @param nomeCompleto nome completo do usuário
+ * @param cpf CPF do usuário (11 dígitos sem formatação)
+ * @param email e-mail do usuário
+ * @param senha senha em plain text
+ * @param userType tipo do usuário (COMMON_USER ou MERCHANT)
+ * @param cnpj CNPJ do lojista (14 dígitos sem formatação, opcional)
+ */
+public record UserImportRow(
+    @NotBlank(message = "Nome completo é obrigatório")
+    @Size(max = 100, message = "Nome completo deve ter no máximo 100 caracteres")
+    String nomeCompleto,
+
+    @NotBlank(message = "CPF é obrigatório")
+    @Pattern(regexp = "^[0-9]{11}$", message = "O CPF deve conter exatamente 11 dígitos")
+    @ValidCpf
+    String cpf,
+
+    @NotBlank(message = "Email é obrigatório")
+    @Email(message = "Email deve ser válido")
+    @Size(max = 255, message = "Email deve ter no máximo 255 caracteres")
+    String email,
+
+    @NotBlank(message = "Senha é obrigatória")
+    String senha,
+
+    @NotNull(message = "Tipo de usuário é obrigatório")
+    UserType userType,
+
+    @Pattern(regexp = "^[0-9]{14}$", message = "O CNPJ deve conter exatamente 14 dígitos")
+    @ValidCnpj
+    String cnpj
+) {}
@@ -0,0 +1,49 @@
+package com.paymentapi.dto.response;
+
+import com.paymentapi.entity.enums.RollupGranularity;
+import java.util.List;
+
+/**
+ * DTO de resposta da consulta de séries dos rollups de eventos analíticos.
+ * Instantes em milissegundos desde a epoch (UTC).
+ *
+ * @param granularity granularidade dos buckets
+ * @param from início do intervalo, alinhado ao bucket (inclusivo)
+ * @param to fim do intervalo (exclusivo)
+ * @param series uma série por tipo de evento e tipo de usuário
+ */
+public record AnalyticsSeriesResponse(
+    RollupGranularity granularity,
+    long from,
+    long to,
+    List<Series> series
+) {
+
+    /**
+     * Série de um tipo de evento para um tipo de usuário. Buckets sem eventos não aparecem.
+     *
+     * @param eventType tipo do evento
+     * @param userType tipo do usuário (COMMON_USER, MERCHANT ou UNKNOWN)
+     * @param points pontos em ordem cronológica
+     */
+    public record Series(
+        String eventType,
+        String userType,
+        List<Point> points
+    ) {
+    }
+
+    /**
+     * Um bucket da série.
+     *
+     * @param t início do bucket
+     * @param count quantidade de eventos
+     * @param amountSum soma dos valores, em centavos
+     */
+    public record Point(
+        long t,
+        long count,
+        long amountSum
+    ) {
+    }
+}
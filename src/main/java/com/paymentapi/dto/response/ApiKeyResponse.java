@@ -0,0 +1,26 @@
+package com.paymentapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de resposta com os dados de uma chave de API de lojista.
+ * A chave em texto plano só é retornada uma vez, na criação.
+ *
+ * @param id UUID da chave
+ * @param apiKey chave completa (presente apenas na resposta de criação)
+ * @param keyPrefix prefixo público da chave
+ * @param name nome descritivo da chave
+ * @param createdAt timestamp de criação
+ * @param revokedAt timestamp de revogação (nulo se ativa)
+ */
+public record ApiKeyResponse(
+    UUID id,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String apiKey,
+    String keyPrefix,
+    String name,
+    LocalDateTime createdAt,
+    LocalDateTime revokedAt
+) {}
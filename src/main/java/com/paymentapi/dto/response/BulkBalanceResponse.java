@@ -0,0 +1,43 @@
+package com.paymentapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO de resposta da consulta de saldos em lote.
+ *
+ * @param balances um item por chave pedida, na ordem da requisição
+ * @param found quantidade de chaves encontradas
+ * @param notFound quantidade de chaves não encontradas
+ */
+public record BulkBalanceResponse(
+    List<Entry> balances,
+    int found,
+    int notFound
+) {
+
+    /**
+     * Saldo de uma chave pedida. Chaves não encontradas vêm com found=false e sem os demais campos.
+     *
+     * @param key chave como veio na requisição (UUID, CPF ou CNPJ)
+     * @param found true se a carteira existe
+     * @param userId UUID do user
+     * @param walletBalance saldo do user em centavos
+     * @param lastUpdated timestamp do último update no saldo
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Entry(
+        String key,
+        boolean found,
+        UUID userId,
+        Integer walletBalance,
+        LocalDateTime lastUpdated
+    ) {
+
+        public static Entry notFound(String key) {
+            return new Entry(key, false, null, null, null);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.paymentapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO de resposta do repasse em massa.
+ *
+ * @param payoutId UUID do repasse (transactions.payout_id das transações geradas)
+ * @param payerId UUID do lojista pagador
+ * @param totalValue valor total debitado do pagador
+ * @param credited quantidade de recebedores creditados
+ * @param rejected quantidade de recebedores não creditados
+ * @param durationMs duração do repasse em milissegundos
+ * @param results um item por recebedor, na ordem da requisição
+ */
+public record PayoutResponse(
+    UUID payoutId,
+    UUID payerId,
+    BigDecimal totalValue,
+    int credited,
+    int rejected,
+    long durationMs,
+    List<Result> results
+) {
+
+    /**
+     * Situação de um recebedor no repasse.
+     */
+    public enum Status {
+        CREDITED,
+        PAYEE_NOT_FOUND,
+        REJECTED
+    }
+
+    /**
+     * Resultado de um recebedor. Só os creditados têm transactionId; só os não creditados têm reason.
+     *
+     * @param payeeId UUID do recebedor
+     * @param value valor pedido
+     * @param status situação do recebedor
+     * @param transactionId UUID da transação gerada
+     * @param reason motivo de o recebedor não ter sido creditado
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result(
+        UUID payeeId,
+        BigDecimal value,
+        Status status,
+        UUID transactionId,
+        String reason
+    ) {}
+}
@@ -0,0 +1,40 @@
+package com.paymentapi.dto.response;
+
+import com.paymentapi.entity.enums.ScheduledTransferStatus;
+import com.paymentapi.entity.enums.TransferRecurrence;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de resposta de uma transferência agendada.
+ *
+ * @param id UUID do agendamento
+ * @param payerId UUID do pagador
+ * @param payer CPF do pagador
+ * @param payee CPF/CNPJ do recebedor
+ * @param value valor de cada execução
+ * @param recurrence recorrência
+ * @param status situação do agendamento
+ * @param nextRunAt próxima execução (ou nova tentativa)
+ * @param remainingRuns execuções restantes (nulo: até ser cancelada)
+ * @param runCount execuções concluídas
+ * @param lastRunAt última execução ou falha
+ * @param lastTransactionId transação da última execução concluída
+ * @param lastError motivo da última falha
+ */
+public record ScheduledTransferResponse(
+    UUID id,
+    UUID payerId,
+    String payer,
+    String payee,
+    BigDecimal value,
+    TransferRecurrence recurrence,
+    ScheduledTransferStatus status,
+    LocalDateTime nextRunAt,
+    Integer remainingRuns,
+    int runCount,
+    LocalDateTime lastRunAt,
+    UUID lastTransactionId,
+    String lastError
+) {}
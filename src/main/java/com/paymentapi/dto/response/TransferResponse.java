@@ -0,0 +1,26 @@
+package com.paymentapi.dto.response;
+
+import com.paymentapi.entity.enums.TransactionStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de response de uma transferência.
+ *
+ * @param transactionId UUID da transação
+ * @param payerId UUID do pagador
+ * @param payeeId UUID do recebedor
+ * @param value valor transferido em formato decimal
+ * @param status status da transação
+ * @param createdAt timestamp da transação
+ */
+public record TransferResponse(
+    UUID transactionId,
+    UUID payerId,
+    UUID payeeId,
+    BigDecimal value,
+    TransactionStatus status,
+    LocalDateTime createdAt
+) {
+}
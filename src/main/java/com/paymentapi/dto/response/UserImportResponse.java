@@ -0,0 +1,36 @@
+package com.paymentapi.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da importação em massa de usuários.
+ *
+ * @param totalRows quantidade de linhas de dados lidas
+ * @param importedRows quantidade de usuários inseridos
+ * @param failedRows quantidade de linhas rejeitadas
+ * @param durationMs duração total da importação em milissegundos
+ * @param rowsPerSecond throughput da importação (linhas lidas por segundo)
+ * @param errors erros por linha (limitado pelo máximo configurado)
+ * @param errorsTruncated true se havia mais erros do que os retornados
+ */
+public record UserImportResponse(
+    long totalRows,
+    long importedRows,
+    long failedRows,
+    long durationMs,
+    double rowsPerSecond,
+    List<RowError> errors,
+    boolean errorsTruncated
+) {
+
+    /**
+     * Erro de uma linha específica do arquivo importado.
+     *
+     * @param line número da linha no arquivo (começando em 1)
+     * @param message descrição do erro
+     */
+    public record RowError(
+        long line,
+        String message
+    ) {}
+}
@@ -1,5 +1,6 @@
 package com.paymentapi.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -9,10 +10,12 @@ import java.util.UUID;
  * @param userId UUID do user
  * @param walletBalance saldo do user
  * @param lastUpdated timestamp do último update no saldo
+ * @param version versão da linha do user (não serializada, usada no ETag)
  */
 public record WalletBalanceResponse(
     UUID userId,
     Integer walletBalance,
-    LocalDateTime lastUpdated
+    LocalDateTime lastUpdated,
+    @JsonIgnore Integer version
 ) {
 }
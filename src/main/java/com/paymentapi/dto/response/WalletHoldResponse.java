@@ -0,0 +1,29 @@
+package com.paymentapi.dto.response;
+
+import com.paymentapi.entity.enums.WalletHoldStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de response de uma reserva de saldo.
+ *
+ * @param holdId UUID da reserva
+ * @param userId UUID do usuário cujo saldo está reservado
+ * @param merchantId UUID do lojista que autorizou a reserva
+ * @param amount valor reservado em centavos
+ * @param capturedAmount valor capturado em centavos (só depois da captura)
+ * @param status situação da reserva
+ * @param transactionId UUID da transação gerada pela captura
+ * @param expiresAt prazo para a captura
+ */
+public record WalletHoldResponse(
+    UUID holdId,
+    UUID userId,
+    UUID merchantId,
+    Integer amount,
+    Integer capturedAmount,
+    WalletHoldStatus status,
+    UUID transactionId,
+    LocalDateTime expiresAt
+) {
+}
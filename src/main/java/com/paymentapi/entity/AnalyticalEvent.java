@@ -0,0 +1,65 @@
+package com.paymentapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Entidade JPA que representa um evento analítico (tabela do V3).
+ * As gravações são feitas em lote pelo AnalyticsEmitter via COPY; a entidade serve às consultas
+ * e ao mapeamento do schema. O id é gerado na aplicação, antes do COPY.
+ */
+@Entity
+@Table(
+    name = "analytical_events",
+    indexes = {
+      @Index(name = "idx_analytical_events_type", columnList = "event_type"),
+      @Index(name = "idx_analytical_events_user_id", columnList = "user_id"),
+      @Index(name = "idx_analytical_events_transaction_id", columnList = "transaction_id"),
+      @Index(name = "idx_analytical_events_correlation_id", columnList = "correlation_id"),
+      @Index(name = "idx_analytical_events_created_at", columnList = "created_at")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class AnalyticalEvent {
+
+  @Id
+  @EqualsAndHashCode.Include
+  private UUID id;
+
+  @NotNull
+  @Column(name = "event_type", length = 100, nullable = false)
+  private String eventType;
+
+  @Column(name = "user_id")
+  private UUID userId;
+
+  @Column(name = "transaction_id")
+  private UUID transactionId;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "event_data", columnDefinition = "jsonb")
+  private String eventData;
+
+  @Column(name = "correlation_id")
+  private String correlationId;
+
+  @NotNull
+  @Column(name = "created_at", nullable = false)
+  private OffsetDateTime createdAt;
+}
@@ -0,0 +1,43 @@
+package com.paymentapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entidade JPA do rollup por hora dos eventos analíticos.
+ * Gravada só pelo upsert incremental do AnalyticsEmitter; consultada pelo AnalyticsRollupRepository.
+ */
+@Entity
+@Table(
+    name = "analytics_rollup_hour",
+    indexes = {
+      @Index(name = "idx_analytics_rollup_hour_bucket", columnList = "bucket_start")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class AnalyticsRollupHour {
+
+  @EmbeddedId
+  @EqualsAndHashCode.Include
+  private AnalyticsRollupId id;
+
+  @NotNull
+  @Column(name = "event_count", nullable = false)
+  private Long eventCount;
+
+  @NotNull
+  @Column(name = "amount_sum", nullable = false)
+  private Long amountSum;
+}
@@ -0,0 +1,32 @@
+package com.paymentapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Chave composta dos rollups de eventos analíticos: tipo do evento, tipo do usuário e início do bucket.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class AnalyticsRollupId implements Serializable {
+
+  @Column(name = "event_type", length = 100, nullable = false)
+  private String eventType;
+
+  @Column(name = "user_type", length = 20, nullable = false)
+  private String userType;
+
+  @Column(name = "bucket_start", nullable = false)
+  private OffsetDateTime bucketStart;
+}
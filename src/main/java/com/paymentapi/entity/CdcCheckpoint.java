@@ -0,0 +1,40 @@
+package com.paymentapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entidade JPA com o checkpoint do leitor de CDC: até qual LSN os eventos de um slot de
+ * replicação já foram entregues aos assinantes.
+ */
+@Entity
+@Table(name = "cdc_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class CdcCheckpoint {
+
+  @Id
+  @EqualsAndHashCode.Include
+  @Column(name = "slot_name", length = 63)
+  private String slotName;
+
+  @NotNull
+  @Column(nullable = false)
+  private Long lsn;
+
+  @NotNull
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
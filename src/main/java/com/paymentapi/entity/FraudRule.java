@@ -0,0 +1,77 @@
+package com.paymentapi.entity;
+
+import com.paymentapi.entity.enums.FraudRuleAction;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Entidade JPA de uma regra antifraude. A definição é um JSON compilado pelo
+ * {@code FraudRuleCompiler} quando as regras são carregadas.
+ */
+@Entity
+@Table(
+    name = "fraud_rules",
+    uniqueConstraints = {
+      @UniqueConstraint(name = "uk_fraud_rules_name", columnNames = "name")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class FraudRule {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  @EqualsAndHashCode.Include
+  private UUID id;
+
+  @NotNull
+  @Column(name = "name", length = 100, nullable = false)
+  private String name;
+
+  @NotNull
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "definition", columnDefinition = "jsonb", nullable = false)
+  private String definition;
+
+  @NotNull
+  @Enumerated(EnumType.STRING)
+  @Column(name = "action", length = 20, nullable = false)
+  private FraudRuleAction action;
+
+  @NotNull
+  @Column(name = "priority", nullable = false)
+  private Integer priority;
+
+  @NotNull
+  @Column(name = "enabled", nullable = false)
+  private Boolean enabled;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,68 @@
+package com.paymentapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * Entidade JPA que representa uma chave de API de um lojista (MERCHANT).
+ * Guarda apenas o prefixo público e o digest SHA-256 da chave, nunca a chave em texto plano.
+ */
+@Entity
+@Table(
+    name = "merchant_api_keys",
+    uniqueConstraints = {
+      @UniqueConstraint(name = "uk_merchant_api_keys_prefix", columnNames = "key_prefix")
+    },
+    indexes = {
+      @Index(name = "idx_merchant_api_keys_user_id", columnList = "user_id")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class MerchantApiKey {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  @EqualsAndHashCode.Include
+  private UUID id;
+
+  @NotNull
+  @Column(name = "user_id", nullable = false)
+  private UUID userId;
+
+  @NotNull
+  @Column(name = "key_prefix", length = 16, nullable = false)
+  private String keyPrefix;
+
+  @NotNull
+  @Column(name = "key_hash", length = 64, nullable = false)
+  private String keyHash;
+
+  @NotNull
+  @Column(length = 100, nullable = false)
+  private String name;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "revoked_at")
+  private LocalDateTime revokedAt;
+}
@@ -0,0 +1,71 @@
+package com.paymentapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Entidade JPA de uma notificação pendente ao recebedor (tabela notification_outbox, V17).
+ * As gravações e a entrega são feitas com JDBC pelo NotificationOutboxRepository; a entidade
+ * serve ao mapeamento do schema.
+ */
+@Entity
+@Table(
+    name = "notification_outbox",
+    indexes = {
+      @Index(name = "idx_notification_outbox_pending_next_attempt", columnList = "next_attempt_at")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class NotificationOutboxEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @EqualsAndHashCode.Include
+  private Long id;
+
+  @Column(name = "transaction_id")
+  private UUID transactionId;
+
+  @NotNull
+  @Column(name = "recipient_id", nullable = false)
+  private UUID recipientId;
+
+  @NotNull
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "payload", columnDefinition = "jsonb", nullable = false)
+  private String payload;
+
+  @NotNull
+  @Column(name = "outbox_status", length = 20, nullable = false)
+  private String status;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "last_error")
+  private String lastError;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+}
@@ -0,0 +1,117 @@
+package com.paymentapi.entity;
+
+import com.paymentapi.entity.enums.ScheduledTransferStatus;
+import com.paymentapi.entity.enums.TransferRecurrence;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * Entidade JPA de uma transferência agendada ou recorrente (tabela scheduled_transfers, V15).
+ * O valor é armazenado em centavos; pagador e recebedor ficam pelo documento, como numa
+ * transferência avulsa.
+ */
+@Entity
+@Table(
+    name = "scheduled_transfers",
+    indexes = {
+      @Index(name = "idx_scheduled_transfers_active_next_run_at", columnList = "next_run_at"),
+      @Index(name = "idx_scheduled_transfers_payer_id", columnList = "payer_id")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ScheduledTransfer {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  @EqualsAndHashCode.Include
+  private UUID id;
+
+  @NotNull
+  @Column(name = "payer_id", nullable = false, updatable = false)
+  private UUID payerId;
+
+  @NotNull
+  @Column(name = "payer_document", length = 14, nullable = false, updatable = false)
+  private String payerDocument;
+
+  @NotNull
+  @Column(name = "payee_document", length = 14, nullable = false, updatable = false)
+  private String payeeDocument;
+
+  @NotNull
+  @Column(name = "amount", nullable = false, updatable = false)
+  private Integer amount;
+
+  @NotNull
+  @Enumerated(EnumType.STRING)
+  @Column(name = "recurrence", length = 20, nullable = false, updatable = false)
+  private TransferRecurrence recurrence;
+
+  @NotNull
+  @Enumerated(EnumType.STRING)
+  @Column(name = "schedule_status", length = 20, nullable = false)
+  private ScheduledTransferStatus status;
+
+  @NotNull
+  @Column(name = "first_run_at", nullable = false, updatable = false)
+  private LocalDateTime firstRunAt;
+
+  @Column(name = "occurrence", nullable = false)
+  private int occurrence;
+
+  @NotNull
+  @Column(name = "next_run_at", nullable = false)
+  private LocalDateTime nextRunAt;
+
+  @Column(name = "remaining_runs")
+  private Integer remainingRuns;
+
+  @Column(name = "run_count", nullable = false)
+  private int runCount;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "last_run_at")
+  private LocalDateTime lastRunAt;
+
+  @Column(name = "last_transaction_id")
+  private UUID lastTransactionId;
+
+  @Column(name = "last_error")
+  private String lastError;
+
+  @Column(name = "locked_by", length = 64)
+  private String lockedBy;
+
+  @Column(name = "locked_until")
+  private LocalDateTime lockedUntil;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
@@ -1,19 +1,33 @@
 package com.paymentapi.entity;
 
+import com.paymentapi.entity.enums.TransactionStatus;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
- * WIP pra Transaction
+ * Entidade JPA que representa uma transferência entre dois usuários (tabela transactions, V2).
+ * O valor é armazenado em centavos.
  */
 @Entity
-@Table(name = "transactions")
+@Table(
+    name = "transactions",
+    indexes = {
+      @Index(name = "idx_transactions_payer_id", columnList = "payer_id"),
+      @Index(name = "idx_transactions_payee_id", columnList = "payee_id"),
+      @Index(name = "idx_transactions_payer_payee", columnList = "payer_id, payee_id"),
+      @Index(name = "idx_transactions_status", columnList = "transaction_status"),
+      @Index(name = "idx_transactions_created_at", columnList = "created_at"),
+      @Index(name = "idx_transactions_payout_id", columnList = "payout_id")
+    })
 public class Transaction {
 
     @Id
@@ -21,11 +35,34 @@ public class Transaction {
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
+    @Column(name = "payer_id", nullable = false, updatable = false)
+    private UUID payerId;
+
+    @Column(name = "payee_id", nullable = false, updatable = false)
+    private UUID payeeId;
+
+    @Column(name = "amount", nullable = false, updatable = false)
+    private Integer amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_status", length = 50, nullable = false)
+    private TransactionStatus status;
+
+    @Column(name = "external_authorization_id")
+    private String externalAuthorizationId;
+
+    @Column(name = "payout_id", updatable = false)
+    private UUID payoutId;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
     public Transaction() {
         this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
     }
 
     public UUID getId() {
@@ -36,6 +73,54 @@ public class Transaction {
         this.id = id;
     }
 
+    public UUID getPayerId() {
+        return payerId;
+    }
+
+    public void setPayerId(UUID payerId) {
+        this.payerId = payerId;
+    }
+
+    public UUID getPayeeId() {
+        return payeeId;
+    }
+
+    public void setPayeeId(UUID payeeId) {
+        this.payeeId = payeeId;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Integer amount) {
+        this.amount = amount;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TransactionStatus status) {
+        this.status = status;
+    }
+
+    public String getExternalAuthorizationId() {
+        return externalAuthorizationId;
+    }
+
+    public void setExternalAuthorizationId(String externalAuthorizationId) {
+        this.externalAuthorizationId = externalAuthorizationId;
+    }
+
+    public UUID getPayoutId() {
+        return payoutId;
+    }
+
+    public void setPayoutId(UUID payoutId) {
+        this.payoutId = payoutId;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -43,4 +128,12 @@ public class Transaction {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -22,6 +22,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -85,6 +86,14 @@ public class User {
   @Column(name = "wallet_balance", nullable = false)
   private Integer walletBalance = 0;
 
+  /**
+   * Soma das reservas ativas (wallet_holds); o disponível é walletBalance - heldAmount
+   */
+  @NotNull
+  @ColumnDefault("0")
+  @Column(name = "held_amount", nullable = false)
+  private Integer heldAmount = 0;
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
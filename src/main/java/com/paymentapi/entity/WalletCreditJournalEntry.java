@@ -0,0 +1,59 @@
+package com.paymentapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entidade JPA de um crédito diferido (tabela wallet_credit_journal, V13).
+ * As gravações e o merge são feitos com JDBC pelo CreditJournalRepository; a entidade serve ao
+ * mapeamento do schema.
+ */
+@Entity
+@Table(
+    name = "wallet_credit_journal",
+    indexes = {
+      @Index(name = "idx_wallet_credit_journal_user_amount", columnList = "user_id, amount")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class WalletCreditJournalEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @EqualsAndHashCode.Include
+  private Long id;
+
+  @NotNull
+  @Column(name = "user_id", nullable = false)
+  private UUID userId;
+
+  @Column(name = "transaction_id")
+  private UUID transactionId;
+
+  @NotNull
+  @Column(name = "amount", nullable = false)
+  private Integer amount;
+
+  @NotNull
+  @Column(name = "operation_type", length = 50, nullable = false)
+  private String operationType;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+}
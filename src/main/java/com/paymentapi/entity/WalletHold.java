@@ -0,0 +1,81 @@
+package com.paymentapi.entity;
+
+import com.paymentapi.entity.enums.WalletHoldStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * Entidade JPA de uma reserva de saldo (tabela wallet_holds, V12). O valor é armazenado em
+ * centavos e, enquanto a reserva está ativa, também soma em {@code users.held_amount}.
+ */
+@Entity
+@Table(
+    name = "wallet_holds",
+    indexes = {
+      @Index(name = "idx_wallet_holds_active_expires_at", columnList = "expires_at"),
+      @Index(name = "idx_wallet_holds_user_id", columnList = "user_id")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class WalletHold {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  @EqualsAndHashCode.Include
+  private UUID id;
+
+  @NotNull
+  @Column(name = "user_id", nullable = false, updatable = false)
+  private UUID userId;
+
+  @NotNull
+  @Column(name = "merchant_id", nullable = false, updatable = false)
+  private UUID merchantId;
+
+  @NotNull
+  @Column(name = "amount", nullable = false, updatable = false)
+  private Integer amount;
+
+  @Column(name = "captured_amount")
+  private Integer capturedAmount;
+
+  @NotNull
+  @Enumerated(EnumType.STRING)
+  @Column(name = "hold_status", length = 20, nullable = false)
+  private WalletHoldStatus status;
+
+  @Column(name = "transaction_id")
+  private UUID transactionId;
+
+  @NotNull
+  @Column(name = "expires_at", nullable = false, updatable = false)
+  private LocalDateTime expiresAt;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.paymentapi.entity.enums;
+
+/**
+ * O que acontece quando uma regra antifraude casa com a transferência.
+ */
+public enum FraudRuleAction {
+  /**
+   * Recusa a transferência.
+   */
+  BLOCK,
+
+  /**
+   * Só registra a ocorrência (métrica e log); a transferência segue.
+   */
+  FLAG
+}
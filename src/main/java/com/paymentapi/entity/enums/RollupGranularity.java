@@ -0,0 +1,45 @@
+package com.paymentapi.entity.enums;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Granularidade dos buckets das séries de eventos analíticos.
+ * MINUTE e HOUR têm tabela própria; DAY é agregado na consulta a partir do rollup por hora.
+ */
+public enum RollupGranularity {
+  /**
+   * Buckets de um minuto (analytics_rollup_minute).
+   */
+  MINUTE(ChronoUnit.MINUTES),
+
+  /**
+   * Buckets de uma hora (analytics_rollup_hour).
+   */
+  HOUR(ChronoUnit.HOURS),
+
+  /**
+   * Buckets de um dia UTC, somando o rollup por hora.
+   */
+  DAY(ChronoUnit.DAYS);
+
+  private final ChronoUnit unit;
+
+  RollupGranularity(ChronoUnit unit) {
+    this.unit = unit;
+  }
+
+  /**
+   * @return unidade de truncamento do início do bucket
+   */
+  public ChronoUnit unit() {
+    return unit;
+  }
+
+  /**
+   * @return duração de um bucket
+   */
+  public Duration bucket() {
+    return unit.getDuration();
+  }
+}
@@ -0,0 +1,26 @@
+package com.paymentapi.entity.enums;
+
+/**
+ * Situação de uma transferência agendada.
+ */
+public enum ScheduledTransferStatus {
+  /**
+   * Aguardando a próxima execução.
+   */
+  ACTIVE,
+
+  /**
+   * Todas as execuções previstas foram feitas.
+   */
+  COMPLETED,
+
+  /**
+   * Agendamento único cuja execução falhou.
+   */
+  FAILED,
+
+  /**
+   * Cancelada antes de terminar.
+   */
+  CANCELLED
+}
@@ -0,0 +1,26 @@
+package com.paymentapi.entity.enums;
+
+/**
+ * Status de uma transação de transferência (CHECK constraint da V2).
+ */
+public enum TransactionStatus {
+  /**
+   * Transação criada e ainda não concluída.
+   */
+  PENDING,
+
+  /**
+   * Transferência concluída com os saldos atualizados.
+   */
+  COMPLETED,
+
+  /**
+   * Transferência recusada ou com erro; nenhum saldo foi alterado.
+   */
+  FAILED,
+
+  /**
+   * Transferência cancelada (estornada).
+   */
+  CANCELLED
+}
@@ -0,0 +1,45 @@
+package com.paymentapi.entity.enums;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recorrência de uma transferência agendada.
+ */
+public enum TransferRecurrence {
+  /**
+   * Executa uma única vez.
+   */
+  ONCE,
+
+  /**
+   * Todo dia, no horário da primeira execução.
+   */
+  DAILY,
+
+  /**
+   * Toda semana, no dia e horário da primeira execução.
+   */
+  WEEKLY,
+
+  /**
+   * Todo mês, no dia da primeira execução (ou no último dia, em meses mais curtos).
+   */
+  MONTHLY;
+
+  /**
+   * Calcula uma ocorrência sempre a partir da primeira: um agendamento para o dia 31 volta ao
+   * dia 31 depois de fevereiro.
+   *
+   * @param firstRunAt primeira execução
+   * @param index índice da ocorrência (0 é a primeira)
+   * @return instante da ocorrência
+   */
+  public LocalDateTime occurrence(LocalDateTime firstRunAt, int index) {
+    return switch (this) {
+      case ONCE -> firstRunAt;
+      case DAILY -> firstRunAt.plusDays(index);
+      case WEEKLY -> firstRunAt.plusWeeks(index);
+      case MONTHLY -> firstRunAt.plusMonths(index);
+    };
+  }
+}
@@ -0,0 +1,26 @@
+package com.paymentapi.entity.enums;
+
+/**
+ * Situação de uma reserva de saldo.
+ */
+public enum WalletHoldStatus {
+  /**
+   * Valor reservado, ainda fora do saldo disponível.
+   */
+  ACTIVE,
+
+  /**
+   * Capturada: o valor virou uma transferência para o lojista.
+   */
+  CAPTURED,
+
+  /**
+   * Liberada antes de expirar; o valor voltou ao disponível.
+   */
+  RELEASED,
+
+  /**
+   * Expirou sem captura e foi liberada pela varredura.
+   */
+  EXPIRED
+}
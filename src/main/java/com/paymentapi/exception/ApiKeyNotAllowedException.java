@@ -0,0 +1,18 @@
+package com.paymentapi.exception;
+
+import java.util.UUID;
+
+/**
+ * Exceção lançada quando se tenta emitir uma chave de API para um usuário que não é MERCHANT.
+ */
+public class ApiKeyNotAllowedException extends BusinessException {
+
+    /**
+     * Constrói uma ApiKeyNotAllowedException com o ID do usuário.
+     *
+     * @param userId o UUID do usuário que não pode ter chaves de API
+     */
+    public ApiKeyNotAllowedException(UUID userId) {
+        super(String.format("Chaves de API são exclusivas de lojistas: usuário %s", userId));
+    }
+}
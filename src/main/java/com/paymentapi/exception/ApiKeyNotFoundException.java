@@ -0,0 +1,18 @@
+package com.paymentapi.exception;
+
+import java.util.UUID;
+
+/**
+ * Exceção lançada quando uma chave de API não é encontrada para o lojista informado.
+ */
+public class ApiKeyNotFoundException extends BusinessException {
+
+    /**
+     * Constrói uma ApiKeyNotFoundException com o ID da chave.
+     *
+     * @param keyId o UUID da chave que não foi encontrada
+     */
+    public ApiKeyNotFoundException(UUID keyId) {
+        super(String.format("Chave de API não encontrada: %s", keyId));
+    }
+}
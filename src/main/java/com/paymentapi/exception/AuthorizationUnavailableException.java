@@ -0,0 +1,16 @@
+package com.paymentapi.exception;
+
+/**
+ * Exceção lançada quando o serviço externo de autorização não responde ou responde com erro.
+ */
+public class AuthorizationUnavailableException extends BusinessException {
+
+    /**
+     * Constrói uma AuthorizationUnavailableException com a causa raiz.
+     *
+     * @param cause erro da chamada ao serviço de autorização
+     */
+    public AuthorizationUnavailableException(Throwable cause) {
+        super("Serviço de autorização indisponível. Tente novamente mais tarde.", cause);
+    }
+}
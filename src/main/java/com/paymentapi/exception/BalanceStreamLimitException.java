@@ -0,0 +1,17 @@
+package com.paymentapi.exception;
+
+/**
+ * Exceção lançada quando não há vaga para abrir um novo stream de saldo
+ * (limite global do nó ou limite por usuário atingido).
+ */
+public class BalanceStreamLimitException extends BusinessException {
+
+    /**
+     * Constrói uma BalanceStreamLimitException com o limite atingido.
+     *
+     * @param message descrição do limite atingido
+     */
+    public BalanceStreamLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.paymentapi.exception;
+
+import java.util.UUID;
+
+/**
+ * Exceção lançada quando uma transferência agendada não é encontrada.
+ */
+public class ScheduledTransferNotFoundException extends BusinessException {
+
+    /**
+     * Constrói uma ScheduledTransferNotFoundException com o ID do agendamento.
+     *
+     * @param scheduleId o UUID do agendamento que não foi encontrado
+     */
+    public ScheduledTransferNotFoundException(UUID scheduleId) {
+        super(String.format("Transferência agendada não encontrada: %s", scheduleId));
+    }
+}
@@ -0,0 +1,15 @@
+package com.paymentapi.exception;
+
+/**
+ * Exceção lançada quando uma regra antifraude recusa a transferência.
+ * A mensagem não identifica a regra; o nome dela fica só no log e nas métricas.
+ */
+public class TransferBlockedException extends BusinessException {
+
+    /**
+     * Constrói uma TransferBlockedException com a mensagem padrão.
+     */
+    public TransferBlockedException() {
+        super("Transferência recusada pela análise de risco");
+    }
+}
@@ -0,0 +1,20 @@
+package com.paymentapi.exception;
+
+import java.util.UUID;
+
+/**
+ * Exceção lançada quando uma transferência ultrapassaria um limite de valor ou de frequência
+ * do usuário.
+ */
+public class TransferLimitExceededException extends BusinessException {
+
+    /**
+     * Constrói uma TransferLimitExceededException com o usuário e o limite atingido.
+     *
+     * @param userId UUID do usuário que atingiu o limite
+     * @param limit descrição do limite atingido
+     */
+    public TransferLimitExceededException(UUID userId, String limit) {
+        super(String.format("Limite de transferência atingido para o usuário %s: %s", userId, limit));
+    }
+}
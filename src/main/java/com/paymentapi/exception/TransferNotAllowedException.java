@@ -0,0 +1,17 @@
+package com.paymentapi.exception;
+
+/**
+ * Exceção lançada quando uma transferência viola uma regra de negócio
+ * (lojista como pagador, pagador igual ao recebedor).
+ */
+public class TransferNotAllowedException extends BusinessException {
+
+    /**
+     * Constrói uma TransferNotAllowedException com a regra violada.
+     *
+     * @param message descrição da regra violada
+     */
+    public TransferNotAllowedException(String message) {
+        super(message);
+    }
+}
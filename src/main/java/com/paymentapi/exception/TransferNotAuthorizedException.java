@@ -0,0 +1,14 @@
+package com.paymentapi.exception;
+
+/**
+ * Exceção lançada quando o serviço externo de autorização nega a transferência.
+ */
+public class TransferNotAuthorizedException extends BusinessException {
+
+    /**
+     * Constrói uma TransferNotAuthorizedException.
+     */
+    public TransferNotAuthorizedException() {
+        super("Transferência não autorizada pelo serviço de autorização");
+    }
+}
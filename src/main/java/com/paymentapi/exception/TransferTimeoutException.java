@@ -0,0 +1,18 @@
+package com.paymentapi.exception;
+
+import java.time.Duration;
+
+/**
+ * Exceção lançada quando a resolução de uma transferência não termina dentro do prazo.
+ */
+public class TransferTimeoutException extends BusinessException {
+
+    /**
+     * Constrói uma TransferTimeoutException com o prazo estourado.
+     *
+     * @param deadline prazo configurado para a transferência
+     */
+    public TransferTimeoutException(Duration deadline) {
+        super(String.format("Transferência não concluída dentro do prazo de %d ms", deadline.toMillis()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.paymentapi.exception;
+
+import java.util.UUID;
+
+/**
+ * Exceção lançada quando o usuário autenticado tenta acessar a carteira de outro usuário.
+ */
+public class WalletAccessDeniedException extends BusinessException {
+
+    /**
+     * Constrói uma WalletAccessDeniedException com o ID da carteira pedida.
+     *
+     * @param userId o UUID da carteira que o usuário autenticado não pode acessar
+     */
+    public WalletAccessDeniedException(UUID userId) {
+        super(String.format("Acesso negado à carteira do usuário %s", userId));
+    }
+}
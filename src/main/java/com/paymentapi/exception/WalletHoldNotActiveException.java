@@ -0,0 +1,20 @@
+package com.paymentapi.exception;
+
+import com.paymentapi.entity.enums.WalletHoldStatus;
+import java.util.UUID;
+
+/**
+ * Exceção lançada ao capturar ou liberar uma reserva que já foi capturada, liberada ou expirou.
+ */
+public class WalletHoldNotActiveException extends BusinessException {
+
+    /**
+     * Constrói uma WalletHoldNotActiveException com a situação atual da reserva.
+     *
+     * @param holdId o UUID da reserva
+     * @param status situação atual (EXPIRED também para reservas ativas com prazo vencido)
+     */
+    public WalletHoldNotActiveException(UUID holdId, WalletHoldStatus status) {
+        super(String.format("Reserva de saldo %s não está ativa: %s", holdId, status));
+    }
+}
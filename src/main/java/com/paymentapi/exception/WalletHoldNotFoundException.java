@@ -0,0 +1,18 @@
+package com.paymentapi.exception;
+
+import java.util.UUID;
+
+/**
+ * Exceção lançada quando uma reserva de saldo não é encontrada.
+ */
+public class WalletHoldNotFoundException extends BusinessException {
+
+    /**
+     * Constrói uma WalletHoldNotFoundException com o ID da reserva.
+     *
+     * @param holdId o UUID da reserva que não foi encontrada
+     */
+    public WalletHoldNotFoundException(UUID holdId) {
+        super(String.format("Reserva de saldo não encontrada: %s", holdId));
+    }
+}
@@ -0,0 +1,70 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas do emissor de eventos analíticos (fila em memória e gravação em lote).
+ */
+@Component
+public class AnalyticsMetrics {
+
+    private static final String QUEUE_DEPTH = "payment_analytics_queue_depth";
+    private static final String FLUSH_DURATION = "payment_analytics_flush_duration_seconds";
+    private static final String EVENTS_WRITTEN = "payment_analytics_events_written_total";
+    private static final String EVENTS_DROPPED = "payment_analytics_events_dropped_total";
+    private static final String ROLLUP_QUERY_DURATION = "payment_analytics_rollup_query_duration_seconds";
+
+    private final MetricsService metricsService;
+
+    public AnalyticsMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra o gauge de eventos aguardando gravação.
+     *
+     * @param queueSize contador de eventos na fila
+     */
+    public void bindQueueDepthGauge(AtomicInteger queueSize) {
+        metricsService.registerGauge(QUEUE_DEPTH, Map.of(), queueSize, AtomicInteger::get);
+    }
+
+    /**
+     * Registra a gravação de um lote.
+     *
+     * @param events quantidade de eventos no lote
+     * @param duration duração do COPY e dos upserts de rollup
+     * @param status success ou failed
+     */
+    public void recordFlush(int events, Duration duration, String status) {
+        metricsService.recordTiming(FLUSH_DURATION, duration, Map.of("status", status));
+        if ("success".equals(status)) {
+            metricsService.incrementCounter(EVENTS_WRITTEN, Map.of(), events);
+        }
+    }
+
+    /**
+     * Registra eventos descartados.
+     *
+     * @param events quantidade de eventos
+     * @param reason queue_full, serialization, write_failed ou shutdown
+     */
+    public void recordDropped(int events, String reason) {
+        metricsService.incrementCounter(EVENTS_DROPPED, Map.of("reason", reason), events);
+    }
+
+    /**
+     * Registra uma consulta de série nos rollups.
+     *
+     * @param granularity granularidade usada (minute, hour ou day)
+     * @param duration duração da consulta
+     */
+    public void recordRollupQuery(String granularity, Duration duration) {
+        metricsService.recordTiming(ROLLUP_QUERY_DURATION, duration, Map.of("granularity", granularity));
+    }
+}
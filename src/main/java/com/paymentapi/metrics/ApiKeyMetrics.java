@@ -0,0 +1,46 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Métricas da autenticação por chave de API dos lojistas.
+ */
+@Component
+public class ApiKeyMetrics {
+
+    private static final String API_KEY_AUTHENTICATIONS = "payment_api_key_authentications_total";
+    private static final String API_KEY_VERIFICATION_DURATION = "payment_api_key_verification_duration_seconds";
+
+    private final MetricsService metricsService;
+
+    public ApiKeyMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra uma tentativa de autenticação por chave de API.
+     *
+     * @param result resultado (success, malformed, unknown, revoked, invalid)
+     * @param source origem dos dados da chave (cache, database)
+     */
+    public void recordAuthentication(String result, String source) {
+        metricsService.incrementCounter(API_KEY_AUTHENTICATIONS, Map.of(
+            "result", result,
+            "source", source
+        ));
+    }
+
+    /**
+     * Registra a duração da verificação de uma chave.
+     *
+     * @param duration duração da verificação
+     * @param source origem dos dados da chave (cache, database)
+     */
+    public void recordVerificationDuration(Duration duration, String source) {
+        metricsService.recordTiming(API_KEY_VERIFICATION_DURATION, duration, Map.of("source", source));
+    }
+}
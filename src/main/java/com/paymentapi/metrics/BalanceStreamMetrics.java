@@ -0,0 +1,70 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas dos streams SSE de saldo.
+ */
+@Component
+public class BalanceStreamMetrics {
+
+    private static final String STREAMS_OPEN = "payment_balance_streams_open";
+    private static final String STREAMS_REJECTED = "payment_balance_streams_rejected_total";
+    private static final String STREAMS_CLOSED = "payment_balance_streams_closed_total";
+    private static final String EVENTS_SENT = "payment_balance_stream_events_sent_total";
+    private static final String EVENTS_DROPPED = "payment_balance_stream_events_dropped_total";
+
+    private final MetricsService metricsService;
+
+    public BalanceStreamMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra o gauge de streams abertos.
+     *
+     * @param openStreams contador de streams abertos do hub
+     */
+    public void bindOpenStreamsGauge(AtomicInteger openStreams) {
+        metricsService.registerGauge(STREAMS_OPEN, Map.of(), openStreams, AtomicInteger::get);
+    }
+
+    /**
+     * Registra uma abertura de stream recusada.
+     *
+     * @param reason node_limit ou user_limit
+     */
+    public void recordStreamRejected(String reason) {
+        metricsService.incrementCounter(STREAMS_REJECTED, Map.of("reason", reason));
+    }
+
+    /**
+     * Registra o fechamento de um stream.
+     *
+     * @param reason completed, timeout ou error
+     */
+    public void recordStreamClosed(String reason) {
+        metricsService.incrementCounter(STREAMS_CLOSED, Map.of("reason", reason));
+    }
+
+    /**
+     * Registra um evento enviado ao cliente.
+     *
+     * @param type balance ou heartbeat
+     */
+    public void recordEventSent(String type) {
+        metricsService.incrementCounter(EVENTS_SENT, Map.of("type", type));
+    }
+
+    /**
+     * Registra um evento descartado porque o buffer da conexão estava cheio
+     * (cliente lento). O saldo mais novo continua no buffer.
+     */
+    public void recordEventDropped() {
+        metricsService.incrementCounter(EVENTS_DROPPED, Map.of());
+    }
+}
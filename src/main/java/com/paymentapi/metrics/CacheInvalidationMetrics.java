@@ -0,0 +1,73 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Métricas do barramento de invalidação de cache entre nós (LISTEN/NOTIFY).
+ * O atraso de propagação vai do commit no nó de origem até a aplicação local no nó que recebeu.
+ */
+@Component
+public class CacheInvalidationMetrics {
+
+    private static final String INVALIDATIONS_PUBLISHED = "payment_cache_invalidations_published_total";
+    private static final String NOTIFICATIONS_SENT = "payment_cache_invalidation_notifications_sent_total";
+    private static final String INVALIDATIONS_RECEIVED = "payment_cache_invalidations_received_total";
+    private static final String PROPAGATION_DELAY = "payment_cache_invalidation_propagation_seconds";
+    private static final String FULL_FLUSHES = "payment_cache_invalidation_full_flushes_total";
+    private static final String LISTENER_ERRORS = "payment_cache_invalidation_listener_errors_total";
+
+    private final MetricsService metricsService;
+
+    public CacheInvalidationMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra o envio de uma notificação (um lote de invalidações).
+     *
+     * @param invalidations quantidade de invalidações no lote
+     * @param status success ou failed
+     */
+    public void recordNotificationSent(int invalidations, String status) {
+        metricsService.incrementCounter(NOTIFICATIONS_SENT, Map.of("status", status));
+        metricsService.incrementCounter(INVALIDATIONS_PUBLISHED, Map.of("status", status), invalidations);
+    }
+
+    /**
+     * Registra invalidações recebidas de outro nó e aplicadas localmente.
+     *
+     * @param type tipo da invalidação
+     */
+    public void recordInvalidationReceived(String type) {
+        metricsService.incrementCounter(INVALIDATIONS_RECEIVED, Map.of("type", type));
+    }
+
+    /**
+     * Registra o atraso entre o commit no nó de origem e a aplicação local do lote.
+     *
+     * @param delay atraso de propagação
+     */
+    public void recordPropagationDelay(Duration delay) {
+        metricsService.recordTiming(PROPAGATION_DELAY, delay, Map.of());
+    }
+
+    /**
+     * Registra um esvaziamento completo dos caches locais.
+     *
+     * @param reason sequence_gap, reconnect ou malformed
+     */
+    public void recordFullFlush(String reason) {
+        metricsService.incrementCounter(FULL_FLUSHES, Map.of("reason", reason));
+    }
+
+    /**
+     * Registra uma falha da conexão de escuta.
+     */
+    public void recordListenerError() {
+        metricsService.incrementCounter(LISTENER_ERRORS, Map.of());
+    }
+}
@@ -0,0 +1,82 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas do leitor de change data capture (replicação lógica).
+ * O atraso de entrega vai do commit no banco até o fim da entrega aos assinantes.
+ */
+@Component
+public class CdcMetrics {
+
+    private static final String EVENTS = "payment_cdc_events_total";
+    private static final String SUBSCRIBER_ERRORS = "payment_cdc_subscriber_errors_total";
+    private static final String DELIVERY_LAG = "payment_cdc_delivery_lag_seconds";
+    private static final String RECONNECTS = "payment_cdc_reconnects_total";
+    private static final String CHECKPOINT_LSN = "payment_cdc_checkpoint_lsn";
+    private static final String LEADER = "payment_cdc_leader";
+
+    private final MetricsService metricsService;
+
+    public CdcMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra o gauge com o último LSN gravado no checkpoint.
+     *
+     * @param checkpointLsn LSN do checkpoint do leitor
+     */
+    public void bindCheckpointGauge(AtomicLong checkpointLsn) {
+        metricsService.registerGauge(CHECKPOINT_LSN, Map.of(), checkpointLsn, AtomicLong::get);
+    }
+
+    /**
+     * Registra o gauge que indica se este nó é o líder do slot (1) ou está em espera (0).
+     *
+     * @param leader se o nó detém o advisory lock do slot
+     */
+    public void bindLeaderGauge(AtomicBoolean leader) {
+        metricsService.registerGauge(LEADER, Map.of(), leader, value -> value.get() ? 1 : 0);
+    }
+
+    /**
+     * Registra um evento entregue aos assinantes.
+     *
+     * @param type user_changed ou balance_audit_inserted
+     */
+    public void recordEvent(String type) {
+        metricsService.incrementCounter(EVENTS, Map.of("type", type));
+    }
+
+    /**
+     * Registra uma falha de assinante ao tratar um evento.
+     *
+     * @param type tipo do evento
+     */
+    public void recordSubscriberError(String type) {
+        metricsService.incrementCounter(SUBSCRIBER_ERRORS, Map.of("type", type));
+    }
+
+    /**
+     * Registra o atraso entre o commit e a entrega da transação.
+     *
+     * @param lag atraso de entrega
+     */
+    public void recordDeliveryLag(Duration lag) {
+        metricsService.recordTiming(DELIVERY_LAG, lag, Map.of());
+    }
+
+    /**
+     * Registra uma reconexão do stream de replicação.
+     */
+    public void recordReconnect() {
+        metricsService.incrementCounter(RECONNECTS, Map.of());
+    }
+}
@@ -0,0 +1,49 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Métricas da entrega assíncrona dos eventos de domínio após o commit.
+ */
+@Component
+public class DomainEventMetrics {
+
+    private static final String QUEUE_DEPTH = "payment_domain_event_queue_depth";
+    private static final String CALLER_RUNS = "payment_domain_event_caller_runs_total";
+    private static final String LISTENER_FAILURES = "payment_domain_event_listener_failures_total";
+
+    private final MetricsService metricsService;
+
+    public DomainEventMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra o gauge de eventos aguardando um listener na fila do executor.
+     *
+     * @param executor executor dos listeners
+     */
+    public void bindQueueDepthGauge(ThreadPoolExecutor executor) {
+        metricsService.registerGauge(QUEUE_DEPTH, Map.of(), executor, pool -> pool.getQueue().size());
+    }
+
+    /**
+     * Registra um listener executado na thread que publicou, porque a fila estava cheia.
+     */
+    public void recordCallerRuns() {
+        metricsService.incrementCounter(CALLER_RUNS, Map.of());
+    }
+
+    /**
+     * Registra a falha de um listener.
+     *
+     * @param listener nome do método do listener
+     */
+    public void recordListenerFailure(String listener) {
+        metricsService.incrementCounter(LISTENER_FAILURES, Map.of("listener", listener));
+    }
+}
@@ -0,0 +1,79 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Métricas do motor de regras antifraude: tempo de avaliação (histograma), regras que casaram
+ * e recargas das regras.
+ */
+@Component
+public class FraudMetrics {
+
+    private static final String EVALUATION_DURATION = "payment_fraud_evaluation_duration_seconds";
+    private static final String RULE_MATCHES = "payment_fraud_rule_matches_total";
+    private static final String RULES_LOADED = "payment_fraud_rules_loaded";
+    private static final String RELOADS = "payment_fraud_rule_reloads_total";
+    private static final String INVALID_RULES = "payment_fraud_invalid_rules_total";
+
+    private static final Duration MIN_EXPECTED_EVALUATION = Duration.ofNanos(500);
+    private static final Duration MAX_EXPECTED_EVALUATION = Duration.ofMillis(50);
+
+    private final MetricsService metricsService;
+
+    public FraudMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra o gauge de regras carregadas.
+     *
+     * @param loadedRules quantidade de regras compiladas em uso
+     */
+    public void bindRulesLoadedGauge(IntSupplier loadedRules) {
+        metricsService.registerGauge(RULES_LOADED, Map.of(), loadedRules, IntSupplier::getAsInt);
+    }
+
+    /**
+     * Registra o tempo de avaliação das regras de uma transferência.
+     *
+     * @param duration duração da avaliação, incluindo os fatos carregados sob demanda
+     * @param outcome allow ou block
+     */
+    public void recordEvaluation(Duration duration, String outcome) {
+        metricsService.recordTimingHistogram(EVALUATION_DURATION, duration, Map.of("outcome", outcome),
+            MIN_EXPECTED_EVALUATION, MAX_EXPECTED_EVALUATION);
+    }
+
+    /**
+     * Registra uma regra que casou com a transferência.
+     *
+     * @param rule nome da regra
+     * @param action BLOCK ou FLAG
+     */
+    public void recordMatch(String rule, String action) {
+        metricsService.incrementCounter(RULE_MATCHES, Map.of("rule", rule, "action", action));
+    }
+
+    /**
+     * Registra uma recarga das regras.
+     *
+     * @param status success ou failed
+     */
+    public void recordReload(String status) {
+        metricsService.incrementCounter(RELOADS, Map.of("status", status));
+    }
+
+    /**
+     * Registra uma regra ignorada por definição inválida.
+     *
+     * @param rule nome da regra
+     */
+    public void recordInvalidRule(String rule) {
+        metricsService.incrementCounter(INVALID_RULES, Map.of("rule", rule));
+    }
+}
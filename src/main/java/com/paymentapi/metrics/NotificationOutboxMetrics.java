@@ -0,0 +1,79 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.dto.internal.OutboxBacklog;
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Métricas do outbox de notificações: backlog (quantidade e idade da pendente mais antiga),
+ * entregas por resultado, lag entre a transferência e a entrega, e duração dos lotes do relay.
+ */
+@Component
+public class NotificationOutboxMetrics {
+
+    private static final String WRITTEN = "payment_notification_outbox_written_total";
+    private static final String BACKLOG = "payment_notification_outbox_backlog";
+    private static final String OLDEST_AGE = "payment_notification_outbox_oldest_age_seconds";
+    private static final String DELIVERIES = "payment_notification_outbox_deliveries_total";
+    private static final String LAG = "payment_notification_outbox_lag_seconds";
+    private static final String BATCH_DURATION = "payment_notification_outbox_batch_duration_seconds";
+    private static final Duration MIN_EXPECTED_LAG = Duration.ofMillis(10);
+    private static final Duration MAX_EXPECTED_LAG = Duration.ofMinutes(10);
+
+    private final MetricsService metricsService;
+
+    public NotificationOutboxMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra os gauges do backlog. A idade é calculada na coleta, a partir da gravação da
+     * pendente mais antiga.
+     *
+     * @param backlog último backlog lido
+     */
+    public void bindBacklogGauges(Supplier<OutboxBacklog> backlog) {
+        metricsService.registerGauge(BACKLOG, Map.of(), backlog, supplier -> supplier.get().count());
+        metricsService.registerGauge(OLDEST_AGE, Map.of(), backlog, supplier -> {
+            LocalDateTime oldest = supplier.get().oldestCreatedAt();
+            return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+        });
+    }
+
+    /**
+     * Registra notificações gravadas no outbox por uma transação.
+     *
+     * @param count quantidade de notificações
+     */
+    public void recordWritten(int count) {
+        metricsService.incrementCounter(WRITTEN, Map.of(), count);
+    }
+
+    /**
+     * Registra o resultado de uma entrega.
+     *
+     * @param status delivered, retry ou failed (tentativas esgotadas)
+     * @param lag tempo desde a gravação no outbox
+     */
+    public void recordDelivery(String status, Duration lag) {
+        metricsService.incrementCounter(DELIVERIES, Map.of("status", status));
+        if ("delivered".equals(status)) {
+            metricsService.recordTimingHistogram(LAG, lag, Map.of(), MIN_EXPECTED_LAG, MAX_EXPECTED_LAG);
+        }
+    }
+
+    /**
+     * Registra um lote do relay.
+     *
+     * @param duration duração do lote (reivindicação, entregas e registro dos resultados)
+     * @param status success ou failed
+     */
+    public void recordBatch(Duration duration, String status) {
+        metricsService.recordTiming(BATCH_DURATION, duration, Map.of("status", status));
+    }
+}
@@ -0,0 +1,39 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Métricas dos repasses em massa: quantidade e duração dos repasses e recebedores creditados.
+ */
+@Component
+public class PayoutMetrics {
+
+    private static final String PAYOUT_TOTAL = "payment_payout_total";
+    private static final String PAYOUT_DURATION = "payment_payout_duration_seconds";
+    private static final String PAYOUT_CREDITS = "payment_payout_credits_total";
+
+    private final MetricsService metricsService;
+
+    public PayoutMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra um repasse.
+     *
+     * @param duration duração do repasse, da validação ao commit
+     * @param credited recebedores creditados
+     * @param status success ou failed
+     */
+    public void recordPayout(Duration duration, int credited, String status) {
+        metricsService.incrementCounter(PAYOUT_TOTAL, Map.of("status", status));
+        metricsService.recordTiming(PAYOUT_DURATION, duration, Map.of("status", status));
+        if (credited > 0) {
+            metricsService.incrementCounter(PAYOUT_CREDITS, Map.of(), credited);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.dto.internal.PendingTransactionBacklog;
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Métricas da varredura de transações presas em PENDING: backlog (quantidade e idade da mais
+ * antiga, lidos na última passada), resoluções por tipo e duração das passadas.
+ */
+@Component
+public class PendingTransactionMetrics {
+
+    private static final String BACKLOG = "payment_transaction_pending_backlog";
+    private static final String OLDEST_AGE = "payment_transaction_pending_oldest_age_seconds";
+    private static final String RESOLVED = "payment_transaction_pending_resolved_total";
+    private static final String SWEEP_DURATION = "payment_transaction_pending_sweep_duration_seconds";
+
+    private final MetricsService metricsService;
+
+    public PendingTransactionMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra os gauges do backlog. A idade é calculada na coleta, a partir da criação da
+     * pendente mais antiga: cresce entre uma passada e outra mesmo sem nova leitura.
+     *
+     * @param backlog último backlog lido
+     */
+    public void bindBacklogGauges(Supplier<PendingTransactionBacklog> backlog) {
+        metricsService.registerGauge(BACKLOG, Map.of(), backlog, supplier -> supplier.get().count());
+        metricsService.registerGauge(OLDEST_AGE, Map.of(), backlog, supplier -> {
+            LocalDateTime oldest = supplier.get().oldestCreatedAt();
+            return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+        });
+    }
+
+    /**
+     * Registra transações pendentes resolvidas.
+     *
+     * @param resolution completed, failed, compensated ou unresolved
+     * @param count quantidade de transações
+     */
+    public void recordResolved(String resolution, int count) {
+        if (count > 0) {
+            metricsService.incrementCounter(RESOLVED, Map.of("resolution", resolution), count);
+        }
+    }
+
+    /**
+     * Registra uma passada da varredura.
+     *
+     * @param duration duração da passada, somando todos os lotes
+     * @param status success, skipped (outro nó com o lock) ou failed
+     */
+    public void recordSweep(Duration duration, String status) {
+        metricsService.recordTiming(SWEEP_DURATION, duration, Map.of("status", status));
+    }
+}
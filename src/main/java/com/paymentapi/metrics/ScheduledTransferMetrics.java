@@ -0,0 +1,61 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Métricas das transferências agendadas: reivindicações, execuções por resultado, atraso entre o
+ * horário previsto e o início da execução, e agendamentos aguardando na timing wheel.
+ */
+@Component
+public class ScheduledTransferMetrics {
+
+    private static final String CLAIMS = "payment_scheduled_transfer_claims_total";
+    private static final String CLAIMED = "payment_scheduled_transfer_claimed_total";
+    private static final String EXECUTIONS = "payment_scheduled_transfer_executions_total";
+    private static final String LAG = "payment_scheduled_transfer_lag_seconds";
+    private static final String PENDING = "payment_scheduled_transfer_pending";
+
+    private final MetricsService metricsService;
+
+    public ScheduledTransferMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra o gauge de agendamentos reivindicados aguardando execução neste nó.
+     *
+     * @param pending quantidade de agendamentos pendentes, lida a cada coleta
+     */
+    public void bindPendingGauge(IntSupplier pending) {
+        metricsService.registerGauge(PENDING, Map.of(), pending, IntSupplier::getAsInt);
+    }
+
+    /**
+     * Registra uma reivindicação de lote.
+     *
+     * @param claimed agendamentos reivindicados
+     * @param status success ou failed
+     */
+    public void recordClaim(int claimed, String status) {
+        metricsService.incrementCounter(CLAIMS, Map.of("status", status));
+        if (claimed > 0) {
+            metricsService.incrementCounter(CLAIMED, Map.of(), claimed);
+        }
+    }
+
+    /**
+     * Registra uma execução.
+     *
+     * @param outcome executed, failed, retry, skipped ou error
+     * @param lag atraso entre o horário previsto e o início da execução
+     */
+    public void recordExecution(String outcome, Duration lag) {
+        metricsService.incrementCounter(EXECUTIONS, Map.of("outcome", outcome));
+        metricsService.recordTiming(LAG, lag, Map.of());
+    }
+}
@@ -0,0 +1,60 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import com.paymentapi.util.SlidingWindowCounters;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Métricas dos limites de transferência (contadores de janela deslizante em memória).
+ */
+@Component
+public class TransferLimitMetrics {
+
+    private static final String REJECTIONS = "payment_transfer_limit_rejections_total";
+    private static final String TRACKED_USERS = "payment_transfer_limit_tracked_users";
+    private static final String EVICTIONS = "payment_transfer_limit_evictions";
+    private static final String MEMORY = "payment_transfer_limit_memory_bytes";
+    private static final String REBUILD_DURATION = "payment_transfer_limit_rebuild_duration_seconds";
+
+    private final MetricsService metricsService;
+
+    public TransferLimitMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra os gauges dos contadores. O supplier é lido a cada coleta, então
+     * reconstruções são refletidas automaticamente.
+     *
+     * @param counters supplier dos contadores ativos
+     */
+    public void bindCounterGauges(Supplier<SlidingWindowCounters> counters) {
+        metricsService.registerGauge(TRACKED_USERS, Map.of(), counters, supplier -> supplier.get().size());
+        metricsService.registerGauge(EVICTIONS, Map.of(), counters, supplier -> supplier.get().evictions());
+        metricsService.registerGauge(MEMORY, Map.of(), counters, supplier -> supplier.get().memoryBytes());
+    }
+
+    /**
+     * Registra uma transferência recusada por limite.
+     *
+     * @param userType tipo do usuário que atingiu o limite
+     * @param limit amount ou count
+     */
+    public void recordRejection(String userType, String limit) {
+        metricsService.incrementCounter(REJECTIONS, Map.of("user_type", userType, "limit", limit));
+    }
+
+    /**
+     * Registra a reconstrução dos contadores a partir da tabela transactions.
+     *
+     * @param duration duração da reconstrução
+     * @param status success ou failed
+     */
+    public void recordRebuild(Duration duration, String status) {
+        metricsService.recordTiming(REBUILD_DURATION, duration, Map.of("status", status));
+    }
+}
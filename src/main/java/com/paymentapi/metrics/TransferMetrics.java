@@ -16,6 +16,7 @@ public class TransferMetrics {
     private static final String TRANSFER_TOTAL = "payment_transfer_total";
     private static final String TRANSFER_FAILED = "payment_transfer_failed_total";
     private static final String TRANSFER_DURATION = "payment_transfer_duration_seconds";
+    private static final String TRANSFER_STEP_DURATION = "payment_transfer_step_duration_seconds";
 
     private final MetricsService metricsService;
 
@@ -62,4 +63,18 @@ public class TransferMetrics {
             "status", status
         ));
     }
+
+    /**
+     * Registra a duração de uma etapa da transferência.
+     * Com as etapas independentes em paralelo, a duração total deve ficar perto da etapa mais lenta.
+     *
+     * @param step Etapa (payer_lookup, payee_lookup, authorization, write)
+     * @param duration Duração da etapa
+     */
+    public void recordStepDuration(String step, Duration duration) {
+        metricsService.recordTiming(TRANSFER_STEP_DURATION, duration, Map.of(
+            "service", "transfer-service",
+            "step", step
+        ));
+    }
 }
@@ -0,0 +1,66 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import com.paymentapi.util.BloomFilter;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Métricas do filtro de existência de usuários (Bloom filter de CPF/CNPJ/email).
+ * Expõe o tamanho em memória, a taxa estimada de falso positivo e a taxa observada.
+ */
+@Component
+public class UserFilterMetrics {
+
+    private static final String FILTER_MEMORY = "payment_user_filter_memory_bytes";
+    private static final String FILTER_EXPECTED_FPP = "payment_user_filter_expected_false_positive_rate";
+    private static final String FILTER_INSERTIONS = "payment_user_filter_insertions";
+    private static final String FILTER_CHECKS = "payment_user_filter_checks_total";
+    private static final String FILTER_FALSE_POSITIVES = "payment_user_filter_false_positives_total";
+
+    private final MetricsService metricsService;
+
+    public UserFilterMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra os gauges do filtro. O supplier é lido a cada coleta, então
+     * reconstruções do filtro são refletidas automaticamente.
+     *
+     * @param activeFilter supplier do filtro ativo
+     */
+    public void bindFilterGauges(Supplier<BloomFilter> activeFilter) {
+        metricsService.registerGauge(FILTER_MEMORY, Map.of(), activeFilter,
+            supplier -> supplier.get().memoryBytes());
+        metricsService.registerGauge(FILTER_EXPECTED_FPP, Map.of(), activeFilter,
+            supplier -> supplier.get().expectedFalsePositiveRate());
+        metricsService.registerGauge(FILTER_INSERTIONS, Map.of(), activeFilter,
+            supplier -> supplier.get().insertions());
+    }
+
+    /**
+     * Registra uma consulta ao filtro.
+     *
+     * @param key tipo da chave consultada (cpf, email, cnpj)
+     * @param result resultado da consulta (negative, maybe, bypass)
+     */
+    public void recordCheck(String key, String result) {
+        metricsService.incrementCounter(FILTER_CHECKS, Map.of(
+            "key", key,
+            "result", result
+        ));
+    }
+
+    /**
+     * Registra um falso positivo: o filtro respondeu "talvez" e o banco não encontrou a chave.
+     * A taxa observada é este contador dividido por checks{result="maybe"}.
+     *
+     * @param key tipo da chave consultada (cpf, email, cnpj)
+     */
+    public void recordFalsePositive(String key) {
+        metricsService.incrementCounter(FILTER_FALSE_POSITIVES, Map.of("key", key));
+    }
+}
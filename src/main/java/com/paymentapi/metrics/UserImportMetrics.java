@@ -0,0 +1,57 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Métricas da importação em massa de usuários.
+ * O throughput é obtido com rate() sobre o contador de linhas.
+ */
+@Component
+public class UserImportMetrics {
+
+    private static final String IMPORT_ROWS = "payment_user_import_rows_total";
+    private static final String IMPORT_STAGE_DURATION = "payment_user_import_stage_duration_seconds";
+    private static final String IMPORT_DURATION = "payment_user_import_duration_seconds";
+
+    private final MetricsService metricsService;
+
+    public UserImportMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra linhas processadas.
+     *
+     * @param status resultado das linhas (imported, invalid, duplicate, failed)
+     * @param count quantidade de linhas
+     */
+    public void recordRows(String status, long count) {
+        if (count > 0) {
+            metricsService.incrementCounter(IMPORT_ROWS, Map.of("status", status), count);
+        }
+    }
+
+    /**
+     * Registra a duração de uma etapa aplicada a um lote.
+     *
+     * @param stage etapa do pipeline (hashing, insert)
+     * @param duration duração da etapa
+     */
+    public void recordStageDuration(String stage, Duration duration) {
+        metricsService.recordTiming(IMPORT_STAGE_DURATION, duration, Map.of("stage", stage));
+    }
+
+    /**
+     * Registra a duração total de uma importação.
+     *
+     * @param format formato do arquivo (csv, ndjson)
+     * @param duration duração total
+     */
+    public void recordImportDuration(String format, Duration duration) {
+        metricsService.recordTiming(IMPORT_DURATION, duration, Map.of("format", format));
+    }
+}
@@ -0,0 +1,96 @@
+package com.paymentapi.metrics;
+
+import com.paymentapi.service.MetricsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Métricas das leituras de saldo da carteira, das reservas de saldo (hold/capture) e do merge dos
+ * créditos diferidos.
+ * A taxa de coalescência é reads{mode="coalesced"} dividido pelo total de reads.
+ */
+@Component
+public class WalletMetrics {
+
+    private static final String BALANCE_READS = "payment_wallet_balance_reads_total";
+    private static final String BALANCE_CONDITIONAL = "payment_wallet_balance_conditional_reads_total";
+    private static final String BALANCE_INFLIGHT = "payment_wallet_balance_inflight_reads";
+    private static final String HOLD_OPERATIONS = "payment_wallet_hold_operations_total";
+    private static final String HOLDS_EXPIRED = "payment_wallet_holds_expired_total";
+    private static final String HOLD_SWEEP_DURATION = "payment_wallet_hold_sweep_duration_seconds";
+    private static final String JOURNAL_CREDITS_MERGED = "payment_wallet_journal_credits_merged_total";
+    private static final String JOURNAL_MERGE_DURATION = "payment_wallet_journal_merge_duration_seconds";
+
+    private final MetricsService metricsService;
+
+    public WalletMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Registra o gauge de leituras de saldo em andamento no banco.
+     *
+     * @param inflight mapa das leituras em andamento, lido a cada coleta
+     */
+    public void bindInflightGauge(Map<?, ?> inflight) {
+        metricsService.registerGauge(BALANCE_INFLIGHT, Map.of(), inflight, Map::size);
+    }
+
+    /**
+     * Registra uma leitura de saldo.
+     *
+     * @param mode leader (foi ao banco), coalesced (reaproveitou uma leitura em andamento)
+     *             ou bypass (chamada dentro de uma transação já aberta)
+     */
+    public void recordBalanceRead(String mode) {
+        metricsService.incrementCounter(BALANCE_READS, Map.of("mode", mode));
+    }
+
+    /**
+     * Registra uma leitura de saldo condicional (com If-None-Match).
+     *
+     * @param result not_modified (respondida com 304) ou modified (saldo completo)
+     */
+    public void recordConditionalRead(String result) {
+        metricsService.incrementCounter(BALANCE_CONDITIONAL, Map.of("result", result));
+    }
+
+    /**
+     * Registra uma operação de reserva de saldo concluída.
+     *
+     * @param operation hold, capture ou release
+     */
+    public void recordHoldOperation(String operation) {
+        metricsService.incrementCounter(HOLD_OPERATIONS, Map.of("operation", operation));
+    }
+
+    /**
+     * Registra uma passada da varredura de reservas expiradas.
+     *
+     * @param duration duração da passada, somando todos os lotes
+     * @param expired reservas expiradas na passada
+     * @param status success ou failed
+     */
+    public void recordHoldSweep(Duration duration, int expired, String status) {
+        metricsService.recordTiming(HOLD_SWEEP_DURATION, duration, Map.of("status", status));
+        if (expired > 0) {
+            metricsService.incrementCounter(HOLDS_EXPIRED, Map.of(), expired);
+        }
+    }
+
+    /**
+     * Registra uma passada do merge do journal de créditos.
+     *
+     * @param duration duração da passada, somando todos os lotes
+     * @param merged créditos somados aos saldos na passada
+     * @param status success ou failed
+     */
+    public void recordJournalMerge(Duration duration, int merged, String status) {
+        metricsService.recordTiming(JOURNAL_MERGE_DURATION, duration, Map.of("status", status));
+        if (merged > 0) {
+            metricsService.incrementCounter(JOURNAL_CREDITS_MERGED, Map.of(), merged);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.dto.internal.AnalyticsRollupBucket;
+import com.paymentapi.entity.enums.RollupGranularity;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Acesso às tabelas analytics_rollup_minute e analytics_rollup_hour com JDBC.
+ * <p>
+ * O incremento roda na conexão do lote do AnalyticsEmitter, na mesma transação do COPY dos
+ * eventos: ou o lote entra inteiro (eventos e rollups), ou não entra. A consulta usa o
+ * JdbcTemplate; o bucket diário é agregado a partir do rollup por hora.
+ */
+@Repository
+public class AnalyticsRollupRepository {
+
+    /**
+     * Tipo de usuário gravado nos rollups quando o evento não informa um.
+     */
+    public static final String UNKNOWN_USER_TYPE = "UNKNOWN";
+
+    private static final String UPSERT = """
+        INSERT INTO %s AS r (event_type, user_type, bucket_start, event_count, amount_sum)
+        SELECT t.event_type, t.user_type, t.bucket_start, t.event_count, t.amount_sum
+        FROM unnest(?::varchar[], ?::varchar[], ?::timestamptz[], ?::bigint[], ?::bigint[])
+            AS t(event_type, user_type, bucket_start, event_count, amount_sum)
+        ON CONFLICT (event_type, user_type, bucket_start) DO UPDATE
+        SET event_count = r.event_count + EXCLUDED.event_count,
+            amount_sum = r.amount_sum + EXCLUDED.amount_sum
+        """;
+
+    private static final String SELECT_BUCKETS = """
+        SELECT event_type, user_type, bucket_start, event_count, amount_sum
+        FROM %s
+        WHERE bucket_start >= ? AND bucket_start < ?
+        """;
+
+    private static final String SELECT_DAY_BUCKETS = """
+        SELECT event_type, user_type,
+               date_trunc('day', bucket_start AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' AS bucket_start,
+               sum(event_count) AS event_count, sum(amount_sum) AS amount_sum
+        FROM analytics_rollup_hour
+        WHERE bucket_start >= ? AND bucket_start < ?
+        """;
+
+    private static final RowMapper<AnalyticsRollupBucket> ROLLUP_BUCKET = (rs, rowNum) -> new AnalyticsRollupBucket(
+        rs.getString("event_type"),
+        rs.getString("user_type"),
+        rs.getObject("bucket_start", OffsetDateTime.class).toInstant(),
+        rs.getLong("event_count"),
+        rs.getLong("amount_sum"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalyticsRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Soma os incrementos aos buckets existentes (ou cria os que faltam) num único statement.
+     * Os incrementos devem vir ordenados pela chave, para que lotes concorrentes de nós
+     * diferentes travem as linhas na mesma ordem.
+     *
+     * @param connection conexão da transação do lote
+     * @param granularity MINUTE ou HOUR
+     * @param increments incrementos, no máximo um por chave
+     * @return linhas inseridas ou atualizadas
+     * @throws SQLException se o upsert falhar
+     */
+    public int increment(Connection connection, RollupGranularity granularity,
+                         List<AnalyticsRollupBucket> increments) throws SQLException {
+        if (increments.isEmpty()) {
+            return 0;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT.formatted(table(granularity)))) {
+            statement.setArray(1, connection.createArrayOf("varchar",
+                column(increments, AnalyticsRollupBucket::eventType)));
+            statement.setArray(2, connection.createArrayOf("varchar",
+                column(increments, AnalyticsRollupBucket::userType)));
+            statement.setArray(3, connection.createArrayOf("timestamptz",
+                column(increments, bucket -> Timestamp.from(bucket.bucketStart()))));
+            statement.setArray(4, connection.createArrayOf("bigint",
+                column(increments, AnalyticsRollupBucket::eventCount)));
+            statement.setArray(5, connection.createArrayOf("bigint",
+                column(increments, AnalyticsRollupBucket::amountSum)));
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Lê os buckets do intervalo [from, to), ordenados por tipo de evento, tipo de usuário e bucket.
+     * Buckets sem eventos não existem na tabela e não vêm no resultado.
+     *
+     * @param granularity granularidade dos buckets
+     * @param eventType filtro por tipo de evento (opcional)
+     * @param userType filtro por tipo de usuário (opcional)
+     * @param from início do intervalo, inclusivo e alinhado ao bucket
+     * @param to fim do intervalo, exclusivo
+     * @return buckets encontrados
+     */
+    public List<AnalyticsRollupBucket> findBuckets(RollupGranularity granularity, String eventType,
+                                                   String userType, Instant from, Instant to) {
+        StringBuilder sql = new StringBuilder(granularity == RollupGranularity.DAY
+            ? SELECT_DAY_BUCKETS
+            : SELECT_BUCKETS.formatted(table(granularity)));
+        List<Object> args = new ArrayList<>(4);
+        args.add(Timestamp.from(from));
+        args.add(Timestamp.from(to));
+        if (eventType != null) {
+            sql.append("AND event_type = ?\n");
+            args.add(eventType);
+        }
+        if (userType != null) {
+            sql.append("AND user_type = ?\n");
+            args.add(userType);
+        }
+        if (granularity == RollupGranularity.DAY) {
+            sql.append("GROUP BY 1, 2, 3\n");
+        }
+        sql.append("ORDER BY 1, 2, 3");
+        return jdbcTemplate.query(sql.toString(), ROLLUP_BUCKET, args.toArray());
+    }
+
+    private static String table(RollupGranularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> "analytics_rollup_minute";
+            case HOUR -> "analytics_rollup_hour";
+            case DAY -> throw new IllegalArgumentException("Rollup diário não tem tabela própria");
+        };
+    }
+
+    private static <T> Object[] column(List<AnalyticsRollupBucket> increments,
+                                       Function<AnalyticsRollupBucket, T> getter) {
+        Object[] values = new Object[increments.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getter.apply(increments.get(i));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,30 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.entity.CdcCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repositório para as operações da entidade CdcCheckpoint
+ */
+@Repository
+public interface CdcCheckpointRepository extends JpaRepository<CdcCheckpoint, String> {
+
+    /**
+     * Grava o checkpoint do slot num único statement (insere ou atualiza).
+     *
+     * @param slotName nome do slot de replicação
+     * @param lsn end LSN da última transação entregue
+     * @return linhas afetadas
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO cdc_checkpoints (slot_name, lsn, updated_at) VALUES (:slotName, :lsn, now()) "
+        + "ON CONFLICT (slot_name) DO UPDATE SET lsn = EXCLUDED.lsn, updated_at = EXCLUDED.updated_at",
+        nativeQuery = true)
+    int upsert(@Param("slotName") String slotName, @Param("lsn") long lsn);
+}
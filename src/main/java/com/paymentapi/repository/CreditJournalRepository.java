@@ -0,0 +1,70 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.dto.internal.JournalCredit;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Acesso ao journal de créditos diferidos (wallet_credit_journal) com JDBC.
+ * <p>
+ * A inclusão é um INSERT simples, sem tocar na linha do user. A retirada para o merge apaga um
+ * lote com {@code FOR UPDATE SKIP LOCKED} e devolve as linhas apagadas: mergers concorrentes
+ * pegam lotes disjuntos, e o lote volta ao journal se a transação do merge falhar.
+ */
+@Repository
+public class CreditJournalRepository {
+
+    private static final String INSERT = """
+        INSERT INTO wallet_credit_journal (user_id, transaction_id, amount, operation_type)
+        VALUES (?, ?, ?, ?)
+        """;
+
+    private static final String CLAIM_BATCH = """
+        DELETE FROM wallet_credit_journal
+        WHERE id IN (
+            SELECT id FROM wallet_credit_journal
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED)
+        RETURNING id, user_id, transaction_id, amount, operation_type
+        """;
+
+    private static final RowMapper<JournalCredit> JOURNAL_CREDIT = (rs, rowNum) -> new JournalCredit(
+        rs.getLong("id"),
+        rs.getObject("user_id", UUID.class),
+        rs.getObject("transaction_id", UUID.class),
+        rs.getInt("amount"),
+        rs.getString("operation_type"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CreditJournalRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inclui um crédito no journal, na transação corrente.
+     *
+     * @param userId UUID do user creditado
+     * @param transactionId UUID da transação associada (opcional)
+     * @param amount valor em centavos
+     * @param operationType tipo da operação
+     */
+    public void append(UUID userId, UUID transactionId, int amount, String operationType) {
+        jdbcTemplate.update(INSERT, userId, transactionId, amount, operationType);
+    }
+
+    /**
+     * Retira do journal até {@code limit} créditos, dos mais antigos para os mais novos.
+     * Deve rodar na transação que vai somar os créditos aos saldos.
+     *
+     * @param limit tamanho máximo do lote
+     * @return créditos retirados, sem ordem garantida
+     */
+    public List<JournalCredit> claimBatch(int limit) {
+        return jdbcTemplate.query(CLAIM_BATCH, JOURNAL_CREDIT, limit);
+    }
+}
@@ -0,0 +1,30 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.entity.FraudRule;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório para as operações da entidade FraudRule
+ */
+@Repository
+public interface FraudRuleRepository extends JpaRepository<FraudRule, UUID> {
+
+    /**
+     * @return regras habilitadas, na ordem de avaliação
+     */
+    List<FraudRule> findByEnabledTrueOrderByPriorityAscNameAsc();
+
+    /**
+     * Versão do conjunto de regras: muda a cada inserção, remoção ou atualização.
+     * Consulta barata usada pela recarga para não reler as regras à toa.
+     *
+     * @return quantidade de regras e maior updated_at
+     */
+    @Query(value = "SELECT count(*) || ':' || coalesce(max(updated_at)::text, '') FROM fraud_rules",
+        nativeQuery = true)
+    String findVersion();
+}
@@ -0,0 +1,49 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.entity.MerchantApiKey;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório para as operações da entidade MerchantApiKey
+ */
+@Repository
+public interface MerchantApiKeyRepository extends JpaRepository<MerchantApiKey, UUID> {
+
+    /**
+     * Busca uma chave pelo prefixo público (índice único).
+     *
+     * @param keyPrefix prefixo da chave
+     * @return Optional com a chave se encontrada, vazio caso contrário
+     */
+    Optional<MerchantApiKey> findByKeyPrefix(String keyPrefix);
+
+    /**
+     * Lista as chaves de um lojista, mais recentes primeiro.
+     *
+     * @param userId UUID do lojista
+     * @return lista de chaves ordenada por createdAt DESC
+     */
+    List<MerchantApiKey> findByUserIdOrderByCreatedAtDesc(UUID userId);
+
+    /**
+     * Busca uma chave garantindo que ela pertence ao lojista informado.
+     *
+     * @param id UUID da chave
+     * @param userId UUID do lojista
+     * @return Optional com a chave se encontrada, vazio caso contrário
+     */
+    Optional<MerchantApiKey> findByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Lista os prefixos de todas as chaves revogadas, pra carregar o conjunto de revogação.
+     *
+     * @return prefixos das chaves revogadas
+     */
+    @Query("SELECT k.keyPrefix FROM MerchantApiKey k WHERE k.revokedAt IS NOT NULL")
+    List<String> findRevokedPrefixes();
+}
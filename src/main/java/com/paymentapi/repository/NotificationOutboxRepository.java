@@ -0,0 +1,176 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.dto.internal.OutboxBacklog;
+import com.paymentapi.dto.internal.OutboxDeliveryFailure;
+import com.paymentapi.dto.internal.OutboxNotification;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Acesso ao outbox de notificações (notification_outbox) com JDBC.
+ * <p>
+ * A inclusão grava todas as notificações de uma transação num único INSERT. A reivindicação pelo
+ * relay empurra next_attempt_at para o fim de um lease e devolve as linhas, num UPDATE com
+ * {@code FOR UPDATE SKIP LOCKED}: relays concorrentes pegam lotes disjuntos, a entrega acontece
+ * fora de transação, e uma linha de um relay que caiu volta a ficar disponível quando o lease
+ * vence. Todos os horários vêm do relógio do banco.
+ */
+@Repository
+public class NotificationOutboxRepository {
+
+    private static final String INSERT_ALL = """
+        INSERT INTO notification_outbox (transaction_id, recipient_id, payload)
+        SELECT n.transaction_id, n.recipient_id, n.payload::jsonb
+        FROM unnest(?::uuid[], ?::uuid[], ?::text[]) AS n(transaction_id, recipient_id, payload)
+        """;
+
+    private static final String CLAIM_BATCH = """
+        UPDATE notification_outbox o
+        SET next_attempt_at = CURRENT_TIMESTAMP + make_interval(secs => ?)
+        FROM (
+            SELECT id FROM notification_outbox
+            WHERE outbox_status = 'PENDING' AND next_attempt_at <= CURRENT_TIMESTAMP
+            ORDER BY next_attempt_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED) c
+        WHERE o.id = c.id
+        RETURNING o.id, o.transaction_id, o.recipient_id, o.payload::text AS payload, o.attempts, o.created_at
+        """;
+
+    private static final String DELETE_DELIVERED = "DELETE FROM notification_outbox WHERE id = ANY(?)";
+
+    private static final String RESCHEDULE = """
+        UPDATE notification_outbox
+        SET attempts = attempts + 1, next_attempt_at = CURRENT_TIMESTAMP + make_interval(secs => ?), last_error = ?
+        WHERE id = ?
+        """;
+
+    private static final String MARK_FAILED = """
+        UPDATE notification_outbox
+        SET attempts = attempts + 1, outbox_status = 'FAILED', last_error = ?
+        WHERE id = ?
+        """;
+
+    private static final String BACKLOG = """
+        SELECT count(*) AS pending, min(created_at) AS oldest
+        FROM notification_outbox
+        WHERE outbox_status = 'PENDING'
+        """;
+
+    private static final RowMapper<OutboxNotification> OUTBOX_NOTIFICATION = (rs, rowNum) -> new OutboxNotification(
+        rs.getLong("id"),
+        rs.getObject("transaction_id", UUID.class),
+        rs.getObject("recipient_id", UUID.class),
+        rs.getString("payload"),
+        rs.getInt("attempts"),
+        rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inclui notificações no outbox, na transação corrente. Só transactionId, recipientId e
+     * payload são lidos; id, tentativas e data são gerados pelo banco.
+     *
+     * @param notifications notificações a incluir
+     * @return quantidade de linhas incluídas
+     */
+    public int appendAll(List<OutboxNotification> notifications) {
+        Integer inserted = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ALL)) {
+                statement.setArray(1, connection.createArrayOf("uuid", column(notifications, OutboxNotification::transactionId)));
+                statement.setArray(2, connection.createArrayOf("uuid", column(notifications, OutboxNotification::recipientId)));
+                statement.setArray(3, connection.createArrayOf("text", column(notifications, OutboxNotification::payload)));
+                return statement.executeUpdate();
+            }
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    /**
+     * Reivindica até {@code limit} notificações vencidas, das mais antigas para as mais novas,
+     * reservando-as pelo lease.
+     *
+     * @param limit tamanho máximo do lote
+     * @param lease duração da reserva
+     * @return notificações reivindicadas, sem ordem garantida
+     */
+    public List<OutboxNotification> claimBatch(int limit, Duration lease) {
+        return jdbcTemplate.query(CLAIM_BATCH, OUTBOX_NOTIFICATION, seconds(lease), limit);
+    }
+
+    /**
+     * Apaga as notificações entregues.
+     *
+     * @param ids ids das linhas
+     * @return quantidade de linhas apagadas
+     */
+    public int deleteDelivered(Collection<Long> ids) {
+        Integer deleted = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_DELIVERED)) {
+                statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    /**
+     * Registra entregas sem sucesso: reagenda as que têm nova tentativa e marca as demais como
+     * FAILED. Um batch JDBC para cada caso.
+     *
+     * @param failures falhas de entrega
+     */
+    public void recordFailures(List<OutboxDeliveryFailure> failures) {
+        List<Object[]> retries = new ArrayList<>();
+        List<Object[]> dead = new ArrayList<>();
+        for (OutboxDeliveryFailure failure : failures) {
+            if (failure.retryIn() != null) {
+                retries.add(new Object[] {seconds(failure.retryIn()), failure.error(), failure.id()});
+            } else {
+                dead.add(new Object[] {failure.error(), failure.id()});
+            }
+        }
+        if (!retries.isEmpty()) {
+            jdbcTemplate.batchUpdate(RESCHEDULE, retries);
+        }
+        if (!dead.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_FAILED, dead);
+        }
+    }
+
+    /**
+     * @return quantidade de notificações pendentes e gravação da mais antiga
+     */
+    public OutboxBacklog backlog() {
+        return jdbcTemplate.queryForObject(BACKLOG, (rs, rowNum) -> {
+            Timestamp oldest = rs.getTimestamp("oldest");
+            return new OutboxBacklog(rs.getLong("pending"), oldest == null ? null : oldest.toLocalDateTime());
+        });
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+
+    private static Object[] column(List<OutboxNotification> notifications, Function<OutboxNotification, Object> getter) {
+        Object[] values = new Object[notifications.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getter.apply(notifications.get(i));
+        }
+        return values;
+    }
+}
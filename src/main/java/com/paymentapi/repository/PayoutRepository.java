@@ -0,0 +1,209 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.dto.internal.BalanceUpdate;
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.entity.Transaction;
+import com.paymentapi.entity.WalletBalanceAudit;
+import com.paymentapi.entity.enums.UserType;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Escritas set-based do repasse em massa, com JDBC na transação corrente.
+ * <p>
+ * Cada etapa é um único statement, qualquer que seja o número de recebedores: o lock de todas as
+ * linhas, o crédito de todos os recebedores ({@code UPDATE ... FROM unnest(...)}), a inclusão das
+ * transações ({@code INSERT ... SELECT FROM unnest(...)}) e a auditoria (COPY). Os arrays vão como
+ * um parâmetro cada, sem o limite de parâmetros de um {@code VALUES} com milhares de linhas.
+ */
+@Repository
+public class PayoutRepository {
+
+    // Ordem dos locks é a do array (WITH ORDINALITY), montada no Java com a mesma comparação de
+    // UUID das transferências; o ORDER BY do uuid no Postgres compara bytes sem sinal
+    private static final String LOCK_IN_ORDER = """
+        SELECT u.id, u.user_type, u.wallet_balance - u.held_amount AS available_balance
+        FROM unnest(?::uuid[]) WITH ORDINALITY AS k(id, ord)
+        JOIN users u ON u.id = k.id
+        ORDER BY k.ord
+        FOR UPDATE OF u
+        """;
+
+    private static final String DEBIT = """
+        UPDATE users SET wallet_balance = wallet_balance - ?
+        WHERE id = ?
+        RETURNING id, wallet_balance, version, updated_at
+        """;
+
+    // version e updated_at são atualizados pela trigger da tabela users
+    private static final String CREDIT_ALL = """
+        UPDATE users u SET wallet_balance = u.wallet_balance + c.amount
+        FROM unnest(?::uuid[], ?::int[]) AS c(id, amount)
+        WHERE u.id = c.id
+        RETURNING u.id, u.wallet_balance, u.version, u.updated_at
+        """;
+
+    private static final String INSERT_TRANSACTIONS = """
+        INSERT INTO transactions (id, payer_id, payee_id, amount, transaction_status, payout_id,
+                                  created_at, updated_at)
+        SELECT t.id, ?, t.payee_id, t.amount, 'COMPLETED', ?, ?, ?
+        FROM unnest(?::uuid[], ?::uuid[], ?::int[]) AS t(id, payee_id, amount)
+        """;
+
+    private static final String COPY_AUDITS = "COPY balance_audit "
+        + "(user_id, transaction_id, previous_balance, new_balance, balance_change, operation_type, "
+        + "created_at, created_by) FROM STDIN WITH (FORMAT csv)";
+
+    private static final RowMapper<TransferParty> TRANSFER_PARTY = (rs, rowNum) -> new TransferParty(
+        rs.getObject("id", UUID.class),
+        UserType.valueOf(rs.getString("user_type")),
+        rs.getInt("available_balance"));
+
+    private static final RowMapper<BalanceUpdate> BALANCE_UPDATE = (rs, rowNum) -> new BalanceUpdate(
+        rs.getObject("id", UUID.class),
+        rs.getInt("wallet_balance"),
+        rs.getInt("version"),
+        rs.getTimestamp("updated_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PayoutRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Trava as linhas dos users com {@code FOR UPDATE}, na ordem da lista.
+     *
+     * @param ids UUIDs dos users, já na ordem de lock
+     * @return users encontrados, com o saldo disponível (descontadas as reservas) sob o lock
+     */
+    public List<TransferParty> lockInOrder(List<UUID> ids) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(LOCK_IN_ORDER)) {
+                statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+                return mapAll(statement, TRANSFER_PARTY);
+            }
+        });
+    }
+
+    /**
+     * Debita o valor do saldo de um user já travado.
+     *
+     * @param userId UUID do user
+     * @param amount valor em centavos
+     * @return saldo após o débito
+     */
+    public BalanceUpdate debit(UUID userId, int amount) {
+        return jdbcTemplate.queryForObject(DEBIT, BALANCE_UPDATE, amount, userId);
+    }
+
+    /**
+     * Credita o valor de cada transação no saldo do seu recebedor, num único UPDATE.
+     * As linhas devem estar travadas e os recebedores não podem se repetir.
+     *
+     * @param transactions transações do repasse
+     * @return saldos após o crédito, sem ordem definida
+     */
+    public List<BalanceUpdate> creditAll(List<Transaction> transactions) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(CREDIT_ALL)) {
+                statement.setArray(1, connection.createArrayOf("uuid", column(transactions, Transaction::getPayeeId)));
+                statement.setArray(2, connection.createArrayOf("integer", column(transactions, Transaction::getAmount)));
+                return mapAll(statement, BALANCE_UPDATE);
+            }
+        });
+    }
+
+    /**
+     * Inclui as transações do repasse (COMPLETED) num único INSERT.
+     *
+     * @param payerId UUID do pagador
+     * @param payoutId UUID do repasse
+     * @param transactions transações com id, recebedor, valor e createdAt preenchidos
+     */
+    public void insertTransactions(UUID payerId, UUID payoutId, List<Transaction> transactions) {
+        Timestamp createdAt = Timestamp.valueOf(transactions.get(0).getCreatedAt());
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TRANSACTIONS)) {
+                statement.setObject(1, payerId);
+                statement.setObject(2, payoutId);
+                statement.setTimestamp(3, createdAt);
+                statement.setTimestamp(4, createdAt);
+                statement.setArray(5, connection.createArrayOf("uuid", column(transactions, Transaction::getId)));
+                statement.setArray(6, connection.createArrayOf("uuid", column(transactions, Transaction::getPayeeId)));
+                statement.setArray(7, connection.createArrayOf("integer", column(transactions, Transaction::getAmount)));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Grava os registros de auditoria com COPY, na conexão da transação corrente.
+     *
+     * @param audits registros de auditoria
+     * @return quantidade de linhas gravadas
+     */
+    public long copyAudits(List<WalletBalanceAudit> audits) {
+        String csv = toCsv(audits);
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_AUDITS, new StringReader(csv));
+            } catch (IOException e) {
+                throw new SQLException("Falha no COPY da auditoria do repasse", e);
+            }
+        });
+    }
+
+    /**
+     * Monta as linhas do COPY em CSV. Nulos viram campo vazio sem aspas.
+     */
+    static String toCsv(List<WalletBalanceAudit> audits) {
+        StringBuilder csv = new StringBuilder(audits.size() * 160);
+        for (WalletBalanceAudit audit : audits) {
+            csv.append(audit.getUserId()).append(',');
+            if (audit.getTransactionId() != null) {
+                csv.append(audit.getTransactionId());
+            }
+            csv.append(',').append(audit.getPreviousBalance())
+                .append(',').append(audit.getNewBalance())
+                .append(',').append(audit.getBalanceChange())
+                .append(',').append('"').append(audit.getOperationType()).append('"')
+                .append(',').append(audit.getCreatedAt())
+                .append(',').append('"').append(audit.getCreatedBy()).append('"')
+                .append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static <T> List<T> mapAll(PreparedStatement statement, RowMapper<T> mapper) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows.add(mapper.mapRow(resultSet, rows.size()));
+            }
+        }
+        return rows;
+    }
+
+    private static Object[] column(List<Transaction> transactions, Function<Transaction, Object> getter) {
+        Object[] values = new Object[transactions.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getter.apply(transactions.get(i));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,123 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.dto.internal.PendingTransaction;
+import com.paymentapi.dto.internal.PendingTransactionBacklog;
+import com.paymentapi.entity.enums.TransactionStatus;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Acesso às transações presas em PENDING com JDBC, na transação corrente.
+ * <p>
+ * As consultas filtram por transaction_status = 'PENDING' e ordenam por created_at, o predicado
+ * e a chave do índice parcial idx_transactions_pending_created_at (V16): a varredura lê só as
+ * pendentes, não a tabela de transações inteira.
+ */
+@Repository
+public class PendingTransactionRepository {
+
+    // Lock de sessão de transação: solta sozinho no commit/rollback do lote
+    private static final String TRY_SWEEP_LOCK =
+        "SELECT pg_try_advisory_xact_lock(hashtext('pending-transaction-sweeper'))";
+
+    // Linhas travadas por uma escrita ainda em andamento são puladas. O journal não tem índice
+    // por transaction_id (só inclusões e retiradas em lote); ele fica pequeno com o merger rodando
+    private static final String LOCK_STALE = """
+        SELECT t.id, t.payer_id, t.payee_id, t.amount, t.created_at,
+               COALESCE((SELECT SUM(a.balance_change) FROM balance_audit a
+                         WHERE a.transaction_id = t.id AND a.user_id = t.payer_id), 0) AS payer_change,
+               COALESCE((SELECT SUM(a.balance_change) FROM balance_audit a
+                         WHERE a.transaction_id = t.id AND a.user_id = t.payee_id), 0)
+             + COALESCE((SELECT SUM(j.amount) FROM wallet_credit_journal j
+                         WHERE j.transaction_id = t.id AND j.user_id = t.payee_id), 0) AS payee_change
+        FROM transactions t
+        WHERE t.transaction_status = 'PENDING' AND t.created_at < ?
+        ORDER BY t.created_at
+        LIMIT ?
+        FOR UPDATE OF t SKIP LOCKED
+        """;
+
+    private static final String MARK_STATUS = """
+        UPDATE transactions SET transaction_status = ?, updated_at = CURRENT_TIMESTAMP
+        WHERE id = ANY(?) AND transaction_status = 'PENDING'
+        """;
+
+    private static final String BACKLOG = """
+        SELECT count(*) AS pending, min(created_at) AS oldest
+        FROM transactions
+        WHERE transaction_status = 'PENDING'
+        """;
+
+    private static final RowMapper<PendingTransaction> PENDING_TRANSACTION = (rs, rowNum) -> new PendingTransaction(
+        rs.getObject("id", UUID.class),
+        rs.getObject("payer_id", UUID.class),
+        rs.getObject("payee_id", UUID.class),
+        rs.getInt("amount"),
+        rs.getTimestamp("created_at").toLocalDateTime(),
+        rs.getInt("payer_change"),
+        rs.getInt("payee_change"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PendingTransactionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Tenta o advisory lock da varredura, sem esperar. Com vários nós, só um varre por vez; os
+     * demais pulam a passada.
+     *
+     * @return true se o lock foi obtido (vale até o fim da transação corrente)
+     */
+    public boolean tryLockSweep() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_SWEEP_LOCK, Boolean.class));
+    }
+
+    /**
+     * Bloqueia um lote das transações pendentes criadas antes do limite, das mais antigas para as
+     * mais novas, com as alterações de saldo registradas para pagador e recebedor.
+     *
+     * @param createdBefore só transações criadas antes deste instante
+     * @param limit tamanho máximo do lote
+     * @return transações bloqueadas
+     */
+    public List<PendingTransaction> lockStale(LocalDateTime createdBefore, int limit) {
+        return jdbcTemplate.query(LOCK_STALE, PENDING_TRANSACTION, Timestamp.valueOf(createdBefore), limit);
+    }
+
+    /**
+     * Encerra transações ainda pendentes com o status dado.
+     *
+     * @param ids UUIDs das transações
+     * @param status status final
+     * @return quantidade de transações atualizadas
+     */
+    public int markStatus(Collection<UUID> ids, TransactionStatus status) {
+        Integer updated = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(MARK_STATUS)) {
+                statement.setString(1, status.name());
+                statement.setArray(2, connection.createArrayOf("uuid", ids.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+        return updated == null ? 0 : updated;
+    }
+
+    /**
+     * @return quantidade de transações pendentes e criação da mais antiga
+     */
+    public PendingTransactionBacklog backlog() {
+        return jdbcTemplate.queryForObject(BACKLOG, (rs, rowNum) -> {
+            Timestamp oldest = rs.getTimestamp("oldest");
+            return new PendingTransactionBacklog(rs.getLong("pending"), oldest == null ? null : oldest.toLocalDateTime());
+        });
+    }
+}
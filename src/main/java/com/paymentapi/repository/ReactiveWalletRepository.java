@@ -0,0 +1,247 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.dto.internal.OutboxNotification;
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.dto.response.WalletBalanceResponse;
+import com.paymentapi.entity.enums.TransactionStatus;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.InsufficientFundsException;
+import com.paymentapi.exception.UserNotFoundException;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Row;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Acesso não bloqueante (R2DBC) às carteiras, usado pela variante reativa dos endpoints.
+ * <p>
+ * O pool de conexões é interno e não é exposto como bean: um ConnectionFactory no contexto
+ * desligaria o auto-configure do DataSource JDBC usado pelo resto da aplicação.
+ * <p>
+ * As regras de saldo são as mesmas do {@code WalletService.updateBalance}, mas aplicadas num único
+ * UPDATE condicional (lock da linha, checagem e atualização no mesmo statement).
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveWalletRepository {
+
+    private static final String SELECT_BALANCE =
+        "SELECT id, wallet_balance, updated_at, version FROM users WHERE id = $1";
+    private static final String SELECT_TRANSFER_PARTY =
+        "SELECT id, user_type, wallet_balance - held_amount AS wallet_balance FROM users WHERE cpf = $1";
+    private static final String INSERT_TRANSACTION =
+        "INSERT INTO transactions (payer_id, payee_id, amount, transaction_status) "
+            + "VALUES ($1, $2, $3, $4) RETURNING id, created_at";
+    private static final String APPLY_BALANCE_CHANGE =
+        "UPDATE users SET wallet_balance = wallet_balance + $1 "
+            + "WHERE id = $2 AND wallet_balance - held_amount + $1 >= 0 RETURNING wallet_balance, version, updated_at";
+    private static final String INSERT_AUDIT =
+        "INSERT INTO balance_audit (user_id, transaction_id, previous_balance, new_balance, balance_change, "
+            + "operation_type, created_by) VALUES ($1, $2, $3, $4, $5, $6, 'system')";
+    private static final String INSERT_OUTBOX =
+        "INSERT INTO notification_outbox (transaction_id, recipient_id, payload) VALUES ($1, $2, $3::jsonb)";
+
+    private final ConnectionPool pool;
+
+    public ReactiveWalletRepository(
+            @Value("${payment.reactive.r2dbc.url}") String url,
+            @Value("${payment.reactive.r2dbc.username}") String username,
+            @Value("${payment.reactive.r2dbc.password}") String password,
+            @Value("${payment.reactive.r2dbc.initial-size:10}") int initialSize,
+            @Value("${payment.reactive.r2dbc.max-size:50}") int maxSize,
+            @Value("${payment.reactive.r2dbc.max-acquire-time:5s}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+            .option(ConnectionFactoryOptions.USER, username)
+            .option(ConnectionFactoryOptions.PASSWORD, password)
+            .build();
+
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+            .name("PaymentApiR2dbcPool")
+            .initialSize(initialSize)
+            .maxSize(maxSize)
+            .maxAcquireTime(maxAcquireTime)
+            .build());
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.dispose();
+    }
+
+    /**
+     * Busca o saldo de um usuário.
+     *
+     * @param userId UUID do user
+     * @return saldo, ou vazio se o usuário não existir
+     */
+    public Mono<WalletBalanceResponse> findBalance(UUID userId) {
+        return Mono.usingWhen(pool.create(),
+            connection -> Mono.from(connection.createStatement(SELECT_BALANCE).bind(0, userId).execute())
+                .flatMap(result -> Mono.from(result.map((row, metadata) -> new WalletBalanceResponse(
+                    row.get("id", UUID.class),
+                    row.get("wallet_balance", Integer.class),
+                    toLocalDateTime(row, "updated_at"),
+                    row.get("version", Integer.class))))),
+            Connection::close);
+    }
+
+    /**
+     * Busca os dados de um participante de transferência pelo CPF/CNPJ.
+     *
+     * @param cpf CPF ou CNPJ (ambos ficam na coluna cpf)
+     * @return participante, ou vazio se não existir
+     */
+    public Mono<TransferParty> findTransferPartyByCpf(String cpf) {
+        return Mono.usingWhen(pool.create(),
+            connection -> Mono.from(connection.createStatement(SELECT_TRANSFER_PARTY).bind(0, cpf).execute())
+                .flatMap(result -> Mono.from(result.map((row, metadata) -> new TransferParty(
+                    row.get("id", UUID.class),
+                    UserType.valueOf(row.get("user_type", String.class)),
+                    row.get("wallet_balance", Integer.class))))),
+            Connection::close);
+    }
+
+    /**
+     * Grava a transação, atualiza os dois saldos em ordem crescente de id (mesma ordem de locks da
+     * versão bloqueante) e grava a notificação do outbox, tudo numa única transação do banco.
+     *
+     * @param payerId UUID do pagador
+     * @param payeeId UUID do recebedor
+     * @param amount valor em centavos
+     * @param debitOperation tipo de operação do débito na auditoria
+     * @param creditOperation tipo de operação do crédito na auditoria
+     * @param outbox notificação a gravar no outbox para a transação gravada (vazio: nenhuma)
+     * @return id e timestamp da transação gravada e os saldos alterados
+     */
+    public Mono<TransferRecord> executeTransfer(UUID payerId, UUID payeeId, Integer amount,
+                                                String debitOperation, String creditOperation,
+                                                Function<TransferRecord, Optional<OutboxNotification>> outbox) {
+        return Mono.usingWhen(pool.create(),
+            connection -> Mono.from(connection.beginTransaction())
+                .then(insertTransaction(connection, payerId, payeeId, amount))
+                .flatMap(inserted -> {
+                    Mono<AppliedBalanceChange> debit =
+                        applyBalanceChange(connection, payerId, -amount, debitOperation, inserted.id());
+                    Mono<AppliedBalanceChange> credit =
+                        applyBalanceChange(connection, payeeId, amount, creditOperation, inserted.id());
+                    if (payerId.compareTo(payeeId) < 0) {
+                        return debit.flatMap(payer -> credit.map(payee -> inserted.withChanges(payer, payee)));
+                    }
+                    return credit.flatMap(payee -> debit.map(payer -> inserted.withChanges(payer, payee)));
+                })
+                .flatMap(record -> insertOutbox(connection, outbox.apply(record)).thenReturn(record))
+                .flatMap(record -> Mono.from(connection.commitTransaction()).thenReturn(record))
+                .onErrorResume(e -> Mono.from(connection.rollbackTransaction()).then(Mono.error(e))),
+            Connection::close);
+    }
+
+    private Mono<TransferRecord> insertTransaction(Connection connection, UUID payerId, UUID payeeId,
+                                                   Integer amount) {
+        return Mono.from(connection.createStatement(INSERT_TRANSACTION)
+                .bind(0, payerId)
+                .bind(1, payeeId)
+                .bind(2, amount)
+                .bind(3, TransactionStatus.COMPLETED.name())
+                .execute())
+            .flatMap(result -> Mono.from(result.map((row, metadata) -> new TransferRecord(
+                row.get("id", UUID.class),
+                toLocalDateTime(row, "created_at"),
+                null,
+                null))));
+    }
+
+    private Mono<AppliedBalanceChange> applyBalanceChange(Connection connection, UUID userId, Integer change,
+                                                          String operationType, UUID transactionId) {
+        return Mono.from(connection.createStatement(APPLY_BALANCE_CHANGE)
+                .bind(0, change)
+                .bind(1, userId)
+                .execute())
+            .flatMap(result -> Mono.from(result.map((row, metadata) -> {
+                Integer newBalance = row.get("wallet_balance", Integer.class);
+                return new AppliedBalanceChange(userId, newBalance - change, newBalance, change,
+                    row.get("version", Integer.class), toLocalDateTime(row, "updated_at"));
+            })))
+            .switchIfEmpty(Mono.defer(() -> balanceChangeRejected(connection, userId, change)))
+            .flatMap(applied -> Mono.from(connection.createStatement(INSERT_AUDIT)
+                    .bind(0, userId)
+                    .bind(1, transactionId)
+                    .bind(2, applied.previousBalance())
+                    .bind(3, applied.newBalance())
+                    .bind(4, change)
+                    .bind(5, operationType)
+                    .execute())
+                .flatMap(result -> Mono.from(result.getRowsUpdated()))
+                .thenReturn(applied));
+    }
+
+    private Mono<Long> insertOutbox(Connection connection, Optional<OutboxNotification> notification) {
+        if (notification.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.from(connection.createStatement(INSERT_OUTBOX)
+                .bind(0, notification.get().transactionId())
+                .bind(1, notification.get().recipientId())
+                .bind(2, notification.get().payload())
+                .execute())
+            .flatMap(result -> Mono.from(result.getRowsUpdated()));
+    }
+
+    /**
+     * O UPDATE condicional não afetou linhas: ou o usuário não existe, ou o saldo disponível ficaria negativo.
+     */
+    private Mono<AppliedBalanceChange> balanceChangeRejected(Connection connection, UUID userId, Integer change) {
+        return Mono.from(connection.createStatement(SELECT_BALANCE).bind(0, userId).execute())
+            .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get("wallet_balance", Integer.class))))
+            .switchIfEmpty(Mono.error(() -> new UserNotFoundException(userId)))
+            .flatMap(balance -> Mono.error(new InsufficientFundsException(userId, -change, balance)));
+    }
+
+    private static LocalDateTime toLocalDateTime(Row row, String column) {
+        OffsetDateTime value = row.get(column, OffsetDateTime.class);
+        return value == null ? null : value.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    /**
+     * Transação gravada pela variante reativa.
+     *
+     * @param id UUID da transação
+     * @param createdAt timestamp da transação
+     * @param payerChange débito aplicado ao pagador
+     * @param payeeChange crédito aplicado ao recebedor
+     */
+    public record TransferRecord(UUID id, LocalDateTime createdAt, AppliedBalanceChange payerChange,
+                                 AppliedBalanceChange payeeChange) {
+
+        TransferRecord withChanges(AppliedBalanceChange payer, AppliedBalanceChange payee) {
+            return new TransferRecord(id, createdAt, payer, payee);
+        }
+    }
+
+    /**
+     * Alteração de saldo gravada, com versão e updated_at já ajustados pelo trigger de users.
+     *
+     * @param userId UUID do usuário
+     * @param previousBalance saldo anterior, em centavos
+     * @param newBalance saldo novo, em centavos
+     * @param balanceChange delta aplicado, em centavos
+     * @param version versão da linha após a alteração
+     * @param updatedAt timestamp da alteração
+     */
+    public record AppliedBalanceChange(UUID userId, Integer previousBalance, Integer newBalance,
+                                       Integer balanceChange, Integer version, LocalDateTime updatedAt) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.entity.ScheduledTransfer;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório para as operações da entidade ScheduledTransfer
+ */
+@Repository
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, UUID> {
+
+    /**
+     * Encontra um agendamento pelo ID com lock pessimista, esperando uma execução em andamento.
+     *
+     * @param id UUID do agendamento
+     * @return Optional com o agendamento bloqueado se encontrado, vazio caso contrário
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints({@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000")})
+    @Query("SELECT s FROM ScheduledTransfer s WHERE s.id = :id")
+    Optional<ScheduledTransfer> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Bloqueia um agendamento para execução, sem esperar: se outra transação (outro nó
+     * executando, um cancelamento) já está com a linha, volta vazio.
+     *
+     * @param id UUID do agendamento
+     * @return Optional com o agendamento bloqueado, vazio se não existe ou já está bloqueado
+     */
+    @Query(value = "SELECT * FROM scheduled_transfers WHERE id = :id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<ScheduledTransfer> lockForExecution(@Param("id") UUID id);
+
+    /**
+     * Bloqueia um lote de agendamentos ativos que vencem até o horizonte e não estão com lease
+     * válido de outro nó, pulando os já bloqueados. Usa o índice parcial dos ativos.
+     *
+     * @param horizon fim da janela de reivindicação
+     * @param now instante atual (leases vencidos antes dele podem ser retomados)
+     * @param limit tamanho máximo do lote
+     * @return agendamentos bloqueados, dos que vencem antes para os que vencem depois
+     */
+    @Query(value = """
+        SELECT * FROM scheduled_transfers
+        WHERE schedule_status = 'ACTIVE' AND next_run_at <= :horizon
+          AND (locked_until IS NULL OR locked_until < :now)
+        ORDER BY next_run_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<ScheduledTransfer> lockDue(@Param("horizon") LocalDateTime horizon, @Param("now") LocalDateTime now,
+                                    @Param("limit") int limit);
+
+    /**
+     * Grava o lease de um nó em agendamentos já bloqueados pela transação atual.
+     *
+     * @param ids UUIDs dos agendamentos
+     * @param node identificador do nó
+     * @param lockedUntil fim do lease
+     * @return quantidade de agendamentos atualizados
+     */
+    @Modifying
+    @Query("UPDATE ScheduledTransfer s SET s.lockedBy = :node, s.lockedUntil = :lockedUntil WHERE s.id IN :ids")
+    int lease(@Param("ids") Collection<UUID> ids, @Param("node") String node,
+              @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Devolve os leases de um nó (no shutdown), para outro nó retomar os agendamentos sem
+     * esperar o lease vencer.
+     *
+     * @param node identificador do nó
+     * @return quantidade de agendamentos liberados
+     */
+    @Modifying
+    @Query("UPDATE ScheduledTransfer s SET s.lockedBy = NULL, s.lockedUntil = NULL WHERE s.lockedBy = :node")
+    int releaseLeases(@Param("node") String node);
+}
@@ -0,0 +1,20 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.entity.Transaction;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório do Spring Data JPA pra entidade Transaction
+ */
+@Repository
+public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
+
+    /**
+     * @param payerId UUID do pagador
+     * @param payeeId UUID do recebedor
+     * @return true se o pagador já transferiu para o recebedor alguma vez
+     */
+    boolean existsByPayerIdAndPayeeId(UUID payerId, UUID payeeId);
+}
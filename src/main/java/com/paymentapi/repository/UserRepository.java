@@ -1,5 +1,7 @@
 package com.paymentapi.repository;
 
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.dto.internal.UserCredentials;
 import com.paymentapi.entity.User;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
@@ -15,7 +17,7 @@ import org.springframework.stereotype.Repository;
  * Operações de CRUD e métodos customizados de query pra acesso aos dados dos users
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
 
   /**
    * Encontra um user pelo seu CPF
@@ -33,6 +35,73 @@ public interface UserRepository extends JpaRepository<User, UUID> {
    */
   Optional<User> findByEmail(String email);
 
+  /**
+   * Busca só as credenciais de um user pelo CPF, sem carregar a entidade
+   *
+   * @param cpf CPF a ser buscado
+   * @return Optional com a projeção de credenciais se encontrado, vazio caso contrário
+   */
+  @org.springframework.data.jpa.repository.Query(
+      "SELECT new com.paymentapi.dto.internal.UserCredentials(u.id, u.senha, u.userType, u.nomeCompleto, u.email) "
+          + "FROM User u WHERE u.cpf = :cpf")
+  Optional<UserCredentials> findCredentialsByCpf(@org.springframework.data.repository.query.Param("cpf") String cpf);
+
+  /**
+   * Busca só as credenciais de um user pelo e-mail, sem carregar a entidade
+   *
+   * @param email e-mail a ser buscado
+   * @return Optional com a projeção de credenciais se encontrado, vazio caso contrário
+   */
+  @org.springframework.data.jpa.repository.Query(
+      "SELECT new com.paymentapi.dto.internal.UserCredentials(u.id, u.senha, u.userType, u.nomeCompleto, u.email) "
+          + "FROM User u WHERE u.email = :email")
+  Optional<UserCredentials> findCredentialsByEmail(
+      @org.springframework.data.repository.query.Param("email") String email);
+
+  /**
+   * Busca só os dados de um participante de transferência pelo CPF/CNPJ, sem carregar a entidade.
+   * O saldo projetado é o disponível (descontadas as reservas ativas)
+   *
+   * @param cpf CPF ou CNPJ a ser buscado (ambos ficam na coluna cpf)
+   * @return Optional com a projeção se encontrado, vazio caso contrário
+   */
+  @org.springframework.data.jpa.repository.Query(
+      "SELECT new com.paymentapi.dto.internal.TransferParty(u.id, u.userType, u.walletBalance - u.heldAmount) "
+          + "FROM User u WHERE u.cpf = :cpf")
+  Optional<TransferParty> findTransferPartyByCpf(@org.springframework.data.repository.query.Param("cpf") String cpf);
+
+  /**
+   * Busca só a versão de um user pelo ID, usada para validar o ETag do saldo
+   *
+   * @param id UUID do user
+   * @return Optional com a versão se encontrado, vazio caso contrário
+   */
+  @org.springframework.data.jpa.repository.Query("SELECT u.version FROM User u WHERE u.id = :id")
+  Optional<Integer> findVersionById(@org.springframework.data.repository.query.Param("id") UUID id);
+
+  /**
+   * Busca o saldo disponível (saldo menos reservas ativas) de um user, numa leitura pela PK
+   *
+   * @param id UUID do user
+   * @return Optional com o saldo disponível se encontrado, vazio caso contrário
+   */
+  @org.springframework.data.jpa.repository.Query("SELECT u.walletBalance - u.heldAmount FROM User u WHERE u.id = :id")
+  Optional<Integer> findAvailableBalanceById(@org.springframework.data.repository.query.Param("id") UUID id);
+
+  /**
+   * Devolve ao disponível parte do valor reservado de um user, sem carregar a entidade.
+   * Usado pela varredura de reservas expiradas, que já bloqueou as reservas do lote.
+   *
+   * @param id UUID do user
+   * @param amount valor a liberar, em centavos
+   * @return quantidade de linhas atualizadas
+   */
+  @org.springframework.data.jpa.repository.Modifying
+  @org.springframework.data.jpa.repository.Query(
+      "UPDATE User u SET u.heldAmount = u.heldAmount - :amount WHERE u.id = :id")
+  int releaseHeldAmount(@org.springframework.data.repository.query.Param("id") UUID id,
+                        @org.springframework.data.repository.query.Param("amount") int amount);
+
   /**
    * Encontra um user pelo ID com lock pessimista para lidar com concorrência
    *
@@ -0,0 +1,96 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.dto.internal.ExistingUserKeys;
+import com.paymentapi.dto.internal.WalletBalanceView;
+import com.paymentapi.dto.response.WalletBalanceResponse;
+import com.paymentapi.entity.User;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Operações customizadas do repositório de users que não cabem em queries derivadas do Spring Data.
+ */
+public interface UserRepositoryCustom {
+
+  /** Constraint única da coluna cpf. */
+  String CPF_CONSTRAINT = "uk_users_cpf";
+
+  /** Constraint única da coluna email. */
+  String EMAIL_CONSTRAINT = "uk_users_email";
+
+  /** Constraint única da coluna cnpj. */
+  String CNPJ_CONSTRAINT = "uk_users_cnpj";
+
+  /**
+   * Insere o user com um único statement (INSERT ... ON CONFLICT DO NOTHING RETURNING).
+   * Um conflito em qualquer constraint única não gera erro nem aborta a transação corrente,
+   * apenas não retorna linha.
+   *
+   * @param user user a ser inserido (id, createdAt e updatedAt são preenchidos se vierem nulos)
+   * @return Optional com o user inserido, vazio se houve conflito de unicidade
+   */
+  Optional<User> insertIfAbsent(User user);
+
+  /**
+   * Insere vários users num único statement set-based (INSERT ... SELECT FROM unnest ... ON CONFLICT
+   * DO NOTHING RETURNING id). Users em conflito com linhas existentes, ou com outro user do mesmo lote,
+   * são ignorados sem abortar a transação.
+   *
+   * @param users users a inserir (id, createdAt e updatedAt são preenchidos se vierem nulos)
+   * @return ids dos users efetivamente inseridos
+   */
+  Set<UUID> insertAllIfAbsent(List<User> users);
+
+  /**
+   * Identifica qual constraint única conflita com os valores informados.
+   * Só deve ser chamado depois de um conflito, para montar a mensagem de erro.
+   *
+   * @param cpf CPF do user
+   * @param email e-mail do user
+   * @param cnpj CNPJ do user (pode ser null)
+   * @return Optional com o nome da constraint violada, vazio se nenhuma conflita
+   */
+  Optional<String> findConflictingConstraint(String cpf, String email, String cnpj);
+
+  /**
+   * Versão em lote de {@link #findConflictingConstraint}: busca, num único statement
+   * ({@code cpf = ANY(array) OR email = ANY(array) OR cnpj = ANY(array)}), os valores já cadastrados
+   * entre os informados. Só deve ser chamado depois de conflitos, para montar as mensagens de erro.
+   *
+   * @param cpfs CPFs do lote
+   * @param emails e-mails do lote
+   * @param cnpjs CNPJs do lote (nulls são ignorados)
+   * @return CPFs, e-mails e CNPJs cadastrados
+   */
+  ExistingUserKeys findExistingKeys(List<String> cpfs, List<String> emails, List<String> cnpjs);
+
+  /**
+   * Busca o saldo de um user somando, no mesmo statement (mesmo snapshot), o saldo materializado
+   * e os créditos diferidos ainda não consolidados no journal.
+   *
+   * @param id UUID do user
+   * @return Optional com o saldo se encontrado, vazio caso contrário
+   */
+  Optional<WalletBalanceResponse> findBalanceWithPendingCredits(UUID id);
+
+  /**
+   * Busca os saldos de vários users num único statement ({@code id = ANY(array)}).
+   * O saldo inclui os créditos diferidos pendentes.
+   *
+   * @param ids UUIDs dos users
+   * @return projeções dos users encontrados, sem ordem definida
+   */
+  List<WalletBalanceView> findBalancesByIds(List<UUID> ids);
+
+  /**
+   * Busca os saldos de vários users pelo CPF ou CNPJ num único statement
+   * ({@code cpf = ANY(array) OR cnpj = ANY(array)}, cada lado pelo seu índice único).
+   * O saldo inclui os créditos diferidos pendentes.
+   *
+   * @param documents CPFs e/ou CNPJs
+   * @return projeções dos users encontrados, sem ordem definida
+   */
+  List<WalletBalanceView> findBalancesByDocuments(List<String> documents);
+}
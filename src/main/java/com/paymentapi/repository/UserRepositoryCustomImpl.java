@@ -0,0 +1,273 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.dto.internal.ExistingUserKeys;
+import com.paymentapi.dto.internal.WalletBalanceView;
+import com.paymentapi.dto.response.WalletBalanceResponse;
+import com.paymentapi.entity.User;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Implementação de {@link UserRepositoryCustom} com JdbcTemplate.
+ * Participa da mesma transação do JPA (o JpaTransactionManager expõe a conexão JDBC).
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+  private static final String INSERT_IF_ABSENT = """
+      INSERT INTO users (id, nome_completo, cpf, email, cnpj, senha, user_type,
+                         wallet_balance, created_at, updated_at, version)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+      ON CONFLICT DO NOTHING
+      RETURNING id
+      """;
+
+  private static final String INSERT_ALL_IF_ABSENT = """
+      INSERT INTO users (id, nome_completo, cpf, email, cnpj, senha, user_type,
+                         wallet_balance, created_at, updated_at, version)
+      SELECT t.id, t.nome_completo, t.cpf, t.email, t.cnpj, t.senha, t.user_type, 0, ?, ?, 0
+      FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[])
+          AS t(id, nome_completo, cpf, email, cnpj, senha, user_type)
+      ON CONFLICT DO NOTHING
+      RETURNING id
+      """;
+
+  private static final String FIND_CONFLICT = """
+      SELECT cpf, email, cnpj FROM users
+      WHERE cpf = ? OR email = ? OR cnpj = ?
+      LIMIT 3
+      """;
+
+  private static final String FIND_EXISTING_KEYS = """
+      SELECT cpf, email, cnpj FROM users
+      WHERE cpf = ANY(?) OR email = ANY(?) OR cnpj = ANY(?)
+      """;
+
+  // Saldo materializado mais os créditos diferidos ainda no journal (index-only scan por user_id)
+  private static final String BALANCE_WITH_PENDING_CREDITS = """
+      u.wallet_balance + coalesce(
+          (SELECT sum(j.amount) FROM wallet_credit_journal j WHERE j.user_id = u.id), 0) AS wallet_balance""";
+
+  private static final String FIND_BALANCE_WITH_PENDING_CREDITS = """
+      SELECT u.id, %s, u.updated_at, u.version FROM users u
+      WHERE u.id = ?
+      """.formatted(BALANCE_WITH_PENDING_CREDITS);
+
+  private static final String FIND_BALANCES_BY_IDS = """
+      SELECT u.id, u.cpf, u.cnpj, %s, u.updated_at FROM users u
+      WHERE u.id = ANY(?)
+      """.formatted(BALANCE_WITH_PENDING_CREDITS);
+
+  private static final String FIND_BALANCES_BY_DOCUMENTS = """
+      SELECT u.id, u.cpf, u.cnpj, %s, u.updated_at FROM users u
+      WHERE u.cpf = ANY(?) OR u.cnpj = ANY(?)
+      """.formatted(BALANCE_WITH_PENDING_CREDITS);
+
+  private static final RowMapper<WalletBalanceView> WALLET_BALANCE_VIEW = (rs, rowNum) -> new WalletBalanceView(
+      rs.getObject("id", UUID.class),
+      rs.getString("cpf"),
+      rs.getString("cnpj"),
+      rs.getInt("wallet_balance"),
+      rs.getTimestamp("updated_at").toLocalDateTime());
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public UserRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public Optional<User> insertIfAbsent(User user) {
+    LocalDateTime now = LocalDateTime.now();
+    if (user.getId() == null) {
+      user.setId(UUID.randomUUID());
+    }
+    if (user.getCreatedAt() == null) {
+      user.setCreatedAt(now);
+    }
+    if (user.getUpdatedAt() == null) {
+      user.setUpdatedAt(now);
+    }
+
+    List<UUID> inserted = jdbcTemplate.query(
+        INSERT_IF_ABSENT,
+        (rs, rowNum) -> rs.getObject("id", UUID.class),
+        user.getId(),
+        user.getNomeCompleto(),
+        user.getCpf(),
+        user.getEmail(),
+        user.getCnpj(),
+        user.getSenha(),
+        user.getUserType().name(),
+        user.getWalletBalance(),
+        Timestamp.valueOf(user.getCreatedAt()),
+        Timestamp.valueOf(user.getUpdatedAt()));
+
+    if (inserted.isEmpty()) {
+      return Optional.empty();
+    }
+    user.setVersion(0);
+    return Optional.of(user);
+  }
+
+  @Override
+  public Set<UUID> insertAllIfAbsent(List<User> users) {
+    if (users.isEmpty()) {
+      return Set.of();
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    for (User user : users) {
+      if (user.getId() == null) {
+        user.setId(UUID.randomUUID());
+      }
+      user.setCreatedAt(now);
+      user.setUpdatedAt(now);
+      user.setWalletBalance(0);
+      user.setVersion(0);
+    }
+
+    return jdbcTemplate.execute((Connection connection) -> {
+      try (PreparedStatement statement = connection.prepareStatement(INSERT_ALL_IF_ABSENT)) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        statement.setTimestamp(1, timestamp);
+        statement.setTimestamp(2, timestamp);
+        statement.setArray(3, connection.createArrayOf("uuid", column(users, User::getId)));
+        statement.setArray(4, varcharArray(connection, users, User::getNomeCompleto));
+        statement.setArray(5, varcharArray(connection, users, User::getCpf));
+        statement.setArray(6, varcharArray(connection, users, User::getEmail));
+        statement.setArray(7, varcharArray(connection, users, User::getCnpj));
+        statement.setArray(8, varcharArray(connection, users, User::getSenha));
+        statement.setArray(9, varcharArray(connection, users, user -> user.getUserType().name()));
+
+        Set<UUID> inserted = new HashSet<>(users.size() * 2);
+        try (ResultSet resultSet = statement.executeQuery()) {
+          while (resultSet.next()) {
+            inserted.add(resultSet.getObject(1, UUID.class));
+          }
+        }
+        return inserted;
+      }
+    });
+  }
+
+  @Override
+  public Optional<String> findConflictingConstraint(String cpf, String email, String cnpj) {
+    List<String> conflicts = jdbcTemplate.query(FIND_CONFLICT, (rs, rowNum) -> {
+      if (cpf != null && cpf.equals(rs.getString("cpf"))) {
+        return CPF_CONSTRAINT;
+      }
+      if (email != null && email.equals(rs.getString("email"))) {
+        return EMAIL_CONSTRAINT;
+      }
+      return CNPJ_CONSTRAINT;
+    }, cpf, email, cnpj);
+
+    // CPF tem precedência, na mesma ordem das validações antigas
+    if (conflicts.contains(CPF_CONSTRAINT)) {
+      return Optional.of(CPF_CONSTRAINT);
+    }
+    return conflicts.stream().findFirst();
+  }
+
+  @Override
+  public ExistingUserKeys findExistingKeys(List<String> cpfs, List<String> emails, List<String> cnpjs) {
+    ExistingUserKeys existing = new ExistingUserKeys(new HashSet<>(), new HashSet<>(), new HashSet<>());
+    if (cpfs.isEmpty() && emails.isEmpty() && cnpjs.isEmpty()) {
+      return existing;
+    }
+    return jdbcTemplate.execute((Connection connection) -> {
+      try (PreparedStatement statement = connection.prepareStatement(FIND_EXISTING_KEYS)) {
+        statement.setArray(1, connection.createArrayOf("varchar", cpfs.toArray()));
+        statement.setArray(2, connection.createArrayOf("varchar", emails.toArray()));
+        statement.setArray(3, connection.createArrayOf("varchar",
+            cnpjs.stream().filter(Objects::nonNull).toArray()));
+        try (ResultSet resultSet = statement.executeQuery()) {
+          while (resultSet.next()) {
+            existing.cpfs().add(resultSet.getString("cpf"));
+            existing.emails().add(resultSet.getString("email"));
+            String cnpj = resultSet.getString("cnpj");
+            if (cnpj != null) {
+              existing.cnpjs().add(cnpj);
+            }
+          }
+        }
+        return existing;
+      }
+    });
+  }
+
+  @Override
+  public Optional<WalletBalanceResponse> findBalanceWithPendingCredits(UUID id) {
+    return jdbcTemplate.query(FIND_BALANCE_WITH_PENDING_CREDITS, (rs, rowNum) -> new WalletBalanceResponse(
+        rs.getObject("id", UUID.class),
+        rs.getInt("wallet_balance"),
+        rs.getTimestamp("updated_at").toLocalDateTime(),
+        rs.getInt("version")), id).stream().findFirst();
+  }
+
+  @Override
+  public List<WalletBalanceView> findBalancesByIds(List<UUID> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.execute((Connection connection) -> {
+      try (PreparedStatement statement = connection.prepareStatement(FIND_BALANCES_BY_IDS)) {
+        statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+        return mapAll(statement);
+      }
+    });
+  }
+
+  @Override
+  public List<WalletBalanceView> findBalancesByDocuments(List<String> documents) {
+    if (documents.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.execute((Connection connection) -> {
+      try (PreparedStatement statement = connection.prepareStatement(FIND_BALANCES_BY_DOCUMENTS)) {
+        Array array = connection.createArrayOf("varchar", documents.toArray());
+        statement.setArray(1, array);
+        statement.setArray(2, array);
+        return mapAll(statement);
+      }
+    });
+  }
+
+  private static List<WalletBalanceView> mapAll(PreparedStatement statement) throws SQLException {
+    List<WalletBalanceView> views = new ArrayList<>();
+    try (ResultSet resultSet = statement.executeQuery()) {
+      while (resultSet.next()) {
+        views.add(WALLET_BALANCE_VIEW.mapRow(resultSet, views.size()));
+      }
+    }
+    return views;
+  }
+
+  private static Object[] column(List<User> users, Function<User, Object> getter) {
+    Object[] values = new Object[users.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = getter.apply(users.get(i));
+    }
+    return values;
+  }
+
+  private static Array varcharArray(Connection connection, List<User> users, Function<User, Object> getter)
+      throws SQLException {
+    return connection.createArrayOf("varchar", column(users, getter));
+  }
+}
@@ -0,0 +1,65 @@
+package com.paymentapi.repository;
+
+import com.paymentapi.entity.WalletHold;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório para as operações da entidade WalletHold
+ */
+@Repository
+public interface WalletHoldRepository extends JpaRepository<WalletHold, UUID> {
+
+    /**
+     * Encontra uma reserva pelo ID com lock pessimista. Captura, liberação e varredura de
+     * expiração disputam a mesma linha: só uma delas muda a situação da reserva.
+     *
+     * @param id UUID da reserva
+     * @return Optional com a reserva bloqueada se encontrada, vazio caso contrário
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints({@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000")})
+    @Query("SELECT h FROM WalletHold h WHERE h.id = :id")
+    Optional<WalletHold> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Bloqueia um lote de reservas ativas já expiradas, pulando as que outra transação (captura,
+     * liberação ou outro nó varrendo) já bloqueou. Usa o índice parcial das reservas ativas.
+     *
+     * @param now instante de corte
+     * @param limit tamanho máximo do lote
+     * @return reservas bloqueadas, das mais antigas para as mais novas
+     */
+    @Query(value = """
+        SELECT * FROM wallet_holds
+        WHERE hold_status = 'ACTIVE' AND expires_at <= :now
+        ORDER BY expires_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<WalletHold> lockExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Marca como expiradas reservas já bloqueadas pela transação atual.
+     *
+     * @param ids UUIDs das reservas
+     * @param now instante da expiração
+     * @return quantidade de reservas atualizadas
+     */
+    @Modifying
+    @Query("UPDATE WalletHold h SET h.status = com.paymentapi.entity.enums.WalletHoldStatus.EXPIRED, "
+        + "h.updatedAt = :now WHERE h.id IN :ids")
+    int markExpired(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+}
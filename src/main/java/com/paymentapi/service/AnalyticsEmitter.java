@@ -0,0 +1,324 @@
+package com.paymentapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.dto.internal.AnalyticsEventRecord;
+import com.paymentapi.dto.internal.AnalyticsRollupBucket;
+import com.paymentapi.entity.enums.RollupGranularity;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.metrics.AnalyticsMetrics;
+import com.paymentapi.repository.AnalyticsRollupRepository;
+import com.paymentapi.util.CorrelationIdUtil;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+/**
+ * Emissor de eventos analíticos para a tabela analytical_events, com gravação em lote.
+ * <p>
+ * {@link #emit} só enfileira: a fila é uma {@link ConcurrentLinkedQueue} (sem lock) limitada por
+ * um contador atômico. Uma thread de gravação drena a fila e grava lotes grandes com COPY, quando
+ * o lote enche ou a cada intervalo. Com a tabela carregando um índice GIN e cinco B-tree, um
+ * INSERT por evento no caminho da transferência custaria bem mais que um COPY de mil linhas.
+ * <p>
+ * No mesmo lote, na mesma transação do COPY, os eventos são agregados em memória por tipo de
+ * evento, tipo de usuário e minuto/hora e somados às tabelas de rollup com um upsert por
+ * granularidade. Os rollups ficam em dia sem job de recomputação e sem ler analytical_events.
+ * <p>
+ * Fila cheia: com a política {@code drop} o evento é descartado na hora; com {@code block} quem
+ * emite espera até o timeout por espaço e só então descarta. Eventos analíticos não são
+ * críticos: um lote com falha de gravação é descartado (e contado), sem retentativa.
+ */
+@Service
+public class AnalyticsEmitter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsEmitter.class);
+
+    private static final String COPY = "COPY analytical_events "
+        + "(id, event_type, user_id, transaction_id, event_data, correlation_id, created_at) "
+        + "FROM STDIN WITH (FORMAT csv)";
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    /**
+     * O que fazer quando a fila está cheia.
+     */
+    public enum QueueFullPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final AnalyticsMetrics analyticsMetrics;
+    private final AnalyticsRollupRepository rollupRepository;
+    private final boolean enabled;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final QueueFullPolicy queueFullPolicy;
+    private final Duration blockTimeout;
+
+    private final Queue<AnalyticsEventRecord> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    private Thread flusher;
+    private volatile boolean running;
+
+    public AnalyticsEmitter(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            AnalyticsMetrics analyticsMetrics,
+            AnalyticsRollupRepository rollupRepository,
+            @Value("${payment.analytics.enabled:true}") boolean enabled,
+            @Value("${payment.analytics.queue-capacity:50000}") int queueCapacity,
+            @Value("${payment.analytics.batch-size:1000}") int batchSize,
+            @Value("${payment.analytics.flush-interval:200ms}") Duration flushInterval,
+            @Value("${payment.analytics.queue-full-policy:drop}") String queueFullPolicy,
+            @Value("${payment.analytics.block-timeout:50ms}") Duration blockTimeout) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.analyticsMetrics = analyticsMetrics;
+        this.rollupRepository = rollupRepository;
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.queueFullPolicy = QueueFullPolicy.valueOf(queueFullPolicy.toUpperCase(Locale.ROOT));
+        this.blockTimeout = blockTimeout;
+
+        analyticsMetrics.bindQueueDepthGauge(queueSize);
+    }
+
+    /**
+     * Enfileira um evento analítico. Nunca lança exceção para quem emite.
+     *
+     * @param eventType tipo do evento (ex.: TRANSFER_COMPLETED)
+     * @param userId UUID do usuário relacionado (opcional)
+     * @param userType tipo do usuário, chave dos rollups (opcional; UNKNOWN quando nulo)
+     * @param transactionId UUID da transação relacionada (opcional)
+     * @param amount valor em centavos somado nos rollups (opcional)
+     * @param data dados do evento, gravados como JSONB (opcional)
+     * @return true se o evento entrou na fila
+     */
+    public boolean emit(String eventType, UUID userId, UserType userType, UUID transactionId, Long amount,
+                        Map<String, Object> data) {
+        if (!enabled) {
+            return false;
+        }
+        String eventData;
+        try {
+            eventData = data == null ? null : objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize analytics event. Type: {}, Error: {}", eventType, e.getMessage());
+            analyticsMetrics.recordDropped(1, "serialization");
+            return false;
+        }
+        return offer(new AnalyticsEventRecord(UUID.randomUUID(), eventType, userId, userType, transactionId,
+            amount, eventData, CorrelationIdUtil.getCorrelationId(), OffsetDateTime.now()));
+    }
+
+    boolean offer(AnalyticsEventRecord event) {
+        if (!reserveSlot()) {
+            analyticsMetrics.recordDropped(1, "queue_full");
+            return false;
+        }
+        queue.add(event);
+        if (queueSize.get() >= batchSize && flusher != null) {
+            LockSupport.unpark(flusher);
+        }
+        return true;
+    }
+
+    private boolean reserveSlot() {
+        long deadline = System.nanoTime() + blockTimeout.toNanos();
+        while (true) {
+            int size = queueSize.get();
+            if (size < queueCapacity) {
+                if (queueSize.compareAndSet(size, size + 1)) {
+                    return true;
+                }
+                continue;
+            }
+            if (queueFullPolicy == QueueFullPolicy.DROP || System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("Analytics emitter disabled");
+            return;
+        }
+        running = true;
+        flusher = Thread.ofPlatform().name("analytics-flusher").daemon(true).start(this::runFlusher);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int remaining = queueSize.get();
+        if (remaining > 0) {
+            analyticsMetrics.recordDropped(remaining, "shutdown");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runFlusher() {
+        while (running) {
+            if (queueSize.get() < batchSize) {
+                LockSupport.parkNanos(flushInterval.toNanos());
+            }
+            flush();
+        }
+        // Entrega o que sobrou na fila antes de encerrar
+        while (queueSize.get() > 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Drena até um lote da fila e grava com COPY, somando o lote aos rollups na mesma transação.
+     *
+     * @return quantidade de eventos drenados
+     */
+    int flush() {
+        List<AnalyticsEventRecord> batch = new ArrayList<>(Math.min(batchSize, Math.max(queueSize.get(), 1)));
+        AnalyticsEventRecord event;
+        while (batch.size() < batchSize && (event = queue.poll()) != null) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        queueSize.addAndGet(-batch.size());
+
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY, new StringReader(toCsv(batch)));
+                rollupRepository.increment(connection, RollupGranularity.MINUTE,
+                    rollup(batch, RollupGranularity.MINUTE));
+                rollupRepository.increment(connection, RollupGranularity.HOUR,
+                    rollup(batch, RollupGranularity.HOUR));
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+            analyticsMetrics.recordFlush(batch.size(), Duration.ofNanos(System.nanoTime() - start), "success");
+        } catch (Exception e) {
+            analyticsMetrics.recordFlush(batch.size(), Duration.ofNanos(System.nanoTime() - start), "failed");
+            analyticsMetrics.recordDropped(batch.size(), "write_failed");
+            logger.warn("Failed to write analytics batch. Events: {}, Error: {}", batch.size(), e.getMessage());
+        }
+        return batch.size();
+    }
+
+    /**
+     * @return eventos aguardando gravação
+     */
+    public int queueDepth() {
+        return queueSize.get();
+    }
+
+    /**
+     * Agrega o lote por tipo de evento, tipo de usuário e bucket (UTC), ordenado pela chave.
+     */
+    static List<AnalyticsRollupBucket> rollup(List<AnalyticsEventRecord> batch, RollupGranularity granularity) {
+        TreeMap<RollupKey, long[]> totals = new TreeMap<>();
+        for (AnalyticsEventRecord event : batch) {
+            RollupKey key = new RollupKey(
+                event.eventType(),
+                event.userType() == null ? AnalyticsRollupRepository.UNKNOWN_USER_TYPE : event.userType().name(),
+                event.createdAt().toInstant().truncatedTo(granularity.unit()));
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0]++;
+            total[1] += event.amount() == null ? 0 : event.amount();
+        }
+        List<AnalyticsRollupBucket> buckets = new ArrayList<>(totals.size());
+        totals.forEach((key, total) -> buckets.add(new AnalyticsRollupBucket(
+            key.eventType(), key.userType(), key.bucketStart(), total[0], total[1])));
+        return buckets;
+    }
+
+    private record RollupKey(String eventType, String userType, Instant bucketStart)
+            implements Comparable<RollupKey> {
+
+        private static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::eventType)
+            .thenComparing(RollupKey::userType)
+            .thenComparing(RollupKey::bucketStart);
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Monta as linhas do COPY em CSV. Nulos viram campo vazio sem aspas; o resto vai entre aspas.
+     */
+    static String toCsv(List<AnalyticsEventRecord> batch) {
+        StringBuilder csv = new StringBuilder(batch.size() * 256);
+        for (AnalyticsEventRecord event : batch) {
+            appendField(csv, event.id());
+            csv.append(',');
+            appendField(csv, event.eventType());
+            csv.append(',');
+            appendField(csv, event.userId());
+            csv.append(',');
+            appendField(csv, event.transactionId());
+            csv.append(',');
+            appendField(csv, event.eventData());
+            csv.append(',');
+            appendField(csv, event.correlationId());
+            csv.append(',');
+            appendField(csv, event.createdAt());
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static void appendField(StringBuilder csv, Object value) {
+        if (value == null) {
+            return;
+        }
+        csv.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+    }
+}
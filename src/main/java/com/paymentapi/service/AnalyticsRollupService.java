@@ -0,0 +1,123 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.AnalyticsRollupBucket;
+import com.paymentapi.dto.response.AnalyticsSeriesResponse;
+import com.paymentapi.entity.enums.RollupGranularity;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.metrics.AnalyticsMetrics;
+import com.paymentapi.repository.AnalyticsRollupRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.stereotype.Service;
+
+/**
+ * Consulta de séries temporais sobre os rollups de eventos analíticos.
+ * <p>
+ * Nunca lê analytical_events: o custo depende só da quantidade de buckets do intervalo. Sem
+ * granularidade explícita, usa a menor (minuto, hora, dia) que cabe em {@link #MAX_POINTS}
+ * pontos por série, então qualquer intervalo custa no máximo isso.
+ */
+@Service
+public class AnalyticsRollupService {
+
+    /**
+     * Máximo de buckets por série numa consulta.
+     */
+    public static final int MAX_POINTS = 1440;
+
+    private final AnalyticsRollupRepository rollupRepository;
+    private final AnalyticsMetrics analyticsMetrics;
+
+    public AnalyticsRollupService(AnalyticsRollupRepository rollupRepository, AnalyticsMetrics analyticsMetrics) {
+        this.rollupRepository = rollupRepository;
+        this.analyticsMetrics = analyticsMetrics;
+    }
+
+    /**
+     * Monta as séries do intervalo [from, to), uma por tipo de evento e tipo de usuário.
+     *
+     * @param eventType filtro por tipo de evento (opcional)
+     * @param userType filtro por tipo de usuário (opcional)
+     * @param from início do intervalo; é alinhado ao início do bucket
+     * @param to fim do intervalo, exclusivo
+     * @param granularity granularidade (opcional; escolhida pelo tamanho do intervalo quando nula)
+     * @return séries com os instantes em milissegundos
+     * @throws IllegalArgumentException se o intervalo for inválido, o tipo de usuário desconhecido
+     *     ou o intervalo passar de {@link #MAX_POINTS} buckets
+     */
+    public AnalyticsSeriesResponse getSeries(String eventType, String userType, Instant from, Instant to,
+                                             RollupGranularity granularity) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Intervalo inválido: 'to' deve ser posterior a 'from'");
+        }
+        String userTypeFilter = normalizeUserType(userType);
+        RollupGranularity resolved = granularity != null ? granularity : chooseGranularity(from, to);
+        Instant alignedFrom = from.truncatedTo(resolved.unit());
+        if (bucketCount(alignedFrom, to, resolved) > MAX_POINTS) {
+            throw new IllegalArgumentException(String.format(
+                "Intervalo com mais de %d buckets na granularidade %s", MAX_POINTS, resolved));
+        }
+
+        long start = System.nanoTime();
+        List<AnalyticsRollupBucket> buckets =
+            rollupRepository.findBuckets(resolved, eventType, userTypeFilter, alignedFrom, to);
+        analyticsMetrics.recordRollupQuery(resolved.name().toLowerCase(Locale.ROOT),
+            Duration.ofNanos(System.nanoTime() - start));
+
+        return new AnalyticsSeriesResponse(resolved, alignedFrom.toEpochMilli(), to.toEpochMilli(),
+            toSeries(buckets));
+    }
+
+    static RollupGranularity chooseGranularity(Instant from, Instant to) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            if (bucketCount(from.truncatedTo(granularity.unit()), to, granularity) <= MAX_POINTS) {
+                return granularity;
+            }
+        }
+        return RollupGranularity.DAY;
+    }
+
+    private static long bucketCount(Instant alignedFrom, Instant to, RollupGranularity granularity) {
+        long bucketMillis = granularity.bucket().toMillis();
+        long spanMillis = Duration.between(alignedFrom, to).toMillis();
+        return (spanMillis + bucketMillis - 1) / bucketMillis;
+    }
+
+    private static String normalizeUserType(String userType) {
+        if (userType == null || userType.isBlank()) {
+            return null;
+        }
+        String normalized = userType.trim().toUpperCase(Locale.ROOT);
+        if (normalized.equals(AnalyticsRollupRepository.UNKNOWN_USER_TYPE)) {
+            return normalized;
+        }
+        try {
+            return UserType.valueOf(normalized).name();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo de usuário inválido: " + userType);
+        }
+    }
+
+    /**
+     * Agrupa as linhas (ordenadas por tipo de evento, tipo de usuário e bucket) em séries.
+     */
+    private static List<AnalyticsSeriesResponse.Series> toSeries(List<AnalyticsRollupBucket> buckets) {
+        List<AnalyticsSeriesResponse.Series> series = new ArrayList<>();
+        List<AnalyticsSeriesResponse.Point> points = null;
+        AnalyticsRollupBucket previous = null;
+        for (AnalyticsRollupBucket bucket : buckets) {
+            if (previous == null || !previous.eventType().equals(bucket.eventType())
+                    || !previous.userType().equals(bucket.userType())) {
+                points = new ArrayList<>();
+                series.add(new AnalyticsSeriesResponse.Series(bucket.eventType(), bucket.userType(), points));
+            }
+            points.add(new AnalyticsSeriesResponse.Point(
+                bucket.bucketStart().toEpochMilli(), bucket.eventCount(), bucket.amountSum()));
+            previous = bucket;
+        }
+        return series;
+    }
+}
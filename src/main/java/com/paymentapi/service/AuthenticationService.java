@@ -1,8 +1,8 @@
 package com.paymentapi.service;
 
 import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.internal.UserCredentials;
 import com.paymentapi.dto.request.AuthenticationRequest;
-import com.paymentapi.entity.User;
 import com.paymentapi.exception.AuthenticationException;
 import com.paymentapi.repository.UserRepository;
 import com.paymentapi.util.CorrelationIdUtil;
@@ -18,7 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * Serviço responsável pela autenticação de usuários no sistema de pagamento.
  *  - Identificação do tipo de username (CPF ou email)
- *  - Busca do usuário no banco de dados
+ *  - Busca das credenciais do usuário no banco de dados (projeção, sem entidade gerenciada)
  *  - Verificação de senha usando BCrypt
  *  - Geração de contexto do usuário autenticado
  *  - Logging de tentativas de autenticação falhas para auditoria de segurança
@@ -59,12 +59,13 @@ public class AuthenticationService {
 
         // Determina se username é CPF (11 dígitos) ou email (tem @)
         boolean isCpf = username.matches("\\d{11}");
-        Optional<User> userOptional;
+        Optional<UserCredentials> userOptional;
 
+        // Projeção servida por index-only scan nos índices cobrindo cpf/email
         if (isCpf) {
-            userOptional = userRepository.findByCpf(username);
+            userOptional = userRepository.findCredentialsByCpf(username);
         } else {
-            userOptional = userRepository.findByEmail(username);
+            userOptional = userRepository.findCredentialsByEmail(username);
         }
 
         // Valida se usuário existe
@@ -76,14 +77,14 @@ public class AuthenticationService {
             throw new AuthenticationException(username, "User not found");
         }
 
-        User user = userOptional.get();
+        UserCredentials user = userOptional.get();
 
         // Verifica senha usando BCrypt
-        if (!passwordEncoder.matches(password, user.getSenha())) {
+        if (!passwordEncoder.matches(password, user.senha())) {
             logger.warn(
                     "Tentativa de autenticação falhou - credenciais inválidas. Username: {}, UserId: {}, CorrelationId: {}",
                     SecurityUtil.maskCpf(username),
-                    user.getId(),
+                    user.id(),
                     correlationId);
             throw new AuthenticationException(username, "Invalid credentials");
         }
@@ -91,15 +92,15 @@ public class AuthenticationService {
         // Autenticação bem-sucedida: cria e retorna UserContext
         logger.info(
                 "Autenticação bem-sucedida. UserId: {}, UserType: {}, CorrelationId: {}",
-                user.getId(),
-                user.getUserType(),
+                user.id(),
+                user.userType(),
                 correlationId);
 
         return new UserContext(
-                user.getId(),
-                user.getNomeCompleto(),
-                user.getEmail(),
-                user.getUserType(),
+                user.id(),
+                user.nomeCompleto(),
+                user.email(),
+                user.userType(),
                 LocalDateTime.now());
     }
 }
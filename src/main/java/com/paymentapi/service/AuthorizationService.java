@@ -0,0 +1,81 @@
+package com.paymentapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.paymentapi.exception.AuthorizationUnavailableException;
+import com.paymentapi.exception.TransferNotAuthorizedException;
+import com.paymentapi.metrics.ExternalServiceMetrics;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Cliente do serviço externo de autorização de transferências.
+ * <p>
+ * Resposta esperada: HTTP 200 com {@code {"data": {"authorization": true}}} para autorizar;
+ * HTTP 403 (ou authorization=false) para negar. Qualquer outro erro é tratado como indisponibilidade.
+ */
+@Service
+public class AuthorizationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorizationService.class);
+    private static final String SERVICE_NAME = "authorization";
+
+    private final RestTemplate restTemplate;
+    private final ExternalServiceMetrics externalServiceMetrics;
+    private final String authorizationUrl;
+
+    public AuthorizationService(
+            ExternalServiceMetrics externalServiceMetrics,
+            @Value("${payment.authorization.url:https://util.devi.tools/api/v2/authorize}") String authorizationUrl,
+            @Value("${payment.authorization.timeout:2s}") Duration timeout) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout((int) timeout.toMillis());
+        factory.setReadTimeout((int) timeout.toMillis());
+
+        this.restTemplate = new RestTemplate(factory);
+        this.externalServiceMetrics = externalServiceMetrics;
+        this.authorizationUrl = authorizationUrl;
+    }
+
+    /**
+     * Consulta o serviço de autorização.
+     *
+     * @throws TransferNotAuthorizedException se a transferência for negada
+     * @throws AuthorizationUnavailableException se o serviço falhar ou não responder
+     */
+    public void authorize() {
+        long start = System.nanoTime();
+        String status = "failure";
+
+        try {
+            JsonNode body = restTemplate.getForObject(authorizationUrl, JsonNode.class);
+            if (body == null || !body.path("data").path("authorization").asBoolean(false)) {
+                status = "denied";
+                throw new TransferNotAuthorizedException();
+            }
+            status = "success";
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.FORBIDDEN)) {
+                status = "denied";
+                throw new TransferNotAuthorizedException();
+            }
+            externalServiceMetrics.recordServiceFailure(SERVICE_NAME, "http_" + e.getStatusCode().value());
+            throw new AuthorizationUnavailableException(e);
+        } catch (RestClientException e) {
+            externalServiceMetrics.recordServiceFailure(SERVICE_NAME, "connection_error");
+            logger.warn("Authorization service call failed: {}", e.getMessage());
+            throw new AuthorizationUnavailableException(e);
+        } finally {
+            externalServiceMetrics.recordServiceCall(SERVICE_NAME, status);
+            externalServiceMetrics.recordServiceDuration(SERVICE_NAME,
+                Duration.ofNanos(System.nanoTime() - start), status);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.response.WalletBalanceResponse;
+import com.paymentapi.exception.BalanceStreamLimitException;
+import com.paymentapi.metrics.BalanceStreamMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Hub de fan-out dos streams SSE de saldo.
+ * <p>
+ * Recebe os saldos já commitados e os distribui para as conexões abertas da carteira, sem
+ * acessar o banco. Cada conexão tem um buffer limitado: se o cliente não acompanha, o evento
+ * mais antigo é descartado (cada evento é o saldo completo, então o mais novo basta). O envio
+ * roda em virtual threads, uma drenagem por conexão, e nunca na thread que publicou.
+ * <p>
+ * Eventos com versão menor ou igual à última enfileirada são ignorados, então o cliente nunca
+ * recebe um saldo mais velho do que o anterior. Um heartbeat (comentário SSE) é enviado para
+ * conexões ociosas, o que mantém proxies abertos e detecta clientes que já foram embora.
+ */
+@Service
+public class BalanceStreamHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceStreamHub.class);
+
+    private static final String BALANCE_EVENT = "balance";
+    private static final Object HEARTBEAT = new Object();
+
+    private final BalanceStreamMetrics balanceStreamMetrics;
+    private final int maxStreams;
+    private final int maxStreamsPerUser;
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+    private final Duration streamTimeout;
+
+    private final Map<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final ExecutorService sender =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("balance-stream-", 0).factory());
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("balance-stream-heartbeat").daemon(true).factory());
+
+    public BalanceStreamHub(
+            BalanceStreamMetrics balanceStreamMetrics,
+            @Value("${payment.balance-stream.max-streams:10000}") int maxStreams,
+            @Value("${payment.balance-stream.max-streams-per-user:5}") int maxStreamsPerUser,
+            @Value("${payment.balance-stream.buffer-size:16}") int bufferSize,
+            @Value("${payment.balance-stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${payment.balance-stream.timeout:30m}") Duration streamTimeout) {
+        this.balanceStreamMetrics = balanceStreamMetrics;
+        this.maxStreams = maxStreams;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.streamTimeout = streamTimeout;
+
+        balanceStreamMetrics.bindOpenStreamsGauge(openStreams);
+    }
+
+    /**
+     * Agenda o heartbeat. Fica fora do construtor para não publicar {@code this} para a thread
+     * do scheduler antes de o objeto estar construído.
+     */
+    @PostConstruct
+    void start() {
+        long intervalMillis = heartbeatInterval.toMillis();
+        heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeats, intervalMillis, intervalMillis,
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Abre um stream de saldo para a carteira.
+     * <p>
+     * O saldo inicial é lido depois que a conexão já está inscrita, então nenhuma atualização
+     * commitada entre a leitura e a inscrição se perde; se a leitura for anterior a um evento já
+     * enfileirado, o filtro de versão a descarta.
+     *
+     * @param userId UUID da carteira
+     * @param snapshot leitura do saldo atual, enviado como primeiro evento
+     * @return emitter SSE a ser devolvido pelo controller
+     * @throws BalanceStreamLimitException se o limite do nó ou do usuário foi atingido
+     */
+    public SseEmitter subscribe(UUID userId, Supplier<WalletBalanceResponse> snapshot) {
+        return subscribe(userId, snapshot, new SseEmitter(streamTimeout.toMillis()));
+    }
+
+    SseEmitter subscribe(UUID userId, Supplier<WalletBalanceResponse> snapshot, SseEmitter emitter) {
+        if (openStreams.incrementAndGet() > maxStreams) {
+            openStreams.decrementAndGet();
+            balanceStreamMetrics.recordStreamRejected("node_limit");
+            throw new BalanceStreamLimitException("Limite de streams de saldo do servidor atingido");
+        }
+
+        Subscription subscription = new Subscription(userId, emitter);
+        AtomicBoolean accepted = new AtomicBoolean();
+        subscriptions.compute(userId, (key, current) -> {
+            Set<Subscription> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            if (set.size() < maxStreamsPerUser) {
+                set.add(subscription);
+                accepted.set(true);
+            }
+            return set.isEmpty() ? null : set;
+        });
+        if (!accepted.get()) {
+            openStreams.decrementAndGet();
+            balanceStreamMetrics.recordStreamRejected("user_limit");
+            throw new BalanceStreamLimitException(
+                "Limite de " + maxStreamsPerUser + " streams de saldo abertos por usuário atingido");
+        }
+
+        emitter.onCompletion(() -> subscription.close("completed"));
+        emitter.onTimeout(() -> subscription.close("timeout"));
+        emitter.onError(e -> subscription.close("error"));
+
+        try {
+            subscription.offer(snapshot.get());
+        } catch (RuntimeException e) {
+            subscription.close("error");
+            throw e;
+        }
+        return emitter;
+    }
+
+    /**
+     * Distribui um saldo commitado para os streams abertos da carteira. Não bloqueia: só enfileira.
+     *
+     * @param balance saldo já commitado
+     */
+    public void publish(WalletBalanceResponse balance) {
+        Set<Subscription> targets = subscriptions.get(balance.userId());
+        if (targets == null) {
+            return;
+        }
+        for (Subscription subscription : targets) {
+            subscription.offer(balance);
+        }
+    }
+
+    /**
+     * @return quantidade de streams abertos neste nó
+     */
+    public int openStreams() {
+        return openStreams.get();
+    }
+
+    void sendHeartbeats() {
+        long idleThreshold = System.nanoTime() - heartbeatInterval.toNanos();
+        for (Set<Subscription> set : subscriptions.values()) {
+            for (Subscription subscription : set) {
+                if (subscription.lastSentNanos - idleThreshold <= 0) {
+                    subscription.offer(HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        for (Set<Subscription> set : subscriptions.values()) {
+            for (Subscription subscription : set) {
+                subscription.emitter.complete();
+                subscription.close("completed");
+            }
+        }
+        sender.shutdown();
+    }
+
+    /**
+     * Uma conexão SSE aberta, com seu buffer limitado.
+     */
+    private final class Subscription {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Object> buffer = new ArrayDeque<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private int lastVersion = Integer.MIN_VALUE;
+        private volatile long lastSentNanos = System.nanoTime();
+
+        Subscription(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Object item) {
+            if (closed.get()) {
+                return;
+            }
+            synchronized (this) {
+                if (item instanceof WalletBalanceResponse balance && balance.version() != null) {
+                    if (balance.version() <= lastVersion) {
+                        return;
+                    }
+                    lastVersion = balance.version();
+                } else if (item == HEARTBEAT && !buffer.isEmpty()) {
+                    // Já há evento a caminho, que serve de keep-alive
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    balanceStreamMetrics.recordEventDropped();
+                }
+                buffer.addLast(item);
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Object item;
+                synchronized (this) {
+                    item = buffer.pollFirst();
+                    if (item == null) {
+                        // Dentro do lock: um offer concorrente ou já viu o item drenado, ou agenda outra drenagem
+                        draining.set(false);
+                        return;
+                    }
+                }
+                if (!send(item)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean send(Object item) {
+            try {
+                if (item == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    balanceStreamMetrics.recordEventSent("heartbeat");
+                } else {
+                    WalletBalanceResponse balance = (WalletBalanceResponse) item;
+                    SseEmitter.SseEventBuilder event = SseEmitter.event().name(BALANCE_EVENT).data(balance);
+                    if (balance.version() != null) {
+                        event.id(String.valueOf(balance.version()));
+                    }
+                    emitter.send(event);
+                    balanceStreamMetrics.recordEventSent(BALANCE_EVENT);
+                }
+                lastSentNanos = System.nanoTime();
+                return true;
+            } catch (Exception e) {
+                logger.debug("Falha ao enviar evento de saldo, fechando stream. UserId: {}", userId, e);
+                emitter.completeWithError(e);
+                close("error");
+                return false;
+            }
+        }
+
+        void close(String reason) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriptions.computeIfPresent(userId, (key, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            openStreams.decrementAndGet();
+            balanceStreamMetrics.recordStreamClosed(reason);
+            synchronized (this) {
+                buffer.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.paymentapi.service;
+
+import com.paymentapi.metrics.CacheInvalidationMetrics;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Barramento de invalidação dos caches em memória entre as réplicas, sobre LISTEN/NOTIFY do Postgres.
+ * <p>
+ * Publicação: invalidações entram numa fila só depois do commit e são enviadas em lote por
+ * {@code pg_notify}, a cada intervalo ou quando o payload enche (limite de 8000 bytes do Postgres).
+ * Cada lote leva o id do nó, um número de sequência e o instante do commit mais antigo.
+ * <p>
+ * Recebimento: uma conexão dedicada por nó (fora do pool) fica em LISTEN. Lotes do próprio nó são
+ * ignorados. Um buraco na sequência de outro nó (lote perdido ou envio com falha) e toda
+ * reconexão da escuta disparam um esvaziamento completo dos caches registrados, já que não dá
+ * para saber o que se perdeu.
+ * <p>
+ * Formato do payload, uma linha por item:
+ * <pre>
+ * nodeId sequência commitEpochMillis
+ * tipo:chave
+ * </pre>
+ */
+@Service
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheInvalidationMetrics cacheInvalidationMetrics;
+    private final boolean enabled;
+    private final String channel;
+    private final Duration batchInterval;
+    private final int maxPayloadBytes;
+    private final Duration reconnectBackoff;
+
+    // Reserva para o cabeçalho "nodeId sequência commitadoEm" de cada payload
+    private static final int HEADER_BYTES = 48;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Queue<Invalidation> pending = new ConcurrentLinkedQueue<>();
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> fullFlushHandlers = new CopyOnWriteArrayList<>();
+    // Última sequência recebida de cada nó
+    private final Map<String, Long> lastSequenceByNode = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService publisher;
+    private Thread listener;
+    private volatile boolean running;
+
+    public CacheInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            CacheInvalidationMetrics cacheInvalidationMetrics,
+            @Value("${payment.cache-invalidation.enabled:true}") boolean enabled,
+            @Value("${payment.cache-invalidation.channel:payment_cache_invalidation}") String channel,
+            @Value("${payment.cache-invalidation.batch-interval:50ms}") Duration batchInterval,
+            @Value("${payment.cache-invalidation.max-payload-bytes:7500}") int maxPayloadBytes,
+            @Value("${payment.cache-invalidation.reconnect-backoff:1s}") Duration reconnectBackoff) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.cacheInvalidationMetrics = cacheInvalidationMetrics;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.batchInterval = batchInterval;
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.reconnectBackoff = reconnectBackoff;
+    }
+
+    /**
+     * Registra o tratamento de um tipo de invalidação recebida de outro nó.
+     *
+     * @param type tipo da invalidação (sem ':' nem quebra de linha)
+     * @param handler recebe a chave invalidada; roda na thread de escuta e não deve bloquear
+     */
+    public void subscribe(String type, Consumer<String> handler) {
+        handlers.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Registra o esvaziamento completo de um cache, usado quando invalidações podem ter se perdido.
+     *
+     * @param handler esvazia ou recarrega o cache local
+     */
+    public void onFullFlush(Runnable handler) {
+        fullFlushHandlers.add(handler);
+    }
+
+    /**
+     * Publica uma invalidação para os outros nós. Dentro de uma transação, só entra na fila
+     * depois do commit; num rollback nada é publicado.
+     *
+     * @param type tipo da invalidação
+     * @param key chave invalidada (sem quebra de linha)
+     */
+    public void publish(String type, String key) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.add(new Invalidation(type, key, System.currentTimeMillis()));
+                }
+            });
+        } else {
+            pending.add(new Invalidation(type, key, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * @return identificador deste nó nos payloads
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("Cache invalidation bus disabled");
+            return;
+        }
+        running = true;
+        publisher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("cache-invalidation-publisher").daemon(true).factory());
+        publisher.scheduleWithFixedDelay(this::flush, batchInterval.toMillis(), batchInterval.toMillis(),
+            TimeUnit.MILLISECONDS);
+        listener = Thread.ofPlatform().name("cache-invalidation-listener").daemon(true).start(this::listen);
+        logger.info("Cache invalidation bus started. NodeId: {}, Channel: {}", nodeId, channel);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (publisher != null) {
+            publisher.shutdown();
+            flush();
+        }
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Envia as invalidações pendentes, em quantos lotes forem necessários para respeitar o
+     * tamanho máximo do payload.
+     */
+    synchronized void flush() {
+        List<Invalidation> batch = new ArrayList<>();
+        int batchBytes = 0;
+        Invalidation next;
+        while ((next = pending.poll()) != null) {
+            int entryBytes = next.type().length() + 2 + next.key().getBytes(StandardCharsets.UTF_8).length;
+            if (!batch.isEmpty() && HEADER_BYTES + batchBytes + entryBytes > maxPayloadBytes) {
+                send(batch);
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(next);
+            batchBytes += entryBytes;
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void send(List<Invalidation> batch) {
+        // A sequência é consumida mesmo se o envio falhar: os outros nós veem o buraco e esvaziam os caches
+        String payload = encode(nodeId, sequence.incrementAndGet(), batch);
+        try {
+            jdbcTemplate.query(NOTIFY, resultSet -> null, channel, payload);
+            cacheInvalidationMetrics.recordNotificationSent(batch.size(), "success");
+        } catch (DataAccessException e) {
+            cacheInvalidationMetrics.recordNotificationSent(batch.size(), "failed");
+            logger.warn("Failed to publish cache invalidations. Count: {}, Error: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnecting) {
+                    // Notificações enviadas enquanto a escuta estava fora foram perdidas
+                    fullFlush("reconnect");
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                cacheInvalidationMetrics.recordListenerError();
+                logger.warn("Cache invalidation listener failed, reconnecting in {}: {}", reconnectBackoff,
+                    e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(reconnectBackoff.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Aplica um payload recebido.
+     */
+    void handle(String payload) {
+        Batch batch;
+        try {
+            batch = decode(payload);
+        } catch (RuntimeException e) {
+            logger.warn("Malformed cache invalidation payload: {}", e.getMessage());
+            fullFlush("malformed");
+            return;
+        }
+        if (batch.nodeId().equals(nodeId)) {
+            return;
+        }
+
+        Long previous = lastSequenceByNode.put(batch.nodeId(), batch.sequence());
+        if (previous != null && batch.sequence() != previous + 1) {
+            logger.warn("Cache invalidation sequence gap. NodeId: {}, Expected: {}, Received: {}",
+                batch.nodeId(), previous + 1, batch.sequence());
+            fullFlush("sequence_gap");
+        } else {
+            for (Invalidation invalidation : batch.invalidations()) {
+                for (Consumer<String> handler : handlers.getOrDefault(invalidation.type(), List.of())) {
+                    handler.accept(invalidation.key());
+                }
+                cacheInvalidationMetrics.recordInvalidationReceived(invalidation.type());
+            }
+        }
+        cacheInvalidationMetrics.recordPropagationDelay(
+            Duration.ofMillis(Math.max(0, System.currentTimeMillis() - batch.committedAtMillis())));
+    }
+
+    private void fullFlush(String reason) {
+        cacheInvalidationMetrics.recordFullFlush(reason);
+        for (Runnable handler : fullFlushHandlers) {
+            try {
+                handler.run();
+            } catch (RuntimeException e) {
+                logger.warn("Cache full flush handler failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    static String encode(String nodeId, long sequence, List<Invalidation> invalidations) {
+        long committedAt = invalidations.stream().mapToLong(Invalidation::committedAtMillis).min().orElse(0);
+        StringBuilder payload = new StringBuilder()
+            .append(nodeId).append(' ').append(sequence).append(' ').append(committedAt);
+        for (Invalidation invalidation : invalidations) {
+            payload.append('\n').append(invalidation.type()).append(':').append(invalidation.key());
+        }
+        return payload.toString();
+    }
+
+    static Batch decode(String payload) {
+        String[] lines = payload.split("\n");
+        String[] header = lines[0].split(" ");
+        if (header.length != 3) {
+            throw new IllegalArgumentException("Cabeçalho inválido: " + lines[0]);
+        }
+        long committedAt = Long.parseLong(header[2]);
+        List<Invalidation> invalidations = new ArrayList<>(lines.length - 1);
+        for (int i = 1; i < lines.length; i++) {
+            int separator = lines[i].indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Item inválido: " + lines[i]);
+            }
+            invalidations.add(new Invalidation(
+                lines[i].substring(0, separator), lines[i].substring(separator + 1), committedAt));
+        }
+        return new Batch(header[0], Long.parseLong(header[1]), committedAt, invalidations);
+    }
+
+    /**
+     * Uma invalidação publicada.
+     *
+     * @param type tipo da invalidação
+     * @param key chave invalidada
+     * @param committedAtMillis instante do commit que a originou
+     */
+    record Invalidation(String type, String key, long committedAtMillis) {
+    }
+
+    /**
+     * Um lote recebido de outro nó.
+     */
+    record Batch(String nodeId, long sequence, long committedAtMillis, List<Invalidation> invalidations) {
+    }
+}
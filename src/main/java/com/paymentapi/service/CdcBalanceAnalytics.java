@@ -0,0 +1,47 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.CdcEvent.BalanceAuditInserted;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra as alterações de saldo em analytical_events a partir do CDC, com o leitor habilitado.
+ * <p>
+ * Cada registro de balance_audit commitado vira um evento BALANCE_CHANGED, no mesmo formato do
+ * listener de domínio, que deixa de gravar (ver {@link DomainEventListeners#recordBalanceAnalytics}).
+ * Diferente do evento em memória, o CDC não perde a alteração numa queda entre o commit e o
+ * listener, e registra cada crédito do merge do journal com o tipo de operação dele. Só o nó
+ * líder do slot recebe os eventos, então cada alteração é registrada uma vez no cluster; entre o
+ * último checkpoint e uma queda do líder a entrega pode se repetir.
+ */
+@Component
+public class CdcBalanceAnalytics {
+
+    private final AnalyticsEmitter analyticsEmitter;
+
+    public CdcBalanceAnalytics(
+            ChangeDataCaptureReader changeDataCaptureReader,
+            AnalyticsEmitter analyticsEmitter,
+            @Value("${payment.cdc.enabled:false}") boolean enabled) {
+        this.analyticsEmitter = analyticsEmitter;
+
+        if (enabled) {
+            changeDataCaptureReader.subscribe(BalanceAuditInserted.class, this::recordBalanceAnalytics);
+        }
+    }
+
+    /**
+     * Registra a alteração de saldo auditada. Só enfileira no emissor, sem bloquear o leitor.
+     *
+     * @param event registro de balance_audit inserido
+     */
+    void recordBalanceAnalytics(BalanceAuditInserted event) {
+        analyticsEmitter.emit(DomainEventListeners.BALANCE_CHANGED, event.userId(), event.userType(),
+            event.transactionId(), event.balanceChange().longValue(), Map.of(
+            "operationType", event.operationType(),
+            "previousBalance", event.previousBalance(),
+            "newBalance", event.newBalance(),
+            "balanceChange", event.balanceChange()));
+    }
+}
@@ -0,0 +1,422 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.CdcEvent;
+import com.paymentapi.dto.internal.CdcEvent.BalanceAuditInserted;
+import com.paymentapi.dto.internal.CdcEvent.UserChanged;
+import com.paymentapi.entity.CdcCheckpoint;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.metrics.CdcMetrics;
+import com.paymentapi.repository.CdcCheckpointRepository;
+import com.paymentapi.util.PgOutputDecoder;
+import com.paymentapi.util.PgOutputDecoder.CommittedTransaction;
+import com.paymentapi.util.PgOutputDecoder.Operation;
+import com.paymentapi.util.PgOutputDecoder.RowChange;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Leitor de change data capture das tabelas de saldo (users e balance_audit), sobre a
+ * replicação lógica do Postgres com o plugin pgoutput.
+ * <p>
+ * Quem precisa reagir a alterações de saldo (analytics, notificações, caches) assina aqui em vez
+ * de acrescentar trabalho à transação da transferência. Os eventos só são decodificados depois
+ * do commit, chegam na ordem do WAL e são entregues transação a transação numa thread dedicada.
+ * <p>
+ * Checkpoint: depois da entrega, o end LSN da transação é gravado em cdc_checkpoints (no máximo
+ * uma vez por intervalo) e só então confirmado ao slot, que pode liberar o WAL. Depois de um
+ * restart, a leitura recomeça do checkpoint e transações já entregues são descartadas. Entre o
+ * último checkpoint e uma queda a entrega se repete (pelo menos uma vez): assinantes devem ser
+ * idempotentes (versão da linha, id da auditoria). A falha de um assinante é registrada e não
+ * bloqueia os demais nem o checkpoint.
+ * <p>
+ * Líder: o slot é um só para o cluster e só uma conexão por vez pode consumi-lo, então o leitor
+ * pode ficar habilitado em todas as réplicas e só uma lê. Antes de abrir o stream, cada nó tenta
+ * um advisory lock de sessão ({@code pg_try_advisory_lock}) na própria conexão de replicação; quem
+ * não consegue fecha a conexão e tenta de novo a cada intervalo de espera. O lock cai junto com a
+ * conexão do líder, no mesmo momento em que o slot fica livre, e outro nó assume do checkpoint.
+ * Os assinantes, portanto, só recebem eventos no nó líder.
+ * <p>
+ * Requer wal_level = logical e a publicação criada na migration V9. O slot é criado na
+ * primeira execução.
+ */
+@Service
+public class ChangeDataCaptureReader implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeDataCaptureReader.class);
+
+    private static final String USERS_TABLE = "users";
+    private static final String BALANCE_AUDIT_TABLE = "balance_audit";
+    private static final String LEADER_LOCK = "SELECT pg_try_advisory_lock(hashtext(?))";
+    private static final String LEADER_LOCK_PREFIX = "payment-cdc-reader:";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final CdcCheckpointRepository cdcCheckpointRepository;
+    private final CdcMetrics cdcMetrics;
+    private final boolean enabled;
+    private final String slotName;
+    private final String publication;
+    private final Duration checkpointInterval;
+    private final Duration pollInterval;
+    private final Duration reconnectBackoff;
+    private final Duration standbyInterval;
+
+    private final Map<Class<? extends CdcEvent>, List<Consumer<CdcEvent>>> subscribers = new ConcurrentHashMap<>();
+    // End LSN da última transação entregue e do último checkpoint gravado
+    private final AtomicLong deliveredLsn = new AtomicLong();
+    private final AtomicLong checkpointLsn = new AtomicLong();
+    private final AtomicBoolean leader = new AtomicBoolean();
+    private long lastCheckpointNanos = System.nanoTime();
+
+    private Thread reader;
+    private volatile boolean running;
+
+    public ChangeDataCaptureReader(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            CdcCheckpointRepository cdcCheckpointRepository,
+            CdcMetrics cdcMetrics,
+            @Value("${payment.cdc.enabled:false}") boolean enabled,
+            @Value("${payment.cdc.slot-name:payment_balance_cdc}") String slotName,
+            @Value("${payment.cdc.publication:payment_balance_cdc}") String publication,
+            @Value("${payment.cdc.checkpoint-interval:1s}") Duration checkpointInterval,
+            @Value("${payment.cdc.poll-interval:20ms}") Duration pollInterval,
+            @Value("${payment.cdc.reconnect-backoff:5s}") Duration reconnectBackoff,
+            @Value("${payment.cdc.standby-interval:5s}") Duration standbyInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.cdcCheckpointRepository = cdcCheckpointRepository;
+        this.cdcMetrics = cdcMetrics;
+        this.enabled = enabled;
+        this.slotName = slotName;
+        this.publication = publication;
+        this.checkpointInterval = checkpointInterval;
+        this.pollInterval = pollInterval;
+        this.reconnectBackoff = reconnectBackoff;
+        this.standbyInterval = standbyInterval;
+
+        cdcMetrics.bindCheckpointGauge(checkpointLsn);
+        cdcMetrics.bindLeaderGauge(leader);
+    }
+
+    /**
+     * Assina um tipo de evento.
+     *
+     * @param type classe do evento ({@link UserChanged} ou {@link BalanceAuditInserted})
+     * @param subscriber roda na thread do leitor, só no nó líder; trabalho lento deve ser repassado
+     *        a outro executor
+     */
+    public <E extends CdcEvent> void subscribe(Class<E> type, Consumer<? super E> subscriber) {
+        subscribers.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>())
+            .add(event -> subscriber.accept(type.cast(event)));
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("CDC reader disabled");
+            return;
+        }
+        running = true;
+        reader = Thread.ofPlatform().name("cdc-reader").daemon(true).start(this::read);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (reader != null) {
+            reader.interrupt();
+            try {
+                reader.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void read() {
+        boolean standby = false;
+        while (running) {
+            boolean elected = false;
+            try (Connection connection = openReplicationConnection()) {
+                elected = acquireLeadership(connection);
+                if (elected) {
+                    leader.set(true);
+                    standby = false;
+                    ensureSlot(connection);
+                    long startLsn = cdcCheckpointRepository.findById(slotName).map(CdcCheckpoint::getLsn).orElse(0L);
+                    deliveredLsn.set(startLsn);
+                    checkpointLsn.set(startLsn);
+                    logger.info("CDC reader started as leader. Slot: {}, Publication: {}, StartLsn: {}",
+                        slotName, publication, LogSequenceNumber.valueOf(startLsn));
+
+                    PGReplicationStream stream = connection.unwrap(PGConnection.class).getReplicationAPI()
+                        .replicationStream()
+                        .logical()
+                        .withSlotName(slotName)
+                        .withSlotOption("proto_version", "1")
+                        .withSlotOption("publication_names", publication)
+                        .withStartPosition(LogSequenceNumber.valueOf(startLsn))
+                        .withStatusInterval(10, TimeUnit.SECONDS)
+                        .start();
+                    consume(stream);
+                }
+            } catch (SQLException | RuntimeException e) {
+                leader.set(false);
+                if (!running) {
+                    return;
+                }
+                cdcMetrics.recordReconnect();
+                logger.warn("CDC reader failed, reconnecting in {}: {}", reconnectBackoff, e.getMessage());
+                if (!pause(reconnectBackoff)) {
+                    return;
+                }
+                continue;
+            }
+            // A conexão já foi fechada: o lock, se havia, foi solto junto
+            leader.set(false);
+            if (!elected) {
+                if (!standby) {
+                    standby = true;
+                    logger.info("CDC reader on standby, slot held by another node. Slot: {}", slotName);
+                }
+                if (!pause(standbyInterval)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tenta o advisory lock de líder do slot na conexão de replicação, sem esperar. O lock é de
+     * sessão: vale enquanto a conexão estiver aberta.
+     *
+     * @return true se este nó é o líder
+     */
+    boolean acquireLeadership(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LEADER_LOCK)) {
+            statement.setString(1, LEADER_LOCK_PREFIX + slotName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private static boolean pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void consume(PGReplicationStream stream) throws SQLException {
+        PgOutputDecoder decoder = new PgOutputDecoder();
+        while (running) {
+            ByteBuffer message = stream.readPending();
+            if (message == null) {
+                if (!decoder.inTransaction()) {
+                    // Ocioso e fora de transação: o WAL até aqui não tem nada pendente para os assinantes
+                    advanceTo(stream.getLastReceiveLSN().asLong());
+                }
+                checkpoint(stream);
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            decoder.decode(message).ifPresent(this::deliver);
+            checkpoint(stream);
+        }
+    }
+
+    /**
+     * Entrega uma transação commitada aos assinantes, na ordem das alterações.
+     * Transações já entregues antes do último checkpoint são descartadas.
+     */
+    void deliver(CommittedTransaction transaction) {
+        if (transaction.endLsn() <= deliveredLsn.get()) {
+            return;
+        }
+        Map<String, String> userTypes = userTypes(transaction);
+        for (RowChange change : transaction.changes()) {
+            CdcEvent event = toEvent(change, transaction, userTypes);
+            if (event != null) {
+                dispatch(event);
+            }
+        }
+        deliveredLsn.set(transaction.endLsn());
+        cdcMetrics.recordDeliveryLag(Duration.between(transaction.committedAt(), Instant.now()));
+    }
+
+    private void dispatch(CdcEvent event) {
+        String type = eventType(event);
+        cdcMetrics.recordEvent(type);
+        for (Consumer<CdcEvent> subscriber : subscribers.getOrDefault(event.getClass(), List.of())) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                cdcMetrics.recordSubscriberError(type);
+                logger.warn("CDC subscriber failed. Type: {}, Lsn: {}, Error: {}",
+                    type, LogSequenceNumber.valueOf(event.lsn()), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void advanceTo(long lsn) {
+        deliveredLsn.accumulateAndGet(lsn, Math::max);
+    }
+
+    /**
+     * Grava o checkpoint e só então confirma o LSN ao slot, no máximo uma vez por intervalo.
+     */
+    private void checkpoint(PGReplicationStream stream) throws SQLException {
+        long delivered = deliveredLsn.get();
+        if (delivered <= checkpointLsn.get()
+                || System.nanoTime() - lastCheckpointNanos < checkpointInterval.toNanos()) {
+            return;
+        }
+        cdcCheckpointRepository.upsert(slotName, delivered);
+        checkpointLsn.set(delivered);
+        lastCheckpointNanos = System.nanoTime();
+
+        LogSequenceNumber confirmed = LogSequenceNumber.valueOf(delivered);
+        stream.setAppliedLSN(confirmed);
+        stream.setFlushedLSN(confirmed);
+        stream.forceUpdateStatus();
+    }
+
+    private void ensureSlot(Connection connection) throws SQLException {
+        Integer existing = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM pg_replication_slots WHERE slot_name = ?", Integer.class, slotName);
+        if (existing == null || existing == 0) {
+            connection.unwrap(PGConnection.class).getReplicationAPI()
+                .createReplicationSlot()
+                .logical()
+                .withSlotName(slotName)
+                .withOutputPlugin("pgoutput")
+                .make();
+            logger.info("CDC replication slot created. Slot: {}", slotName);
+        }
+    }
+
+    private Connection openReplicationConnection() throws SQLException {
+        Properties properties = new Properties();
+        PGProperty.USER.set(properties, dataSourceProperties.determineUsername());
+        PGProperty.PASSWORD.set(properties, dataSourceProperties.determinePassword());
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(properties, "10");
+        PGProperty.REPLICATION.set(properties, "database");
+        PGProperty.PREFER_QUERY_MODE.set(properties, "simple");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    /**
+     * Tipo de cada usuário alterado na transação. A auditoria não tem user_type; toda alteração de
+     * saldo atualiza a linha de users na mesma transação, em qualquer ordem em relação ao INSERT.
+     *
+     * @return user_type por id do usuário
+     */
+    static Map<String, String> userTypes(CommittedTransaction transaction) {
+        Map<String, String> userTypes = new HashMap<>();
+        for (RowChange change : transaction.changes()) {
+            String userType = change.columns().get("user_type");
+            if (USERS_TABLE.equals(change.table()) && userType != null) {
+                userTypes.put(change.columns().get("id"), userType);
+            }
+        }
+        return userTypes;
+    }
+
+    /**
+     * Converte uma alteração de linha no evento tipado correspondente.
+     *
+     * @param userTypes user_type por id do usuário, de {@link #userTypes}
+     * @return evento, ou null se a alteração não gera evento (ex.: DELETE)
+     */
+    static CdcEvent toEvent(RowChange change, CommittedTransaction transaction, Map<String, String> userTypes) {
+        Map<String, String> columns = change.columns();
+        if (USERS_TABLE.equals(change.table()) && change.operation() != Operation.DELETE) {
+            return new UserChanged(
+                UUID.fromString(columns.get("id")),
+                toInteger(columns.get("wallet_balance")),
+                toInteger(columns.get("version")),
+                transaction.endLsn(),
+                transaction.committedAt());
+        }
+        if (BALANCE_AUDIT_TABLE.equals(change.table()) && change.operation() == Operation.INSERT) {
+            String transactionId = columns.get("transaction_id");
+            String userType = userTypes.get(columns.get("user_id"));
+            return new BalanceAuditInserted(
+                UUID.fromString(columns.get("id")),
+                UUID.fromString(columns.get("user_id")),
+                userType == null ? null : UserType.valueOf(userType),
+                transactionId == null ? null : UUID.fromString(transactionId),
+                toInteger(columns.get("previous_balance")),
+                toInteger(columns.get("new_balance")),
+                toInteger(columns.get("balance_change")),
+                columns.get("operation_type"),
+                transaction.endLsn(),
+                transaction.committedAt());
+        }
+        return null;
+    }
+
+    private static Integer toInteger(String value) {
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    /**
+     * @return tipo do evento usado nos logs e no label type das métricas
+     */
+    static String eventType(CdcEvent event) {
+        return switch (event) {
+            case UserChanged changed -> "user_changed";
+            case BalanceAuditInserted inserted -> "balance_audit_inserted";
+        };
+    }
+
+    /**
+     * @return end LSN da última transação entregue aos assinantes
+     */
+    long deliveredLsn() {
+        return deliveredLsn.get();
+    }
+}
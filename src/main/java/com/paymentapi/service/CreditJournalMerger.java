@@ -0,0 +1,153 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.JournalCredit;
+import com.paymentapi.metrics.WalletMetrics;
+import com.paymentapi.repository.CreditJournalRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Soma os créditos diferidos do journal aos saldos materializados. Só roda com
+ * payment.wallet.deferred-credits.enabled.
+ * <p>
+ * Cada lote é uma transação curta: retira até batch-size créditos do journal
+ * ({@link CreditJournalRepository#claimBatch}, com SKIP LOCKED), agrupa por user e aplica cada
+ * grupo com um único lock e um único UPDATE ({@link WalletService#mergeJournalCredits}), em ordem
+ * crescente de id, a mesma das transferências. Um lojista que recebeu mil créditos no intervalo
+ * tem a linha travada uma vez, não mil. Se o lote falhar, os créditos voltam ao journal.
+ */
+@Service
+public class CreditJournalMerger implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreditJournalMerger.class);
+
+    private final CreditJournalRepository creditJournalRepository;
+    private final WalletService walletService;
+    private final WalletMetrics walletMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final int batchSize;
+
+    private Thread merger;
+    private volatile boolean running;
+
+    public CreditJournalMerger(
+            CreditJournalRepository creditJournalRepository,
+            WalletService walletService,
+            WalletMetrics walletMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${payment.wallet.deferred-credits.enabled:false}") boolean enabled,
+            @Value("${payment.wallet.deferred-credits.merger.interval:200ms}") Duration interval,
+            @Value("${payment.wallet.deferred-credits.merger.batch-size:1000}") int batchSize) {
+        this.creditJournalRepository = creditJournalRepository;
+        this.walletService = walletService;
+        this.walletMetrics = walletMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Executa uma passada do merge.
+     *
+     * @return quantidade de créditos somados aos saldos
+     */
+    public int merge() {
+        long start = System.nanoTime();
+        int merged = 0;
+        try {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> mergeBatch());
+                merged += batch;
+            } while (batch == batchSize && !Thread.currentThread().isInterrupted());
+
+            walletMetrics.recordJournalMerge(Duration.ofNanos(System.nanoTime() - start), merged, "success");
+        } catch (DataAccessException | TransactionException e) {
+            // TransactionException: banco fora do ar no begin ou falha no commit
+            walletMetrics.recordJournalMerge(Duration.ofNanos(System.nanoTime() - start), merged, "failed");
+            logger.warn("Credit journal merge failed, retrying next round. Merged so far: {}, Error: {}",
+                merged, e.getMessage());
+        }
+        return merged;
+    }
+
+    private int mergeBatch() {
+        List<JournalCredit> credits = creditJournalRepository.claimBatch(batchSize);
+        if (credits.isEmpty()) {
+            return 0;
+        }
+
+        // Agrupa por user; TreeMap dá a ordem crescente de id usada nos locks das transferências
+        Map<UUID, List<JournalCredit>> byUser = new TreeMap<>();
+        for (JournalCredit credit : credits) {
+            byUser.computeIfAbsent(credit.userId(), id -> new ArrayList<>()).add(credit);
+        }
+        byUser.forEach((userId, userCredits) -> {
+            userCredits.sort(Comparator.comparingLong(JournalCredit::id));
+            walletService.mergeJournalCredits(userId, userCredits);
+        });
+        return credits.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        merger = Thread.ofPlatform().name("credit-journal-merger").daemon(true).start(this::runMerger);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (merger != null) {
+            merger.interrupt();
+            try {
+                merger.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runMerger() {
+        while (running) {
+            try {
+                merge();
+            } catch (RuntimeException e) {
+                // Nenhum erro de uma passada pode encerrar a thread: tenta de novo após o intervalo
+                logger.error("Unexpected credit journal merge error, retrying next round", e);
+            }
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
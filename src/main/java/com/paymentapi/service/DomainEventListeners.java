@@ -0,0 +1,87 @@
+package com.paymentapi.service;
+
+import com.paymentapi.config.DomainEventConfig;
+import com.paymentapi.dto.internal.BalanceChangedEvent;
+import com.paymentapi.dto.internal.TransferCompletedEvent;
+import com.paymentapi.dto.response.WalletBalanceResponse;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Efeitos colaterais das alterações de saldo e transferências, fora da transação.
+ * <p>
+ * Cada método roda no executor de eventos de domínio depois do commit. Um listener lento ou com
+ * falha não atrasa a transação nem os outros listeners. Eventos publicados fora de transação do
+ * Spring (variante reativa, que publica depois do commit R2DBC) são entregues na hora.
+ */
+@Component
+public class DomainEventListeners {
+
+    public static final String BALANCE_CHANGED = "BALANCE_CHANGED";
+    public static final String TRANSFER_COMPLETED = "TRANSFER_COMPLETED";
+
+    private final BalanceStreamHub balanceStreamHub;
+    private final AnalyticsEmitter analyticsEmitter;
+    private final boolean cdcEnabled;
+
+    public DomainEventListeners(
+            BalanceStreamHub balanceStreamHub,
+            AnalyticsEmitter analyticsEmitter,
+            @Value("${payment.cdc.enabled:false}") boolean cdcEnabled) {
+        this.balanceStreamHub = balanceStreamHub;
+        this.analyticsEmitter = analyticsEmitter;
+        this.cdcEnabled = cdcEnabled;
+    }
+
+    /**
+     * Envia o saldo commitado aos streams SSE abertos da carteira. A entrega assíncrona pode
+     * reordenar eventos; o filtro de versão do hub descarta os mais velhos.
+     *
+     * @param event saldo alterado
+     */
+    @Async(DomainEventConfig.DOMAIN_EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void publishBalanceToStreams(BalanceChangedEvent event) {
+        balanceStreamHub.publish(new WalletBalanceResponse(
+            event.userId(), event.newBalance(), event.updatedAt(), event.version()));
+    }
+
+    /**
+     * Registra a alteração de saldo em analytical_events (gravação em lote). Nos rollups o
+     * valor somado é o delta com sinal, ou seja, o fluxo líquido por tipo de usuário. Com o CDC
+     * habilitado quem registra é o {@link CdcBalanceAnalytics}, e aqui nada é gravado.
+     *
+     * @param event saldo alterado
+     */
+    @Async(DomainEventConfig.DOMAIN_EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void recordBalanceAnalytics(BalanceChangedEvent event) {
+        if (cdcEnabled) {
+            return;
+        }
+        analyticsEmitter.emit(BALANCE_CHANGED, event.userId(), event.userType(), event.transactionId(),
+            event.balanceChange().longValue(), Map.of(
+            "operationType", event.operationType(),
+            "previousBalance", event.previousBalance(),
+            "newBalance", event.newBalance(),
+            "balanceChange", event.balanceChange()));
+    }
+
+    /**
+     * Registra a transferência concluída em analytical_events (gravação em lote).
+     *
+     * @param event transferência concluída
+     */
+    @Async(DomainEventConfig.DOMAIN_EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void recordTransferAnalytics(TransferCompletedEvent event) {
+        analyticsEmitter.emit(TRANSFER_COMPLETED, event.payerId(), event.payerType(), event.transactionId(),
+            event.amount().longValue(), Map.of(
+            "payeeId", event.payeeId(),
+            "amount", event.amount()));
+    }
+}
@@ -0,0 +1,313 @@
+package com.paymentapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.entity.FraudRule;
+import com.paymentapi.entity.enums.FraudRuleAction;
+import com.paymentapi.exception.TransferBlockedException;
+import com.paymentapi.metrics.FraudMetrics;
+import com.paymentapi.repository.FraudRuleRepository;
+import com.paymentapi.repository.TransactionRepository;
+import com.paymentapi.util.FraudRuleCompiler;
+import com.paymentapi.util.FraudRuleCompiler.Condition;
+import com.paymentapi.util.SlidingWindowCounters;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Motor de regras antifraude aplicado a cada transferência, antes dos limites e da escrita.
+ * <p>
+ * As regras vêm da tabela fraud_rules e são compiladas na carga ({@link FraudRuleCompiler}); a
+ * avaliação por transferência só percorre a árvore compilada. Uma thread confere a versão da
+ * tabela (count e max(updated_at)) a cada intervalo e recompila quando ela muda: alterações
+ * valem sem restart. Uma regra com definição inválida é ignorada sem derrubar as demais.
+ * <p>
+ * As regras são avaliadas em ordem de prioridade. A primeira regra BLOCK que casa recusa a
+ * transferência; regras FLAG só geram métrica e log. Os fatos caros (consulta de recebedor novo,
+ * contadores de velocidade) só são carregados se alguma condição chega a lê-los.
+ * <p>
+ * A avaliação não aloca: os fatos ficam num objeto por thread, reiniciado a cada transferência, e
+ * o minuto do dia sai do offset do fuso guardado até a próxima transição (horário de verão).
+ * Com virtual threads (uma por requisição) o objeto por thread é criado a cada requisição.
+ */
+@Service
+public class FraudRuleEngine implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(FraudRuleEngine.class);
+
+    private final FraudRuleRepository fraudRuleRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferLimitService transferLimitService;
+    private final ObjectMapper objectMapper;
+    private final FraudMetrics fraudMetrics;
+    private final boolean enabled;
+    private final Duration reloadInterval;
+    private final ZoneId zone;
+
+    private final ThreadLocal<TransferFacts> facts = ThreadLocal.withInitial(TransferFacts::new);
+    private volatile ZoneWindow zoneWindow = new ZoneWindow(0, 0, 0);
+    private volatile CompiledRule[] rules = new CompiledRule[0];
+    private volatile String loadedVersion;
+    private Thread reloader;
+    private volatile boolean running;
+
+    public FraudRuleEngine(
+            FraudRuleRepository fraudRuleRepository,
+            TransactionRepository transactionRepository,
+            TransferLimitService transferLimitService,
+            ObjectMapper objectMapper,
+            FraudMetrics fraudMetrics,
+            @Value("${payment.fraud.enabled:true}") boolean enabled,
+            @Value("${payment.fraud.reload-interval:5s}") Duration reloadInterval,
+            @Value("${payment.fraud.time-zone:America/Sao_Paulo}") String zone) {
+        this.fraudRuleRepository = fraudRuleRepository;
+        this.transactionRepository = transactionRepository;
+        this.transferLimitService = transferLimitService;
+        this.objectMapper = objectMapper;
+        this.fraudMetrics = fraudMetrics;
+        this.enabled = enabled;
+        this.reloadInterval = reloadInterval;
+        this.zone = ZoneId.of(zone);
+
+        fraudMetrics.bindRulesLoadedGauge(() -> this.rules.length);
+    }
+
+    /**
+     * Avalia as regras para a transferência.
+     *
+     * @param payer pagador
+     * @param payee recebedor
+     * @param amount valor em centavos
+     * @throws TransferBlockedException se uma regra BLOCK casar
+     */
+    public void check(TransferParty payer, TransferParty payee, int amount) {
+        CompiledRule[] current = rules;
+        if (!enabled || current.length == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        TransferFacts facts = this.facts.get().reset(payer, payee, amount, minuteOfDay(System.currentTimeMillis()));
+        CompiledRule blocking = null;
+        try {
+            for (CompiledRule rule : current) {
+                if (!rule.condition().test(facts)) {
+                    continue;
+                }
+                fraudMetrics.recordMatch(rule.name(), rule.action().name());
+                if (rule.action() == FraudRuleAction.BLOCK) {
+                    blocking = rule;
+                    break;
+                }
+                logger.info("Fraud rule flagged transfer. Rule: {}, PayerId: {}, PayeeId: {}, Amount: {}",
+                    rule.name(), payer.id(), payee.id(), amount);
+            }
+        } finally {
+            facts.clear();
+            fraudMetrics.recordEvaluation(Duration.ofNanos(System.nanoTime() - start),
+                blocking == null ? "allow" : "block");
+        }
+
+        if (blocking != null) {
+            logger.warn("Fraud rule blocked transfer. Rule: {}, PayerId: {}, PayeeId: {}, Amount: {}",
+                blocking.name(), payer.id(), payee.id(), amount);
+            throw new TransferBlockedException();
+        }
+    }
+
+    /**
+     * Minuto do dia no fuso configurado, sem alocar fora das transições de offset.
+     *
+     * @param epochMillis instante em epoch millis
+     * @return minuto do dia (0 a 1439)
+     */
+    int minuteOfDay(long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        ZoneWindow window = zoneWindow;
+        if (epochSecond < window.from() || epochSecond >= window.until()) {
+            window = zoneWindow(epochSecond);
+            zoneWindow = window;
+        }
+        return (int) (Math.floorMod(epochSecond + window.offsetSeconds(), 86_400L) / 60);
+    }
+
+    private ZoneWindow zoneWindow(long epochSecond) {
+        ZoneRules zoneRules = zone.getRules();
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        // previousTransition é estrita: o +1s inclui uma transição exatamente neste segundo
+        ZoneOffsetTransition previous = zoneRules.previousTransition(instant.plusSeconds(1));
+        ZoneOffsetTransition next = zoneRules.nextTransition(instant);
+        return new ZoneWindow(
+            previous == null ? Long.MIN_VALUE : previous.toEpochSecond(),
+            next == null ? Long.MAX_VALUE : next.toEpochSecond(),
+            zoneRules.getOffset(instant).getTotalSeconds());
+    }
+
+    /**
+     * Recompila as regras se a tabela mudou desde a última carga. Se a leitura falhar, as
+     * regras anteriores continuam em uso.
+     *
+     * @return true se as regras foram recarregadas
+     */
+    public boolean reload() {
+        try {
+            String version = fraudRuleRepository.findVersion();
+            if (Objects.equals(version, loadedVersion)) {
+                return false;
+            }
+
+            List<CompiledRule> compiled = new ArrayList<>();
+            for (FraudRule rule : fraudRuleRepository.findByEnabledTrueOrderByPriorityAscNameAsc()) {
+                try {
+                    compiled.add(new CompiledRule(rule.getName(), rule.getAction(),
+                        FraudRuleCompiler.compile(objectMapper, rule.getDefinition())));
+                } catch (IllegalArgumentException e) {
+                    fraudMetrics.recordInvalidRule(rule.getName());
+                    logger.warn("Ignoring invalid fraud rule. Rule: {}, Error: {}", rule.getName(), e.getMessage());
+                }
+            }
+            rules = compiled.toArray(CompiledRule[]::new);
+            loadedVersion = version;
+            fraudMetrics.recordReload("success");
+            logger.info("Fraud rules loaded. Rules: {}, Version: {}", compiled.size(), version);
+            return true;
+        } catch (DataAccessException e) {
+            fraudMetrics.recordReload("failed");
+            logger.warn("Failed to reload fraud rules, keeping previous rules: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("Fraud rule engine disabled");
+            return;
+        }
+        reload();
+        running = true;
+        reloader = Thread.ofPlatform().name("fraud-rule-reloader").daemon(true).start(this::runReloader);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (reloader != null) {
+            reloader.interrupt();
+            try {
+                reloader.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runReloader() {
+        while (running) {
+            try {
+                Thread.sleep(reloadInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            reload();
+        }
+    }
+
+    private record CompiledRule(String name, FraudRuleAction action, Condition condition) {
+    }
+
+    /**
+     * Offset do fuso, válido de from (inclusive) a until (exclusive), em epoch seconds.
+     */
+    private record ZoneWindow(long from, long until, int offsetSeconds) {
+    }
+
+    /**
+     * Fatos de uma transferência, reaproveitados pela thread. Recebedor novo e contadores são
+     * lidos na primeira consulta e guardados para as regras seguintes da mesma transferência.
+     */
+    private final class TransferFacts implements FraudRuleCompiler.Facts {
+
+        private TransferParty payer;
+        private TransferParty payee;
+        private long amount;
+        private int minuteOfDay;
+        private boolean newPayeeLoaded;
+        private boolean newPayee;
+        private SlidingWindowCounters.Usage payerUsage;
+
+        TransferFacts reset(TransferParty payer, TransferParty payee, long amount, int minuteOfDay) {
+            this.payer = payer;
+            this.payee = payee;
+            this.amount = amount;
+            this.minuteOfDay = minuteOfDay;
+            this.newPayeeLoaded = false;
+            this.payerUsage = null;
+            return this;
+        }
+
+        /**
+         * Solta as referências da transferência avaliada: a thread pode ficar ociosa no pool.
+         */
+        void clear() {
+            payer = null;
+            payee = null;
+            payerUsage = null;
+        }
+
+        @Override
+        public long amount() {
+            return amount;
+        }
+
+        @Override
+        public int minuteOfDay() {
+            return minuteOfDay;
+        }
+
+        @Override
+        public boolean newPayee() {
+            if (!newPayeeLoaded) {
+                newPayee = !transactionRepository.existsByPayerIdAndPayeeId(payer.id(), payee.id());
+                newPayeeLoaded = true;
+            }
+            return newPayee;
+        }
+
+        @Override
+        public long payerTransfersLastMinute() {
+            return payerUsage().count();
+        }
+
+        @Override
+        public long payerAmountLast24h() {
+            return payerUsage().amount();
+        }
+
+        private SlidingWindowCounters.Usage payerUsage() {
+            if (payerUsage == null) {
+                payerUsage = transferLimitService.usage(payer.id());
+            }
+            return payerUsage;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.OutboxNotification;
+import com.paymentapi.metrics.ExternalServiceMetrics;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Cliente do serviço externo de notificação: POST do payload JSON, com o id da notificação no
+ * header Idempotency-Key. Qualquer resposta 2xx conta como entregue.
+ */
+@Service
+@ConditionalOnProperty(name = "payment.notifications.notifier", havingValue = "http", matchIfMissing = true)
+public class HttpPayeeNotifier implements PayeeNotifier {
+
+    private static final String SERVICE_NAME = "notification";
+
+    private final RestTemplate restTemplate;
+    private final ExternalServiceMetrics externalServiceMetrics;
+    private final String notificationUrl;
+
+    public HttpPayeeNotifier(
+            ExternalServiceMetrics externalServiceMetrics,
+            @Value("${payment.notifications.url:https://util.devi.tools/api/v1/notify}") String notificationUrl,
+            @Value("${payment.notifications.timeout:2s}") Duration timeout) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout((int) timeout.toMillis());
+        factory.setReadTimeout((int) timeout.toMillis());
+
+        this.restTemplate = new RestTemplate(factory);
+        this.externalServiceMetrics = externalServiceMetrics;
+        this.notificationUrl = notificationUrl;
+    }
+
+    @Override
+    public void send(OutboxNotification notification) {
+        long start = System.nanoTime();
+        String status = "failure";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Idempotency-Key", Long.toString(notification.id()));
+        try {
+            restTemplate.postForEntity(notificationUrl, new HttpEntity<>(notification.payload(), headers), Void.class);
+            status = "success";
+        } catch (HttpStatusCodeException e) {
+            externalServiceMetrics.recordServiceFailure(SERVICE_NAME, "http_" + e.getStatusCode().value());
+            throw e;
+        } catch (RestClientException e) {
+            externalServiceMetrics.recordServiceFailure(SERVICE_NAME, "connection_error");
+            throw e;
+        } finally {
+            externalServiceMetrics.recordServiceCall(SERVICE_NAME, status);
+            externalServiceMetrics.recordServiceDuration(SERVICE_NAME,
+                Duration.ofNanos(System.nanoTime() - start), status);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.response.ApiKeyResponse;
+import com.paymentapi.entity.MerchantApiKey;
+import com.paymentapi.entity.User;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.ApiKeyNotAllowedException;
+import com.paymentapi.exception.ApiKeyNotFoundException;
+import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.metrics.ApiKeyMetrics;
+import com.paymentapi.repository.MerchantApiKeyRepository;
+import com.paymentapi.repository.UserRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serviço de chaves de API para integração máquina-a-máquina dos lojistas.
+ * <p>
+ * Formato da chave: {@code mk_<12 hex>_<segredo base64url>}. O trecho {@code mk_<12 hex>} é o
+ * prefixo público, usado para localizar o registro pelo índice único; no banco fica apenas o
+ * SHA-256 da chave completa.
+ * <p>
+ * A verificação não passa pelo BCrypt: a chave tem 256 bits de entropia, então um digest
+ * SHA-256 comparado em tempo constante é suficiente e custa microssegundos. Os registros ficam
+ * num cache em memória com TTL, e as revogações entram num conjunto em memória consultado
+ * antes de qualquer outra coisa. Revogações chegam às outras réplicas pelo {@link CacheInvalidationBus};
+ * se o barramento perder mensagens, o cache é esvaziado e o conjunto de revogação recarregado.
+ * O TTL do cache continua como limite caso o barramento esteja fora do ar.
+ */
+@Service
+public class MerchantApiKeyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MerchantApiKeyService.class);
+
+    private static final String KEY_MARKER = "mk_";
+    private static final int PREFIX_RANDOM_BYTES = 6;
+    private static final int SECRET_BYTES = 32;
+    private static final int PREFIX_LENGTH = KEY_MARKER.length() + PREFIX_RANDOM_BYTES * 2;
+
+    static final String REVOKED_INVALIDATION = "api_key_revoked";
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final MerchantApiKeyRepository merchantApiKeyRepository;
+    private final UserRepository userRepository;
+    private final ApiKeyMetrics apiKeyMetrics;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    // DRBG em vez do NativePRNG padrão: o NativePRNG lê /dev/urandom dentro de um synchronized,
+    // o que prende a carrier thread quando rodando em virtual threads
+    private final SecureRandom secureRandom = createSecureRandom();
+    private final Duration cacheTtl;
+    private final int cacheMaxEntries;
+
+    // Prefixos revogados: checagem O(1) antes de qualquer acesso ao cache ou ao banco
+    private final Set<String> revokedPrefixes = ConcurrentHashMap.newKeySet();
+    private final Map<String, CachedKey> keyCache = new ConcurrentHashMap<>();
+
+    public MerchantApiKeyService(
+            MerchantApiKeyRepository merchantApiKeyRepository,
+            UserRepository userRepository,
+            ApiKeyMetrics apiKeyMetrics,
+            CacheInvalidationBus cacheInvalidationBus,
+            @Value("${payment.api-keys.cache-ttl:30s}") Duration cacheTtl,
+            @Value("${payment.api-keys.cache-max-entries:10000}") int cacheMaxEntries) {
+        this.merchantApiKeyRepository = merchantApiKeyRepository;
+        this.userRepository = userRepository;
+        this.apiKeyMetrics = apiKeyMetrics;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.cacheTtl = cacheTtl;
+        this.cacheMaxEntries = cacheMaxEntries;
+
+        cacheInvalidationBus.subscribe(REVOKED_INVALIDATION, this::applyRevocation);
+        cacheInvalidationBus.onFullFlush(() -> {
+            keyCache.clear();
+            revokedPrefixes.addAll(merchantApiKeyRepository.findRevokedPrefixes());
+        });
+    }
+
+    /**
+     * Carrega o conjunto de revogação quando a aplicação termina de subir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadRevokedKeys() {
+        List<String> revoked = merchantApiKeyRepository.findRevokedPrefixes();
+        revokedPrefixes.addAll(revoked);
+        logger.info("Conjunto de revogação de chaves de API carregado. Chaves revogadas: {}", revoked.size());
+    }
+
+    /**
+     * Emite uma nova chave de API para um lojista.
+     *
+     * @param merchantId UUID do lojista
+     * @param name nome descritivo da chave
+     * @return dados da chave, incluindo a chave em texto plano (retornada só desta vez)
+     * @throws UserNotFoundException se o usuário não existir
+     * @throws ApiKeyNotAllowedException se o usuário não for MERCHANT
+     */
+    @Transactional
+    public ApiKeyResponse issueKey(UUID merchantId, String name) {
+        User merchant = userRepository.findById(merchantId)
+            .orElseThrow(() -> new UserNotFoundException(merchantId));
+        if (merchant.getUserType() != UserType.MERCHANT) {
+            throw new ApiKeyNotAllowedException(merchantId);
+        }
+
+        String prefix = KEY_MARKER + HEX.formatHex(randomBytes(PREFIX_RANDOM_BYTES));
+        String rawKey = prefix + "_" + BASE64_URL.encodeToString(randomBytes(SECRET_BYTES));
+
+        MerchantApiKey apiKey = new MerchantApiKey();
+        apiKey.setUserId(merchantId);
+        apiKey.setKeyPrefix(prefix);
+        apiKey.setKeyHash(HEX.formatHex(sha256(rawKey)));
+        apiKey.setName(name);
+        apiKey.setCreatedAt(LocalDateTime.now());
+        MerchantApiKey saved = merchantApiKeyRepository.save(apiKey);
+
+        logger.info("Chave de API emitida. MerchantId: {}, KeyPrefix: {}", merchantId, prefix);
+        return toResponse(saved, rawKey);
+    }
+
+    /**
+     * Lista as chaves de um lojista (sem o texto plano).
+     *
+     * @param merchantId UUID do lojista
+     * @return chaves do lojista, mais recentes primeiro
+     */
+    @Transactional(readOnly = true)
+    public List<ApiKeyResponse> listKeys(UUID merchantId) {
+        return merchantApiKeyRepository.findByUserIdOrderByCreatedAtDesc(merchantId).stream()
+            .map(key -> toResponse(key, null))
+            .toList();
+    }
+
+    /**
+     * Revoga uma chave de API. A revogação vale imediatamente neste nó e, após o commit,
+     * é propagada para as outras réplicas.
+     *
+     * @param merchantId UUID do lojista dono da chave
+     * @param keyId UUID da chave
+     * @return dados da chave revogada
+     * @throws ApiKeyNotFoundException se a chave não existir para esse lojista
+     */
+    @Transactional
+    public ApiKeyResponse revokeKey(UUID merchantId, UUID keyId) {
+        MerchantApiKey apiKey = merchantApiKeyRepository.findByIdAndUserId(keyId, merchantId)
+            .orElseThrow(() -> new ApiKeyNotFoundException(keyId));
+
+        if (apiKey.getRevokedAt() == null) {
+            apiKey.setRevokedAt(LocalDateTime.now());
+            merchantApiKeyRepository.save(apiKey);
+        }
+
+        // Falha fechada: se o commit falhar, a chave só fica bloqueada neste nó até o restart
+        applyRevocation(apiKey.getKeyPrefix());
+        cacheInvalidationBus.publish(REVOKED_INVALIDATION, apiKey.getKeyPrefix());
+
+        logger.info("Chave de API revogada. MerchantId: {}, KeyPrefix: {}", merchantId, apiKey.getKeyPrefix());
+        return toResponse(apiKey, null);
+    }
+
+    /**
+     * Autentica uma requisição pela chave de API apresentada.
+     *
+     * @param presentedKey chave enviada pelo cliente
+     * @return contexto do lojista se a chave for válida, vazio caso contrário
+     */
+    public Optional<UserContext> authenticate(String presentedKey) {
+        long start = System.nanoTime();
+        String source = "cache";
+
+        try {
+            if (presentedKey == null || presentedKey.length() <= PREFIX_LENGTH
+                    || !presentedKey.startsWith(KEY_MARKER) || presentedKey.charAt(PREFIX_LENGTH) != '_') {
+                apiKeyMetrics.recordAuthentication("malformed", source);
+                return Optional.empty();
+            }
+
+            String prefix = presentedKey.substring(0, PREFIX_LENGTH);
+            if (revokedPrefixes.contains(prefix)) {
+                apiKeyMetrics.recordAuthentication("revoked", source);
+                return Optional.empty();
+            }
+
+            CachedKey cached = keyCache.get(prefix);
+            if (cached == null || cached.isExpired(System.nanoTime())) {
+                source = "database";
+                cached = loadKey(prefix);
+                if (cached == null) {
+                    apiKeyMetrics.recordAuthentication(revokedPrefixes.contains(prefix) ? "revoked" : "unknown",
+                        source);
+                    return Optional.empty();
+                }
+            }
+
+            // Comparação em tempo constante do digest
+            if (!MessageDigest.isEqual(sha256(presentedKey), cached.keyHash())) {
+                apiKeyMetrics.recordAuthentication("invalid", source);
+                return Optional.empty();
+            }
+
+            apiKeyMetrics.recordAuthentication("success", source);
+            return Optional.of(new UserContext(
+                cached.merchantId(),
+                cached.nomeCompleto(),
+                cached.email(),
+                UserType.MERCHANT,
+                LocalDateTime.now()));
+        } finally {
+            apiKeyMetrics.recordVerificationDuration(Duration.ofNanos(System.nanoTime() - start), source);
+        }
+    }
+
+    /**
+     * Carrega a chave e o lojista do banco e atualiza o cache e o conjunto de revogação.
+     *
+     * @return chave em cache, ou null se não existir, estiver revogada ou o dono não for MERCHANT
+     */
+    private CachedKey loadKey(String prefix) {
+        Optional<MerchantApiKey> stored = merchantApiKeyRepository.findByKeyPrefix(prefix);
+        if (stored.isEmpty()) {
+            return null;
+        }
+
+        MerchantApiKey apiKey = stored.get();
+        if (apiKey.getRevokedAt() != null) {
+            revokedPrefixes.add(prefix);
+            keyCache.remove(prefix);
+            return null;
+        }
+
+        Optional<User> merchant = userRepository.findById(apiKey.getUserId())
+            .filter(user -> user.getUserType() == UserType.MERCHANT);
+        if (merchant.isEmpty()) {
+            return null;
+        }
+
+        if (keyCache.size() >= cacheMaxEntries) {
+            keyCache.clear();
+        }
+
+        CachedKey cached = new CachedKey(
+            apiKey.getUserId(),
+            merchant.get().getNomeCompleto(),
+            merchant.get().getEmail(),
+            HEX.parseHex(apiKey.getKeyHash()),
+            System.nanoTime() + cacheTtl.toNanos());
+        keyCache.put(prefix, cached);
+        return cached;
+    }
+
+    private void applyRevocation(String prefix) {
+        revokedPrefixes.add(prefix);
+        keyCache.remove(prefix);
+    }
+
+    private ApiKeyResponse toResponse(MerchantApiKey apiKey, String rawKey) {
+        return new ApiKeyResponse(
+            apiKey.getId(),
+            rawKey,
+            apiKey.getKeyPrefix(),
+            apiKey.getName(),
+            apiKey.getCreatedAt(),
+            apiKey.getRevokedAt());
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        secureRandom.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static SecureRandom createSecureRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 é obrigatório em toda JVM
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Dados de uma chave ativa mantidos em memória.
+     */
+    private record CachedKey(
+        UUID merchantId,
+        String nomeCompleto,
+        String email,
+        byte[] keyHash,
+        long expiresAtNanos
+    ) {
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos > 0;
+        }
+    }
+}
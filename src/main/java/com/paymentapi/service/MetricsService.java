@@ -1,12 +1,14 @@
 package com.paymentapi.service;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Serviço para gerenciamento das métricas customizadas da aplicação.
@@ -32,6 +34,18 @@ public class MetricsService {
             .increment();
     }
 
+    /**
+     * Incrementa um contador por um valor arbitrário com tags personalizadas.
+     *
+     * @param metricName Nome da métrica
+     * @param tags Tags adicionais para dimensionar a métrica
+     * @param amount Valor a ser somado ao contador
+     */
+    public void incrementCounter(String metricName, Map<String, String> tags, double amount) {
+        meterRegistry.counter(metricName, convertTags(tags))
+            .increment(amount);
+    }
+
     /**
      * Registra o tempo de execução de uma operação.
      *
@@ -44,6 +58,28 @@ public class MetricsService {
             .record(duration);
     }
 
+    /**
+     * Registra o tempo de execução de uma operação num timer com histograma publicado
+     * (buckets no Prometheus), para operações rápidas cujos percentis precisam ser agregados
+     * entre instâncias.
+     *
+     * @param metricName Nome da métrica de timer
+     * @param duration Duração da operação
+     * @param tags Tags adicionais para dimensionar a métrica
+     * @param minimumExpected Menor duração esperada (primeiro bucket)
+     * @param maximumExpected Maior duração esperada (último bucket)
+     */
+    public void recordTimingHistogram(String metricName, Duration duration, Map<String, String> tags,
+                                      Duration minimumExpected, Duration maximumExpected) {
+        Timer.builder(metricName)
+            .tags(convertTags(tags))
+            .publishPercentileHistogram()
+            .minimumExpectedValue(minimumExpected)
+            .maximumExpectedValue(maximumExpected)
+            .register(meterRegistry)
+            .record(duration);
+    }
+
     /**
      * Cria um timer e retorna uma amostra para medição.
      * Uso: var sample = startTimer(); ... stopTimer(sample, "metric_name", tags);
@@ -65,6 +101,21 @@ public class MetricsService {
         sample.stop(meterRegistry.timer(metricName, convertTags(tags)));
     }
 
+    /**
+     * Registra um gauge que lê o valor atual de um objeto de estado a cada coleta.
+     *
+     * @param metricName Nome da métrica
+     * @param tags Tags adicionais para dimensionar a métrica
+     * @param stateObject Objeto de onde o valor é lido
+     * @param valueFunction Função que extrai o valor do objeto de estado
+     */
+    public <T> void registerGauge(String metricName, Map<String, String> tags,
+                                  T stateObject, ToDoubleFunction<T> valueFunction) {
+        Gauge.builder(metricName, stateObject, valueFunction)
+            .tags(convertTags(tags))
+            .register(meterRegistry);
+    }
+
     /**
      * Converte Map de tags em array de strings no formato esperado pelo Micrometer.
      */
@@ -0,0 +1,309 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.OutboxBacklog;
+import com.paymentapi.dto.internal.OutboxDeliveryFailure;
+import com.paymentapi.dto.internal.OutboxNotification;
+import com.paymentapi.metrics.NotificationOutboxMetrics;
+import com.paymentapi.repository.NotificationOutboxRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Entrega as notificações do outbox ao {@link PayeeNotifier}, fora do caminho da transferência.
+ * <p>
+ * Cada lote reivindica até batch-size notificações vencidas
+ * ({@link NotificationOutboxRepository#claimBatch}, com SKIP LOCKED e lease) numa transação curta
+ * e as entrega sem transação aberta, num pool fixo de concurrency threads. As notificações de um
+ * mesmo recebedor (o destino) são divididas em no máximo per-destination filas sequenciais: um
+ * lojista com milhares de notificações no lote não ocupa o pool inteiro nem recebe mais que
+ * per-destination entregas simultâneas deste nó. Ao fim do lote, as entregues são apagadas e as
+ * falhas reagendadas com backoff exponencial; depois de max-attempts a notificação fica FAILED.
+ * <p>
+ * A entrega é at-least-once: se o relay cair depois de entregar e antes de apagar, a notificação
+ * volta quando o lease vence e é entregue de novo (o id vai como chave de idempotência).
+ */
+@Service
+public class NotificationOutboxRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxRelay.class);
+
+    private static final long BACKLOG_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final PayeeNotifier payeeNotifier;
+    private final NotificationOutboxMetrics notificationOutboxMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final int batchSize;
+    private final int concurrency;
+    private final int perDestination;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+
+    private volatile OutboxBacklog backlog = new OutboxBacklog(0, null);
+    private long backlogReadAt;
+    private ExecutorService executor;
+    private Thread relay;
+    private volatile boolean running;
+
+    public NotificationOutboxRelay(
+            NotificationOutboxRepository notificationOutboxRepository,
+            PayeeNotifier payeeNotifier,
+            NotificationOutboxMetrics notificationOutboxMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${payment.notifications.enabled:true}") boolean enabled,
+            @Value("${payment.notifications.relay.interval:200ms}") Duration interval,
+            @Value("${payment.notifications.relay.batch-size:200}") int batchSize,
+            @Value("${payment.notifications.relay.concurrency:16}") int concurrency,
+            @Value("${payment.notifications.relay.per-destination:2}") int perDestination,
+            @Value("${payment.notifications.relay.lease:1m}") Duration lease,
+            @Value("${payment.notifications.relay.max-attempts:10}") int maxAttempts,
+            @Value("${payment.notifications.relay.backoff:1s}") Duration backoff,
+            @Value("${payment.notifications.relay.max-backoff:10m}") Duration maxBackoff) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.payeeNotifier = payeeNotifier;
+        this.notificationOutboxMetrics = notificationOutboxMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.perDestination = perDestination;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+
+        notificationOutboxMetrics.bindBacklogGauges(() -> this.backlog);
+    }
+
+    /**
+     * Reivindica e entrega um lote.
+     *
+     * @return quantidade de notificações reivindicadas
+     * @throws InterruptedException se a thread for interrompida durante as entregas; as
+     *         notificações do lote voltam ao vencer o lease
+     */
+    public int relayBatch() throws InterruptedException {
+        long start = System.nanoTime();
+        List<OutboxNotification> batch;
+        try {
+            batch = transactionTemplate.execute(status -> notificationOutboxRepository.claimBatch(batchSize, lease));
+        } catch (DataAccessException | TransactionException e) {
+            // TransactionException: banco fora do ar no begin ou falha no commit
+            notificationOutboxMetrics.recordBatch(Duration.ofNanos(System.nanoTime() - start), "failed");
+            logger.warn("Failed to claim outbox notifications, retrying next round: {}", e.getMessage());
+            return 0;
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Queue<Long> delivered = new ConcurrentLinkedQueue<>();
+        Queue<OutboxDeliveryFailure> failed = new ConcurrentLinkedQueue<>();
+        List<Callable<Void>> lanes = new ArrayList<>();
+        for (List<OutboxNotification> lane : lanes(batch)) {
+            lanes.add(() -> {
+                for (OutboxNotification notification : lane) {
+                    deliver(notification, delivered, failed);
+                }
+                return null;
+            });
+        }
+        executor.invokeAll(lanes);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!delivered.isEmpty()) {
+                    notificationOutboxRepository.deleteDelivered(List.copyOf(delivered));
+                }
+                if (!failed.isEmpty()) {
+                    notificationOutboxRepository.recordFailures(List.copyOf(failed));
+                }
+            });
+            notificationOutboxMetrics.recordBatch(Duration.ofNanos(System.nanoTime() - start), "success");
+        } catch (DataAccessException | TransactionException e) {
+            // As entregues voltam quando o lease vence e são entregues de novo
+            notificationOutboxMetrics.recordBatch(Duration.ofNanos(System.nanoTime() - start), "failed");
+            logger.warn("Failed to record outbox deliveries, notifications will be redelivered. Delivered: {}, Error: {}",
+                delivered.size(), e.getMessage());
+        }
+        return batch.size();
+    }
+
+    /**
+     * Divide o lote em filas sequenciais: até perDestination por recebedor, na ordem do outbox.
+     */
+    List<List<OutboxNotification>> lanes(List<OutboxNotification> batch) {
+        Map<UUID, List<OutboxNotification>> byDestination = new LinkedHashMap<>();
+        batch.stream()
+            .sorted(Comparator.comparingLong(OutboxNotification::id))
+            .forEach(notification -> byDestination
+                .computeIfAbsent(notification.recipientId(), id -> new ArrayList<>())
+                .add(notification));
+
+        List<List<OutboxNotification>> lanes = new ArrayList<>();
+        for (List<OutboxNotification> notifications : byDestination.values()) {
+            int laneCount = Math.min(perDestination, notifications.size());
+            List<List<OutboxNotification>> destinationLanes = new ArrayList<>(laneCount);
+            for (int i = 0; i < laneCount; i++) {
+                destinationLanes.add(new ArrayList<>());
+            }
+            for (int i = 0; i < notifications.size(); i++) {
+                destinationLanes.get(i % laneCount).add(notifications.get(i));
+            }
+            lanes.addAll(destinationLanes);
+        }
+        return lanes;
+    }
+
+    private void deliver(OutboxNotification notification, Queue<Long> delivered, Queue<OutboxDeliveryFailure> failed) {
+        try {
+            payeeNotifier.send(notification);
+            delivered.add(notification.id());
+            notificationOutboxMetrics.recordDelivery("delivered",
+                Duration.between(notification.createdAt(), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            int attempts = notification.attempts() + 1;
+            Duration retryIn = attempts >= maxAttempts ? null : retryDelay(attempts);
+            failed.add(new OutboxDeliveryFailure(notification.id(), retryIn, truncate(e.getMessage())));
+            notificationOutboxMetrics.recordDelivery(retryIn == null ? "failed" : "retry",
+                Duration.between(notification.createdAt(), LocalDateTime.now()));
+            if (retryIn == null) {
+                logger.error("Outbox notification failed permanently. Id: {}, TransactionId: {}, Attempts: {}, Error: {}",
+                    notification.id(), notification.transactionId(), attempts, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Backoff exponencial: backoff, 2x, 4x... limitado a max-backoff.
+     *
+     * @param attempts tentativas já feitas (1 na primeira falha)
+     * @return espera até a próxima tentativa
+     */
+    Duration retryDelay(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        Duration delay = backoff.multipliedBy(1L << shift);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("Notification outbox relay disabled");
+            return;
+        }
+        running = true;
+        executor = newExecutor();
+        relay = Thread.ofPlatform().name("notification-outbox-relay").daemon(true).start(this::runRelay);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (relay != null) {
+            relay.interrupt();
+            try {
+                relay.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runRelay() {
+        while (running) {
+            int claimed = 0;
+            try {
+                claimed = relayBatch();
+                refreshBacklog();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Nenhum erro de um lote pode encerrar a thread: espera o intervalo e tenta de novo
+                logger.error("Unexpected outbox relay error, retrying next round", e);
+            }
+            try {
+                // Lote cheio: ainda há o que entregar, segue sem esperar
+                if (claimed < batchSize) {
+                    Thread.sleep(interval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void refreshBacklog() {
+        long now = System.nanoTime();
+        if (now - backlogReadAt < BACKLOG_REFRESH_NANOS) {
+            return;
+        }
+        backlogReadAt = now;
+        try {
+            backlog = notificationOutboxRepository.backlog();
+        } catch (DataAccessException e) {
+            logger.warn("Failed to read outbox backlog: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cria o pool de entrega sem iniciar a thread do relay (testes).
+     */
+    void startExecutor() {
+        executor = newExecutor();
+    }
+
+    private ExecutorService newExecutor() {
+        return Executors.newFixedThreadPool(concurrency,
+            Thread.ofPlatform().name("notification-outbox-worker-", 0).daemon(true).factory());
+    }
+}
@@ -0,0 +1,131 @@
+package com.paymentapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.dto.internal.OutboxNotification;
+import com.paymentapi.dto.internal.TransferCompletedEvent;
+import com.paymentapi.metrics.NotificationOutboxMetrics;
+import com.paymentapi.repository.NotificationOutboxRepository;
+import com.paymentapi.util.MonetaryUtil;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Grava no outbox a notificação ao recebedor de cada transferência concluída, na transação da
+ * própria transferência.
+ * <p>
+ * O listener é síncrono (roda onde o evento é publicado, dentro da transação) e só acumula as
+ * notificações; elas são gravadas num único INSERT logo antes do commit. Um repasse com mil
+ * recebedores grava o outbox num statement, não em mil. Se a transação fizer rollback, nada é
+ * gravado e nada é notificado. A entrega fica com o {@link NotificationOutboxRelay}.
+ * <p>
+ * A variante reativa não tem transação do Spring: o {@link ReactiveTransferService} grava a linha
+ * do outbox na própria transação R2DBC, com a notificação montada por {@link #notificationFor}, e
+ * o evento publicado depois do commit só entra na métrica.
+ */
+@Component
+public class NotificationOutboxWriter {
+
+    public static final String TRANSFER_RECEIVED = "TRANSFER_RECEIVED";
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationOutboxMetrics notificationOutboxMetrics;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public NotificationOutboxWriter(
+            NotificationOutboxRepository notificationOutboxRepository,
+            NotificationOutboxMetrics notificationOutboxMetrics,
+            ObjectMapper objectMapper,
+            @Value("${payment.notifications.enabled:true}") boolean enabled) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.notificationOutboxMetrics = notificationOutboxMetrics;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Acumula a notificação ao recebedor para gravação no commit da transação corrente. Fora de
+     * transação (variante reativa, que publica depois do commit R2DBC), a linha já foi gravada
+     * com a transferência e nada é gravado aqui.
+     *
+     * @param event transferência concluída
+     */
+    @EventListener
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            notificationOutboxMetrics.recordWritten(1);
+            return;
+        }
+        OutboxNotification notification = notification(event);
+
+        @SuppressWarnings("unchecked")
+        List<OutboxNotification> pending = (List<OutboxNotification>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<OutboxNotification> buffer = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(buffer);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(NotificationOutboxWriter.this);
+                }
+            });
+            pending = buffer;
+        }
+        pending.add(notification);
+    }
+
+    /**
+     * Monta a notificação ao recebedor para quem grava o outbox na própria transação, sem
+     * transação do Spring (variante reativa).
+     *
+     * @param event transferência sendo gravada
+     * @return notificação a gravar, ou vazio com as notificações desligadas
+     */
+    public Optional<OutboxNotification> notificationFor(TransferCompletedEvent event) {
+        return enabled ? Optional.of(notification(event)) : Optional.empty();
+    }
+
+    private OutboxNotification notification(TransferCompletedEvent event) {
+        return new OutboxNotification(0, event.transactionId(), event.payeeId(), payload(event), 0, null);
+    }
+
+    private void write(List<OutboxNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        notificationOutboxRepository.appendAll(notifications);
+        notificationOutboxMetrics.recordWritten(notifications.size());
+    }
+
+    private String payload(TransferCompletedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", TRANSFER_RECEIVED);
+        payload.put("transactionId", event.transactionId());
+        payload.put("payerId", event.payerId());
+        payload.put("payeeId", event.payeeId());
+        payload.put("value", MonetaryUtil.convertToBigDecimal(event.amount()));
+        payload.put("createdAt", String.valueOf(event.createdAt()));
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a notificação da transação " + event.transactionId(), e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.OutboxNotification;
+
+/**
+ * Entrega de uma notificação ao recebedor, chamada pelo relay do outbox
+ * ({@link NotificationOutboxRelay}), fora da transação da transferência.
+ * <p>
+ * A entrega é at-least-once: uma notificação pode ser entregue de novo se o relay cair entre a
+ * entrega e a remoção do outbox. O id da notificação serve de chave de idempotência.
+ */
+public interface PayeeNotifier {
+
+    /**
+     * Entrega a notificação.
+     *
+     * @param notification notificação retirada do outbox
+     * @throws RuntimeException se a entrega falhar; o relay tenta de novo com backoff
+     */
+    void send(OutboxNotification notification);
+}
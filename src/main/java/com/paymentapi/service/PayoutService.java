@@ -0,0 +1,267 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.BalanceChangedEvent;
+import com.paymentapi.dto.internal.BalanceUpdate;
+import com.paymentapi.dto.internal.TransferCompletedEvent;
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.dto.request.PayoutRequest;
+import com.paymentapi.dto.response.PayoutResponse;
+import com.paymentapi.dto.response.PayoutResponse.Result;
+import com.paymentapi.dto.response.PayoutResponse.Status;
+import com.paymentapi.entity.Transaction;
+import com.paymentapi.entity.WalletBalanceAudit;
+import com.paymentapi.entity.enums.TransactionStatus;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.AuthorizationUnavailableException;
+import com.paymentapi.exception.InsufficientFundsException;
+import com.paymentapi.exception.TransferNotAllowedException;
+import com.paymentapi.exception.TransferNotAuthorizedException;
+import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.metrics.PayoutMetrics;
+import com.paymentapi.repository.PayoutRepository;
+import com.paymentapi.util.MonetaryUtil;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Repasse em massa: um lojista pagando comissões a milhares de recebedores numa operação.
+ * <p>
+ * Em vez de uma transferência por recebedor (um lock e um UPDATE do pagador em cada uma), o
+ * repasse roda numa única transação com um número fixo de statements ({@link PayoutRepository}):
+ * <ul>
+ *   <li>lock do pagador e de todos os recebedores num SELECT ... FOR UPDATE, em ordem crescente de
+ *       id (a mesma das transferências, sem deadlock com elas)</li>
+ *   <li>um único débito do total no pagador</li>
+ *   <li>um INSERT das transações e um UPDATE set-based dos saldos dos recebedores</li>
+ *   <li>a auditoria (um registro do débito e um por crédito) gravada com COPY</li>
+ * </ul>
+ * Recebedores inexistentes, repetidos ou iguais ao pagador são reportados no resultado e não
+ * impedem os demais; falta de saldo para o total recusa o repasse inteiro. A autorização externa
+ * é consultada uma vez por repasse. Limites de transferência e regras antifraude, que são por
+ * transferência de usuário comum, não se aplicam.
+ */
+@Service
+public class PayoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayoutService.class);
+
+    public static final String OPERATION_DEBIT = "PAYOUT_DEBIT";
+    public static final String OPERATION_CREDIT = "PAYOUT_CREDIT";
+
+    private final PayoutRepository payoutRepository;
+    private final AuthorizationService authorizationService;
+    private final PayoutMetrics payoutMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPayees;
+
+    public PayoutService(
+            PayoutRepository payoutRepository,
+            AuthorizationService authorizationService,
+            PayoutMetrics payoutMetrics,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${payment.payouts.max-payees:10000}") int maxPayees) {
+        this.payoutRepository = payoutRepository;
+        this.authorizationService = authorizationService;
+        this.payoutMetrics = payoutMetrics;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxPayees = maxPayees;
+    }
+
+    /**
+     * Executa um repasse em massa.
+     *
+     * @param request lojista pagador e valores por recebedor
+     * @return resultado por recebedor, na ordem da requisição
+     * @throws IllegalArgumentException se houver recebedores demais ou um valor inválido
+     * @throws UserNotFoundException se o pagador não existir
+     * @throws TransferNotAllowedException se o pagador não for lojista
+     * @throws InsufficientFundsException se o saldo disponível do pagador não cobrir o total
+     * @throws TransferNotAuthorizedException se o serviço de autorização negar
+     * @throws AuthorizationUnavailableException se o serviço de autorização falhar
+     */
+    public PayoutResponse payout(PayoutRequest request) {
+        long start = System.nanoTime();
+        String status = "failed";
+        int credited = 0;
+
+        try {
+            List<PayoutRequest.Item> items = request.payouts();
+            if (items.size() > maxPayees) {
+                throw new IllegalArgumentException(
+                    "O repasse aceita no máximo " + maxPayees + " recebedores, recebidos " + items.size());
+            }
+            int[] amounts = new int[items.size()];
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = MonetaryUtil.convertToIntegerCents(items.get(i).value());
+            }
+
+            authorizationService.authorize();
+
+            UUID payoutId = UUID.randomUUID();
+            Outcome outcome = transactionTemplate.execute(txStatus ->
+                executePayout(payoutId, request.payerId(), items, amounts));
+
+            credited = outcome.credited();
+            status = "success";
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            logger.info("Payout completed. PayoutId: {}, PayerId: {}, Credited: {}, Rejected: {}, Total: {}, TookMs: {}",
+                payoutId, request.payerId(), credited, items.size() - credited, outcome.total(), durationMs);
+
+            return new PayoutResponse(
+                payoutId,
+                request.payerId(),
+                MonetaryUtil.convertToBigDecimal((int) outcome.total()),
+                credited,
+                items.size() - credited,
+                durationMs,
+                outcome.results());
+        } finally {
+            payoutMetrics.recordPayout(Duration.ofNanos(System.nanoTime() - start), credited, status);
+        }
+    }
+
+    private Outcome executePayout(UUID payoutId, UUID payerId, List<PayoutRequest.Item> items, int[] amounts) {
+        // Recebedores válidos na ordem de lock (TreeSet: mesma comparação de UUID das transferências)
+        Status[] statuses = new Status[items.size()];
+        String[] reasons = new String[items.size()];
+        Set<UUID> seen = new HashSet<>();
+        TreeSet<UUID> lockOrder = new TreeSet<>();
+        lockOrder.add(payerId);
+        for (int i = 0; i < statuses.length; i++) {
+            UUID payeeId = items.get(i).payeeId();
+            if (payeeId.equals(payerId)) {
+                statuses[i] = Status.REJECTED;
+                reasons[i] = "Pagador e recebedor devem ser diferentes";
+            } else if (!seen.add(payeeId)) {
+                statuses[i] = Status.REJECTED;
+                reasons[i] = "Recebedor repetido no repasse";
+            } else {
+                lockOrder.add(payeeId);
+            }
+        }
+
+        Map<UUID, TransferParty> locked = new HashMap<>();
+        for (TransferParty party : payoutRepository.lockInOrder(new ArrayList<>(lockOrder))) {
+            locked.put(party.id(), party);
+        }
+        TransferParty payer = locked.get(payerId);
+        if (payer == null) {
+            throw new UserNotFoundException(payerId);
+        }
+        if (payer.userType() != UserType.MERCHANT) {
+            throw new TransferNotAllowedException("Apenas lojistas podem fazer repasses");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>();
+        UUID[] transactionIds = new UUID[items.size()];
+        long total = 0;
+        for (int i = 0; i < statuses.length; i++) {
+            if (statuses[i] != null) {
+                continue;
+            }
+            UUID payeeId = items.get(i).payeeId();
+            if (!locked.containsKey(payeeId)) {
+                statuses[i] = Status.PAYEE_NOT_FOUND;
+                reasons[i] = "Recebedor não encontrado";
+                continue;
+            }
+            Transaction transaction = new Transaction();
+            transaction.setId(UUID.randomUUID());
+            transaction.setPayerId(payerId);
+            transaction.setPayeeId(payeeId);
+            transaction.setAmount(amounts[i]);
+            transaction.setStatus(TransactionStatus.COMPLETED);
+            transaction.setPayoutId(payoutId);
+            transaction.setCreatedAt(now);
+            transaction.setUpdatedAt(now);
+            transactions.add(transaction);
+            statuses[i] = Status.CREDITED;
+            transactionIds[i] = transaction.getId();
+            total += amounts[i];
+        }
+
+        if (!transactions.isEmpty()) {
+            if (total > payer.walletBalance()) {
+                throw new InsufficientFundsException(payerId, (int) Math.min(total, Integer.MAX_VALUE),
+                    payer.walletBalance());
+            }
+            applyPayout(payoutId, payer, locked, transactions, (int) total);
+        }
+
+        List<Result> results = new ArrayList<>(items.size());
+        for (int i = 0; i < statuses.length; i++) {
+            results.add(new Result(items.get(i).payeeId(), items.get(i).value(), statuses[i],
+                transactionIds[i], reasons[i]));
+        }
+        return new Outcome(results, transactions.size(), total);
+    }
+
+    private void applyPayout(UUID payoutId, TransferParty payer, Map<UUID, TransferParty> locked,
+                             List<Transaction> transactions, int total) {
+        BalanceUpdate payerBalance = payoutRepository.debit(payer.id(), total);
+        payoutRepository.insertTransactions(payer.id(), payoutId, transactions);
+        Map<UUID, BalanceUpdate> payeeBalances = new HashMap<>();
+        for (BalanceUpdate update : payoutRepository.creditAll(transactions)) {
+            payeeBalances.put(update.userId(), update);
+        }
+
+        List<WalletBalanceAudit> audits = new ArrayList<>(transactions.size() + 1);
+        audits.add(audit(payer.id(), null, payerBalance, -total));
+        for (Transaction transaction : transactions) {
+            audits.add(audit(transaction.getPayeeId(), transaction.getId(),
+                payeeBalances.get(transaction.getPayeeId()), transaction.getAmount()));
+        }
+        payoutRepository.copyAudits(audits);
+
+        eventPublisher.publishEvent(balanceChanged(payer.id(), UserType.MERCHANT, null, OPERATION_DEBIT,
+            payerBalance, -total));
+        for (Transaction transaction : transactions) {
+            UUID payeeId = transaction.getPayeeId();
+            eventPublisher.publishEvent(balanceChanged(payeeId, locked.get(payeeId).userType(),
+                transaction.getId(), OPERATION_CREDIT, payeeBalances.get(payeeId), transaction.getAmount()));
+            eventPublisher.publishEvent(new TransferCompletedEvent(transaction.getId(), payer.id(),
+                UserType.MERCHANT, payeeId, transaction.getAmount(), transaction.getCreatedAt()));
+        }
+    }
+
+    private static WalletBalanceAudit audit(UUID userId, UUID transactionId, BalanceUpdate balance, int change) {
+        WalletBalanceAudit audit = new WalletBalanceAudit();
+        audit.setUserId(userId);
+        audit.setTransactionId(transactionId);
+        audit.setPreviousBalance(balance.newBalance() - change);
+        audit.setNewBalance(balance.newBalance());
+        audit.setBalanceChange(change);
+        audit.setOperationType(change < 0 ? OPERATION_DEBIT : OPERATION_CREDIT);
+        audit.setCreatedAt(balance.updatedAt());
+        audit.setCreatedBy("system");
+        return audit;
+    }
+
+    private static BalanceChangedEvent balanceChanged(UUID userId, UserType userType, UUID transactionId,
+                                                      String operationType, BalanceUpdate balance, int change) {
+        return new BalanceChangedEvent(userId, userType, transactionId, operationType,
+            balance.newBalance() - change, balance.newBalance(), change, balance.version(), balance.updatedAt());
+    }
+
+    private record Outcome(List<Result> results, int credited, long total) {
+    }
+}
@@ -0,0 +1,293 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.PendingTransaction;
+import com.paymentapi.dto.internal.PendingTransactionBacklog;
+import com.paymentapi.entity.User;
+import com.paymentapi.entity.enums.TransactionStatus;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.metrics.PendingTransactionMetrics;
+import com.paymentapi.repository.PendingTransactionRepository;
+import com.paymentapi.repository.UserRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Resolve transações presas em PENDING (escrita interrompida no meio, por exemplo numa queda
+ * durante a autorização).
+ * <p>
+ * A decisão vem do balance_audit (e do journal de créditos diferidos) da própria transação:
+ * <ul>
+ *   <li>débito do pagador e crédito do recebedor aplicados: a transferência aconteceu, vira
+ *       COMPLETED</li>
+ *   <li>nenhum dos dois: nenhum saldo mudou, vira FAILED</li>
+ *   <li>só um lado aplicado: o lado aplicado é estornado (com auditoria ligada à transação) e a
+ *       transação vira CANCELLED. Se o recebedor já não tem saldo para devolver o crédito, a
+ *       transação fica pendente para a próxima passada e conta como unresolved</li>
+ * </ul>
+ * Cada lote é uma transação curta com até batch-size pendentes criadas há mais de stale-after,
+ * lidas pelo índice parcial das pendentes com {@code FOR UPDATE SKIP LOCKED}. Um advisory lock
+ * ({@link PendingTransactionRepository#tryLockSweep}) faz só um nó varrer por vez. Os estornos
+ * travam os users em ordem crescente de id, a mesma das transferências. O backlog (quantidade e
+ * idade da pendente mais antiga) é lido ao fim de cada passada para as métricas.
+ */
+@Service
+public class PendingTransactionSweeper implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingTransactionSweeper.class);
+
+    public static final String OPERATION_REVERSAL_CREDIT = "PENDING_REVERSAL_CREDIT";
+    public static final String OPERATION_REVERSAL_DEBIT = "PENDING_REVERSAL_DEBIT";
+
+    private final PendingTransactionRepository pendingTransactionRepository;
+    private final UserRepository userRepository;
+    private final WalletService walletService;
+    private final PendingTransactionMetrics pendingTransactionMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration staleAfter;
+    private final int batchSize;
+
+    private volatile PendingTransactionBacklog backlog = new PendingTransactionBacklog(0, null);
+    private Thread sweeper;
+    private volatile boolean running;
+
+    public PendingTransactionSweeper(
+            PendingTransactionRepository pendingTransactionRepository,
+            UserRepository userRepository,
+            WalletService walletService,
+            PendingTransactionMetrics pendingTransactionMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${payment.transfer.pending-sweeper.enabled:true}") boolean enabled,
+            @Value("${payment.transfer.pending-sweeper.interval:30s}") Duration interval,
+            @Value("${payment.transfer.pending-sweeper.stale-after:5m}") Duration staleAfter,
+            @Value("${payment.transfer.pending-sweeper.batch-size:200}") int batchSize) {
+        this.pendingTransactionRepository = pendingTransactionRepository;
+        this.userRepository = userRepository;
+        this.walletService = walletService;
+        this.pendingTransactionMetrics = pendingTransactionMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.staleAfter = staleAfter;
+        this.batchSize = batchSize;
+
+        pendingTransactionMetrics.bindBacklogGauges(() -> this.backlog);
+    }
+
+    /**
+     * Executa uma passada da varredura.
+     *
+     * @return quantidade de transações resolvidas
+     */
+    public int sweep() {
+        long start = System.nanoTime();
+        int resolved = 0;
+        try {
+            BatchResult batch;
+            do {
+                LocalDateTime cutoff = LocalDateTime.now().minus(staleAfter);
+                batch = transactionTemplate.execute(status -> resolveBatch(cutoff));
+                resolved += batch.resolved();
+                // Um lote com pendências não resolvidas as traria de volta no próximo: para na passada
+            } while (!batch.skipped() && batch.locked() == batchSize && batch.resolved() == batch.locked()
+                && !Thread.currentThread().isInterrupted());
+
+            backlog = pendingTransactionRepository.backlog();
+            pendingTransactionMetrics.recordSweep(Duration.ofNanos(System.nanoTime() - start),
+                batch.skipped() ? "skipped" : "success");
+            if (resolved > 0) {
+                logger.info("Stale pending transactions resolved. Resolved: {}, Backlog: {}, TookMs: {}",
+                    resolved, backlog.count(), (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            // TransactionException: banco fora do ar no begin ou falha no commit
+            pendingTransactionMetrics.recordSweep(Duration.ofNanos(System.nanoTime() - start), "failed");
+            logger.warn("Pending transaction sweep failed, retrying next round. Resolved so far: {}, Error: {}",
+                resolved, e.getMessage());
+        }
+        return resolved;
+    }
+
+    private BatchResult resolveBatch(LocalDateTime cutoff) {
+        if (!pendingTransactionRepository.tryLockSweep()) {
+            return BatchResult.SKIPPED;
+        }
+        List<PendingTransaction> stale = pendingTransactionRepository.lockStale(cutoff, batchSize);
+        if (stale.isEmpty()) {
+            return new BatchResult(0, 0, false);
+        }
+
+        List<UUID> completed = new ArrayList<>();
+        List<UUID> failed = new ArrayList<>();
+        List<PendingTransaction> partial = new ArrayList<>();
+        for (PendingTransaction transaction : stale) {
+            if (transaction.payerDebited() && transaction.payeeCredited()) {
+                completed.add(transaction.id());
+            } else if (!transaction.payerDebited() && !transaction.payeeCredited()) {
+                failed.add(transaction.id());
+            } else {
+                partial.add(transaction);
+            }
+        }
+        List<UUID> compensated = compensate(partial);
+
+        if (!completed.isEmpty()) {
+            pendingTransactionRepository.markStatus(completed, TransactionStatus.COMPLETED);
+        }
+        if (!failed.isEmpty()) {
+            pendingTransactionRepository.markStatus(failed, TransactionStatus.FAILED);
+        }
+        if (!compensated.isEmpty()) {
+            pendingTransactionRepository.markStatus(compensated, TransactionStatus.CANCELLED);
+        }
+        pendingTransactionMetrics.recordResolved("completed", completed.size());
+        pendingTransactionMetrics.recordResolved("failed", failed.size());
+        pendingTransactionMetrics.recordResolved("compensated", compensated.size());
+        pendingTransactionMetrics.recordResolved("unresolved", partial.size() - compensated.size());
+
+        return new BatchResult(stale.size(), completed.size() + failed.size() + compensated.size(), false);
+    }
+
+    /**
+     * Estorna o lado aplicado das transações com um lado só. Trava todos os users envolvidos em
+     * ordem crescente de id antes de qualquer escrita, para checar se cada devolução de crédito
+     * cabe no saldo; os estornos que não cabem ficam de fora.
+     *
+     * @return UUIDs das transações estornadas
+     */
+    private List<UUID> compensate(List<PendingTransaction> partial) {
+        if (partial.isEmpty()) {
+            return List.of();
+        }
+
+        // Devoluções de crédito somadas por recebedor; TreeMap dá a ordem dos locks
+        Map<UUID, Integer> debits = new TreeMap<>();
+        Map<UUID, User> users = new TreeMap<>();
+        for (PendingTransaction transaction : partial) {
+            users.put(transaction.payerId(), null);
+            users.put(transaction.payeeId(), null);
+            if (transaction.payeeCredited()) {
+                debits.merge(transaction.payeeId(), transaction.payeeChange(), Integer::sum);
+            }
+        }
+        for (UUID userId : users.keySet()) {
+            users.put(userId, userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId)));
+        }
+        Set<UUID> uncovered = new HashSet<>();
+        debits.forEach((userId, amount) -> {
+            if (!canDebit(users.get(userId), amount)) {
+                uncovered.add(userId);
+            }
+        });
+
+        List<Leg> legs = new ArrayList<>();
+        List<UUID> compensated = new ArrayList<>();
+        for (PendingTransaction transaction : partial) {
+            if (transaction.payeeCredited()) {
+                if (uncovered.contains(transaction.payeeId())) {
+                    logger.error("Stale pending transaction left unresolved, payee cannot return the credit. "
+                        + "TransactionId: {}, PayeeId: {}, Amount: {}",
+                        transaction.id(), transaction.payeeId(), transaction.payeeChange());
+                    continue;
+                }
+                legs.add(new Leg(transaction.payeeId(), transaction.id(), -transaction.payeeChange()));
+            } else {
+                legs.add(new Leg(transaction.payerId(), transaction.id(), -transaction.payerChange()));
+            }
+            compensated.add(transaction.id());
+            logger.warn("Stale pending transaction compensated. TransactionId: {}, PayerDebited: {}, PayeeCredited: {}",
+                transaction.id(), transaction.payerDebited(), transaction.payeeCredited());
+        }
+
+        legs.sort(Comparator.comparing(Leg::userId).thenComparing(Leg::transactionId));
+        for (Leg leg : legs) {
+            if (leg.change() > 0) {
+                walletService.credit(leg.userId(), leg.change(), OPERATION_REVERSAL_CREDIT, leg.transactionId());
+            } else {
+                walletService.updateBalance(leg.userId(), leg.change(), OPERATION_REVERSAL_DEBIT, leg.transactionId());
+            }
+        }
+        return compensated;
+    }
+
+    // As mesmas regras de WalletService.updateBalance, checadas antes para não marcar o lote para rollback
+    private static boolean canDebit(User user, int amount) {
+        if (user.getUserType() == UserType.COMMON_USER || user.getHeldAmount() > 0) {
+            return user.getWalletBalance() - user.getHeldAmount() >= amount;
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("Pending transaction sweeper disabled");
+            return;
+        }
+        running = true;
+        sweeper = Thread.ofPlatform().name("pending-transaction-sweeper").daemon(true).start(this::runSweeper);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (sweeper != null) {
+            sweeper.interrupt();
+            try {
+                sweeper.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runSweeper() {
+        while (running) {
+            try {
+                sweep();
+            } catch (RuntimeException e) {
+                // Nenhum erro de uma passada pode encerrar a thread: tenta de novo após o intervalo
+                logger.error("Unexpected pending transaction sweep error, retrying next round", e);
+            }
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private record BatchResult(int locked, int resolved, boolean skipped) {
+        static final BatchResult SKIPPED = new BatchResult(0, 0, true);
+    }
+
+    private record Leg(UUID userId, UUID transactionId, int change) {
+    }
+}
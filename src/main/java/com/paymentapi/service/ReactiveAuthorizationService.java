@@ -0,0 +1,79 @@
+package com.paymentapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.paymentapi.exception.AuthorizationUnavailableException;
+import com.paymentapi.exception.TransferNotAuthorizedException;
+import com.paymentapi.metrics.ExternalServiceMetrics;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versão não bloqueante do {@link AuthorizationService}, usada pela variante reativa.
+ * Mesmo contrato: HTTP 200 com data.authorization=true autoriza, HTTP 403 nega, o resto é indisponibilidade.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveAuthorizationService {
+
+    private static final String SERVICE_NAME = "authorization";
+
+    private final WebClient webClient;
+    private final ExternalServiceMetrics externalServiceMetrics;
+    private final Duration timeout;
+
+    public ReactiveAuthorizationService(
+            WebClient.Builder webClientBuilder,
+            ExternalServiceMetrics externalServiceMetrics,
+            @Value("${payment.authorization.url:https://util.devi.tools/api/v2/authorize}") String authorizationUrl,
+            @Value("${payment.authorization.timeout:2s}") Duration timeout) {
+        this.webClient = webClientBuilder.baseUrl(authorizationUrl).build();
+        this.externalServiceMetrics = externalServiceMetrics;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Consulta o serviço de autorização.
+     *
+     * @return Mono vazio se autorizado; erro TransferNotAuthorizedException se negado,
+     *         AuthorizationUnavailableException se o serviço falhar ou não responder
+     */
+    public Mono<Void> authorize() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+
+            return webClient.get()
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .flatMap(body -> body.path("data").path("authorization").asBoolean(false)
+                    ? Mono.<Void>empty()
+                    : Mono.<Void>error(new TransferNotAuthorizedException()))
+                .onErrorMap(e -> !(e instanceof TransferNotAuthorizedException), this::mapFailure)
+                .doOnSuccess(ignored -> record("success", start))
+                .doOnError(e -> record(e instanceof TransferNotAuthorizedException ? "denied" : "failure", start));
+        });
+    }
+
+    private Throwable mapFailure(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.FORBIDDEN)) {
+                return new TransferNotAuthorizedException();
+            }
+            externalServiceMetrics.recordServiceFailure(SERVICE_NAME, "http_" + response.getStatusCode().value());
+        } else {
+            externalServiceMetrics.recordServiceFailure(SERVICE_NAME, "connection_error");
+        }
+        return new AuthorizationUnavailableException(e);
+    }
+
+    private void record(String status, long start) {
+        externalServiceMetrics.recordServiceCall(SERVICE_NAME, status);
+        externalServiceMetrics.recordServiceDuration(SERVICE_NAME, Duration.ofNanos(System.nanoTime() - start), status);
+    }
+}
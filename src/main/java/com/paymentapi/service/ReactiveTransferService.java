@@ -0,0 +1,211 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.BalanceChangedEvent;
+import com.paymentapi.dto.internal.TransferCompletedEvent;
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.dto.request.TransferRequest;
+import com.paymentapi.dto.response.TransferResponse;
+import com.paymentapi.dto.response.WalletBalanceResponse;
+import com.paymentapi.entity.enums.TransactionStatus;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.InsufficientFundsException;
+import com.paymentapi.exception.TransferNotAllowedException;
+import com.paymentapi.exception.TransferTimeoutException;
+import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.metrics.TransferMetrics;
+import com.paymentapi.repository.ReactiveWalletRepository;
+import com.paymentapi.repository.ReactiveWalletRepository.AppliedBalanceChange;
+import com.paymentapi.repository.ReactiveWalletRepository.TransferRecord;
+import com.paymentapi.util.MonetaryUtil;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Variante reativa das leituras de saldo e das transferências (profile reactive).
+ * <p>
+ * Mesmas regras do {@link TransferService}: pagador, recebedor e autorização são resolvidos em
+ * paralelo com prazo compartilhado ({@code Mono.zip} cancela os demais na primeira falha), depois
+ * vêm as regras antifraude e a reserva dos limites (no scheduler boundedElastic, fora do event
+ * loop), e a escrita acontece numa única transação R2DBC. Nenhuma thread do event loop fica
+ * bloqueada esperando o banco ou o serviço de autorização.
+ * <p>
+ * A notificação ao recebedor vai para o outbox na mesma transação R2DBC da transferência
+ * ({@link NotificationOutboxWriter#notificationFor}): entra com o commit e some com o rollback,
+ * como na variante bloqueante. Sem transação do Spring, os eventos de domínio
+ * ({@link BalanceChangedEvent} e {@link TransferCompletedEvent}) são publicados depois do commit
+ * R2DBC, também no boundedElastic; os listeners recebem os mesmos eventos da variante bloqueante.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTransferService.class);
+
+    private final ReactiveWalletRepository reactiveWalletRepository;
+    private final ReactiveAuthorizationService reactiveAuthorizationService;
+    private final UserExistenceFilter userExistenceFilter;
+    private final FraudRuleEngine fraudRuleEngine;
+    private final TransferLimitService transferLimitService;
+    private final NotificationOutboxWriter notificationOutboxWriter;
+    private final TransferMetrics transferMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration deadline;
+
+    public ReactiveTransferService(
+            ReactiveWalletRepository reactiveWalletRepository,
+            ReactiveAuthorizationService reactiveAuthorizationService,
+            UserExistenceFilter userExistenceFilter,
+            FraudRuleEngine fraudRuleEngine,
+            TransferLimitService transferLimitService,
+            NotificationOutboxWriter notificationOutboxWriter,
+            TransferMetrics transferMetrics,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${payment.transfer.deadline:3s}") Duration deadline) {
+        this.reactiveWalletRepository = reactiveWalletRepository;
+        this.reactiveAuthorizationService = reactiveAuthorizationService;
+        this.userExistenceFilter = userExistenceFilter;
+        this.fraudRuleEngine = fraudRuleEngine;
+        this.transferLimitService = transferLimitService;
+        this.notificationOutboxWriter = notificationOutboxWriter;
+        this.transferMetrics = transferMetrics;
+        this.eventPublisher = eventPublisher;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Pega o saldo atual da carteira de um usuário.
+     *
+     * @param userId UUID do user
+     * @return saldo; erro UserNotFoundException se o user não existir
+     */
+    public Mono<WalletBalanceResponse> getBalance(UUID userId) {
+        return reactiveWalletRepository.findBalance(userId)
+            .switchIfEmpty(Mono.error(() -> new UserNotFoundException(userId)));
+    }
+
+    /**
+     * Executa uma transferência.
+     *
+     * @param request valor, CPF do pagador e CPF/CNPJ do recebedor
+     * @return dados da transação concluída; erros com as mesmas exceções do TransferService
+     */
+    public Mono<TransferResponse> transfer(TransferRequest request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Integer amount = MonetaryUtil.convertToIntegerCents(request.value());
+            if (request.payer().equals(request.payee())) {
+                return Mono.error(new TransferNotAllowedException("Pagador e recebedor devem ser diferentes"));
+            }
+
+            Mono<TransferParty> payer = findParty(request.payer()).map(party -> validatePayer(party, amount));
+            Mono<TransferParty> payee = findParty(request.payee());
+            Mono<Boolean> authorization = reactiveAuthorizationService.authorize().thenReturn(Boolean.TRUE);
+
+            return Mono.zip(payer, payee, authorization)
+                .timeout(deadline)
+                .onErrorMap(TimeoutException.class, e -> new TransferTimeoutException(deadline))
+                .flatMap(parties -> checkAndReserve(parties.getT1(), parties.getT2(), amount)
+                    .flatMap(reservation -> reactiveWalletRepository.executeTransfer(
+                            parties.getT1().id(), parties.getT2().id(), amount,
+                            TransferService.OPERATION_DEBIT, TransferService.OPERATION_CREDIT,
+                            record -> notificationOutboxWriter.notificationFor(
+                                transferCompleted(parties.getT1(), parties.getT2(), amount, record)))
+                        .doOnError(e -> reservation.release()))
+                    .flatMap(record -> publishCommitted(parties.getT1(), parties.getT2(), amount, record)
+                        .thenReturn(record))
+                    .map(record -> new TransferResponse(
+                        record.id(),
+                        parties.getT1().id(),
+                        parties.getT2().id(),
+                        MonetaryUtil.convertToBigDecimal(amount),
+                        TransactionStatus.COMPLETED,
+                        record.createdAt())))
+                .doOnSuccess(response -> recordOutcome("success", start))
+                .doOnError(e -> {
+                    transferMetrics.recordTransferFailed(TransferService.failureReason(e));
+                    recordOutcome("failed", start);
+                });
+        });
+    }
+
+    /**
+     * Regras antifraude e reserva dos limites, no boundedElastic: os contadores de limite esperam
+     * em locks por chave, o que não pode acontecer no event loop.
+     */
+    private Mono<TransferLimitService.Reservation> checkAndReserve(TransferParty payer, TransferParty payee,
+                                                                   Integer amount) {
+        return Mono.fromCallable(() -> {
+            fraudRuleEngine.check(payer, payee, amount);
+            return transferLimitService.acquire(payer, payee, amount);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Publica os eventos da transferência já commitada, fora do event loop para nenhum listener
+     * síncrono rodar nele. Uma falha aqui não desfaz a transferência nem a notificação, já gravada
+     * no outbox: é registrada no log e a resposta segue.
+     */
+    private Mono<Void> publishCommitted(TransferParty payer, TransferParty payee, Integer amount,
+                                        TransferRecord record) {
+        return Mono.fromRunnable(() -> {
+            try {
+                eventPublisher.publishEvent(balanceChanged(payer, record.id(), TransferService.OPERATION_DEBIT,
+                    record.payerChange()));
+                eventPublisher.publishEvent(balanceChanged(payee, record.id(), TransferService.OPERATION_CREDIT,
+                    record.payeeChange()));
+                eventPublisher.publishEvent(transferCompleted(payer, payee, amount, record));
+            } catch (RuntimeException e) {
+                logger.error("Failed to publish events of committed reactive transfer. TransactionId: {}, Error: {}",
+                    record.id(), e.getMessage(), e);
+            }
+        }).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+
+    private static TransferCompletedEvent transferCompleted(TransferParty payer, TransferParty payee, Integer amount,
+                                                            TransferRecord record) {
+        return new TransferCompletedEvent(record.id(), payer.id(), payer.userType(), payee.id(), amount,
+            record.createdAt());
+    }
+
+    private static BalanceChangedEvent balanceChanged(TransferParty party, UUID transactionId,
+                                                      String operationType, AppliedBalanceChange change) {
+        return new BalanceChangedEvent(party.id(), party.userType(), transactionId, operationType,
+            change.previousBalance(), change.newBalance(), change.balanceChange(), change.version(),
+            change.updatedAt());
+    }
+
+    private Mono<TransferParty> findParty(String cpfOrCnpj) {
+        if (!userExistenceFilter.mightContainCpf(cpfOrCnpj)) {
+            return Mono.error(new UserNotFoundException(cpfOrCnpj));
+        }
+        return reactiveWalletRepository.findTransferPartyByCpf(cpfOrCnpj)
+            .switchIfEmpty(Mono.error(() -> {
+                userExistenceFilter.recordFalsePositive("cpf");
+                return new UserNotFoundException(cpfOrCnpj);
+            }));
+    }
+
+    private static TransferParty validatePayer(TransferParty payer, Integer amount) {
+        if (payer.userType() == UserType.MERCHANT) {
+            throw new TransferNotAllowedException("Lojistas não podem enviar transferências");
+        }
+        if (payer.walletBalance() < amount) {
+            throw new InsufficientFundsException(payer.id(), amount, payer.walletBalance());
+        }
+        return payer;
+    }
+
+    private void recordOutcome(String status, long start) {
+        transferMetrics.recordTransferTotal(status);
+        transferMetrics.recordTransferDuration(Duration.ofNanos(System.nanoTime() - start), status);
+    }
+}
@@ -0,0 +1,384 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.dto.request.ScheduledTransferRequest;
+import com.paymentapi.dto.request.TransferRequest;
+import com.paymentapi.dto.response.ScheduledTransferResponse;
+import com.paymentapi.dto.response.TransferResponse;
+import com.paymentapi.entity.ScheduledTransfer;
+import com.paymentapi.entity.enums.ScheduledTransferStatus;
+import com.paymentapi.entity.enums.TransferRecurrence;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.AuthorizationUnavailableException;
+import com.paymentapi.exception.ScheduledTransferNotFoundException;
+import com.paymentapi.exception.TransferNotAllowedException;
+import com.paymentapi.exception.TransferTimeoutException;
+import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.exception.WalletAccessDeniedException;
+import com.paymentapi.repository.ScheduledTransferRepository;
+import com.paymentapi.repository.UserRepository;
+import com.paymentapi.util.MonetaryUtil;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transferências agendadas e recorrentes.
+ * <p>
+ * Cada agendamento é uma linha de scheduled_transfers com o horário da próxima execução
+ * (next_run_at, indexado só para os ativos). Os nós reivindicam lotes do que vence na próxima
+ * janela ({@link #claimDue}, com SKIP LOCKED e um lease por nó) e executam cada agendamento no
+ * horário ({@link #execute}).
+ * <p>
+ * A execução não depende do lease para ser única. Ela confere, sob um lock curto, que next_run_at
+ * ainda é o horário reivindicado; resolve e autoriza a transferência sem transação aberta; e, na
+ * transação de escrita da transferência, trava de novo a linha, confere next_run_at outra vez e
+ * avança o agendamento. Se dois nós chegarem à mesma ocorrência (lease vencido durante uma pausa
+ * longa), o segundo encontra a linha travada ou já avançada e desiste, e a escrita dele é
+ * desfeita; se a transferência falhar, o avanço é desfeito junto.
+ * <p>
+ * Falhas transitórias (autorização indisponível, prazo estourado, banco) são tentadas de novo
+ * com espera crescente, até max-attempts. Falhas de negócio (saldo, limites, antifraude) encerram
+ * um agendamento único como FAILED; num recorrente, pulam para a próxima ocorrência. Ocorrências
+ * perdidas enquanto nenhum nó estava no ar são executadas uma vez só, não uma por ocorrência.
+ */
+@Service
+public class ScheduledTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledTransferService.class);
+
+    static final int MAX_ERROR_LENGTH = 255;
+
+    /**
+     * Resultado da execução de um agendamento.
+     */
+    public enum Outcome {
+        /** Transferência concluída. */
+        EXECUTED,
+        /** Falha definitiva desta ocorrência. */
+        FAILED,
+        /** Falha transitória; nova tentativa agendada. */
+        RETRY,
+        /** Agendamento cancelado, já executado ou em execução em outro nó. */
+        SKIPPED
+    }
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final UserRepository userRepository;
+    private final TransferService transferService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public ScheduledTransferService(
+            ScheduledTransferRepository scheduledTransferRepository,
+            UserRepository userRepository,
+            TransferService transferService,
+            PlatformTransactionManager transactionManager,
+            @Value("${payment.scheduled-transfers.max-attempts:5}") int maxAttempts,
+            @Value("${payment.scheduled-transfers.retry-backoff:30s}") Duration retryBackoff) {
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.userRepository = userRepository;
+        this.transferService = transferService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Cria um agendamento.
+     *
+     * @param request valor, documentos, primeira execução e recorrência
+     * @param ownerId UUID do usuário autenticado, que precisa ser o pagador; null para o usuário de serviço
+     * @return agendamento criado
+     * @throws UserNotFoundException se pagador ou recebedor não existirem
+     * @throws WalletAccessDeniedException se o pagador não for o usuário autenticado
+     * @throws TransferNotAllowedException se o pagador for lojista ou igual ao recebedor
+     * @throws IllegalArgumentException se um agendamento único pedir mais de uma execução
+     */
+    @Transactional
+    public ScheduledTransferResponse create(ScheduledTransferRequest request, UUID ownerId) {
+        Integer amount = MonetaryUtil.convertToIntegerCents(request.value());
+        TransferRecurrence recurrence = request.recurrence() == null ? TransferRecurrence.ONCE : request.recurrence();
+        if (request.payer().equals(request.payee())) {
+            throw new TransferNotAllowedException("Pagador e recebedor devem ser diferentes");
+        }
+        if (recurrence == TransferRecurrence.ONCE && request.occurrences() != null && request.occurrences() != 1) {
+            throw new IllegalArgumentException("Um agendamento único executa uma só vez");
+        }
+
+        TransferParty payer = userRepository.findTransferPartyByCpf(request.payer())
+            .orElseThrow(() -> new UserNotFoundException(request.payer()));
+        checkOwner(payer.id(), ownerId);
+        if (payer.userType() == UserType.MERCHANT) {
+            throw new TransferNotAllowedException("Lojistas não podem enviar transferências");
+        }
+        if (userRepository.findTransferPartyByCpf(request.payee()).isEmpty()) {
+            throw new UserNotFoundException(request.payee());
+        }
+
+        ScheduledTransfer schedule = new ScheduledTransfer();
+        schedule.setPayerId(payer.id());
+        schedule.setPayerDocument(request.payer());
+        schedule.setPayeeDocument(request.payee());
+        schedule.setAmount(amount);
+        schedule.setRecurrence(recurrence);
+        schedule.setStatus(ScheduledTransferStatus.ACTIVE);
+        schedule.setFirstRunAt(request.runAt());
+        schedule.setNextRunAt(request.runAt());
+        schedule.setRemainingRuns(recurrence == TransferRecurrence.ONCE ? Integer.valueOf(1) : request.occurrences());
+        schedule = scheduledTransferRepository.save(schedule);
+
+        logger.info("Transfer scheduled. ScheduleId: {}, PayerId: {}, Recurrence: {}, FirstRunAt: {}, Amount: {}",
+            schedule.getId(), payer.id(), recurrence, request.runAt(), amount);
+        return toResponse(schedule);
+    }
+
+    /**
+     * Consulta um agendamento.
+     *
+     * @param id UUID do agendamento
+     * @param ownerId UUID do usuário autenticado, que precisa ser o pagador; null para o usuário de serviço
+     * @return agendamento
+     * @throws ScheduledTransferNotFoundException se o agendamento não existir
+     * @throws WalletAccessDeniedException se o pagador não for o usuário autenticado
+     */
+    @Transactional(readOnly = true)
+    public ScheduledTransferResponse get(UUID id, UUID ownerId) {
+        ScheduledTransfer schedule = scheduledTransferRepository.findById(id)
+            .orElseThrow(() -> new ScheduledTransferNotFoundException(id));
+        checkOwner(schedule.getPayerId(), ownerId);
+        return toResponse(schedule);
+    }
+
+    /**
+     * Cancela um agendamento ativo. Espera uma execução em andamento terminar; a partir do
+     * commit, nenhum nó executa o agendamento de novo. Agendamentos já encerrados ficam como estão.
+     *
+     * @param id UUID do agendamento
+     * @param ownerId UUID do usuário autenticado, que precisa ser o pagador; null para o usuário de serviço
+     * @return agendamento após o cancelamento
+     * @throws ScheduledTransferNotFoundException se o agendamento não existir
+     * @throws WalletAccessDeniedException se o pagador não for o usuário autenticado
+     */
+    @Transactional
+    public ScheduledTransferResponse cancel(UUID id, UUID ownerId) {
+        ScheduledTransfer schedule = scheduledTransferRepository.findByIdForUpdate(id)
+            .orElseThrow(() -> new ScheduledTransferNotFoundException(id));
+        checkOwner(schedule.getPayerId(), ownerId);
+        if (schedule.getStatus() == ScheduledTransferStatus.ACTIVE) {
+            schedule.setStatus(ScheduledTransferStatus.CANCELLED);
+            schedule.setLockedBy(null);
+            schedule.setLockedUntil(null);
+            logger.info("Scheduled transfer cancelled. ScheduleId: {}", id);
+        }
+        return toResponse(schedule);
+    }
+
+    /**
+     * Reivindica para o nó um lote de agendamentos que vencem até o horizonte.
+     *
+     * @param node identificador do nó
+     * @param now instante atual
+     * @param horizon fim da janela
+     * @param leaseUntil fim do lease
+     * @param limit tamanho máximo do lote
+     * @return agendamentos reivindicados, dos que vencem antes para os que vencem depois
+     */
+    @Transactional
+    public List<ScheduledTransfer> claimDue(String node, LocalDateTime now, LocalDateTime horizon,
+                                            LocalDateTime leaseUntil, int limit) {
+        List<ScheduledTransfer> due = scheduledTransferRepository.lockDue(horizon, now, limit);
+        if (!due.isEmpty()) {
+            scheduledTransferRepository.lease(due.stream().map(ScheduledTransfer::getId).toList(), node, leaseUntil);
+        }
+        return due;
+    }
+
+    /**
+     * Devolve os leases do nó.
+     *
+     * @param node identificador do nó
+     * @return quantidade de agendamentos liberados
+     */
+    @Transactional
+    public int releaseLeases(String node) {
+        return scheduledTransferRepository.releaseLeases(node);
+    }
+
+    /**
+     * Executa a ocorrência reivindicada de um agendamento.
+     * <p>
+     * Nenhuma conexão fica presa durante a consulta ao serviço de autorização: o lock da checagem
+     * inicial é liberado antes da resolução, e a linha só é travada de novo na escrita.
+     *
+     * @param id UUID do agendamento
+     * @param expectedRunAt next_run_at lido na reivindicação
+     * @return resultado da execução
+     */
+    public Outcome execute(UUID id, LocalDateTime expectedRunAt) {
+        try {
+            TransferRequest request = transactionTemplate.execute(status -> {
+                ScheduledTransfer schedule = scheduledTransferRepository.lockForExecution(id).orElse(null);
+                if (!isDue(schedule, expectedRunAt)) {
+                    return null;
+                }
+                return new TransferRequest(
+                    MonetaryUtil.convertToBigDecimal(schedule.getAmount()),
+                    schedule.getPayerDocument(),
+                    schedule.getPayeeDocument());
+            });
+            if (request == null) {
+                return Outcome.SKIPPED;
+            }
+
+            transferService.transfer(request, transactionId -> {
+                ScheduledTransfer schedule = scheduledTransferRepository.lockForExecution(id).orElse(null);
+                if (!isDue(schedule, expectedRunAt)) {
+                    throw new NoLongerDueException();
+                }
+                recordSuccess(schedule, transactionId, LocalDateTime.now());
+            });
+            logger.info("Scheduled transfer executed. ScheduleId: {}, RunAt: {}", id, expectedRunAt);
+            return Outcome.EXECUTED;
+        } catch (NoLongerDueException e) {
+            logger.info("Scheduled transfer changed during execution, write rolled back. ScheduleId: {}", id);
+            return Outcome.SKIPPED;
+        } catch (RuntimeException e) {
+            return transactionTemplate.execute(status -> recordFailure(id, expectedRunAt, e));
+        }
+    }
+
+    private Outcome recordFailure(UUID id, LocalDateTime expectedRunAt, RuntimeException error) {
+        ScheduledTransfer schedule = scheduledTransferRepository.findByIdForUpdate(id).orElse(null);
+        if (!isDue(schedule, expectedRunAt)) {
+            return Outcome.SKIPPED;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int attempts = schedule.getAttempts() + 1;
+        schedule.setLastRunAt(now);
+        schedule.setLastError(truncate(error.getMessage()));
+        schedule.setLockedBy(null);
+        schedule.setLockedUntil(null);
+
+        if (isTransient(error) && attempts < maxAttempts) {
+            schedule.setAttempts(attempts);
+            schedule.setNextRunAt(now.plus(retryBackoff.multipliedBy(attempts)));
+            logger.warn("Scheduled transfer failed, retrying. ScheduleId: {}, Attempt: {}, Error: {}",
+                id, attempts, error.getMessage());
+            return Outcome.RETRY;
+        }
+
+        schedule.setAttempts(0);
+        if (schedule.getRecurrence() == TransferRecurrence.ONCE) {
+            schedule.setStatus(ScheduledTransferStatus.FAILED);
+        } else {
+            advance(schedule, now);
+        }
+        logger.warn("Scheduled transfer failed. ScheduleId: {}, Status: {}, Error: {}",
+            id, schedule.getStatus(), error.getMessage());
+        return Outcome.FAILED;
+    }
+
+    private void recordSuccess(ScheduledTransfer schedule, UUID transactionId, LocalDateTime now) {
+        schedule.setRunCount(schedule.getRunCount() + 1);
+        schedule.setLastRunAt(now);
+        schedule.setLastTransactionId(transactionId);
+        schedule.setLastError(null);
+        schedule.setAttempts(0);
+        schedule.setLockedBy(null);
+        schedule.setLockedUntil(null);
+        if (schedule.getRemainingRuns() != null) {
+            schedule.setRemainingRuns(schedule.getRemainingRuns() - 1);
+        }
+        advance(schedule, now);
+    }
+
+    /**
+     * Avança para a primeira ocorrência depois de agora, ou encerra o agendamento. Uma ocorrência
+     * que falhou em definitivo também conta como consumida.
+     */
+    private void advance(ScheduledTransfer schedule, LocalDateTime now) {
+        if (schedule.getRecurrence() == TransferRecurrence.ONCE) {
+            schedule.setStatus(ScheduledTransferStatus.COMPLETED);
+            return;
+        }
+        if (schedule.getRemainingRuns() != null && schedule.getRemainingRuns() <= 0) {
+            schedule.setStatus(ScheduledTransferStatus.COMPLETED);
+            return;
+        }
+        int occurrence = schedule.getOccurrence();
+        LocalDateTime next;
+        do {
+            occurrence++;
+            next = schedule.getRecurrence().occurrence(schedule.getFirstRunAt(), occurrence);
+        } while (!next.isAfter(now));
+        schedule.setOccurrence(occurrence);
+        schedule.setNextRunAt(next);
+    }
+
+    private static void checkOwner(UUID payerId, UUID ownerId) {
+        if (ownerId != null && !ownerId.equals(payerId)) {
+            throw new WalletAccessDeniedException(payerId);
+        }
+    }
+
+    private static boolean isDue(ScheduledTransfer schedule, LocalDateTime expectedRunAt) {
+        return schedule != null
+            && schedule.getStatus() == ScheduledTransferStatus.ACTIVE
+            && schedule.getNextRunAt().equals(expectedRunAt);
+    }
+
+    private static boolean isTransient(Throwable e) {
+        return e instanceof AuthorizationUnavailableException
+            || e instanceof TransferTimeoutException
+            || e instanceof DataAccessException
+            || e instanceof TransactionException;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * O agendamento foi cancelado, avançado ou travado por outro nó entre a checagem inicial e a
+     * escrita; a transferência é desfeita.
+     */
+    private static final class NoLongerDueException extends RuntimeException {
+
+        NoLongerDueException() {
+            super("Agendamento não está mais pendente nesta ocorrência", null, false, false);
+        }
+    }
+
+    private ScheduledTransferResponse toResponse(ScheduledTransfer schedule) {
+        return new ScheduledTransferResponse(
+            schedule.getId(),
+            schedule.getPayerId(),
+            schedule.getPayerDocument(),
+            schedule.getPayeeDocument(),
+            MonetaryUtil.convertToBigDecimal(schedule.getAmount()),
+            schedule.getRecurrence(),
+            schedule.getStatus(),
+            schedule.getNextRunAt(),
+            schedule.getRemainingRuns(),
+            schedule.getRunCount(),
+            schedule.getLastRunAt(),
+            schedule.getLastTransactionId(),
+            schedule.getLastError());
+    }
+}
@@ -0,0 +1,247 @@
+package com.paymentapi.service;
+
+import com.paymentapi.entity.ScheduledTransfer;
+import com.paymentapi.metrics.ScheduledTransferMetrics;
+import com.paymentapi.service.ScheduledTransferService.Outcome;
+import com.paymentapi.util.TimingWheel;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+/**
+ * Executa as transferências agendadas deste nó. Só roda com payment.scheduled-transfers.enabled.
+ * <p>
+ * Uma thread reivindica, a cada poll-interval, os agendamentos que vencem na próxima janela
+ * ({@link ScheduledTransferService#claimDue}) e os coloca numa {@link TimingWheel}; o banco é
+ * consultado uma vez por intervalo, não uma vez por agendamento. Outra thread gira a roda a cada
+ * tick e entrega os vencidos a um pool fixo de workers, que chamam
+ * {@link ScheduledTransferService#execute}. Vários nós dividem os agendamentos pelo SKIP LOCKED e
+ * pelo lease; a execução em si é protegida pelo lock da linha.
+ * <p>
+ * No shutdown, os leases do nó são devolvidos para outro nó retomar os agendamentos pendentes
+ * sem esperar o lease vencer.
+ */
+@Service
+public class ScheduledTransferWorker implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledTransferWorker.class);
+
+    private final ScheduledTransferService scheduledTransferService;
+    private final ScheduledTransferMetrics scheduledTransferMetrics;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final Duration window;
+    private final Duration lease;
+    private final int batchSize;
+    private final int maxPending;
+    private final int workers;
+    private final Duration tick;
+    private final String node = UUID.randomUUID().toString();
+
+    // Agendamentos reivindicados ainda não concluídos neste nó; evita agendar duas vezes o mesmo
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final TimingWheel<ScheduledTransfer> wheel;
+
+    private Thread poller;
+    private Thread ticker;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public ScheduledTransferWorker(
+            ScheduledTransferService scheduledTransferService,
+            ScheduledTransferMetrics scheduledTransferMetrics,
+            @Value("${payment.scheduled-transfers.enabled:true}") boolean enabled,
+            @Value("${payment.scheduled-transfers.poll-interval:1s}") Duration pollInterval,
+            @Value("${payment.scheduled-transfers.window:30s}") Duration window,
+            @Value("${payment.scheduled-transfers.lease:2m}") Duration lease,
+            @Value("${payment.scheduled-transfers.batch-size:500}") int batchSize,
+            @Value("${payment.scheduled-transfers.max-pending:10000}") int maxPending,
+            @Value("${payment.scheduled-transfers.workers:8}") int workers,
+            @Value("${payment.scheduled-transfers.tick:100ms}") Duration tick) {
+        this.scheduledTransferService = scheduledTransferService;
+        this.scheduledTransferMetrics = scheduledTransferMetrics;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.window = window;
+        this.lease = lease;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.workers = workers;
+        this.tick = tick;
+        // Uma volta da roda cobre a janela; o que vence depois (retentativas) dá mais voltas
+        int wheelSize = (int) Math.max(1, window.toMillis() / tick.toMillis() + 1);
+        this.wheel = new TimingWheel<>(tick.toMillis(), wheelSize, System.currentTimeMillis());
+
+        scheduledTransferMetrics.bindPendingGauge(pending::size);
+    }
+
+    /**
+     * Reivindica os agendamentos da próxima janela e os coloca na roda, em lotes enquanto os
+     * lotes vierem cheios e houver espaço.
+     *
+     * @return quantidade de agendamentos reivindicados
+     */
+    public int poll() {
+        int claimed = 0;
+        while (pending.size() < maxPending) {
+            int limit = Math.min(batchSize, maxPending - pending.size());
+            LocalDateTime now = LocalDateTime.now();
+            List<ScheduledTransfer> batch;
+            try {
+                batch = scheduledTransferService.claimDue(node, now, now.plus(window), now.plus(lease), limit);
+            } catch (DataAccessException | TransactionException e) {
+                // TransactionException: banco fora do ar no begin ou falha no commit
+                scheduledTransferMetrics.recordClaim(0, "failed");
+                logger.warn("Failed to claim scheduled transfers, retrying on next poll: {}", e.getMessage());
+                return claimed;
+            }
+            scheduledTransferMetrics.recordClaim(batch.size(), "success");
+
+            for (ScheduledTransfer schedule : batch) {
+                if (pending.add(schedule.getId())) {
+                    wheel.schedule(schedule, Timestamp.valueOf(schedule.getNextRunAt()).getTime());
+                    claimed++;
+                }
+            }
+            if (batch.size() < limit) {
+                break;
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Gira a roda até o instante e entrega os agendamentos vencidos aos workers.
+     *
+     * @param nowMillis instante atual em epoch millis
+     * @return quantidade de agendamentos entregues
+     */
+    int dispatch(long nowMillis) {
+        List<ScheduledTransfer> due = wheel.advance(nowMillis);
+        for (ScheduledTransfer schedule : due) {
+            try {
+                executor.execute(() -> run(schedule));
+            } catch (RejectedExecutionException e) {
+                // Parando: o lease é devolvido no stop e outro nó assume
+                pending.remove(schedule.getId());
+            }
+        }
+        return due.size();
+    }
+
+    /**
+     * Executa um agendamento e registra o resultado.
+     *
+     * @param schedule agendamento reivindicado
+     */
+    void run(ScheduledTransfer schedule) {
+        Duration lag = Duration.between(schedule.getNextRunAt(), LocalDateTime.now());
+        try {
+            Outcome outcome = scheduledTransferService.execute(schedule.getId(), schedule.getNextRunAt());
+            scheduledTransferMetrics.recordExecution(outcome.name().toLowerCase(Locale.ROOT), lag);
+        } catch (RuntimeException e) {
+            // Nem a falha pôde ser gravada: o lease vence e o agendamento é reivindicado de novo
+            scheduledTransferMetrics.recordExecution("error", lag);
+            logger.error("Failed to execute scheduled transfer. ScheduleId: {}", schedule.getId(), e);
+        } finally {
+            pending.remove(schedule.getId());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("Scheduled transfer worker disabled");
+            return;
+        }
+        running = true;
+        executor = Executors.newFixedThreadPool(workers,
+            Thread.ofPlatform().name("scheduled-transfer-worker-", 0).daemon(true).factory());
+        ticker = Thread.ofPlatform().name("scheduled-transfer-wheel").daemon(true).start(this::runTicker);
+        poller = Thread.ofPlatform().name("scheduled-transfer-poller").daemon(true).start(this::runPoller);
+        logger.info("Scheduled transfer worker started. Node: {}", node);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        join(poller);
+        join(ticker);
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                int released = scheduledTransferService.releaseLeases(node);
+                logger.info("Scheduled transfer leases released. Node: {}, Released: {}", node, released);
+            } catch (DataAccessException | TransactionException e) {
+                logger.warn("Failed to release scheduled transfer leases: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runPoller() {
+        while (running) {
+            try {
+                poll();
+            } catch (RuntimeException e) {
+                // Nenhum erro de um poll pode encerrar a thread: tenta de novo no próximo intervalo
+                logger.error("Unexpected scheduled transfer poll error, retrying on next poll", e);
+            }
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runTicker() {
+        while (running) {
+            dispatch(System.currentTimeMillis());
+            try {
+                Thread.sleep(tick.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void join(Thread thread) {
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
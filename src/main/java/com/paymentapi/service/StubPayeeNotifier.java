@@ -0,0 +1,58 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.OutboxNotification;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Notificador local, sem chamada externa, para testes e desenvolvimento
+ * (payment.notifications.notifier=stub). Guarda as notificações entregues em memória e pode
+ * simular falhas nas próximas entregas.
+ */
+@Service
+@ConditionalOnProperty(name = "payment.notifications.notifier", havingValue = "stub")
+public class StubPayeeNotifier implements PayeeNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubPayeeNotifier.class);
+
+    private final ConcurrentLinkedQueue<OutboxNotification> delivered = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger failuresToSimulate = new AtomicInteger();
+
+    @Override
+    public void send(OutboxNotification notification) {
+        if (failuresToSimulate.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            throw new IllegalStateException("Falha simulada do notificador");
+        }
+        delivered.add(notification);
+        logger.debug("Stub notification delivered. Id: {}, RecipientId: {}", notification.id(), notification.recipientId());
+    }
+
+    /**
+     * Faz as próximas entregas falharem.
+     *
+     * @param failures quantidade de entregas que vão falhar
+     */
+    public void failNext(int failures) {
+        failuresToSimulate.set(failures);
+    }
+
+    /**
+     * @return notificações entregues, na ordem de entrega
+     */
+    public List<OutboxNotification> delivered() {
+        return List.copyOf(delivered);
+    }
+
+    /**
+     * Esquece as notificações entregues e as falhas pendentes.
+     */
+    public void clear() {
+        delivered.clear();
+        failuresToSimulate.set(0);
+    }
+}
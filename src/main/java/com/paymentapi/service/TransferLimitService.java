@@ -0,0 +1,255 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.TransferLimitExceededException;
+import com.paymentapi.metrics.TransferLimitMetrics;
+import com.paymentapi.util.SlidingWindowCounters;
+import com.paymentapi.util.SlidingWindowCounters.Decision;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Limites de transferência por usuário: valor nas últimas 24h e quantidade no último minuto,
+ * com valores diferentes para COMMON_USER e MERCHANT.
+ * <p>
+ * Para COMMON_USER o limite vale para o que o usuário envia; para MERCHANT, que só recebe,
+ * vale para o que recebe. A checagem é feita em memória ({@link SlidingWindowCounters}), antes da
+ * transação de escrita, e reserva o valor na hora: duas transferências concorrentes não passam
+ * juntas pelo mesmo limite. Se a escrita falhar, a reserva é desfeita.
+ * <p>
+ * Os contadores são reconstruídos no startup a partir das transações das últimas 24h. Cada nó
+ * conta só as transferências que executou: com N nós atrás de um balanceador sem afinidade, o
+ * limite efetivo de um usuário pode chegar a N vezes o configurado.
+ */
+@Service
+public class TransferLimitService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferLimitService.class);
+
+    static final Duration AMOUNT_WINDOW = Duration.ofDays(1);
+    static final int AMOUNT_BUCKETS = 24;
+    static final Duration COUNT_WINDOW = Duration.ofMinutes(1);
+    static final int COUNT_BUCKETS = 6;
+
+    // Saídas dos usuários comuns e entradas dos lojistas; transactions.created_at é horário local da JVM
+    private static final String REBUILD_QUERY = """
+        SELECT t.payer_id AS user_id, t.amount, t.created_at
+        FROM transactions t
+        WHERE t.created_at >= ? AND t.transaction_status = 'COMPLETED'
+        UNION ALL
+        SELECT t.payee_id AS user_id, t.amount, t.created_at
+        FROM transactions t
+        JOIN users u ON u.id = t.payee_id
+        WHERE t.created_at >= ? AND t.transaction_status = 'COMPLETED' AND u.user_type = 'MERCHANT'
+        """;
+    private static final int STREAM_FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransferLimitMetrics transferLimitMetrics;
+    private final boolean enabled;
+    private final int maxUsers;
+    private final Limits commonUserLimits;
+    private final Limits merchantLimits;
+
+    // Contadores consultados pelas transferências
+    private volatile SlidingWindowCounters activeCounters;
+    // Contadores em construção durante um rebuild; reservas concorrentes vão para os dois
+    private volatile SlidingWindowCounters buildingCounters;
+
+    public TransferLimitService(
+            JdbcTemplate jdbcTemplate,
+            TransferLimitMetrics transferLimitMetrics,
+            @Value("${payment.transfer-limits.enabled:true}") boolean enabled,
+            @Value("${payment.transfer-limits.max-users:100000}") int maxUsers,
+            @Value("${payment.transfer-limits.common-user.daily-amount:1000000}") long commonUserDailyAmount,
+            @Value("${payment.transfer-limits.common-user.per-minute-count:10}") long commonUserPerMinuteCount,
+            @Value("${payment.transfer-limits.merchant.daily-amount:100000000}") long merchantDailyAmount,
+            @Value("${payment.transfer-limits.merchant.per-minute-count:1200}") long merchantPerMinuteCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transferLimitMetrics = transferLimitMetrics;
+        this.enabled = enabled;
+        this.maxUsers = maxUsers;
+        this.commonUserLimits = new Limits(commonUserDailyAmount, commonUserPerMinuteCount);
+        this.merchantLimits = new Limits(merchantDailyAmount, merchantPerMinuteCount);
+        this.activeCounters = newCounters();
+
+        transferLimitMetrics.bindCounterGauges(() -> this.activeCounters);
+    }
+
+    /**
+     * Verifica os limites do pagador e do recebedor e reserva o valor da transferência.
+     *
+     * @param payer pagador
+     * @param payee recebedor
+     * @param amount valor em centavos
+     * @return reserva a desfazer com {@link Reservation#release()} se a transferência falhar
+     * @throws TransferLimitExceededException se algum limite for ultrapassado
+     */
+    public Reservation acquire(TransferParty payer, TransferParty payee, int amount) {
+        if (!enabled) {
+            return Reservation.NONE;
+        }
+        long now = System.currentTimeMillis();
+        SlidingWindowCounters counters = activeCounters;
+        SlidingWindowCounters building = buildingCounters;
+
+        UUID payerKey = payer.userType() == UserType.COMMON_USER ? payer.id() : null;
+        UUID payeeKey = payee.userType() == UserType.MERCHANT ? payee.id() : null;
+        if (payerKey != null) {
+            check(counters, payerKey, payer.userType(), commonUserLimits, amount, now);
+        }
+        if (payeeKey != null) {
+            try {
+                check(counters, payeeKey, payee.userType(), merchantLimits, amount, now);
+            } catch (TransferLimitExceededException e) {
+                if (payerKey != null) {
+                    counters.release(payerKey, amount, now);
+                }
+                throw e;
+            }
+        }
+        if (building != null) {
+            if (payerKey != null) {
+                building.record(payerKey, amount, now);
+            }
+            if (payeeKey != null) {
+                building.record(payeeKey, amount, now);
+            }
+        }
+        return new Reservation(counters, building, payerKey, payeeKey, amount, now);
+    }
+
+    /**
+     * Uso corrente dos contadores de um usuário (saídas do comum, entradas do lojista).
+     *
+     * @param userId UUID do usuário
+     * @return valor nas últimas 24h e quantidade no último minuto
+     */
+    public SlidingWindowCounters.Usage usage(UUID userId) {
+        return activeCounters.usage(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Reconstrói os contadores lendo as transações das últimas 24h em streaming (cursor com
+     * fetch size). Executado quando a aplicação termina de subir. Se a leitura falhar, os
+     * contadores anteriores continuam ativos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            logger.info("Transfer limits disabled");
+            return;
+        }
+
+        long start = System.nanoTime();
+        SlidingWindowCounters next = newCounters();
+        buildingCounters = next;
+        try {
+            Timestamp since = Timestamp.valueOf(LocalDateTime.now().minus(AMOUNT_WINDOW));
+            long[] rows = new long[1];
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(REBUILD_QUERY);
+                statement.setFetchSize(STREAM_FETCH_SIZE);
+                statement.setTimestamp(1, since);
+                statement.setTimestamp(2, since);
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                next.record(resultSet.getObject("user_id", UUID.class), resultSet.getLong("amount"),
+                    resultSet.getTimestamp("created_at").getTime());
+                rows[0]++;
+            });
+
+            activeCounters = next;
+            transferLimitMetrics.recordRebuild(Duration.ofNanos(System.nanoTime() - start), "success");
+            logger.info("Transfer limit counters loaded: transactions={}, users={}, memoryBytes={}, tookMs={}",
+                rows[0], next.size(), next.memoryBytes(), (System.nanoTime() - start) / 1_000_000);
+        } catch (DataAccessException e) {
+            transferLimitMetrics.recordRebuild(Duration.ofNanos(System.nanoTime() - start), "failed");
+            logger.warn("Failed to load transfer limit counters, keeping previous state: {}", e.getMessage());
+        } finally {
+            buildingCounters = null;
+        }
+    }
+
+    private void check(SlidingWindowCounters counters, UUID userId, UserType userType, Limits limits,
+                       int amount, long now) {
+        Decision decision = counters.tryAcquire(userId, amount, limits.dailyAmount(), limits.perMinuteCount(), now);
+        if (decision == Decision.AMOUNT_EXCEEDED) {
+            transferLimitMetrics.recordRejection(userType.name(), "amount");
+            throw new TransferLimitExceededException(userId,
+                String.format("valor diário de R$ %.2f", limits.dailyAmount() / 100.0));
+        }
+        if (decision == Decision.COUNT_EXCEEDED) {
+            transferLimitMetrics.recordRejection(userType.name(), "count");
+            throw new TransferLimitExceededException(userId,
+                String.format("%d transferências por minuto", limits.perMinuteCount()));
+        }
+    }
+
+    private SlidingWindowCounters newCounters() {
+        return SlidingWindowCounters.create(maxUsers, AMOUNT_WINDOW.toMillis(), AMOUNT_BUCKETS,
+            COUNT_WINDOW.toMillis(), COUNT_BUCKETS);
+    }
+
+    private record Limits(long dailyAmount, long perMinuteCount) {
+    }
+
+    /**
+     * Valor reservado nos contadores por uma transferência em andamento.
+     */
+    public static final class Reservation {
+
+        static final Reservation NONE = new Reservation(null, null, null, null, 0, 0);
+
+        private final SlidingWindowCounters counters;
+        private final SlidingWindowCounters building;
+        private final UUID payerKey;
+        private final UUID payeeKey;
+        private final long amount;
+        private final long acquiredAt;
+
+        private Reservation(SlidingWindowCounters counters, SlidingWindowCounters building, UUID payerKey,
+                            UUID payeeKey, long amount, long acquiredAt) {
+            this.counters = counters;
+            this.building = building;
+            this.payerKey = payerKey;
+            this.payeeKey = payeeKey;
+            this.amount = amount;
+            this.acquiredAt = acquiredAt;
+        }
+
+        /**
+         * Devolve o valor reservado aos limites (transferência não concluída).
+         */
+        public void release() {
+            releaseFrom(counters);
+            releaseFrom(building);
+        }
+
+        private void releaseFrom(SlidingWindowCounters target) {
+            if (target == null) {
+                return;
+            }
+            if (payerKey != null) {
+                target.release(payerKey, amount, acquiredAt);
+            }
+            if (payeeKey != null) {
+                target.release(payeeKey, amount, acquiredAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.paymentapi.service;
+
+import com.paymentapi.dto.internal.TransferCompletedEvent;
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.dto.request.TransferRequest;
+import com.paymentapi.dto.response.TransferResponse;
+import com.paymentapi.entity.Transaction;
+import com.paymentapi.entity.enums.TransactionStatus;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.AuthorizationUnavailableException;
+import com.paymentapi.exception.InsufficientFundsException;
+import com.paymentapi.exception.NegativeBalanceException;
+import com.paymentapi.exception.TransferBlockedException;
+import com.paymentapi.exception.TransferLimitExceededException;
+import com.paymentapi.exception.TransferNotAllowedException;
+import com.paymentapi.exception.TransferNotAuthorizedException;
+import com.paymentapi.exception.TransferTimeoutException;
+import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.metrics.TransferMetrics;
+import com.paymentapi.repository.TransactionRepository;
+import com.paymentapi.repository.UserRepository;
+import com.paymentapi.util.FailFastTaskScope;
+import com.paymentapi.util.FailFastTaskScope.Subtask;
+import com.paymentapi.util.MonetaryUtil;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Serviço responsável por executar transferências entre usuários.
+ * <p>
+ * A transferência acontece em duas fases:
+ * <ul>
+ *   <li>Resolução: busca do pagador (com pré-checagem de saldo), busca do recebedor e consulta
+ *       ao serviço externo de autorização rodam em paralelo, com prazo compartilhado. A primeira
+ *       falha encerra a fase e cancela a autorização; as buscas no banco terminam em segundo
+ *       plano, sem interrupção, para não perder a conexão do pool. A latência desta fase fica
+ *       perto da etapa mais lenta, e não da soma delas.</li>
+ *   <li>Antifraude: regras compiladas avaliadas pelo {@link FraudRuleEngine}.</li>
+ *   <li>Limites: valor diário e quantidade por minuto checados em memória pelo
+ *       {@link TransferLimitService}, que reserva o valor antes da escrita.</li>
+ *   <li>Escrita: numa única transação, grava a transação e atualiza os saldos com lock
+ *       pessimista, sempre em ordem crescente de id para evitar deadlock entre transferências
+ *       em sentidos opostos. O saldo é revalidado sob o lock. Com créditos diferidos, o crédito
+ *       do recebedor vai para o journal sem lock ({@link WalletService#credit}).</li>
+ * </ul>
+ * Os efeitos colaterais ficam nos listeners do {@link TransferCompletedEvent} e do
+ * {@code BalanceChangedEvent}, entregues só depois do commit.
+ * Nenhuma conexão ou lock do banco fica preso enquanto o serviço de autorização é consultado.
+ */
+@Service
+public class TransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferService.class);
+
+    public static final String OPERATION_DEBIT = "TRANSFER_DEBIT";
+    public static final String OPERATION_CREDIT = "TRANSFER_CREDIT";
+
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final WalletService walletService;
+    private final AuthorizationService authorizationService;
+    private final UserExistenceFilter userExistenceFilter;
+    private final FraudRuleEngine fraudRuleEngine;
+    private final TransferLimitService transferLimitService;
+    private final TransferMetrics transferMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration deadline;
+
+    public TransferService(
+            UserRepository userRepository,
+            TransactionRepository transactionRepository,
+            WalletService walletService,
+            AuthorizationService authorizationService,
+            UserExistenceFilter userExistenceFilter,
+            FraudRuleEngine fraudRuleEngine,
+            TransferLimitService transferLimitService,
+            TransferMetrics transferMetrics,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${payment.transfer.deadline:3s}") Duration deadline) {
+        this.userRepository = userRepository;
+        this.transactionRepository = transactionRepository;
+        this.walletService = walletService;
+        this.authorizationService = authorizationService;
+        this.userExistenceFilter = userExistenceFilter;
+        this.fraudRuleEngine = fraudRuleEngine;
+        this.transferLimitService = transferLimitService;
+        this.transferMetrics = transferMetrics;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deadline = deadline;
+    }
+
+    /**
+     * Executa uma transferência.
+     *
+     * @param request valor, CPF do pagador e CPF/CNPJ do recebedor
+     * @return dados da transação concluída
+     * @throws UserNotFoundException se pagador ou recebedor não existirem
+     * @throws TransferNotAllowedException se o pagador for lojista ou igual ao recebedor
+     * @throws InsufficientFundsException se o pagador não tiver saldo
+     * @throws TransferBlockedException se uma regra antifraude bloquear a transferência
+     * @throws TransferLimitExceededException se o pagador ou o lojista recebedor passar de um limite
+     * @throws TransferNotAuthorizedException se o serviço de autorização negar
+     * @throws AuthorizationUnavailableException se o serviço de autorização falhar
+     * @throws TransferTimeoutException se a resolução não terminar dentro do prazo
+     */
+    public TransferResponse transfer(TransferRequest request) {
+        return transfer(request, transactionId -> { });
+    }
+
+    /**
+     * Executa uma transferência e roda {@code inTransaction} na mesma transação da escrita, depois
+     * de gravar a transação e os saldos. Uma exceção lançada por ele desfaz a transferência.
+     * A resolução e a autorização continuam fora da transação.
+     *
+     * @param request valor, CPF do pagador e CPF/CNPJ do recebedor
+     * @param inTransaction recebe o id da transação gravada
+     * @return dados da transação concluída
+     * @see #transfer(TransferRequest)
+     */
+    public TransferResponse transfer(TransferRequest request, Consumer<UUID> inTransaction) {
+        long start = System.nanoTime();
+        String status = "failed";
+
+        try {
+            Integer amount = MonetaryUtil.convertToIntegerCents(request.value());
+            if (request.payer().equals(request.payee())) {
+                throw new TransferNotAllowedException("Pagador e recebedor devem ser diferentes");
+            }
+
+            ResolvedTransfer resolved = resolve(request, amount);
+
+            fraudRuleEngine.check(resolved.payer(), resolved.payee(), amount);
+
+            TransferLimitService.Reservation reservation =
+                transferLimitService.acquire(resolved.payer(), resolved.payee(), amount);
+
+            long writeStart = System.nanoTime();
+            Transaction transaction;
+            try {
+                transaction = transactionTemplate.execute(txStatus -> {
+                    Transaction written = executeTransfer(resolved.payer(), resolved.payee(), amount);
+                    inTransaction.accept(written.getId());
+                    return written;
+                });
+            } catch (RuntimeException e) {
+                reservation.release();
+                throw e;
+            }
+            transferMetrics.recordStepDuration("write", Duration.ofNanos(System.nanoTime() - writeStart));
+
+            status = "success";
+            logger.info("Transfer completed. TransactionId: {}, PayerId: {}, PayeeId: {}, Amount: {}",
+                transaction.getId(), transaction.getPayerId(), transaction.getPayeeId(), amount);
+
+            return new TransferResponse(
+                transaction.getId(),
+                transaction.getPayerId(),
+                transaction.getPayeeId(),
+                MonetaryUtil.convertToBigDecimal(transaction.getAmount()),
+                transaction.getStatus(),
+                transaction.getCreatedAt());
+        } catch (RuntimeException e) {
+            transferMetrics.recordTransferFailed(failureReason(e));
+            throw e;
+        } finally {
+            transferMetrics.recordTransferTotal(status);
+            transferMetrics.recordTransferDuration(Duration.ofNanos(System.nanoTime() - start), status);
+        }
+    }
+
+    /**
+     * Resolve pagador, recebedor e autorização em paralelo, com prazo compartilhado.
+     */
+    private ResolvedTransfer resolve(TransferRequest request, Integer amount) {
+        Instant resolveDeadline = Instant.now().plus(deadline);
+
+        try (FailFastTaskScope scope = new FailFastTaskScope("transfer")) {
+            // Lookups no banco não são interrompidos: a interrupção fecharia a conexão do pool
+            Subtask<TransferParty> payer = scope.forkUninterruptible(timed("payer_lookup",
+                () -> resolvePayer(request.payer(), amount)));
+            Subtask<TransferParty> payee = scope.forkUninterruptible(timed("payee_lookup",
+                () -> findParty(request.payee())));
+            scope.fork(timed("authorization", () -> {
+                authorizationService.authorize();
+                return null;
+            }));
+
+            scope.joinUntil(resolveDeadline);
+            scope.throwIfFailed();
+            return new ResolvedTransfer(payer.get(), payee.get());
+        } catch (TimeoutException e) {
+            throw new TransferTimeoutException(deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Transferência interrompida", e);
+        }
+    }
+
+    private TransferParty resolvePayer(String cpf, Integer amount) {
+        TransferParty payer = findParty(cpf);
+        if (payer.userType() == UserType.MERCHANT) {
+            throw new TransferNotAllowedException("Lojistas não podem enviar transferências");
+        }
+        // Pré-checagem sem lock: evita a escrita (e a chamada de autorização) quando já falta saldo
+        if (payer.walletBalance() < amount) {
+            throw new InsufficientFundsException(payer.id(), amount, payer.walletBalance());
+        }
+        return payer;
+    }
+
+    private TransferParty findParty(String cpfOrCnpj) {
+        if (!userExistenceFilter.mightContainCpf(cpfOrCnpj)) {
+            throw new UserNotFoundException(cpfOrCnpj);
+        }
+        return userRepository.findTransferPartyByCpf(cpfOrCnpj)
+            .orElseThrow(() -> {
+                userExistenceFilter.recordFalsePositive("cpf");
+                return new UserNotFoundException(cpfOrCnpj);
+            });
+    }
+
+    private Transaction executeTransfer(TransferParty payer, TransferParty payee, Integer amount) {
+        Transaction transaction = new Transaction();
+        transaction.setPayerId(payer.id());
+        transaction.setPayeeId(payee.id());
+        transaction.setAmount(amount);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction = transactionRepository.save(transaction);
+
+        if (payer.id().compareTo(payee.id()) < 0) {
+            walletService.updateBalance(payer.id(), -amount, OPERATION_DEBIT, transaction.getId());
+            walletService.credit(payee.id(), amount, OPERATION_CREDIT, transaction.getId());
+        } else {
+            walletService.credit(payee.id(), amount, OPERATION_CREDIT, transaction.getId());
+            walletService.updateBalance(payer.id(), -amount, OPERATION_DEBIT, transaction.getId());
+        }
+
+        eventPublisher.publishEvent(new TransferCompletedEvent(
+            transaction.getId(), payer.id(), payer.userType(), payee.id(), amount, transaction.getCreatedAt()));
+        return transaction;
+    }
+
+    private <T> Callable<T> timed(String step, Callable<T> task) {
+        return () -> {
+            long stepStart = System.nanoTime();
+            try {
+                return task.call();
+            } finally {
+                transferMetrics.recordStepDuration(step, Duration.ofNanos(System.nanoTime() - stepStart));
+            }
+        };
+    }
+
+    /**
+     * @return motivo da falha usado no label reason de payment_transfer_failed_total
+     */
+    static String failureReason(Throwable e) {
+        if (e instanceof InsufficientFundsException || e instanceof NegativeBalanceException) {
+            return "insufficient_funds";
+        }
+        if (e instanceof TransferLimitExceededException) {
+            return "limit_exceeded";
+        }
+        if (e instanceof TransferBlockedException) {
+            return "fraud_blocked";
+        }
+        if (e instanceof TransferNotAuthorizedException) {
+            return "authorization_denied";
+        }
+        if (e instanceof AuthorizationUnavailableException) {
+            return "authorization_unavailable";
+        }
+        if (e instanceof TransferTimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof UserNotFoundException) {
+            return "user_not_found";
+        }
+        if (e instanceof TransferNotAllowedException) {
+            return "not_allowed";
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "invalid_value";
+        }
+        return "error";
+    }
+
+    private record ResolvedTransfer(TransferParty payer, TransferParty payee) {
+    }
+}
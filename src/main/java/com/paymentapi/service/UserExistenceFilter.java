@@ -0,0 +1,245 @@
+package com.paymentapi.service;
+
+import com.paymentapi.metrics.UserFilterMetrics;
+import com.paymentapi.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Filtro de existência em memória para CPFs, CNPJs e emails cadastrados.
+ * <p>
+ * Mantém um Bloom filter carregado no startup a partir da tabela users e atualizado a cada
+ * inserção. Uma resposta negativa é definitiva e permite pular a consulta ao banco; uma
+ * resposta positiva ("talvez") exige a consulta normal. As constraints únicas do banco
+ * continuam sendo a garantia final de unicidade.
+ * <p>
+ * Enquanto o filtro não foi carregado (ou se estiver desabilitado), todas as consultas
+ * respondem "talvez", ou seja, o comportamento é o mesmo de sem filtro.
+ * <p>
+ * Inserções feitas em outras réplicas chegam pelo {@link CacheInvalidationBus}; se o barramento
+ * detectar perda de mensagens, o filtro é reconstruído.
+ */
+@Service
+public class UserExistenceFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserExistenceFilter.class);
+
+    private static final String STREAM_QUERY = "SELECT cpf, email, cnpj FROM users";
+    private static final String COUNT_QUERY = "SELECT count(*) FROM users";
+    private static final int STREAM_FETCH_SIZE = 5000;
+    private static final int KEYS_PER_USER = 3;
+
+    private static final String CPF_PREFIX = "cpf:";
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String CNPJ_PREFIX = "cnpj:";
+
+    static final String CPF_INVALIDATION = "user_cpf";
+    static final String EMAIL_INVALIDATION = "user_email";
+    static final String CNPJ_INVALIDATION = "user_cnpj";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserFilterMetrics userFilterMetrics;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final TransactionTemplate rebuildTransaction;
+
+    // Filtro consultado pelas leituras
+    private volatile BloomFilter activeFilter;
+    // Filtro em construção durante um rebuild; inserções concorrentes vão para os dois
+    private volatile BloomFilter buildingFilter;
+    private volatile boolean loaded;
+
+    public UserExistenceFilter(
+            JdbcTemplate jdbcTemplate,
+            UserFilterMetrics userFilterMetrics,
+            CacheInvalidationBus cacheInvalidationBus,
+            PlatformTransactionManager transactionManager,
+            @Value("${payment.user-filter.enabled:true}") boolean enabled,
+            @Value("${payment.user-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${payment.user-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userFilterMetrics = userFilterMetrics;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.activeFilter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        // A reconstrução disparada pelo barramento precisa de transação para o cursor com fetch size
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Registra os gauges e as inscrições no barramento de invalidação (chaves inseridas em outras
+     * réplicas). Os callbacks rodam em threads do barramento, por isso só são entregues depois que
+     * o construtor termina.
+     */
+    @PostConstruct
+    void subscribe() {
+        userFilterMetrics.bindFilterGauges(() -> this.activeFilter);
+        cacheInvalidationBus.subscribe(CPF_INVALIDATION, cpf -> putCommittedKeys(cpf, null, null));
+        cacheInvalidationBus.subscribe(EMAIL_INVALIDATION, email -> putCommittedKeys(null, email, null));
+        cacheInvalidationBus.subscribe(CNPJ_INVALIDATION, cnpj -> putCommittedKeys(null, null, cnpj));
+        cacheInvalidationBus.onFullFlush(() -> rebuildTransaction.executeWithoutResult(status -> rebuild()));
+    }
+
+    /**
+     * Reconstrói o filtro lendo a tabela users em streaming (cursor com fetch size).
+     * Executado quando a aplicação termina de subir e pode ser chamado novamente a qualquer momento.
+     * Se a leitura falhar, o filtro anterior continua ativo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            logger.info("User existence filter disabled");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            Long rows = jdbcTemplate.queryForObject(COUNT_QUERY, Long.class);
+            long capacity = Math.max(expectedInsertions, (rows == null ? 0 : rows) * KEYS_PER_USER * 2);
+            BloomFilter next = BloomFilter.create(capacity, falsePositiveRate);
+            buildingFilter = next;
+
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(STREAM_QUERY);
+                statement.setFetchSize(STREAM_FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) resultSet -> putKeys(next, resultSet.getString("cpf"),
+                resultSet.getString("email"), resultSet.getString("cnpj")));
+
+            activeFilter = next;
+            loaded = true;
+            logger.info("User existence filter loaded: users={}, bits={}, hashes={}, memoryBytes={}, tookMs={}",
+                rows, next.bitSize(), next.hashFunctions(), next.memoryBytes(),
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to load user existence filter, keeping previous state: {}", e.getMessage());
+        } finally {
+            buildingFilter = null;
+        }
+    }
+
+    /**
+     * Registra as chaves de um usuário recém-inserido, aqui e nas outras réplicas.
+     * Dentro de uma transação, o registro acontece só depois do commit: assim um rebuild
+     * concorrente nunca perde a inserção (ou ela está no snapshot lido, ou chega depois dele).
+     *
+     * @param cpf CPF do usuário
+     * @param email email do usuário
+     * @param cnpj CNPJ do usuário (pode ser null)
+     */
+    public void record(String cpf, String email, String cnpj) {
+        if (enabled) {
+            publishKey(CPF_INVALIDATION, cpf);
+            publishKey(EMAIL_INVALIDATION, email);
+            publishKey(CNPJ_INVALIDATION, cnpj);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putCommittedKeys(cpf, email, cnpj);
+                }
+            });
+        } else {
+            putCommittedKeys(cpf, email, cnpj);
+        }
+    }
+
+    /**
+     * @param cpf CPF (ou CNPJ armazenado na coluna cpf) a verificar
+     * @return false se o CPF definitivamente não está cadastrado
+     */
+    public boolean mightContainCpf(String cpf) {
+        return check("cpf", CPF_PREFIX + cpf);
+    }
+
+    /**
+     * @param email email a verificar
+     * @return false se o email definitivamente não está cadastrado
+     */
+    public boolean mightContainEmail(String email) {
+        return check("email", EMAIL_PREFIX + email);
+    }
+
+    /**
+     * @param cnpj CNPJ a verificar
+     * @return false se o CNPJ definitivamente não está cadastrado
+     */
+    public boolean mightContainCnpj(String cnpj) {
+        return check("cnpj", CNPJ_PREFIX + cnpj);
+    }
+
+    /**
+     * Informa que uma resposta "talvez" não foi confirmada pelo banco.
+     *
+     * @param key tipo da chave (cpf, email, cnpj)
+     */
+    public void recordFalsePositive(String key) {
+        userFilterMetrics.recordFalsePositive(key);
+    }
+
+    /**
+     * @return true se o filtro já foi carregado e suas respostas negativas são confiáveis
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    private void putCommittedKeys(String cpf, String email, String cnpj) {
+        // Lê o filtro em construção antes do ativo: o rebuild troca o ativo antes de limpar o em construção
+        BloomFilter building = buildingFilter;
+        BloomFilter active = activeFilter;
+        putKeys(active, cpf, email, cnpj);
+        if (building != null && building != active) {
+            putKeys(building, cpf, email, cnpj);
+        }
+    }
+
+    private void publishKey(String type, String key) {
+        if (key != null) {
+            cacheInvalidationBus.publish(type, key);
+        }
+    }
+
+    private boolean check(String keyType, String key) {
+        if (!enabled || !loaded) {
+            userFilterMetrics.recordCheck(keyType, "bypass");
+            return true;
+        }
+
+        boolean maybe = activeFilter.mightContain(key);
+        userFilterMetrics.recordCheck(keyType, maybe ? "maybe" : "negative");
+        return maybe;
+    }
+
+    private static void putKeys(BloomFilter filter, String cpf, String email, String cnpj) {
+        if (cpf != null) {
+            filter.put(CPF_PREFIX + cpf);
+        }
+        if (email != null) {
+            filter.put(EMAIL_PREFIX + email);
+        }
+        if (cnpj != null) {
+            filter.put(CNPJ_PREFIX + cnpj);
+        }
+    }
+}
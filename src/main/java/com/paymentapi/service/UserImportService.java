@@ -0,0 +1,428 @@
+package com.paymentapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.dto.internal.ExistingUserKeys;
+import com.paymentapi.dto.request.UserImportRow;
+import com.paymentapi.dto.response.UserImportResponse;
+import com.paymentapi.dto.response.UserImportResponse.RowError;
+import com.paymentapi.entity.User;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.InvalidPasswordException;
+import com.paymentapi.metrics.UserImportMetrics;
+import com.paymentapi.repository.UserRepository;
+import com.paymentapi.util.PasswordValidator;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Serviço de importação em massa de usuários (onboarding de parceiros).
+ * <p>
+ * O arquivo é lido em streaming e processado em lotes num pipeline de duas etapas:
+ * <ul>
+ *   <li>Validação (CPF/CNPJ/email/senha) e hashing BCrypt em paralelo num ForkJoinPool
+ *       dimensionado pelos cores disponíveis</li>
+ *   <li>Inserção set-based do lote anterior enquanto o próximo lote é hasheado</li>
+ * </ul>
+ * Cada lote é commitado na sua própria transação. Linhas inválidas ou duplicadas são
+ * reportadas individualmente e não interrompem a importação.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final List<String> CSV_COLUMNS =
+        List.of("nomeCompleto", "cpf", "email", "senha", "userType", "cnpj");
+
+    /**
+     * Formatos de arquivo aceitos na importação.
+     */
+    public enum ImportFormat {
+        CSV,
+        NDJSON
+    }
+
+    private final UserRepository userRepository;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final UserExistenceFilter userExistenceFilter;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final UserImportMetrics userImportMetrics;
+    private final ForkJoinPool hashingPool;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public UserImportService(
+            UserRepository userRepository,
+            BCryptPasswordEncoder passwordEncoder,
+            UserExistenceFilter userExistenceFilter,
+            Validator validator,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            UserImportMetrics userImportMetrics,
+            @Value("${payment.user-import.batch-size:1000}") int batchSize,
+            @Value("${payment.user-import.hashing-parallelism:0}") int hashingParallelism,
+            @Value("${payment.user-import.max-errors:1000}") int maxErrors) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userExistenceFilter = userExistenceFilter;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userImportMetrics = userImportMetrics;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        // 0 = um worker por core
+        this.hashingPool = new ForkJoinPool(hashingParallelism > 0
+            ? hashingParallelism
+            : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Importa usuários a partir de um stream CSV (com cabeçalho) ou NDJSON (um objeto por linha).
+     *
+     * @param input conteúdo do arquivo
+     * @param format formato do conteúdo
+     * @return resumo da importação com erros por linha
+     * @throws IOException se a leitura do stream falhar
+     */
+    public UserImportResponse importUsers(InputStream input, ImportFormat format) throws IOException {
+        long start = System.nanoTime();
+        ImportState state = new ImportState();
+        CompletableFuture<List<PendingUser>> inFlight = null;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> csvHeader = null;
+            List<ParsedRow> chunk = new ArrayList<>(batchSize);
+            String line;
+            long lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (format == ImportFormat.CSV && csvHeader == null) {
+                    csvHeader = parseCsvHeader(line);
+                    continue;
+                }
+
+                state.totalRows++;
+                ParsedRow parsed = parseAndValidate(line, lineNumber, format, csvHeader, state);
+                if (parsed != null) {
+                    chunk.add(parsed);
+                }
+
+                if (chunk.size() >= batchSize) {
+                    inFlight = submitBatch(chunk, inFlight, state);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                inFlight = submitBatch(chunk, inFlight, state);
+            }
+            if (inFlight != null) {
+                insertBatch(inFlight.join(), state);
+            }
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        userImportMetrics.recordImportDuration(format.name().toLowerCase(Locale.ROOT), duration);
+
+        double seconds = Math.max(duration.toNanos() / 1_000_000_000.0, 1e-9);
+        logger.info("Importação de usuários concluída. Linhas: {}, Importadas: {}, Falhas: {}, Duração: {}ms",
+            state.totalRows, state.importedRows, state.failedRows, duration.toMillis());
+
+        // Duplicados são detectados depois das linhas inválidas seguintes; ordena pelo número da linha
+        state.errors.sort(Comparator.comparingLong(RowError::line));
+
+        return new UserImportResponse(
+            state.totalRows,
+            state.importedRows,
+            state.failedRows,
+            duration.toMillis(),
+            state.totalRows / seconds,
+            List.copyOf(state.errors),
+            state.errorsTruncated
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    /**
+     * Dispara o hashing do lote atual no pool e, enquanto ele roda, insere o lote anterior.
+     */
+    private CompletableFuture<List<PendingUser>> submitBatch(List<ParsedRow> chunk,
+                                                             CompletableFuture<List<PendingUser>> previous,
+                                                             ImportState state) {
+        CompletableFuture<List<PendingUser>> next =
+            CompletableFuture.supplyAsync(() -> hashBatch(chunk), hashingPool);
+        if (previous != null) {
+            insertBatch(previous.join(), state);
+        }
+        return next;
+    }
+
+    /**
+     * Hasheia as senhas do lote em paralelo. Executado dentro do hashingPool, então o
+     * parallelStream usa os workers desse pool e não o common pool.
+     */
+    private List<PendingUser> hashBatch(List<ParsedRow> chunk) {
+        long start = System.nanoTime();
+        List<PendingUser> hashed = chunk.parallelStream()
+            .map(parsed -> new PendingUser(parsed.line(), toUser(parsed.row())))
+            .toList();
+        userImportMetrics.recordStageDuration("hashing", Duration.ofNanos(System.nanoTime() - start));
+        return hashed;
+    }
+
+    private User toUser(UserImportRow row) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setNomeCompleto(row.nomeCompleto());
+        user.setCpf(row.cpf());
+        user.setEmail(row.email());
+        user.setCnpj(row.cnpj());
+        user.setSenha(passwordEncoder.encode(row.senha()));
+        user.setUserType(row.userType());
+        return user;
+    }
+
+    /**
+     * Insere o lote numa transação própria e reporta as linhas em conflito. As chaves em conflito
+     * do lote inteiro são buscadas numa única consulta, depois do insert.
+     */
+    private void insertBatch(List<PendingUser> batch, ImportState state) {
+        long start = System.nanoTime();
+        List<User> users = batch.stream().map(PendingUser::user).toList();
+
+        List<RowError> duplicates = transactionTemplate.execute(status -> {
+            Set<UUID> inserted = userRepository.insertAllIfAbsent(users);
+            List<PendingUser> rejected = new ArrayList<>();
+
+            for (PendingUser pending : batch) {
+                User user = pending.user();
+                if (inserted.contains(user.getId())) {
+                    userExistenceFilter.record(user.getCpf(), user.getEmail(), user.getCnpj());
+                } else {
+                    rejected.add(pending);
+                }
+            }
+            if (rejected.isEmpty()) {
+                return List.of();
+            }
+
+            ExistingUserKeys existing = userRepository.findExistingKeys(
+                rejected.stream().map(pending -> pending.user().getCpf()).toList(),
+                rejected.stream().map(pending -> pending.user().getEmail()).toList(),
+                rejected.stream().map(pending -> pending.user().getCnpj()).toList());
+            return rejected.stream()
+                .map(pending -> new RowError(pending.line(), duplicateMessage(pending.user(), existing)))
+                .toList();
+        });
+
+        int imported = batch.size() - duplicates.size();
+        state.importedRows += imported;
+        userImportMetrics.recordRows("imported", imported);
+        userImportMetrics.recordRows("duplicate", duplicates.size());
+        duplicates.forEach(state::addError);
+        userImportMetrics.recordStageDuration("insert", Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Mensagem do conflito da linha, com a mesma precedência do cadastro individual: CPF, e-mail, CNPJ.
+     */
+    private static String duplicateMessage(User user, ExistingUserKeys existing) {
+        if (existing.cpfs().contains(user.getCpf())) {
+            return "CPF já cadastrado";
+        }
+        if (existing.emails().contains(user.getEmail())) {
+            return "Email já cadastrado";
+        }
+        if (user.getCnpj() != null && existing.cnpjs().contains(user.getCnpj())) {
+            return "CNPJ já cadastrado";
+        }
+        return "CPF já cadastrado";
+    }
+
+    /**
+     * Converte a linha em {@link UserImportRow} e aplica as validações (Bean Validation e senha).
+     *
+     * @return linha válida, ou null se a linha foi rejeitada (o erro já é registrado no estado)
+     */
+    private ParsedRow parseAndValidate(String line, long lineNumber, ImportFormat format,
+                                       Map<String, Integer> csvHeader, ImportState state) {
+        UserImportRow row;
+        try {
+            row = format == ImportFormat.CSV ? parseCsvRow(line, csvHeader) : parseJsonRow(line);
+        } catch (IllegalArgumentException e) {
+            rejectRow(state, lineNumber, e.getMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            String detail = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+            rejectRow(state, lineNumber, detail);
+            return null;
+        }
+
+        try {
+            PasswordValidator.validatePassword(row.senha());
+        } catch (InvalidPasswordException e) {
+            rejectRow(state, lineNumber, e.getMessage());
+            return null;
+        }
+
+        return new ParsedRow(lineNumber, row);
+    }
+
+    private void rejectRow(ImportState state, long lineNumber, String message) {
+        state.addError(new RowError(lineNumber, message));
+        userImportMetrics.recordRows("invalid", 1);
+    }
+
+    private UserImportRow parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, UserImportRow.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private Map<String, Integer> parseCsvHeader(String line) {
+        List<String> columns = splitCsvLine(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim(), i);
+        }
+
+        for (String required : CSV_COLUMNS.subList(0, 5)) {
+            if (!header.containsKey(required)) {
+                throw new IllegalArgumentException("Cabeçalho CSV sem a coluna obrigatória: " + required);
+            }
+        }
+        return header;
+    }
+
+    private UserImportRow parseCsvRow(String line, Map<String, Integer> header) {
+        List<String> values = splitCsvLine(line);
+        String userType = csvValue(values, header, "userType");
+
+        UserType type;
+        try {
+            type = userType == null ? null : UserType.valueOf(userType.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo de usuário inválido: " + userType);
+        }
+
+        return new UserImportRow(
+            csvValue(values, header, "nomeCompleto"),
+            csvValue(values, header, "cpf"),
+            csvValue(values, header, "email"),
+            csvValue(values, header, "senha"),
+            type,
+            csvValue(values, header, "cnpj")
+        );
+    }
+
+    private static String csvValue(List<String> values, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Separa uma linha CSV respeitando campos entre aspas duplas ("" escapa uma aspa).
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private record ParsedRow(long line, UserImportRow row) {}
+
+    private record PendingUser(long line, User user) {}
+
+    /**
+     * Contadores e erros acumulados de uma importação. Acessado só pela thread do request.
+     */
+    private final class ImportState {
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+        private final List<RowError> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+
+        private void addError(RowError error) {
+            failedRows++;
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.paymentapi.service;
 import com.paymentapi.dto.request.UserCreateRequest;
 import com.paymentapi.dto.response.UserResponse;
 import com.paymentapi.entity.User;
+import com.paymentapi.exception.BusinessException;
 import com.paymentapi.exception.DuplicateCpfException;
 import com.paymentapi.exception.DuplicateEmailException;
 import com.paymentapi.repository.UserRepository;
+import com.paymentapi.repository.UserRepositoryCustom;
 import com.paymentapi.util.PasswordValidator;
 import java.time.LocalDateTime;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -21,25 +23,33 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final UserExistenceFilter userExistenceFilter;
 
     /**
      * Construtor com injeção de dependência
      *
      * @param userRepository repositório para acesso a dados de usuários
      * @param passwordEncoder encoder BCrypt para hashing de senhas
+     * @param userExistenceFilter filtro em memória de CPFs/emails, atualizado a cada cadastro
      */
-    public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder,
+                       UserExistenceFilter userExistenceFilter) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userExistenceFilter = userExistenceFilter;
     }
 
     /**
      * Cria um novo usuário no sistema com validações completas de segurança usando @Transactional.
+     * <p>
+     * A inserção é feita num único statement (INSERT ... ON CONFLICT DO NOTHING). A unicidade de
+     * CPF, email e CNPJ é garantida pelas constraints do banco, inclusive entre cadastros concorrentes;
+     * só em caso de conflito é feita uma segunda consulta para identificar qual campo está duplicado.
      *
      * @param request dados para criação do usuário
      * @return UserResponse com dados do usuário criado (sem senha)
      * @throws InvalidPasswordException se senha não for complexa o suficiente
-     * @throws DuplicateCpfException se CPF já estiver cadastrado
+     * @throws DuplicateCpfException se CPF (ou CNPJ) já estiver cadastrado
      * @throws DuplicateEmailException se e-mail já estiver cadastrado
      */
     @Transactional
@@ -47,14 +57,6 @@ public class UserService {
         // Valida complexidade da senha antes de hashear
         PasswordValidator.validatePassword(request.senha());
 
-        if (userRepository.findByCpf(request.cpf()).isPresent()) {
-            throw new DuplicateCpfException("CPF já cadastrado: " + request.cpf());
-        }
-
-        if (userRepository.findByEmail(request.email()).isPresent()) {
-            throw new DuplicateEmailException("Email já cadastrado: " + request.email());
-        }
-
         // Hash da senha
         String hashedPassword = passwordEncoder.encode(request.senha());
 
@@ -69,7 +71,9 @@ public class UserService {
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
-        User savedUser = userRepository.save(user);
+        User savedUser = userRepository.insertIfAbsent(user)
+            .orElseThrow(() -> duplicateUserException(user));
+        userExistenceFilter.record(savedUser.getCpf(), savedUser.getEmail(), savedUser.getCnpj());
 
         // Retorna DTO
         return new UserResponse(
@@ -82,4 +86,21 @@ public class UserService {
             savedUser.getCreatedAt()
         );
     }
+
+    /**
+     * Traduz um conflito de unicidade na exceção de negócio correspondente à constraint violada.
+     */
+    private BusinessException duplicateUserException(User user) {
+        String constraint = userRepository
+            .findConflictingConstraint(user.getCpf(), user.getEmail(), user.getCnpj())
+            .orElse(UserRepositoryCustom.CPF_CONSTRAINT);
+
+        return switch (constraint) {
+            case UserRepositoryCustom.EMAIL_CONSTRAINT ->
+                new DuplicateEmailException("Email já cadastrado: " + user.getEmail());
+            case UserRepositoryCustom.CNPJ_CONSTRAINT ->
+                new DuplicateCpfException("CNPJ já cadastrado: " + user.getCnpj());
+            default -> new DuplicateCpfException("CPF já cadastrado: " + user.getCpf());
+        };
+    }
 }
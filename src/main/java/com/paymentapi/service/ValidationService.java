@@ -15,14 +15,17 @@ import org.springframework.transaction.annotation.Transactional;
 public class ValidationService {
 
     private final UserRepository userRepository;
+    private final UserExistenceFilter userExistenceFilter;
 
     /**
      * Construtor com injeção de dependências.
      *
      * @param userRepository repositório de usuários
+     * @param userExistenceFilter filtro em memória de CPFs/CNPJs cadastrados
      */
-    public ValidationService(UserRepository userRepository) {
+    public ValidationService(UserRepository userRepository, UserExistenceFilter userExistenceFilter) {
         this.userRepository = userRepository;
+        this.userExistenceFilter = userExistenceFilter;
     }
 
     /**
@@ -33,7 +36,8 @@ public class ValidationService {
      * no campo CPF da entidade User.
      * <p>
      * Utiliza @Transactional(readOnly = true) para leituras consistentes
-     * sem necessidade de locks de escrita.
+     * sem necessidade de locks de escrita. Quando o filtro de existência responde que o
+     * documento definitivamente não está cadastrado, a consulta ao banco é evitada.
      *
      * @param cpfOrCnpj CPF (11 dígitos) ou CNPJ (14 dígitos) do usuário
      * @throws UserNotFoundException se o usuário não for encontrado
@@ -42,7 +46,14 @@ public class ValidationService {
     public void validateUserExists(String cpfOrCnpj) {
         // CPF e CNPJ são ambos armazenados no campo CPF
         // A distinção é feita pelo comprimento: 11 = CPF, 14 = CNPJ
+        if (!userExistenceFilter.mightContainCpf(cpfOrCnpj)) {
+            throw new UserNotFoundException(cpfOrCnpj);
+        }
+
         userRepository.findByCpf(cpfOrCnpj)
-            .orElseThrow(() -> new UserNotFoundException(cpfOrCnpj));
+            .orElseThrow(() -> {
+                userExistenceFilter.recordFalsePositive("cpf");
+                return new UserNotFoundException(cpfOrCnpj);
+            });
     }
 }
@@ -0,0 +1,159 @@
+package com.paymentapi.service;
+
+import com.paymentapi.entity.WalletHold;
+import com.paymentapi.metrics.WalletMetrics;
+import com.paymentapi.repository.UserRepository;
+import com.paymentapi.repository.WalletHoldRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Libera as reservas de saldo vencidas sem captura.
+ * <p>
+ * Cada lote é uma transação curta: bloqueia até batch-size reservas ativas vencidas com
+ * {@code FOR UPDATE SKIP LOCKED}, devolve os valores ao disponível dos users (em ordem crescente
+ * de id, a mesma das transferências) e marca as reservas como EXPIRED. Reservas sendo capturadas
+ * ou liberadas naquele instante são puladas, e vários nós podem varrer ao mesmo tempo sem
+ * disputar as mesmas linhas. A passada segue lote a lote até sobrar um lote incompleto.
+ */
+@Service
+public class WalletHoldSweeper implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(WalletHoldSweeper.class);
+
+    private final WalletHoldRepository walletHoldRepository;
+    private final UserRepository userRepository;
+    private final WalletMetrics walletMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final int batchSize;
+
+    private Thread sweeper;
+    private volatile boolean running;
+
+    public WalletHoldSweeper(
+            WalletHoldRepository walletHoldRepository,
+            UserRepository userRepository,
+            WalletMetrics walletMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${payment.wallet.holds.sweeper.enabled:true}") boolean enabled,
+            @Value("${payment.wallet.holds.sweeper.interval:5s}") Duration interval,
+            @Value("${payment.wallet.holds.sweeper.batch-size:500}") int batchSize) {
+        this.walletHoldRepository = walletHoldRepository;
+        this.userRepository = userRepository;
+        this.walletMetrics = walletMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Executa uma passada da varredura.
+     *
+     * @return quantidade de reservas expiradas
+     */
+    public int sweep() {
+        long start = System.nanoTime();
+        int expired = 0;
+        try {
+            int batch;
+            do {
+                LocalDateTime now = LocalDateTime.now();
+                batch = transactionTemplate.execute(status -> expireBatch(now));
+                expired += batch;
+            } while (batch == batchSize && !Thread.currentThread().isInterrupted());
+
+            walletMetrics.recordHoldSweep(Duration.ofNanos(System.nanoTime() - start), expired, "success");
+            if (expired > 0) {
+                logger.info("Expired wallet holds released. Holds: {}, TookMs: {}",
+                    expired, (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            // TransactionException: banco fora do ar no begin ou falha no commit
+            walletMetrics.recordHoldSweep(Duration.ofNanos(System.nanoTime() - start), expired, "failed");
+            logger.warn("Wallet hold sweep failed, retrying next round. Expired so far: {}, Error: {}",
+                expired, e.getMessage());
+        }
+        return expired;
+    }
+
+    private int expireBatch(LocalDateTime now) {
+        List<WalletHold> holds = walletHoldRepository.lockExpired(now, batchSize);
+        if (holds.isEmpty()) {
+            return 0;
+        }
+
+        // Soma por user; TreeMap dá a ordem crescente de id usada nos locks das transferências
+        Map<UUID, Integer> released = new TreeMap<>();
+        List<UUID> ids = new ArrayList<>(holds.size());
+        for (WalletHold hold : holds) {
+            released.merge(hold.getUserId(), hold.getAmount(), Integer::sum);
+            ids.add(hold.getId());
+        }
+        released.forEach(userRepository::releaseHeldAmount);
+        walletHoldRepository.markExpired(ids, now);
+        return holds.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("Wallet hold sweeper disabled");
+            return;
+        }
+        running = true;
+        sweeper = Thread.ofPlatform().name("wallet-hold-sweeper").daemon(true).start(this::runSweeper);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (sweeper != null) {
+            sweeper.interrupt();
+            try {
+                sweeper.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runSweeper() {
+        while (running) {
+            try {
+                sweep();
+            } catch (RuntimeException e) {
+                // Nenhum erro de uma passada pode encerrar a thread: tenta de novo após o intervalo
+                logger.error("Unexpected wallet hold sweep error, retrying next round", e);
+            }
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -1,59 +1,297 @@
 package com.paymentapi.service;
 
+import com.paymentapi.dto.internal.BalanceChangedEvent;
+import com.paymentapi.dto.internal.JournalCredit;
+import com.paymentapi.dto.internal.TransferCompletedEvent;
+import com.paymentapi.dto.internal.WalletBalanceView;
+import com.paymentapi.dto.request.BulkBalanceRequest;
+import com.paymentapi.dto.response.BulkBalanceResponse;
 import com.paymentapi.dto.response.WalletBalanceResponse;
+import com.paymentapi.dto.response.WalletHoldResponse;
+import com.paymentapi.entity.Transaction;
 import com.paymentapi.entity.User;
 import com.paymentapi.entity.WalletBalanceAudit;
+import com.paymentapi.entity.WalletHold;
+import com.paymentapi.entity.enums.TransactionStatus;
 import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.entity.enums.WalletHoldStatus;
 import com.paymentapi.exception.InsufficientFundsException;
 import com.paymentapi.exception.NegativeBalanceException;
+import com.paymentapi.exception.TransferNotAllowedException;
 import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.exception.WalletHoldNotActiveException;
+import com.paymentapi.exception.WalletHoldNotFoundException;
+import com.paymentapi.metrics.WalletMetrics;
+import com.paymentapi.repository.CreditJournalRepository;
+import com.paymentapi.repository.TransactionRepository;
 import com.paymentapi.repository.UserRepository;
 import com.paymentapi.repository.WalletBalanceAuditRepository;
+import com.paymentapi.repository.WalletHoldRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Serviço responsável por operações de controle de saldo da carteira.
  * - Pegar o saldo de carteira dos usuários
  * - Validação de fundos suficientes para operações
  * - Atualização atômica de saldos
+ * <p>
+ * Leituras de saldo concorrentes para o mesmo usuário são coalescidas (single-flight): a primeira
+ * vai ao banco e as que chegam enquanto ela está em andamento recebem o mesmo resultado. Nada é
+ * guardado depois que a leitura termina, então a defasagem máxima é a dessa leitura em andamento.
+ * <p>
+ * Reservas de saldo em duas fases: o lojista reserva um valor ({@link #hold}) e depois captura
+ * ({@link #capture}) ou libera ({@link #release}). A reserva fica em wallet_holds e o total
+ * reservado em {@code users.held_amount}; a linha do user só fica bloqueada durante cada operação,
+ * nunca pela vida da reserva. Débitos respeitam o saldo disponível (saldo menos reservado).
+ * Reservas vencidas são liberadas pelo {@link WalletHoldSweeper}.
+ * <p>
+ * Créditos diferidos (opcional, payment.wallet.deferred-credits.enabled): {@link #credit} grava o
+ * crédito no journal, sem lock na linha do recebedor, e o {@link CreditJournalMerger} soma os
+ * créditos ao saldo materializado em background. A leitura de saldo soma saldo e créditos
+ * pendentes num único statement. O saldo disponível para débitos e reservas é só o
+ * materializado: um crédito recebido pode ser gasto depois do merge.
  */
 @Service
 public class WalletService {
 
+    public static final String OPERATION_HOLD_CAPTURE_DEBIT = "HOLD_CAPTURE_DEBIT";
+    public static final String OPERATION_HOLD_CAPTURE_CREDIT = "HOLD_CAPTURE_CREDIT";
+    public static final String OPERATION_JOURNAL_MERGE = "CREDIT_JOURNAL_MERGE";
+
     private final UserRepository userRepository;
     private final WalletBalanceAuditRepository walletBalanceAuditRepository;
+    private final WalletHoldRepository walletHoldRepository;
+    private final TransactionRepository transactionRepository;
+    private final CreditJournalRepository creditJournalRepository;
+    private final WalletMetrics walletMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int bulkMaxKeys;
+    private final Duration holdMaxTtl;
+    private final boolean deferredCredits;
+
+    // Leituras de saldo em andamento, por usuário
+    private final Map<UUID, CompletableFuture<WalletBalanceResponse>> inflightReads = new ConcurrentHashMap<>();
 
     /**
      * Construtor do Wallet Service
      *
      * @param userRepository repositório para acesso dos dados
      * @param walletBalanceAuditRepository repositório para os registros das transações
+     * @param walletHoldRepository repositório das reservas de saldo
+     * @param transactionRepository repositório das transações geradas pelas capturas
+     * @param creditJournalRepository journal dos créditos diferidos
+     * @param walletMetrics métricas das leituras de saldo
+     * @param eventPublisher publica o {@link BalanceChangedEvent}, entregue aos listeners após o commit
+     * @param transactionManager gerenciador usado na transação somente leitura da leitura de saldo
+     * @param bulkMaxKeys quantidade máxima de chaves numa consulta de saldos em lote
+     * @param holdMaxTtl prazo máximo aceito para uma reserva de saldo
+     * @param deferredCredits se true, créditos vão para o journal em vez de travar a linha do user
      */
     public WalletService(UserRepository userRepository,
-                         WalletBalanceAuditRepository walletBalanceAuditRepository) {
+                         WalletBalanceAuditRepository walletBalanceAuditRepository,
+                         WalletHoldRepository walletHoldRepository,
+                         TransactionRepository transactionRepository,
+                         CreditJournalRepository creditJournalRepository,
+                         WalletMetrics walletMetrics,
+                         ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${payment.wallet.bulk-max-keys:500}") int bulkMaxKeys,
+                         @Value("${payment.wallet.holds.max-ttl:7d}") Duration holdMaxTtl,
+                         @Value("${payment.wallet.deferred-credits.enabled:false}") boolean deferredCredits) {
         this.userRepository = userRepository;
         this.walletBalanceAuditRepository = walletBalanceAuditRepository;
+        this.walletHoldRepository = walletHoldRepository;
+        this.transactionRepository = transactionRepository;
+        this.creditJournalRepository = creditJournalRepository;
+        this.walletMetrics = walletMetrics;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.bulkMaxKeys = bulkMaxKeys;
+        this.holdMaxTtl = holdMaxTtl;
+        this.deferredCredits = deferredCredits;
+        walletMetrics.bindInflightGauge(inflightReads);
     }
 
     /**
      * Pega o saldo atual da carteira de um usuário.
+     * Chamadas concorrentes para o mesmo usuário compartilham uma única leitura no banco.
      *
      * @param userId UUID do user
      * @return WalletBalanceResponse com userId, walletBalance e timestamp lastUpdated
      * @throws UserNotFoundException se o user com o ID não existir
      */
-    @Transactional(readOnly = true)
     public WalletBalanceResponse getBalance(UUID userId) {
+        // Dentro de uma transação aberta a leitura precisa enxergar as escritas dela
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            walletMetrics.recordBalanceRead("bypass");
+            return loadBalance(userId);
+        }
+
+        CompletableFuture<WalletBalanceResponse> flight = new CompletableFuture<>();
+        CompletableFuture<WalletBalanceResponse> inflight = inflightReads.putIfAbsent(userId, flight);
+        if (inflight != null) {
+            walletMetrics.recordBalanceRead("coalesced");
+            return await(inflight);
+        }
+
+        walletMetrics.recordBalanceRead("leader");
+        try {
+            WalletBalanceResponse balance = readOnlyTransaction.execute(status -> loadBalance(userId));
+            // Sai do mapa antes de completar: quem chegar depois daqui faz uma leitura nova
+            inflightReads.remove(userId, flight);
+            flight.complete(balance);
+            return balance;
+        } catch (Throwable e) {
+            inflightReads.remove(userId, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static WalletBalanceResponse await(CompletableFuture<WalletBalanceResponse> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private WalletBalanceResponse loadBalance(UUID userId) {
+        if (deferredCredits) {
+            return userRepository.findBalanceWithPendingCredits(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+        }
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new UserNotFoundException(userId));
 
-        return new WalletBalanceResponse(
-            user.getId(),
-            user.getWalletBalance(),
-            user.getUpdatedAt()
-        );
+        return toResponse(user);
+    }
+
+    /**
+     * Lê só a versão da linha do user, para validar um ETag sem montar o saldo.
+     * <p>
+     * Com créditos diferidos, um crédito no journal muda o saldo sem mudar a versão: a versão não
+     * identifica mais o saldo e a leitura condicional fica desligada (sempre vazio).
+     *
+     * @param userId UUID do user
+     * @return versão atual, ou vazio se o user não existir ou os créditos forem diferidos
+     */
+    @Transactional(readOnly = true)
+    public Optional<Integer> getBalanceVersion(UUID userId) {
+        if (deferredCredits) {
+            return Optional.empty();
+        }
+        return userRepository.findVersionById(userId);
+    }
+
+    /**
+     * Saldo disponível de um user: saldo menos as reservas ativas, lido numa única consulta pela PK.
+     *
+     * @param userId UUID do user
+     * @return saldo disponível em centavos
+     * @throws UserNotFoundException se o user com o ID não existir
+     */
+    @Transactional(readOnly = true)
+    public Integer getAvailableBalance(UUID userId) {
+        return userRepository.findAvailableBalanceById(userId)
+            .orElseThrow(() -> new UserNotFoundException(userId));
+    }
+
+    /**
+     * ETag forte do saldo de um user. A versão muda a cada UPDATE na linha (trigger do V1
+     * e {@code @Version}), então o par id+versão identifica a representação.
+     *
+     * @param userId UUID do user
+     * @param version versão da linha do user
+     * @return ETag entre aspas, pronto para o header
+     */
+    public static String balanceETag(UUID userId, Integer version) {
+        return "\"" + userId + "-" + version + "\"";
+    }
+
+    /**
+     * Consulta os saldos de várias carteiras numa única query.
+     *
+     * @param request UUIDs ou CPFs/CNPJs (exatamente uma das listas)
+     * @return um item por chave, na ordem da requisição, com marcação explícita das não encontradas
+     * @throws IllegalArgumentException se nenhuma ou as duas listas vierem preenchidas,
+     *         ou se a quantidade de chaves passar do limite
+     */
+    @Transactional(readOnly = true)
+    public BulkBalanceResponse getBalances(BulkBalanceRequest request) {
+        boolean byId = request.userIds() != null && !request.userIds().isEmpty();
+        boolean byDocument = request.documents() != null && !request.documents().isEmpty();
+        if (byId == byDocument) {
+            throw new IllegalArgumentException("Informe userIds ou documents (exatamente um dos dois)");
+        }
+
+        List<?> keys = byId ? request.userIds() : request.documents();
+        if (keys.size() > bulkMaxKeys) {
+            throw new IllegalArgumentException(
+                "A consulta em lote aceita no máximo " + bulkMaxKeys + " chaves, recebidas " + keys.size());
+        }
+        if (keys.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("As chaves da consulta em lote não podem ser nulas");
+        }
+
+        // Chaves repetidas vão uma vez só para a query, mas cada posição da requisição ganha o seu item
+        Map<String, WalletBalanceView> found = new HashMap<>(keys.size() * 2);
+        if (byId) {
+            for (WalletBalanceView view : userRepository.findBalancesByIds(
+                    List.copyOf(new LinkedHashSet<>(request.userIds())))) {
+                found.put(view.id().toString(), view);
+            }
+        } else {
+            for (WalletBalanceView view : userRepository.findBalancesByDocuments(
+                    List.copyOf(new LinkedHashSet<>(request.documents())))) {
+                found.put(view.cpf(), view);
+                if (view.cnpj() != null) {
+                    found.put(view.cnpj(), view);
+                }
+            }
+        }
+
+        List<BulkBalanceResponse.Entry> balances = new ArrayList<>(keys.size());
+        int foundCount = 0;
+        for (Object key : keys) {
+            String keyString = key.toString();
+            WalletBalanceView view = found.get(keyString);
+            if (view == null) {
+                balances.add(BulkBalanceResponse.Entry.notFound(keyString));
+            } else {
+                foundCount++;
+                balances.add(new BulkBalanceResponse.Entry(
+                    keyString, true, view.id(), view.walletBalance(), view.updatedAt()));
+            }
+        }
+        return new BulkBalanceResponse(balances, foundCount, keys.size() - foundCount);
     }
 
     /**
@@ -62,21 +300,20 @@ public class WalletService {
      * @param userId UUID do user
      * @param amount valor requerido (deve ser positivo)
      * @throws UserNotFoundException se o user com o ID não existir
-     * @throws InsufficientFundsException se o saldo atual for menor que o valor requerido
+     * @throws InsufficientFundsException se o saldo disponível for menor que o valor requerido
      */
     @Transactional(readOnly = true)
     public void validateSufficientFunds(UUID userId, Integer amount) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException(userId));
-
-        if (user.getWalletBalance() < amount) {
-            throw new InsufficientFundsException(userId, amount, user.getWalletBalance());
+        Integer available = getAvailableBalance(userId);
+        if (available < amount) {
+            throw new InsufficientFundsException(userId, amount, available);
         }
     }
 
     /**
      * Atualiza atomicamente o saldo da carteira de um user com criação de registros.
-     * Todas as operações são atômicas em uma única transação.
+     * Todas as operações são atômicas em uma única transação. Efeitos colaterais (streams SSE,
+     * analytics, ...) ficam nos listeners do {@link BalanceChangedEvent}, que rodam após o commit.
      *
      * @param userId UUID do user
      * @param balanceChange mudança no saldo (positiva pra crédito, negativa pra débito)
@@ -85,6 +322,7 @@ public class WalletService {
      * @return WalletBalanceResponse com informação atualizada de saldo
      * @throws UserNotFoundException se o user com o ID dado não existir
      * @throws NegativeBalanceException se o saldo do user se tornaria negativo
+     * @throws InsufficientFundsException se um débito avançaria sobre o valor reservado
      */
     @Transactional
     public WalletBalanceResponse updateBalance(UUID userId, Integer balanceChange,
@@ -101,6 +339,10 @@ public class WalletService {
         if (user.getUserType() == UserType.COMMON_USER && newBalance < 0) {
             throw new NegativeBalanceException(userId, newBalance);
         }
+        // Débitos não podem consumir o que está reservado
+        if (balanceChange < 0 && user.getHeldAmount() > 0 && newBalance < user.getHeldAmount()) {
+            throw new InsufficientFundsException(userId, -balanceChange, previousBalance - user.getHeldAmount());
+        }
 
         // Atualizar o saldo do user
         user.setWalletBalance(newBalance);
@@ -117,10 +359,238 @@ public class WalletService {
         auditRecord.setCreatedBy("system");
         walletBalanceAuditRepository.save(auditRecord);
 
+        // O flush que o commit faria, antecipado: versão e updatedAt do evento já são os gravados
+        userRepository.flush();
+        eventPublisher.publishEvent(new BalanceChangedEvent(
+            userId, user.getUserType(), transactionId, operationType, previousBalance, newBalance, balanceChange,
+            user.getVersion(), user.getUpdatedAt()));
+
+        return toResponse(user);
+    }
+
+    /**
+     * Credita um valor na carteira de um user. Com créditos diferidos o crédito vai para o journal,
+     * sem lock na linha do user, e entra no saldo materializado no próximo merge; senão é um
+     * {@link #updateBalance} comum.
+     *
+     * @param userId UUID do user
+     * @param amount valor em centavos (positivo)
+     * @param operationType o tipo da operação (exemplo: TRANSFER_CREDIT)
+     * @param transactionId o UUID da transação associada
+     * @throws UserNotFoundException se o user com o ID dado não existir (só sem créditos diferidos;
+     *         no journal a FK recusa o INSERT)
+     */
+    @Transactional
+    public void credit(UUID userId, Integer amount, String operationType, UUID transactionId) {
+        if (amount == null || amount <= 0) {
+            throw new IllegalArgumentException("O valor do crédito deve ser positivo");
+        }
+        if (deferredCredits) {
+            creditJournalRepository.append(userId, transactionId, amount, operationType);
+            return;
+        }
+        updateBalance(userId, amount, operationType, transactionId);
+    }
+
+    /**
+     * Soma ao saldo materializado de um user créditos retirados do journal, gravando um registro de
+     * auditoria por crédito (com o saldo corrente de cada um) e um único {@link BalanceChangedEvent}.
+     * Roda na transação do merger que retirou os créditos.
+     *
+     * @param userId UUID do user
+     * @param credits créditos do user, em ordem de chegada
+     */
+    @Transactional
+    public void mergeJournalCredits(UUID userId, List<JournalCredit> credits) {
+        User user = userRepository.findByIdForUpdate(userId)
+            .orElseThrow(() -> new UserNotFoundException(userId));
+
+        int previousBalance = user.getWalletBalance();
+        int balance = previousBalance;
+        List<WalletBalanceAudit> auditRecords = new ArrayList<>(credits.size());
+        for (JournalCredit credit : credits) {
+            WalletBalanceAudit auditRecord = new WalletBalanceAudit();
+            auditRecord.setUserId(userId);
+            auditRecord.setTransactionId(credit.transactionId());
+            auditRecord.setPreviousBalance(balance);
+            auditRecord.setNewBalance(balance + credit.amount());
+            auditRecord.setBalanceChange(credit.amount());
+            auditRecord.setOperationType(credit.operationType());
+            auditRecord.setCreatedBy("system");
+            auditRecords.add(auditRecord);
+            balance += credit.amount();
+        }
+        user.setWalletBalance(balance);
+        userRepository.save(user);
+        walletBalanceAuditRepository.saveAll(auditRecords);
+
+        userRepository.flush();
+        eventPublisher.publishEvent(new BalanceChangedEvent(
+            userId, user.getUserType(), null, OPERATION_JOURNAL_MERGE, previousBalance, balance,
+            balance - previousBalance, user.getVersion(), user.getUpdatedAt()));
+    }
+
+    /**
+     * Reserva parte do saldo disponível de um usuário para um lojista.
+     * A linha do user fica bloqueada só durante esta transação.
+     *
+     * @param userId UUID do usuário cujo saldo será reservado
+     * @param merchantId UUID do lojista que poderá capturar a reserva
+     * @param amount valor em centavos
+     * @param ttl prazo para a captura; depois dele a reserva é liberada pela varredura
+     * @return reserva criada
+     * @throws IllegalArgumentException se o valor não for positivo ou o prazo estiver fora do limite
+     * @throws UserNotFoundException se o usuário ou o lojista não existir
+     * @throws TransferNotAllowedException se o usuário não for comum ou o lojista não for MERCHANT
+     * @throws InsufficientFundsException se o saldo disponível for menor que o valor
+     */
+    @Transactional
+    public WalletHoldResponse hold(UUID userId, UUID merchantId, Integer amount, Duration ttl) {
+        if (amount == null || amount <= 0) {
+            throw new IllegalArgumentException("O valor da reserva deve ser positivo");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero() || ttl.compareTo(holdMaxTtl) > 0) {
+            throw new IllegalArgumentException("O prazo da reserva deve estar entre 0 e " + holdMaxTtl);
+        }
+        User merchant = userRepository.findById(merchantId)
+            .orElseThrow(() -> new UserNotFoundException(merchantId));
+        if (merchant.getUserType() != UserType.MERCHANT) {
+            throw new TransferNotAllowedException("Só lojistas podem reservar saldo");
+        }
+
+        User user = userRepository.findByIdForUpdate(userId)
+            .orElseThrow(() -> new UserNotFoundException(userId));
+        if (user.getUserType() != UserType.COMMON_USER) {
+            throw new TransferNotAllowedException("Lojistas não podem ter saldo reservado");
+        }
+        int available = user.getWalletBalance() - user.getHeldAmount();
+        if (available < amount) {
+            throw new InsufficientFundsException(userId, amount, available);
+        }
+        user.setHeldAmount(user.getHeldAmount() + amount);
+
+        WalletHold hold = new WalletHold();
+        hold.setUserId(userId);
+        hold.setMerchantId(merchantId);
+        hold.setAmount(amount);
+        hold.setStatus(WalletHoldStatus.ACTIVE);
+        hold.setExpiresAt(LocalDateTime.now().plus(ttl));
+        hold = walletHoldRepository.save(hold);
+
+        walletMetrics.recordHoldOperation("hold");
+        return toResponse(hold);
+    }
+
+    /**
+     * Captura uma reserva ativa: transfere o valor capturado do usuário para o lojista e devolve
+     * ao disponível o que sobrar da reserva. Captura parcial encerra a reserva.
+     *
+     * @param holdId UUID da reserva
+     * @param amount valor a capturar em centavos (até o valor reservado)
+     * @return reserva capturada, com o UUID da transação gerada
+     * @throws WalletHoldNotFoundException se a reserva não existir
+     * @throws WalletHoldNotActiveException se a reserva não estiver ativa ou já tiver vencido
+     * @throws IllegalArgumentException se o valor não estiver entre 1 e o valor reservado
+     */
+    @Transactional
+    public WalletHoldResponse capture(UUID holdId, Integer amount) {
+        WalletHold hold = lockActiveHold(holdId);
+        if (amount == null || amount <= 0 || amount > hold.getAmount()) {
+            throw new IllegalArgumentException(
+                "O valor da captura deve estar entre 1 e " + hold.getAmount() + " centavos");
+        }
+
+        // Mesma ordem de locks das transferências: ids crescentes. Com créditos diferidos o
+        // lojista não é travado
+        UUID userId = hold.getUserId();
+        UUID merchantId = hold.getMerchantId();
+        User user;
+        if (deferredCredits) {
+            user = lockUser(userId);
+        } else {
+            boolean userFirst = userId.compareTo(merchantId) < 0;
+            User first = lockUser(userFirst ? userId : merchantId);
+            User second = lockUser(userFirst ? merchantId : userId);
+            user = userFirst ? first : second;
+        }
+        user.setHeldAmount(user.getHeldAmount() - hold.getAmount());
+
+        Transaction transaction = new Transaction();
+        transaction.setPayerId(userId);
+        transaction.setPayeeId(merchantId);
+        transaction.setAmount(amount);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction = transactionRepository.save(transaction);
+
+        updateBalance(userId, -amount, OPERATION_HOLD_CAPTURE_DEBIT, transaction.getId());
+        credit(merchantId, amount, OPERATION_HOLD_CAPTURE_CREDIT, transaction.getId());
+
+        hold.setStatus(WalletHoldStatus.CAPTURED);
+        hold.setCapturedAmount(amount);
+        hold.setTransactionId(transaction.getId());
+
+        eventPublisher.publishEvent(new TransferCompletedEvent(
+            transaction.getId(), userId, user.getUserType(), merchantId, amount, transaction.getCreatedAt()));
+        walletMetrics.recordHoldOperation("capture");
+        return toResponse(hold);
+    }
+
+    /**
+     * Libera uma reserva ativa, devolvendo o valor ao saldo disponível.
+     *
+     * @param holdId UUID da reserva
+     * @return reserva liberada
+     * @throws WalletHoldNotFoundException se a reserva não existir
+     * @throws WalletHoldNotActiveException se a reserva não estiver ativa ou já tiver vencido
+     */
+    @Transactional
+    public WalletHoldResponse release(UUID holdId) {
+        WalletHold hold = lockActiveHold(holdId);
+        User user = lockUser(hold.getUserId());
+        user.setHeldAmount(user.getHeldAmount() - hold.getAmount());
+        hold.setStatus(WalletHoldStatus.RELEASED);
+
+        walletMetrics.recordHoldOperation("release");
+        return toResponse(hold);
+    }
+
+    private WalletHold lockActiveHold(UUID holdId) {
+        WalletHold hold = walletHoldRepository.findByIdForUpdate(holdId)
+            .orElseThrow(() -> new WalletHoldNotFoundException(holdId));
+        if (hold.getStatus() != WalletHoldStatus.ACTIVE) {
+            throw new WalletHoldNotActiveException(holdId, hold.getStatus());
+        }
+        // Vencida mas ainda não varrida: a varredura é quem devolve o valor
+        if (!hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new WalletHoldNotActiveException(holdId, WalletHoldStatus.EXPIRED);
+        }
+        return hold;
+    }
+
+    private User lockUser(UUID userId) {
+        return userRepository.findByIdForUpdate(userId)
+            .orElseThrow(() -> new UserNotFoundException(userId));
+    }
+
+    private static WalletBalanceResponse toResponse(User user) {
         return new WalletBalanceResponse(
             user.getId(),
             user.getWalletBalance(),
-            user.getUpdatedAt()
+            user.getUpdatedAt(),
+            user.getVersion()
+        );
+    }
+
+    private static WalletHoldResponse toResponse(WalletHold hold) {
+        return new WalletHoldResponse(
+            hold.getId(),
+            hold.getUserId(),
+            hold.getMerchantId(),
+            hold.getAmount(),
+            hold.getCapturedAmount(),
+            hold.getStatus(),
+            hold.getTransactionId(),
+            hold.getExpiresAt()
         );
     }
 }
@@ -0,0 +1,180 @@
+package com.paymentapi.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter thread-safe para chaves String.
+ * <p>
+ * Responde "definitivamente não contém" ou "talvez contenha". Não há falsos negativos:
+ * se {@link #mightContain(String)} retorna false, a chave nunca foi inserida.
+ * <p>
+ * Os bits ficam num {@link AtomicLongArray}, então inserções e consultas concorrentes
+ * não precisam de lock. Usa double hashing (h1 + i * h2) sobre um hash de 64 bits.
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final double LN2_SQUARED = LN2 * LN2;
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong bitCount = new AtomicLong();
+    private final AtomicLong insertions = new AtomicLong();
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        int wordCount = Math.toIntExact((bitSize + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = (long) wordCount * 64;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Cria um filtro dimensionado para a quantidade esperada de chaves e a taxa de falso positivo desejada.
+     *
+     * @param expectedInsertions quantidade esperada de chaves (deve ser positiva)
+     * @param falsePositiveRate taxa de falso positivo desejada, entre 0 e 1 (exclusivo)
+     * @return filtro vazio
+     * @throws IllegalArgumentException se os parâmetros forem inválidos
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("A quantidade esperada de inserções deve ser positiva");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("A taxa de falso positivo deve estar entre 0 e 1");
+        }
+
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / LN2_SQUARED);
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * LN2));
+        return new BloomFilter(Math.max(64, bits), hashes);
+    }
+
+    /**
+     * Insere uma chave no filtro.
+     *
+     * @param key chave a ser inserida (ignorada se null)
+     * @return true se algum bit mudou (a chave provavelmente é nova)
+     */
+    public boolean put(String key) {
+        if (key == null) {
+            return false;
+        }
+
+        long hash = hash64(key);
+        long h1 = hash;
+        long h2 = mix64(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+        boolean changed = false;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            changed |= setBit(Math.floorMod(h1 + i * h2, bitSize));
+        }
+
+        insertions.incrementAndGet();
+        return changed;
+    }
+
+    /**
+     * Verifica se a chave pode ter sido inserida.
+     *
+     * @param key chave a ser consultada
+     * @return false se a chave definitivamente não foi inserida, true caso contrário
+     */
+    public boolean mightContain(String key) {
+        if (key == null) {
+            return false;
+        }
+
+        long hash = hash64(key);
+        long h1 = hash;
+        long h2 = mix64(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taxa de falso positivo estimada com base na fração de bits ligados.
+     *
+     * @return probabilidade estimada de falso positivo (0 a 1)
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitCount.get() / bitSize, hashFunctions);
+    }
+
+    /**
+     * @return quantidade de bits do filtro
+     */
+    public long bitSize() {
+        return bitSize;
+    }
+
+    /**
+     * @return quantidade de funções de hash usadas por chave
+     */
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * @return quantidade de chaves inseridas (inclui repetições)
+     */
+    public long insertions() {
+        return insertions.get();
+    }
+
+    /**
+     * @return memória ocupada pelo array de bits, em bytes
+     */
+    public long memoryBytes() {
+        return bitSize / 8;
+    }
+
+    /**
+     * Liga um bit com CAS, contabilizando apenas transições 0 -> 1.
+     */
+    private boolean setBit(long index) {
+        int wordIndex = (int) (index >>> 6);
+        long mask = 1L << index;
+
+        while (true) {
+            long current = words.get(wordIndex);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(wordIndex, current, current | mask)) {
+                bitCount.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os bytes UTF-8, finalizado com o mix do MurmurHash3.
+     */
+    private static long hash64(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return mix64(hash);
+    }
+
+    private static long mix64(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
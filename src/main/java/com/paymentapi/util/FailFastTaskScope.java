@@ -0,0 +1,202 @@
+package com.paymentapi.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.MDC;
+
+/**
+ * Escopo de subtarefas concorrentes com a semântica do StructuredTaskScope.ShutdownOnFailure,
+ * que no Java 21 ainda é preview (exigiria --enable-preview no build e em runtime).
+ * <p>
+ * Cada subtarefa roda numa virtual thread própria. A primeira falha cancela (interrompe) as
+ * demais, {@link #joinUntil(Instant)} espera todas terminarem ou a primeira falha até um prazo
+ * compartilhado, e {@link #close()} só retorna quando nenhuma subtarefa está mais rodando.
+ * A exceção são as subtarefas de {@link #forkUninterruptible(Callable)}, que nunca são
+ * interrompidas nem esperadas no close. O MDC (correlation ID) da thread dona é propagado para
+ * as subtarefas.
+ * <p>
+ * Uso:
+ * <pre>
+ * try (FailFastTaskScope scope = new FailFastTaskScope("transfer")) {
+ *     Subtask&lt;A&gt; a = scope.fork(() -&gt; ...);
+ *     Subtask&lt;B&gt; b = scope.fork(() -&gt; ...);
+ *     scope.joinUntil(deadline);
+ *     scope.throwIfFailed();
+ *     return combine(a.get(), b.get());
+ * }
+ * </pre>
+ */
+public final class FailFastTaskScope implements AutoCloseable {
+
+    private final ThreadFactory threadFactory;
+    // Threads, e não Futures de um executor: o cancel de um Future desvincula a thread do executor
+    // antes dela terminar, e o close deixaria de esperar subtarefas canceladas
+    private final List<Thread> running = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<?>> results = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    private final CompletableFuture<Void> failureSignal = new CompletableFuture<>();
+
+    /**
+     * @param name prefixo do nome das virtual threads das subtarefas
+     */
+    public FailFastTaskScope(String name) {
+        this.threadFactory = Thread.ofVirtual().name(name + "-", 0).factory();
+    }
+
+    /**
+     * Inicia uma subtarefa.
+     *
+     * @param task tarefa a executar
+     * @return handle para ler o resultado depois do join
+     */
+    public <T> Subtask<T> fork(Callable<T> task) {
+        return fork(task, true);
+    }
+
+    /**
+     * Inicia uma subtarefa que não é interrompida no cancelamento, para chamadas bloqueadas em I/O
+     * de um recurso compartilhado, como uma consulta JDBC: no Java 21, interromper uma virtual
+     * thread bloqueada num socket fecha o socket, e a conexão voltaria quebrada ao pool. Na
+     * primeira falha ou no prazo, ela segue até o fim em segundo plano, o resultado é descartado
+     * e o close não espera por ela.
+     *
+     * @param task tarefa a executar
+     * @return handle para ler o resultado depois do join
+     */
+    public <T> Subtask<T> forkUninterruptible(Callable<T> task) {
+        return fork(task, false);
+    }
+
+    private <T> Subtask<T> fork(Callable<T> task, boolean interruptible) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        results.add(result);
+
+        Thread thread = threadFactory.newThread(() -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                result.complete(task.call());
+            } catch (Throwable t) {
+                // Registra a falha antes de completar o resultado: quem acorda no join já a enxerga
+                fail(t);
+                result.completeExceptionally(t);
+            } finally {
+                MDC.clear();
+            }
+        });
+        if (interruptible) {
+            running.add(thread);
+        }
+        thread.start();
+        return new Subtask<>(result);
+    }
+
+    /**
+     * Espera todas as subtarefas terminarem, ou a primeira falhar, até o prazo.
+     * Se o prazo estourar, as subtarefas restantes são canceladas.
+     *
+     * @param deadline prazo compartilhado por todas as subtarefas
+     * @throws TimeoutException se o prazo estourar antes
+     * @throws InterruptedException se a thread dona for interrompida
+     */
+    public void joinUntil(Instant deadline) throws TimeoutException, InterruptedException {
+        CompletableFuture<Void> all = CompletableFuture.allOf(results.toArray(CompletableFuture[]::new));
+        long remainingNanos = Math.max(0, Duration.between(Instant.now(), deadline).toNanos());
+        try {
+            CompletableFuture.anyOf(all, failureSignal).get(remainingNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // Falhas das subtarefas são expostas por throwIfFailed
+        } catch (TimeoutException | InterruptedException e) {
+            cancelAll();
+            throw e;
+        }
+    }
+
+    /**
+     * Relança a primeira falha, se houver. Exceções não verificadas são relançadas como estão.
+     */
+    public void throwIfFailed() {
+        Throwable failure = firstFailure.get();
+        if (failure == null) {
+            return;
+        }
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(failure.getMessage(), failure);
+    }
+
+    /**
+     * Cancela o que ainda estiver rodando e espera as virtual threads interrompíveis terminarem.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+        boolean interrupted = false;
+        for (Thread thread : running) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fail(Throwable failure) {
+        if (firstFailure.compareAndSet(null, failure)) {
+            cancelAll();
+            failureSignal.complete(null);
+        }
+    }
+
+    private void cancelAll() {
+        for (Thread thread : running) {
+            if (thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Handle de uma subtarefa.
+     */
+    public static final class Subtask<T> {
+
+        private final CompletableFuture<T> result;
+
+        private Subtask(CompletableFuture<T> result) {
+            this.result = result;
+        }
+
+        /**
+         * @return resultado da subtarefa; só pode ser chamado após um join sem falhas
+         * @throws IllegalStateException se a subtarefa não terminou com sucesso
+         */
+        public T get() {
+            if (!result.isDone() || result.isCompletedExceptionally()) {
+                throw new IllegalStateException("Subtarefa não terminou com sucesso");
+            }
+            return result.join();
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.paymentapi.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compila definições JSON de regras antifraude numa árvore de predicados.
+ * <p>
+ * Gramática de uma condição (um objeto com exatamente uma chave):
+ * <ul>
+ *   <li>{@code {"all": [c1, c2, ...]}}, {@code {"any": [...]}}, {@code {"not": c}}</li>
+ *   <li>{@code {"amountGreaterThan": 100000}}, {@code {"amountLessThan": 100}} (centavos)</li>
+ *   <li>{@code {"newPayee": true}}: primeira transferência do pagador para o recebedor</li>
+ *   <li>{@code {"payerTransfersLastMinuteGreaterThan": 3}},
+ *       {@code {"payerAmountLast24hGreaterThan": 500000}}</li>
+ *   <li>{@code {"timeOfDayBetween": ["22:00", "06:00"]}}: [início, fim), pode virar a meia-noite</li>
+ * </ul>
+ * A compilação achata all/any aninhados, elimina negação dupla e ordena os filhos pelo custo
+ * (valor e horário, depois contadores em memória, por último a consulta de recebedor novo), para
+ * que o curto-circuito evite os fatos caros. A avaliação só percorre nós finais já montados e lê
+ * os fatos de um {@link Facts}: não aloca nada.
+ */
+public final class FraudRuleCompiler {
+
+    private static final int COST_CONSTANT = 0;
+    private static final int COST_FIELD = 1;
+    private static final int COST_MEMORY = 2;
+    private static final int COST_DATABASE = 3;
+
+    private FraudRuleCompiler() {
+    }
+
+    /**
+     * Fatos de uma transferência consultados pelas condições. Implementações podem calcular os
+     * fatos caros sob demanda, só quando alguma condição chega a lê-los.
+     */
+    public interface Facts {
+
+        /**
+         * @return valor em centavos
+         */
+        long amount();
+
+        /**
+         * @return minuto do dia (0 a 1439) no fuso configurado
+         */
+        int minuteOfDay();
+
+        /**
+         * @return true se o pagador nunca transferiu para o recebedor
+         */
+        boolean newPayee();
+
+        /**
+         * @return transferências do pagador no último minuto, antes desta
+         */
+        long payerTransfersLastMinute();
+
+        /**
+         * @return valor transferido pelo pagador nas últimas 24h, antes desta
+         */
+        long payerAmountLast24h();
+    }
+
+    /**
+     * Nó da árvore de predicados.
+     */
+    public abstract static sealed class Condition
+            permits All, Any, Not, AmountGreaterThan, AmountLessThan, NewPayee, PayerTransfersLastMinute,
+                PayerAmountLast24h, TimeOfDayBetween {
+
+        /**
+         * @param facts fatos da transferência
+         * @return true se a condição casa
+         */
+        public abstract boolean test(Facts facts);
+
+        abstract int cost();
+    }
+
+    /**
+     * Compila uma definição.
+     *
+     * @param objectMapper mapper usado para ler o JSON
+     * @param definition condição em JSON
+     * @return raiz da árvore compilada
+     * @throws IllegalArgumentException se a definição for inválida
+     */
+    public static Condition compile(ObjectMapper objectMapper, String definition) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(definition);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Definição de regra não é um JSON válido: " + e.getOriginalMessage());
+        }
+        return compile(root);
+    }
+
+    static Condition compile(JsonNode node) {
+        if (node == null || !node.isObject() || node.size() != 1) {
+            throw new IllegalArgumentException("Condição deve ser um objeto com exatamente uma chave: " + node);
+        }
+        Map.Entry<String, JsonNode> entry = node.fields().next();
+        JsonNode value = entry.getValue();
+        return switch (entry.getKey()) {
+            case "all" -> all(children(entry.getKey(), value));
+            case "any" -> any(children(entry.getKey(), value));
+            case "not" -> not(compile(value));
+            case "amountGreaterThan" -> new AmountGreaterThan(number(entry.getKey(), value));
+            case "amountLessThan" -> new AmountLessThan(number(entry.getKey(), value));
+            case "newPayee" -> bool(entry.getKey(), value) ? NewPayee.INSTANCE : not(NewPayee.INSTANCE);
+            case "payerTransfersLastMinuteGreaterThan" -> new PayerTransfersLastMinute(number(entry.getKey(), value));
+            case "payerAmountLast24hGreaterThan" -> new PayerAmountLast24h(number(entry.getKey(), value));
+            case "timeOfDayBetween" -> timeOfDay(value);
+            default -> throw new IllegalArgumentException("Condição desconhecida: " + entry.getKey());
+        };
+    }
+
+    private static List<Condition> children(String key, JsonNode value) {
+        if (!value.isArray() || value.isEmpty()) {
+            throw new IllegalArgumentException("'" + key + "' exige uma lista não vazia de condições");
+        }
+        List<Condition> children = new ArrayList<>(value.size());
+        value.forEach(child -> children.add(compile(child)));
+        return children;
+    }
+
+    private static long number(String key, JsonNode value) {
+        if (!value.isIntegralNumber()) {
+            throw new IllegalArgumentException("'" + key + "' exige um número inteiro");
+        }
+        return value.asLong();
+    }
+
+    private static boolean bool(String key, JsonNode value) {
+        if (!value.isBoolean()) {
+            throw new IllegalArgumentException("'" + key + "' exige true ou false");
+        }
+        return value.asBoolean();
+    }
+
+    private static Condition timeOfDay(JsonNode value) {
+        if (!value.isArray() || value.size() != 2) {
+            throw new IllegalArgumentException("'timeOfDayBetween' exige [início, fim] no formato HH:mm");
+        }
+        try {
+            LocalTime from = LocalTime.parse(value.get(0).asText());
+            LocalTime to = LocalTime.parse(value.get(1).asText());
+            return new TimeOfDayBetween(from.getHour() * 60 + from.getMinute(), to.getHour() * 60 + to.getMinute());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("'timeOfDayBetween' exige [início, fim] no formato HH:mm");
+        }
+    }
+
+    private static Condition all(List<Condition> children) {
+        List<Condition> flat = new ArrayList<>(children.size());
+        for (Condition child : children) {
+            if (child instanceof All nested) {
+                flat.addAll(Arrays.asList(nested.children));
+            } else {
+                flat.add(child);
+            }
+        }
+        return flat.size() == 1 ? flat.get(0) : new All(sortByCost(flat));
+    }
+
+    private static Condition any(List<Condition> children) {
+        List<Condition> flat = new ArrayList<>(children.size());
+        for (Condition child : children) {
+            if (child instanceof Any nested) {
+                flat.addAll(Arrays.asList(nested.children));
+            } else {
+                flat.add(child);
+            }
+        }
+        return flat.size() == 1 ? flat.get(0) : new Any(sortByCost(flat));
+    }
+
+    private static Condition not(Condition child) {
+        return child instanceof Not negated ? negated.child : new Not(child);
+    }
+
+    private static Condition[] sortByCost(List<Condition> children) {
+        // Ordenação estável: entre condições de mesmo custo, vale a ordem da definição
+        children.sort(Comparator.comparingInt(Condition::cost));
+        return children.toArray(Condition[]::new);
+    }
+
+    static final class All extends Condition {
+
+        private final Condition[] children;
+        private final int cost;
+
+        All(Condition[] children) {
+            this.children = children;
+            this.cost = Arrays.stream(children).mapToInt(Condition::cost).max().orElse(COST_CONSTANT);
+        }
+
+        @Override
+        public boolean test(Facts facts) {
+            for (Condition child : children) {
+                if (!child.test(facts)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int cost() {
+            return cost;
+        }
+    }
+
+    static final class Any extends Condition {
+
+        private final Condition[] children;
+        private final int cost;
+
+        Any(Condition[] children) {
+            this.children = children;
+            this.cost = Arrays.stream(children).mapToInt(Condition::cost).max().orElse(COST_CONSTANT);
+        }
+
+        @Override
+        public boolean test(Facts facts) {
+            for (Condition child : children) {
+                if (child.test(facts)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int cost() {
+            return cost;
+        }
+    }
+
+    static final class Not extends Condition {
+
+        private final Condition child;
+
+        Not(Condition child) {
+            this.child = child;
+        }
+
+        @Override
+        public boolean test(Facts facts) {
+            return !child.test(facts);
+        }
+
+        @Override
+        int cost() {
+            return child.cost();
+        }
+    }
+
+    static final class AmountGreaterThan extends Condition {
+
+        private final long threshold;
+
+        AmountGreaterThan(long threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public boolean test(Facts facts) {
+            return facts.amount() > threshold;
+        }
+
+        @Override
+        int cost() {
+            return COST_FIELD;
+        }
+    }
+
+    static final class AmountLessThan extends Condition {
+
+        private final long threshold;
+
+        AmountLessThan(long threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public boolean test(Facts facts) {
+            return facts.amount() < threshold;
+        }
+
+        @Override
+        int cost() {
+            return COST_FIELD;
+        }
+    }
+
+    static final class NewPayee extends Condition {
+
+        static final NewPayee INSTANCE = new NewPayee();
+
+        @Override
+        public boolean test(Facts facts) {
+            return facts.newPayee();
+        }
+
+        @Override
+        int cost() {
+            return COST_DATABASE;
+        }
+    }
+
+    static final class PayerTransfersLastMinute extends Condition {
+
+        private final long threshold;
+
+        PayerTransfersLastMinute(long threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public boolean test(Facts facts) {
+            return facts.payerTransfersLastMinute() > threshold;
+        }
+
+        @Override
+        int cost() {
+            return COST_MEMORY;
+        }
+    }
+
+    static final class PayerAmountLast24h extends Condition {
+
+        private final long threshold;
+
+        PayerAmountLast24h(long threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public boolean test(Facts facts) {
+            return facts.payerAmountLast24h() > threshold;
+        }
+
+        @Override
+        int cost() {
+            return COST_MEMORY;
+        }
+    }
+
+    static final class TimeOfDayBetween extends Condition {
+
+        private final int fromMinute;
+        private final int toMinute;
+
+        TimeOfDayBetween(int fromMinute, int toMinute) {
+            this.fromMinute = fromMinute;
+            this.toMinute = toMinute;
+        }
+
+        @Override
+        public boolean test(Facts facts) {
+            int minute = facts.minuteOfDay();
+            return fromMinute <= toMinute
+                ? minute >= fromMinute && minute < toMinute
+                : minute >= fromMinute || minute < toMinute;
+        }
+
+        @Override
+        int cost() {
+            return COST_FIELD;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.paymentapi.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decodificador das mensagens do plugin de replicação lógica pgoutput (protocolo versão 1).
+ * <p>
+ * Guarda as mensagens Relation (esquema das tabelas) e acumula as alterações de linha da
+ * transação corrente; só devolve a transação inteira quando chega o Commit. Valores das colunas
+ * chegam no formato texto do Postgres. Mensagens que não interessam (Type, Origin, Truncate,
+ * Message) são ignoradas.
+ * <p>
+ * Não é thread-safe: cada stream de replicação usa a sua instância.
+ */
+public final class PgOutputDecoder {
+
+    // Epoch do Postgres (2000-01-01T00:00:00Z) usado nos timestamps do protocolo
+    private static final Instant POSTGRES_EPOCH = Instant.parse("2000-01-01T00:00:00Z");
+
+    private final Map<Integer, Relation> relations = new HashMap<>();
+    private final List<RowChange> pending = new ArrayList<>();
+    private boolean inTransaction;
+
+    /**
+     * Decodifica uma mensagem do stream.
+     *
+     * @param buffer mensagem pgoutput
+     * @return a transação completa, se a mensagem for um Commit
+     * @throws IllegalStateException se uma alteração referenciar uma relação desconhecida
+     */
+    public Optional<CommittedTransaction> decode(ByteBuffer buffer) {
+        char type = (char) buffer.get();
+        switch (type) {
+            case 'B' -> {
+                pending.clear();
+                inTransaction = true;
+            }
+            case 'R' -> readRelation(buffer);
+            case 'I' -> {
+                Relation relation = relation(buffer.getInt());
+                buffer.get(); // 'N'
+                pending.add(new RowChange(relation.table(), Operation.INSERT, readTuple(buffer, relation)));
+            }
+            case 'U' -> {
+                Relation relation = relation(buffer.getInt());
+                char tuple = (char) buffer.get();
+                if (tuple == 'K' || tuple == 'O') {
+                    // Chave ou linha antiga; o evento só usa a linha nova
+                    readTuple(buffer, relation);
+                    buffer.get(); // 'N'
+                }
+                pending.add(new RowChange(relation.table(), Operation.UPDATE, readTuple(buffer, relation)));
+            }
+            case 'D' -> {
+                Relation relation = relation(buffer.getInt());
+                buffer.get(); // 'K' ou 'O'
+                pending.add(new RowChange(relation.table(), Operation.DELETE, readTuple(buffer, relation)));
+            }
+            case 'C' -> {
+                buffer.get(); // flags
+                long commitLsn = buffer.getLong();
+                long endLsn = buffer.getLong();
+                Instant committedAt = toInstant(buffer.getLong());
+                CommittedTransaction transaction =
+                    new CommittedTransaction(commitLsn, endLsn, committedAt, List.copyOf(pending));
+                pending.clear();
+                inTransaction = false;
+                return Optional.of(transaction);
+            }
+            default -> {
+                // Type, Origin, Truncate e Message não geram eventos
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return true se há uma transação aberta (Begin recebido, Commit ainda não)
+     */
+    public boolean inTransaction() {
+        return inTransaction;
+    }
+
+    private void readRelation(ByteBuffer buffer) {
+        int id = buffer.getInt();
+        readString(buffer); // namespace
+        String table = readString(buffer);
+        buffer.get(); // replica identity
+        short columnCount = buffer.getShort();
+        List<String> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            buffer.get(); // flags
+            columns.add(readString(buffer));
+            buffer.getInt(); // oid do tipo
+            buffer.getInt(); // typmod
+        }
+        relations.put(id, new Relation(table, columns));
+    }
+
+    private Relation relation(int id) {
+        Relation relation = relations.get(id);
+        if (relation == null) {
+            throw new IllegalStateException("Relação desconhecida no stream pgoutput: " + id);
+        }
+        return relation;
+    }
+
+    private static Map<String, String> readTuple(ByteBuffer buffer, Relation relation) {
+        short columnCount = buffer.getShort();
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            String column = relation.columns().get(i);
+            char kind = (char) buffer.get();
+            switch (kind) {
+                case 'n' -> values.put(column, null);
+                case 't' -> {
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    values.put(column, new String(bytes, StandardCharsets.UTF_8));
+                }
+                default -> {
+                    // 'u': valor TOAST não alterado, não vem no stream
+                }
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // avança até o terminador
+        }
+        byte[] bytes = new byte[buffer.position() - start - 1];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Instant toInstant(long microsSincePostgresEpoch) {
+        return POSTGRES_EPOCH.plus(microsSincePostgresEpoch, ChronoUnit.MICROS);
+    }
+
+    private record Relation(String table, List<String> columns) {
+    }
+
+    /**
+     * Tipo da alteração de linha.
+     */
+    public enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    /**
+     * Alteração de uma linha.
+     *
+     * @param table nome da tabela
+     * @param operation tipo da alteração
+     * @param columns valores em texto por nome de coluna (linha nova; chave ou linha antiga no DELETE)
+     */
+    public record RowChange(String table, Operation operation, Map<String, String> columns) {
+    }
+
+    /**
+     * Transação commitada com as alterações das tabelas da publicação, na ordem do WAL.
+     *
+     * @param commitLsn LSN do registro de commit
+     * @param endLsn LSN do fim da transação, usado como checkpoint
+     * @param committedAt instante do commit
+     * @param changes alterações de linha
+     */
+    public record CommittedTransaction(long commitLsn, long endLsn, Instant committedAt, List<RowChange> changes) {
+    }
+}
@@ -0,0 +1,425 @@
+package com.paymentapi.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contadores de janela deslizante por chave UUID, em memória e com tamanho limitado.
+ * <p>
+ * Cada chave tem duas janelas: uma soma de valores (ex.: valor transferido nas últimas 24h) e
+ * uma contagem de eventos (ex.: transferências no último minuto). Cada janela é um ring de
+ * buckets de tamanho fixo; o bucket corrente é o do instante do evento e os buckets que saem da
+ * janela são zerados quando a chave volta a ser tocada. A precisão da janela é de um bucket.
+ * <p>
+ * Sem objeto por chave: as chaves (os dois longs do UUID) e os rings ficam em arrays primitivos
+ * de tabelas de endereçamento aberto (linear probing), divididas em stripes com lock próprio.
+ * Uma checagem custa um hash, uma sondagem curta e a soma dos rings, sem alocação.
+ * <p>
+ * Quando a stripe enche, a chave menos recente entre uma amostra é removida. Uma chave removida
+ * perde o histórico: o erro é sempre para menos (um limite pode deixar passar, nunca barrar a mais).
+ */
+public final class SlidingWindowCounters {
+
+    private static final int STRIPES = 64;
+    private static final int EVICTION_SAMPLE = 16;
+    private static final double LOAD_FACTOR = 0.75;
+
+    /**
+     * Resultado de {@link #tryAcquire}.
+     */
+    public enum Decision {
+        ALLOWED,
+        AMOUNT_EXCEEDED,
+        COUNT_EXCEEDED
+    }
+
+    /**
+     * Uso corrente de uma chave.
+     *
+     * @param amount soma na janela de valores
+     * @param count eventos na janela de contagem
+     */
+    public record Usage(long amount, long count) {
+    }
+
+    private final long amountBucketMillis;
+    private final int amountBuckets;
+    private final long countBucketMillis;
+    private final int countBuckets;
+    private final Stripe[] stripes;
+    private final int maxKeys;
+    private final AtomicLong evictions = new AtomicLong();
+
+    private SlidingWindowCounters(int maxKeys, long amountWindowMillis, int amountBuckets,
+                                  long countWindowMillis, int countBuckets) {
+        this.maxKeys = maxKeys;
+        this.amountBucketMillis = amountWindowMillis / amountBuckets;
+        this.amountBuckets = amountBuckets;
+        this.countBucketMillis = countWindowMillis / countBuckets;
+        this.countBuckets = countBuckets;
+
+        int stripeCount = Math.min(STRIPES, Integer.highestOneBit(Math.max(1, maxKeys / 64)));
+        int keysPerStripe = (maxKeys + stripeCount - 1) / stripeCount;
+        int tableSize = (int) Math.ceil(keysPerStripe / LOAD_FACTOR) + 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(tableSize, keysPerStripe);
+        }
+    }
+
+    /**
+     * Cria os contadores.
+     *
+     * @param maxKeys máximo de chaves em memória (deve ser positivo)
+     * @param amountWindowMillis duração da janela de valores
+     * @param amountBuckets buckets da janela de valores
+     * @param countWindowMillis duração da janela de contagem
+     * @param countBuckets buckets da janela de contagem
+     * @return contadores vazios
+     * @throws IllegalArgumentException se os parâmetros forem inválidos
+     */
+    public static SlidingWindowCounters create(int maxKeys, long amountWindowMillis, int amountBuckets,
+                                               long countWindowMillis, int countBuckets) {
+        if (maxKeys <= 0) {
+            throw new IllegalArgumentException("A quantidade máxima de chaves deve ser positiva");
+        }
+        if (amountBuckets <= 0 || countBuckets <= 0
+                || amountWindowMillis < amountBuckets || countWindowMillis < countBuckets) {
+            throw new IllegalArgumentException("Janelas devem ter ao menos um bucket de 1ms");
+        }
+        return new SlidingWindowCounters(maxKeys, amountWindowMillis, amountBuckets, countWindowMillis, countBuckets);
+    }
+
+    /**
+     * Verifica os limites e, se couber, registra o evento, atomicamente para a chave.
+     *
+     * @param key chave
+     * @param amount valor do evento
+     * @param maxAmount limite da soma na janela de valores (inclusivo)
+     * @param maxCount limite de eventos na janela de contagem (inclusivo)
+     * @param nowMillis instante do evento
+     * @return ALLOWED se o evento foi registrado; senão o limite que estourou
+     */
+    public Decision tryAcquire(UUID key, long amount, long maxAmount, long maxCount, long nowMillis) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.findOrInsert(key, nowMillis);
+            long amountIndex = Math.floorDiv(nowMillis, amountBucketMillis);
+            long countIndex = Math.floorDiv(nowMillis, countBucketMillis);
+            stripe.advance(slot, amountIndex, countIndex);
+            if (stripe.countSum(slot) + 1 > maxCount) {
+                return Decision.COUNT_EXCEEDED;
+            }
+            if (stripe.amountSum(slot) + amount > maxAmount) {
+                return Decision.AMOUNT_EXCEEDED;
+            }
+            stripe.add(slot, amountIndex, countIndex, amount, 1);
+            return Decision.ALLOWED;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Registra um evento sem verificar limites. Eventos fora das janelas são ignorados.
+     *
+     * @param key chave
+     * @param amount valor do evento
+     * @param atMillis instante do evento (pode ser passado, como na reconstrução)
+     */
+    public void record(UUID key, long amount, long atMillis) {
+        apply(key, amount, 1, atMillis);
+    }
+
+    /**
+     * Desfaz um evento registrado por {@link #tryAcquire} ou {@link #record}, se ele ainda estiver
+     * nas janelas.
+     *
+     * @param key chave
+     * @param amount valor do evento
+     * @param atMillis instante em que o evento foi registrado
+     */
+    public void release(UUID key, long amount, long atMillis) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.find(key);
+            if (slot >= 0) {
+                stripe.add(slot, Math.floorDiv(atMillis, amountBucketMillis),
+                    Math.floorDiv(atMillis, countBucketMillis), -amount, -1);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @param key chave
+     * @param nowMillis instante da consulta
+     * @return uso corrente da chave (zero se ela não está em memória)
+     */
+    public Usage usage(UUID key, long nowMillis) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.find(key);
+            if (slot < 0) {
+                return new Usage(0, 0);
+            }
+            stripe.advance(slot, Math.floorDiv(nowMillis, amountBucketMillis),
+                Math.floorDiv(nowMillis, countBucketMillis));
+            return new Usage(stripe.amountSum(slot), stripe.countSum(slot));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @return chaves em memória
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    /**
+     * @return máximo de chaves em memória
+     */
+    public int maxKeys() {
+        return maxKeys;
+    }
+
+    /**
+     * @return chaves removidas para abrir espaço desde a criação
+     */
+    public long evictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return memória aproximada dos arrays, em bytes
+     */
+    public long memoryBytes() {
+        long perSlot = 8L * 2 + 8 + 8L * amountBuckets + 8 + 8L * countBuckets + 8;
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            bytes += perSlot * stripe.keyHi.length;
+        }
+        return bytes;
+    }
+
+    private void apply(UUID key, long amount, long count, long atMillis) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.findOrInsert(key, atMillis);
+            long amountIndex = Math.floorDiv(atMillis, amountBucketMillis);
+            long countIndex = Math.floorDiv(atMillis, countBucketMillis);
+            stripe.advance(slot, amountIndex, countIndex);
+            stripe.add(slot, amountIndex, countIndex, amount, count);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripe(UUID key) {
+        return stripes[(int) (hash(key) >>> 58) & (stripes.length - 1)];
+    }
+
+    private static long hash(UUID key) {
+        return hash(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    private static long hash(long hi, long lo) {
+        return mix64(hi ^ Long.rotateLeft(lo, 32));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Tabela de endereçamento aberto de uma stripe. Todos os métodos exigem o lock.
+     * lastSeen == 0 marca slot vazio.
+     */
+    private final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int tableSize;
+        private final int maxSize;
+        private final long[] keyHi;
+        private final long[] keyLo;
+        private final long[] lastSeen;
+        private final long[] amountHead;
+        private final long[] amounts;
+        private final long[] countHead;
+        private final long[] counts;
+        private int size;
+        private int clockHand;
+
+        Stripe(int tableSize, int maxSize) {
+            this.tableSize = tableSize;
+            this.maxSize = Math.min(maxSize, tableSize - 1);
+            this.keyHi = new long[tableSize];
+            this.keyLo = new long[tableSize];
+            this.lastSeen = new long[tableSize];
+            this.amountHead = new long[tableSize];
+            this.amounts = new long[tableSize * amountBuckets];
+            this.countHead = new long[tableSize];
+            this.counts = new long[tableSize * countBuckets];
+        }
+
+        int find(UUID key) {
+            long hi = key.getMostSignificantBits();
+            long lo = key.getLeastSignificantBits();
+            for (int slot = home(hi, lo); lastSeen[slot] != 0; slot = next(slot)) {
+                if (keyHi[slot] == hi && keyLo[slot] == lo) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        int findOrInsert(UUID key, long nowMillis) {
+            long hi = key.getMostSignificantBits();
+            long lo = key.getLeastSignificantBits();
+            int slot = home(hi, lo);
+            for (; lastSeen[slot] != 0; slot = next(slot)) {
+                if (keyHi[slot] == hi && keyLo[slot] == lo) {
+                    lastSeen[slot] = Math.max(lastSeen[slot], nowMillis);
+                    return slot;
+                }
+            }
+            if (size >= maxSize) {
+                evictOne();
+                // A remoção pode ter deslocado slots; procura de novo o primeiro vazio
+                slot = home(hi, lo);
+                while (lastSeen[slot] != 0) {
+                    slot = next(slot);
+                }
+            }
+            keyHi[slot] = hi;
+            keyLo[slot] = lo;
+            lastSeen[slot] = Math.max(nowMillis, 1);
+            amountHead[slot] = Long.MIN_VALUE;
+            countHead[slot] = Long.MIN_VALUE;
+            size++;
+            return slot;
+        }
+
+        /**
+         * Move os heads dos rings até os índices dados, zerando os buckets que saíram da janela.
+         */
+        void advance(int slot, long amountIndex, long countIndex) {
+            amountHead[slot] = advanceRing(amounts, slot * amountBuckets, amountBuckets, amountHead[slot], amountIndex);
+            countHead[slot] = advanceRing(counts, slot * countBuckets, countBuckets, countHead[slot], countIndex);
+        }
+
+        void add(int slot, long amountIndex, long countIndex, long amount, long count) {
+            addToRing(amounts, slot * amountBuckets, amountBuckets, amountHead[slot], amountIndex, amount);
+            addToRing(counts, slot * countBuckets, countBuckets, countHead[slot], countIndex, count);
+        }
+
+        long amountSum(int slot) {
+            return sum(amounts, slot * amountBuckets, amountBuckets);
+        }
+
+        long countSum(int slot) {
+            return sum(counts, slot * countBuckets, countBuckets);
+        }
+
+        /**
+         * Remove a chave menos recente entre as próximas {@link #EVICTION_SAMPLE} ocupadas a
+         * partir do ponteiro do relógio.
+         */
+        private void evictOne() {
+            int victim = -1;
+            int seen = 0;
+            for (int i = 0; i < tableSize && seen < EVICTION_SAMPLE; i++) {
+                int slot = (clockHand + i) % tableSize;
+                if (lastSeen[slot] != 0) {
+                    seen++;
+                    if (victim < 0 || lastSeen[slot] < lastSeen[victim]) {
+                        victim = slot;
+                    }
+                }
+            }
+            clockHand = next(victim);
+            remove(victim);
+            evictions.incrementAndGet();
+        }
+
+        /**
+         * Remove com backward shift: puxa para trás as chaves seguintes do cluster que não
+         * ficariam mais alcançáveis a partir do seu slot ideal.
+         */
+        private void remove(int slot) {
+            int hole = slot;
+            for (int probe = next(hole); lastSeen[probe] != 0; probe = next(probe)) {
+                int ideal = home(keyHi[probe], keyLo[probe]);
+                boolean reachable = hole <= probe
+                    ? ideal > hole && ideal <= probe
+                    : ideal > hole || ideal <= probe;
+                if (!reachable) {
+                    move(probe, hole);
+                    hole = probe;
+                }
+            }
+            lastSeen[hole] = 0;
+            size--;
+        }
+
+        private int home(long hi, long lo) {
+            return (int) Long.remainderUnsigned(hash(hi, lo), tableSize);
+        }
+
+        private int next(int slot) {
+            return slot + 1 == tableSize ? 0 : slot + 1;
+        }
+
+        private void move(int from, int to) {
+            keyHi[to] = keyHi[from];
+            keyLo[to] = keyLo[from];
+            lastSeen[to] = lastSeen[from];
+            amountHead[to] = amountHead[from];
+            countHead[to] = countHead[from];
+            System.arraycopy(amounts, from * amountBuckets, amounts, to * amountBuckets, amountBuckets);
+            System.arraycopy(counts, from * countBuckets, counts, to * countBuckets, countBuckets);
+        }
+    }
+
+    private static long advanceRing(long[] ring, int offset, int buckets, long head, long index) {
+        if (head == Long.MIN_VALUE || index - head >= buckets) {
+            Arrays.fill(ring, offset, offset + buckets, 0L);
+            return index;
+        }
+        for (long i = head + 1; i <= index; i++) {
+            ring[offset + Math.floorMod(i, buckets)] = 0L;
+        }
+        return Math.max(head, index);
+    }
+
+    private static void addToRing(long[] ring, int offset, int buckets, long head, long index, long value) {
+        // Evento mais velho que a janela (ou à frente do head, que não deveria acontecer): ignora
+        if (index > head || head - index >= buckets) {
+            return;
+        }
+        ring[offset + Math.floorMod(index, buckets)] += value;
+    }
+
+    private static long sum(long[] ring, int offset, int buckets) {
+        long total = 0;
+        for (int i = offset; i < offset + buckets; i++) {
+            total += ring[i];
+        }
+        return total;
+    }
+}
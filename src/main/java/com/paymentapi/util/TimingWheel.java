@@ -0,0 +1,111 @@
+package com.paymentapi.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Timing wheel (roda de tempo com hash) para itens que vencem num instante futuro.
+ * <p>
+ * A roda é um ring de slots, cada um cobrindo um tick. Um item vai para o slot do seu tick de
+ * vencimento com o número de voltas que faltam; a cada tick o slot corrente é percorrido e os
+ * itens com zero voltas vencem. Agendar custa O(1) e avançar custa só os itens do slot, em vez de
+ * uma fila de prioridade ou uma varredura de todos os itens. A precisão é de um tick, sempre
+ * para depois: um item nunca vence antes do seu instante.
+ * <p>
+ * Os métodos são sincronizados: agendamentos (thread de reivindicação) e avanços (thread do tick)
+ * podem vir de threads diferentes.
+ *
+ * @param <T> tipo do item agendado
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final List<ArrayDeque<Entry<T>>> slots;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Cria a roda.
+     *
+     * @param tickMillis duração de um tick (precisão dos vencimentos)
+     * @param wheelSize quantidade de slots; itens além de uma volta esperam voltas extras
+     * @param startMillis instante inicial
+     */
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis e wheelSize devem ser positivos");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new ArrayDeque<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Agenda um item. Itens já vencidos vencem no próximo avanço.
+     *
+     * @param item item a agendar
+     * @param deadlineMillis instante de vencimento
+     */
+    public synchronized void schedule(T item, long deadlineMillis) {
+        // Arredonda para cima: o item não pode vencer antes do instante
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick);
+        long rounds = (deadlineTick - currentTick) / slots.size();
+        slots.get(Math.floorMod(deadlineTick, slots.size())).add(new Entry<>(item, rounds));
+        size++;
+    }
+
+    /**
+     * Avança a roda até o instante informado e devolve os itens vencidos.
+     *
+     * @param nowMillis instante atual
+     * @return itens vencidos
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long gap = Math.floorDiv(nowMillis, tickMillis) - currentTick + 1;
+        if (gap <= 0) {
+            return List.of();
+        }
+        List<T> expired = new ArrayList<>();
+        // Com mais ticks que slots, cada slot é visitado mais de uma vez: desconta as voltas de uma vez
+        int wheelSize = slots.size();
+        for (long i = 0; i < Math.min(gap, wheelSize) && size > 0; i++) {
+            long visits = (gap - 1 - i) / wheelSize + 1;
+            Iterator<Entry<T>> iterator = slots.get(Math.floorMod(currentTick + i, wheelSize)).iterator();
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+                if (entry.rounds < visits) {
+                    expired.add(entry.item);
+                    iterator.remove();
+                    size--;
+                } else {
+                    entry.rounds -= visits;
+                }
+            }
+        }
+        currentTick += gap;
+        return expired;
+    }
+
+    /**
+     * @return itens agendados ainda não vencidos
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private static final class Entry<T> {
+
+        private final T item;
+        private long rounds;
+
+        private Entry(T item, long rounds) {
+            this.item = item;
+            this.rounds = rounds;
+        }
+    }
+}
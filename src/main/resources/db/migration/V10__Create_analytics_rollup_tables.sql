@@ -0,0 +1,33 @@
+-- V10__Create_analytics_rollup_tables.sql
+-- Rollups pré-agregados dos eventos analíticos, por minuto e por hora.
+-- Mantidos incrementalmente pelo AnalyticsEmitter, na mesma transação do COPY de cada lote:
+-- os dashboards leem daqui e nunca fazem GROUP BY sobre analytical_events.
+
+CREATE TABLE analytics_rollup_minute (
+    event_type VARCHAR(100) NOT NULL,
+    user_type VARCHAR(20) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    event_count BIGINT NOT NULL,
+    amount_sum BIGINT NOT NULL,
+
+    CONSTRAINT pk_analytics_rollup_minute PRIMARY KEY (event_type, user_type, bucket_start)
+);
+
+CREATE TABLE analytics_rollup_hour (
+    event_type VARCHAR(100) NOT NULL,
+    user_type VARCHAR(20) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    event_count BIGINT NOT NULL,
+    amount_sum BIGINT NOT NULL,
+
+    CONSTRAINT pk_analytics_rollup_hour PRIMARY KEY (event_type, user_type, bucket_start)
+);
+
+-- Consultas por intervalo sem filtro de tipo
+CREATE INDEX idx_analytics_rollup_minute_bucket ON analytics_rollup_minute(bucket_start);
+CREATE INDEX idx_analytics_rollup_hour_bucket ON analytics_rollup_hour(bucket_start);
+
+COMMENT ON TABLE analytics_rollup_minute IS 'Contagem e soma de valores dos eventos analíticos por minuto';
+COMMENT ON TABLE analytics_rollup_hour IS 'Contagem e soma de valores dos eventos analíticos por hora';
+COMMENT ON COLUMN analytics_rollup_minute.user_type IS 'Tipo do usuário do evento (COMMON_USER, MERCHANT ou UNKNOWN)';
+COMMENT ON COLUMN analytics_rollup_minute.amount_sum IS 'Soma dos valores dos eventos em centavos';
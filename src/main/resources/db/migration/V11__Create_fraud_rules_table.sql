@@ -0,0 +1,38 @@
+-- V11__Create_fraud_rules_table.sql
+-- Regras antifraude aplicadas a cada transferência. A definição (JSON) é compilada pela
+-- aplicação numa árvore de predicados; alterações nesta tabela são recarregadas sem restart.
+
+CREATE TABLE fraud_rules (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    name VARCHAR(100) NOT NULL,
+    definition JSONB NOT NULL,
+    action VARCHAR(20) NOT NULL,
+    priority INTEGER NOT NULL DEFAULT 100,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_fraud_rules_name UNIQUE (name),
+    CONSTRAINT chk_fraud_rules_action CHECK (action IN ('BLOCK', 'FLAG'))
+);
+
+-- A recarga detecta mudanças por count(*) e max(updated_at): todo UPDATE precisa mover updated_at
+CREATE OR REPLACE FUNCTION update_fraud_rules_updated_at()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at = CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER update_fraud_rules_updated_at
+    BEFORE UPDATE ON fraud_rules
+    FOR EACH ROW
+    EXECUTE FUNCTION update_fraud_rules_updated_at();
+
+-- O índice da condição newPayee em transactions fica no V18, criado com CONCURRENTLY
+
+COMMENT ON TABLE fraud_rules IS 'Regras antifraude avaliadas em cada transferência';
+COMMENT ON COLUMN fraud_rules.definition IS 'Árvore de condições em JSON (all, any, not, amountGreaterThan, newPayee, ...)';
+COMMENT ON COLUMN fraud_rules.action IS 'BLOCK recusa a transferência; FLAG só registra a ocorrência';
+COMMENT ON COLUMN fraud_rules.priority IS 'Ordem de avaliação (menor primeiro)';
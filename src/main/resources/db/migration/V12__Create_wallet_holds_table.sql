@@ -0,0 +1,30 @@
+-- V12__Create_wallet_holds_table.sql
+-- Reservas de saldo em duas fases (hold e capture). O total reservado de cada carteira fica
+-- desnormalizado em users.held_amount: o saldo disponível é lido na mesma linha do saldo, pela PK.
+
+ALTER TABLE users ADD COLUMN held_amount INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE users ADD CONSTRAINT chk_users_held_amount CHECK (held_amount >= 0 AND held_amount <= wallet_balance);
+
+CREATE TABLE wallet_holds (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id),
+    merchant_id UUID NOT NULL REFERENCES users(id),
+    amount INTEGER NOT NULL CHECK (amount > 0),
+    captured_amount INTEGER CHECK (captured_amount > 0),
+    hold_status VARCHAR(20) NOT NULL,
+    transaction_id UUID REFERENCES transactions(id),
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_wallet_holds_status CHECK (hold_status IN ('ACTIVE', 'CAPTURED', 'RELEASED', 'EXPIRED'))
+);
+
+-- Varredura de expiração: só as reservas ativas entram no índice
+CREATE INDEX idx_wallet_holds_active_expires_at ON wallet_holds(expires_at) WHERE hold_status = 'ACTIVE';
+CREATE INDEX idx_wallet_holds_user_id ON wallet_holds(user_id);
+
+COMMENT ON TABLE wallet_holds IS 'Reservas de saldo autorizadas por lojistas, capturadas ou liberadas depois';
+COMMENT ON COLUMN users.held_amount IS 'Soma das reservas ativas da carteira, em centavos';
+COMMENT ON COLUMN wallet_holds.amount IS 'Valor reservado em centavos';
+COMMENT ON COLUMN wallet_holds.captured_amount IS 'Valor efetivamente capturado (até amount); o resto volta ao disponível';
@@ -0,0 +1,25 @@
+-- V13__Create_wallet_credit_journal_table.sql
+-- Journal de créditos diferidos (modo opcional payment.wallet.deferred-credits.enabled).
+-- O crédito de uma transferência entra aqui, sem lock na linha do recebedor, e um merger em
+-- background soma as linhas em users.wallet_balance, grava o balance_audit e apaga as linhas.
+
+CREATE TABLE wallet_credit_journal (
+    id BIGSERIAL PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(id),
+    transaction_id UUID,
+    amount INTEGER NOT NULL CHECK (amount > 0),
+    operation_type VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Soma dos créditos pendentes de um user por index-only scan (amount no próprio índice)
+CREATE INDEX idx_wallet_credit_journal_user_amount ON wallet_credit_journal(user_id) INCLUDE (amount);
+
+-- Tabela de alta rotatividade: vacuum frequente mantém o visibility map em dia para o index-only scan
+ALTER TABLE wallet_credit_journal SET (
+    autovacuum_vacuum_scale_factor = 0.01,
+    autovacuum_vacuum_insert_scale_factor = 0.01
+);
+
+COMMENT ON TABLE wallet_credit_journal IS 'Créditos aceitos e ainda não somados ao saldo materializado';
+COMMENT ON COLUMN wallet_credit_journal.amount IS 'Valor do crédito em centavos';
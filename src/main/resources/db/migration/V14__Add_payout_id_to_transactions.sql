@@ -0,0 +1,9 @@
+-- V14__Add_payout_id_to_transactions.sql
+-- Repasses em massa (POST /payouts): um débito do pagador e uma transação por recebedor.
+-- payout_id agrupa as transações de um mesmo repasse.
+
+ALTER TABLE transactions ADD COLUMN payout_id UUID;
+
+CREATE INDEX idx_transactions_payout_id ON transactions(payout_id) WHERE payout_id IS NOT NULL;
+
+COMMENT ON COLUMN transactions.payout_id IS 'Repasse em massa que gerou a transação (nulo para transferências avulsas)';
@@ -0,0 +1,41 @@
+-- V15__Create_scheduled_transfers_table.sql
+-- Transferências agendadas e recorrentes. Os workers reivindicam os agendamentos que vencem na
+-- próxima janela com FOR UPDATE SKIP LOCKED e um lease (locked_by/locked_until): vários nós
+-- dividem o trabalho sem pegar o mesmo agendamento.
+
+CREATE TABLE scheduled_transfers (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    payer_id UUID NOT NULL REFERENCES users(id),
+    payer_document VARCHAR(14) NOT NULL,
+    payee_document VARCHAR(14) NOT NULL,
+    amount INTEGER NOT NULL CHECK (amount > 0),
+    recurrence VARCHAR(20) NOT NULL,
+    schedule_status VARCHAR(20) NOT NULL,
+    first_run_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    occurrence INTEGER NOT NULL DEFAULT 0,
+    next_run_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    remaining_runs INTEGER CHECK (remaining_runs >= 0),
+    run_count INTEGER NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_run_at TIMESTAMP WITH TIME ZONE,
+    last_transaction_id UUID,
+    last_error VARCHAR(255),
+    locked_by VARCHAR(64),
+    locked_until TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_scheduled_transfers_recurrence CHECK (recurrence IN ('ONCE', 'DAILY', 'WEEKLY', 'MONTHLY')),
+    CONSTRAINT chk_scheduled_transfers_status CHECK (schedule_status IN ('ACTIVE', 'COMPLETED', 'FAILED', 'CANCELLED'))
+);
+
+-- Reivindicação dos vencidos: só os agendamentos ativos entram no índice
+CREATE INDEX idx_scheduled_transfers_active_next_run_at ON scheduled_transfers(next_run_at)
+    WHERE schedule_status = 'ACTIVE';
+CREATE INDEX idx_scheduled_transfers_payer_id ON scheduled_transfers(payer_id);
+
+COMMENT ON TABLE scheduled_transfers IS 'Transferências agendadas e recorrentes executadas pelos workers';
+COMMENT ON COLUMN scheduled_transfers.occurrence IS 'Índice da ocorrência corrente, contado a partir de first_run_at';
+COMMENT ON COLUMN scheduled_transfers.next_run_at IS 'Quando o worker deve executar: a ocorrência corrente ou uma nova tentativa';
+COMMENT ON COLUMN scheduled_transfers.remaining_runs IS 'Execuções restantes (nulo: recorrente até ser cancelada)';
+COMMENT ON COLUMN scheduled_transfers.locked_until IS 'Fim do lease do nó que reivindicou o agendamento';
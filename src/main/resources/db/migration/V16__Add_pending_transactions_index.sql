@@ -0,0 +1,7 @@
+-- V16__Add_pending_transactions_index.sql
+-- Varredura de transações presas em PENDING: só as pendentes entram no índice, que fica
+-- pequeno qualquer que seja o tamanho de transactions. Serve à busca das mais antigas
+-- (ORDER BY created_at) e ao count/min(created_at) do backlog.
+
+CREATE INDEX idx_transactions_pending_created_at ON transactions(created_at)
+    WHERE transaction_status = 'PENDING';
@@ -0,0 +1,32 @@
+-- V17__Create_notification_outbox_table.sql
+-- Outbox das notificações ao recebedor. A linha é gravada na transação da transferência (entra
+-- com o commit, some com o rollback) e entregue depois por um relay em background; a chamada ao
+-- notificador não fica no caminho do pagamento. Entregues são apagadas; as que esgotam as
+-- tentativas ficam como FAILED para inspeção.
+
+CREATE TABLE notification_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    transaction_id UUID,
+    recipient_id UUID NOT NULL REFERENCES users(id),
+    payload JSONB NOT NULL,
+    outbox_status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_notification_outbox_status CHECK (outbox_status IN ('PENDING', 'FAILED'))
+);
+
+-- Reivindicação pelo relay: só as pendentes entram no índice
+CREATE INDEX idx_notification_outbox_pending_next_attempt ON notification_outbox(next_attempt_at)
+    WHERE outbox_status = 'PENDING';
+
+-- Tabela de alta rotatividade (inclusão e remoção a cada transferência)
+ALTER TABLE notification_outbox SET (
+    autovacuum_vacuum_scale_factor = 0.01,
+    autovacuum_vacuum_insert_scale_factor = 0.01
+);
+
+COMMENT ON TABLE notification_outbox IS 'Notificações ao recebedor gravadas com a transferência e ainda não entregues';
+COMMENT ON COLUMN notification_outbox.next_attempt_at IS 'Próxima tentativa; enquanto uma entrega está em andamento, o fim do lease do relay';
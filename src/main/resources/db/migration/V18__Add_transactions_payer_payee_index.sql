@@ -0,0 +1,11 @@
+-- V18__Add_transactions_payer_payee_index.sql
+-- Condição newPayee das regras antifraude (V11): existe transferência anterior do pagador para
+-- o recebedor?
+--
+-- Roda fora de transação (V18__Add_transactions_payer_payee_index.sql.conf): transactions é a
+-- maior tabela do banco, e o índice é criado com CONCURRENTLY, sem bloquear as escritas das
+-- transferências. O DROP INDEX IF EXISTS inicial limpa um índice inválido deixado por uma
+-- execução interrompida.
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_transactions_payer_payee;
+CREATE INDEX CONCURRENTLY idx_transactions_payer_payee ON transactions(payer_id, payee_id);
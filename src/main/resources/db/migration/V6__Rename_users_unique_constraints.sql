@@ -0,0 +1,6 @@
+-- V6__Rename_users_unique_constraints.sql
+-- As constraints UNIQUE inline do V1 ficaram com o nome gerado pelo Postgres (users_cpf_key, users_email_key).
+-- Renomeia pra bater com os nomes declarados na entidade User e com o uk_users_cnpj do V4.
+
+ALTER TABLE users RENAME CONSTRAINT users_cpf_key TO uk_users_cpf;
+ALTER TABLE users RENAME CONSTRAINT users_email_key TO uk_users_email;
@@ -0,0 +1,30 @@
+-- V7__Add_covering_indexes_for_login.sql
+-- Índices cobrindo pra autenticação: o login lê id, senha, user_type, nome_completo e email
+-- a partir do cpf ou do email. Com essas colunas no INCLUDE, a busca vira index-only scan
+-- e não precisa visitar o heap da tabela users.
+--
+-- As constraints únicas passam a usar os índices com INCLUDE (Postgres 11+) em vez de ganhar
+-- índices novos ao lado, pra não manter dois índices por coluna. Os nomes das constraints não mudam.
+--
+-- Roda fora de transação (V7__Add_covering_indexes_for_login.sql.conf): os índices são criados
+-- com CONCURRENTLY, sem bloquear escritas em users, e a troca de constraint é só de catálogo
+-- (ACCESS EXCLUSIVE por um instante, sem reconstruir índice). O DROP INDEX IF EXISTS inicial
+-- limpa um índice inválido deixado por uma execução interrompida.
+
+DROP INDEX CONCURRENTLY IF EXISTS uk_users_cpf_covering;
+CREATE UNIQUE INDEX CONCURRENTLY uk_users_cpf_covering ON users (cpf)
+    INCLUDE (id, senha, user_type, nome_completo, email);
+ALTER TABLE users
+    DROP CONSTRAINT uk_users_cpf,
+    ADD CONSTRAINT uk_users_cpf UNIQUE USING INDEX uk_users_cpf_covering;
+
+DROP INDEX CONCURRENTLY IF EXISTS uk_users_email_covering;
+CREATE UNIQUE INDEX CONCURRENTLY uk_users_email_covering ON users (email)
+    INCLUDE (id, senha, user_type, nome_completo);
+ALTER TABLE users
+    DROP CONSTRAINT uk_users_email,
+    ADD CONSTRAINT uk_users_email UNIQUE USING INDEX uk_users_email_covering;
+
+-- Index-only scan só evita o heap nas páginas marcadas como all-visible no visibility map,
+-- que é atualizado pelo VACUUM (o ANALYZE só atualiza as estatísticas do planner)
+VACUUM (ANALYZE) users;
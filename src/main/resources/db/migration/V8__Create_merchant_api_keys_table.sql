@@ -0,0 +1,27 @@
+-- V8__Create_merchant_api_keys_table.sql
+-- Chaves de API pra integração máquina-a-máquina dos lojistas (MERCHANT).
+-- A chave em si nunca é armazenada: só o prefixo público (usado na busca) e o digest SHA-256 da chave inteira.
+
+CREATE TABLE merchant_api_keys (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    key_prefix VARCHAR(16) NOT NULL,
+    key_hash VARCHAR(64) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    revoked_at TIMESTAMP,
+
+    CONSTRAINT fk_merchant_api_keys_user FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT uk_merchant_api_keys_prefix UNIQUE (key_prefix)
+);
+
+-- Lista das chaves de um lojista
+CREATE INDEX idx_merchant_api_keys_user_id ON merchant_api_keys(user_id);
+
+-- Carga do conjunto de revogação no startup (só as chaves revogadas)
+CREATE INDEX idx_merchant_api_keys_revoked ON merchant_api_keys(key_prefix) WHERE revoked_at IS NOT NULL;
+
+COMMENT ON TABLE merchant_api_keys IS 'Chaves de API dos lojistas (armazenadas como digest SHA-256)';
+COMMENT ON COLUMN merchant_api_keys.key_prefix IS 'Prefixo público da chave, usado pra localizar o registro';
+COMMENT ON COLUMN merchant_api_keys.key_hash IS 'SHA-256 (hex) da chave completa';
+COMMENT ON COLUMN merchant_api_keys.revoked_at IS 'Timestamp da revogação (nulo se a chave está ativa)';
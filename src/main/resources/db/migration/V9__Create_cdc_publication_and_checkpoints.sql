@@ -0,0 +1,16 @@
+-- V9__Create_cdc_publication_and_checkpoints.sql
+-- Change data capture das alterações de saldo via replicação lógica (plugin pgoutput).
+-- Requer wal_level = logical no servidor. O slot de replicação é criado pela aplicação.
+
+-- Só as tabelas de saldo entram no stream
+CREATE PUBLICATION payment_balance_cdc FOR TABLE users, balance_audit;
+
+-- Posição (LSN) até onde o leitor já entregou os eventos aos assinantes
+CREATE TABLE cdc_checkpoints (
+    slot_name VARCHAR(63) PRIMARY KEY,
+    lsn BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE cdc_checkpoints IS 'Checkpoint do leitor de CDC por slot de replicação';
+COMMENT ON COLUMN cdc_checkpoints.lsn IS 'End LSN da última transação entregue aos assinantes';
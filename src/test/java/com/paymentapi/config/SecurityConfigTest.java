@@ -0,0 +1,55 @@
+package com.paymentapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+/**
+ * Testes unitários para as regras de autorização do SecurityConfig.
+ */
+class SecurityConfigTest {
+
+    private final RequestAuthorizationContext context =
+        new RequestAuthorizationContext(new MockHttpServletRequest("POST", "/transfer"));
+
+    @Test
+    @DisplayName("Deve negar a transferência a um lojista autenticado por chave de API")
+    void testTransferDeniedForMerchant() {
+        // Arrange
+        Authentication merchant = UsernamePasswordAuthenticationToken.authenticated("merchant", null,
+            List.of(new SimpleGrantedAuthority(ApiKeyAuthenticationFilter.MERCHANT_ROLE)));
+
+        // Act & Assert
+        assertThat(SecurityConfig.authenticatedNotMerchant(() -> merchant, context).isGranted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve permitir a transferência ao usuário de serviço (HTTP Basic)")
+    void testTransferAllowedForServiceUser() {
+        // Arrange
+        Authentication service = UsernamePasswordAuthenticationToken.authenticated("service", null, List.of());
+
+        // Act & Assert
+        assertThat(SecurityConfig.authenticatedNotMerchant(() -> service, context).isGranted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve negar a transferência a requisições anônimas")
+    void testTransferDeniedForAnonymous() {
+        // Arrange
+        Authentication anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+            AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        // Act & Assert
+        assertThat(SecurityConfig.authenticatedNotMerchant(() -> anonymous, context).isGranted()).isFalse();
+    }
+}
@@ -0,0 +1,147 @@
+package com.paymentapi.config;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.service.MerchantApiKeyService;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+/**
+ * Testes da cadeia de filtros do SecurityConfig: quais rotas aceitam a chave de API de lojista.
+ * Sobe só o SecurityConfig e um controller que responde 200 a qualquer rota.
+ */
+@SpringJUnitWebConfig(SecurityFilterChainTest.TestConfig.class)
+class SecurityFilterChainTest {
+
+    private static final String MERCHANT_KEY = "pk_live_merchant";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MerchantApiKeyService merchantApiKeyService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        when(merchantApiKeyService.authenticate(anyString())).thenReturn(Optional.of(new UserContext(
+            UUID.randomUUID(), "Loja", "loja@example.com", UserType.MERCHANT, LocalDateTime.now())));
+    }
+
+    @Test
+    @DisplayName("Deve negar com 403 a importação de usuários a um lojista autenticado por chave de API")
+    void testUserImportForbiddenForMerchant() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/users/import").header(ApiKeyAuthenticationFilter.API_KEY_HEADER, MERCHANT_KEY))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Deve negar com 403 os rollups analíticos a um lojista autenticado por chave de API")
+    void testAnalyticsForbiddenForMerchant() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/analytics/rollups").header(ApiKeyAuthenticationFilter.API_KEY_HEADER, MERCHANT_KEY))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Deve negar com 403 a transferência a um lojista autenticado por chave de API")
+    void testTransferForbiddenForMerchant() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/transfer").header(ApiKeyAuthenticationFilter.API_KEY_HEADER, MERCHANT_KEY))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Deve liberar as rotas de lojista à chave de API")
+    void testMerchantRoutesAllowedForMerchant() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+
+        // Act & Assert
+        mockMvc.perform(post("/payouts").header(ApiKeyAuthenticationFilter.API_KEY_HEADER, MERCHANT_KEY))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/wallets/{id}/balance", id)
+                .header(ApiKeyAuthenticationFilter.API_KEY_HEADER, MERCHANT_KEY))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/merchants/{id}/api-keys", id)
+                .header(ApiKeyAuthenticationFilter.API_KEY_HEADER, MERCHANT_KEY))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a importação de usuários e os rollups ao usuário de serviço")
+    void testServiceRoutesAllowedForServiceUser() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/users/import").with(user("service")))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/analytics/rollups").with(user("service")))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve exigir autenticação nas rotas não públicas")
+    void testAnonymousUnauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/analytics/rollups"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import(SecurityConfig.class)
+    static class TestConfig {
+
+        @Bean
+        MerchantApiKeyService merchantApiKeyService() {
+            return mock(MerchantApiKeyService.class);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        OkController okController() {
+            return new OkController();
+        }
+    }
+
+    @RestController
+    static class OkController {
+
+        @RequestMapping("/**")
+        ResponseEntity<Void> ok() {
+            return ResponseEntity.ok().build();
+        }
+    }
+}
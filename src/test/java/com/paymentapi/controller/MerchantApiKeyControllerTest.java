@@ -0,0 +1,121 @@
+package com.paymentapi.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.response.ApiKeyResponse;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.service.MerchantApiKeyService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Testes unitários para o MerchantApiKeyController (MockMvc standalone, sem contexto Spring).
+ */
+@ExtendWith(MockitoExtension.class)
+class MerchantApiKeyControllerTest {
+
+    @Mock
+    private MerchantApiKeyService merchantApiKeyService;
+
+    private MockMvc mockMvc;
+    private UUID merchantId;
+    private UUID otherMerchantId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new MerchantApiKeyController(merchantApiKeyService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+        merchantId = UUID.randomUUID();
+        otherMerchantId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Deve emitir chave quando o lojista autenticado é o dono")
+    void testIssueKeyForOwnMerchant() throws Exception {
+        // Arrange
+        when(merchantApiKeyService.issueKey(merchantId, "backend"))
+            .thenReturn(new ApiKeyResponse(UUID.randomUUID(), "pk_live_abc", "pk_live", "backend",
+                LocalDateTime.now(), null));
+
+        // Act & Assert
+        mockMvc.perform(post("/merchants/{merchantId}/api-keys", merchantId)
+                .principal(merchantAuthentication(merchantId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"backend\"}"))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.apiKey").value("pk_live_abc"));
+    }
+
+    @Test
+    @DisplayName("Deve negar com 403 a emissão de chave para outro lojista")
+    void testIssueKeyForOtherMerchantForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/merchants/{merchantId}/api-keys", otherMerchantId)
+                .principal(merchantAuthentication(merchantId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"backend\"}"))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.type").value("wallet_access_denied"));
+        verify(merchantApiKeyService, never()).issueKey(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve negar com 403 a listagem das chaves de outro lojista")
+    void testListKeysForOtherMerchantForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/merchants/{merchantId}/api-keys", otherMerchantId)
+                .principal(merchantAuthentication(merchantId)))
+            .andExpect(status().isForbidden());
+        verifyNoInteractions(merchantApiKeyService);
+    }
+
+    @Test
+    @DisplayName("Deve negar com 403 a revogação de chave de outro lojista")
+    void testRevokeKeyForOtherMerchantForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/merchants/{merchantId}/api-keys/{keyId}", otherMerchantId, UUID.randomUUID())
+                .principal(merchantAuthentication(merchantId)))
+            .andExpect(status().isForbidden());
+        verifyNoInteractions(merchantApiKeyService);
+    }
+
+    @Test
+    @DisplayName("Deve permitir ao usuário de serviço (HTTP Basic) listar as chaves de qualquer lojista")
+    void testListKeysAsServiceUser() throws Exception {
+        // Arrange
+        when(merchantApiKeyService.listKeys(otherMerchantId)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/merchants/{merchantId}/api-keys", otherMerchantId)
+                .principal(UsernamePasswordAuthenticationToken.authenticated("service", null, List.of())))
+            .andExpect(status().isOk());
+    }
+
+    private static UsernamePasswordAuthenticationToken merchantAuthentication(UUID merchantId) {
+        UserContext merchant = new UserContext(merchantId, "Loja", "loja@example.com", UserType.MERCHANT,
+            LocalDateTime.now());
+        return UsernamePasswordAuthenticationToken.authenticated(merchant, null, List.of());
+    }
+}
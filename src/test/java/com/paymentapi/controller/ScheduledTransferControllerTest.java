@@ -0,0 +1,98 @@
+package com.paymentapi.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.response.ScheduledTransferResponse;
+import com.paymentapi.entity.enums.ScheduledTransferStatus;
+import com.paymentapi.entity.enums.TransferRecurrence;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.WalletAccessDeniedException;
+import com.paymentapi.service.ScheduledTransferService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Testes unitários para o ScheduledTransferController (MockMvc standalone, sem contexto Spring).
+ */
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransferControllerTest {
+
+    @Mock
+    private ScheduledTransferService scheduledTransferService;
+
+    private MockMvc mockMvc;
+    private UUID scheduleId;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ScheduledTransferController(scheduledTransferService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+        scheduleId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Deve negar com 403 a consulta de agendamento de outro pagador")
+    void testGetOtherPayerForbidden() throws Exception {
+        // Arrange
+        when(scheduledTransferService.get(scheduleId, userId))
+            .thenThrow(new WalletAccessDeniedException(UUID.randomUUID()));
+
+        // Act & Assert
+        mockMvc.perform(get("/scheduled-transfers/{id}", scheduleId).principal(userAuthentication(userId)))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.type").value("wallet_access_denied"));
+    }
+
+    @Test
+    @DisplayName("Deve negar com 403 o cancelamento de agendamento de outro pagador")
+    void testCancelOtherPayerForbidden() throws Exception {
+        // Arrange
+        when(scheduledTransferService.cancel(scheduleId, userId))
+            .thenThrow(new WalletAccessDeniedException(UUID.randomUUID()));
+
+        // Act & Assert
+        mockMvc.perform(delete("/scheduled-transfers/{id}", scheduleId).principal(userAuthentication(userId)))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.type").value("wallet_access_denied"));
+    }
+
+    @Test
+    @DisplayName("Deve consultar sem restrição de pagador para o usuário de serviço")
+    void testGetAsServiceUser() throws Exception {
+        // Arrange
+        when(scheduledTransferService.get(scheduleId, null)).thenReturn(new ScheduledTransferResponse(
+            scheduleId, userId, "12345678909", "98765432100", BigDecimal.TEN, TransferRecurrence.ONCE,
+            ScheduledTransferStatus.ACTIVE, LocalDateTime.now().plusDays(1), 1, 0, null, null, null));
+
+        // Act & Assert
+        mockMvc.perform(get("/scheduled-transfers/{id}", scheduleId)
+                .principal(UsernamePasswordAuthenticationToken.authenticated("service", null, List.of())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(scheduleId.toString()));
+    }
+
+    private static UsernamePasswordAuthenticationToken userAuthentication(UUID userId) {
+        UserContext user = new UserContext(userId, "Loja", "loja@example.com", UserType.MERCHANT,
+            LocalDateTime.now());
+        return UsernamePasswordAuthenticationToken.authenticated(user, null, List.of());
+    }
+}
@@ -0,0 +1,129 @@
+package com.paymentapi.controller;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.response.WalletBalanceResponse;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.metrics.WalletMetrics;
+import com.paymentapi.service.BalanceStreamHub;
+import com.paymentapi.service.WalletService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Testes unitários para o WalletController (MockMvc standalone, sem contexto Spring).
+ */
+@ExtendWith(MockitoExtension.class)
+class WalletControllerTest {
+
+    @Mock
+    private WalletService walletService;
+
+    @Mock
+    private WalletMetrics walletMetrics;
+
+    @Mock
+    private BalanceStreamHub balanceStreamHub;
+
+    private MockMvc mockMvc;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new WalletController(walletService, walletMetrics, balanceStreamHub))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Deve retornar o saldo com ETag derivado de id e versão")
+    void testGetBalanceReturnsETag() throws Exception {
+        // Arrange
+        when(walletService.getBalance(userId))
+            .thenReturn(new WalletBalanceResponse(userId, 10000, LocalDateTime.now(), 7));
+
+        // Act & Assert
+        mockMvc.perform(get("/wallets/{userId}/balance", userId))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + userId + "-7\""))
+            .andExpect(jsonPath("$.walletBalance").value(10000))
+            .andExpect(jsonPath("$.version").doesNotExist());
+        verify(walletService, never()).getBalanceVersion(userId);
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 lendo só a versão quando o ETag ainda bate")
+    void testGetBalanceNotModified() throws Exception {
+        // Arrange
+        when(walletService.getBalanceVersion(userId)).thenReturn(Optional.of(7));
+
+        // Act & Assert
+        mockMvc.perform(get("/wallets/{userId}/balance", userId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + userId + "-7\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + userId + "-7\""))
+            .andExpect(content().string(""));
+        verify(walletService, never()).getBalance(userId);
+        verify(walletMetrics).recordConditionalRead("not_modified");
+    }
+
+    @Test
+    @DisplayName("Deve retornar o saldo completo quando a versão mudou")
+    void testGetBalanceModified() throws Exception {
+        // Arrange
+        when(walletService.getBalanceVersion(userId)).thenReturn(Optional.of(8));
+        when(walletService.getBalance(userId))
+            .thenReturn(new WalletBalanceResponse(userId, 9000, LocalDateTime.now(), 8));
+
+        // Act & Assert
+        mockMvc.perform(get("/wallets/{userId}/balance", userId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + userId + "-7\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + userId + "-8\""))
+            .andExpect(jsonPath("$.walletBalance").value(9000));
+        verify(walletMetrics).recordConditionalRead("modified");
+    }
+
+    @Test
+    @DisplayName("Deve negar com 403 o saldo de outra carteira, mesmo com If-None-Match")
+    void testGetBalanceOtherWalletForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/wallets/{userId}/balance", userId)
+                .principal(userAuthentication(UUID.randomUUID())))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.type").value("wallet_access_denied"));
+        mockMvc.perform(get("/wallets/{userId}/balance", userId)
+                .principal(userAuthentication(UUID.randomUUID()))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + userId + "-7\""))
+            .andExpect(status().isForbidden());
+        verifyNoInteractions(walletService);
+    }
+
+    private static UsernamePasswordAuthenticationToken userAuthentication(UUID userId) {
+        UserContext user = new UserContext(userId, "Loja", "loja@example.com", UserType.MERCHANT,
+            LocalDateTime.now());
+        return UsernamePasswordAuthenticationToken.authenticated(user, null, List.of());
+    }
+}
@@ -0,0 +1,49 @@
+package com.paymentapi.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.paymentapi.entity.WalletBalanceAudit;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes unitários para a montagem do COPY de auditoria do PayoutRepository.
+ */
+class PayoutRepositoryTest {
+
+    @Test
+    @DisplayName("Deve montar o CSV do COPY com transação nula como campo vazio")
+    void testAuditCsv() {
+        // Arrange
+        UUID userId = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+        UUID transactionId = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 2, 3, 4, 5, 6000);
+
+        // Act
+        String csv = PayoutRepository.toCsv(List.of(
+            audit(userId, null, 1000, -600, "PAYOUT_DEBIT", createdAt),
+            audit(userId, transactionId, 0, 600, "PAYOUT_CREDIT", createdAt)));
+
+        // Assert
+        assertThat(csv).isEqualTo(
+            userId + ",,1000,400,-600,\"PAYOUT_DEBIT\",2026-01-02T03:04:05.000006,\"system\"\n"
+                + userId + "," + transactionId + ",0,600,600,\"PAYOUT_CREDIT\",2026-01-02T03:04:05.000006,\"system\"\n");
+    }
+
+    private static WalletBalanceAudit audit(UUID userId, UUID transactionId, int previousBalance, int change,
+                                            String operationType, LocalDateTime createdAt) {
+        WalletBalanceAudit audit = new WalletBalanceAudit();
+        audit.setUserId(userId);
+        audit.setTransactionId(transactionId);
+        audit.setPreviousBalance(previousBalance);
+        audit.setNewBalance(previousBalance + change);
+        audit.setBalanceChange(change);
+        audit.setOperationType(operationType);
+        audit.setCreatedAt(createdAt);
+        audit.setCreatedBy("system");
+        return audit;
+    }
+}
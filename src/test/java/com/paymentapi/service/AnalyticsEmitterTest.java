@@ -0,0 +1,258 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.dto.internal.AnalyticsEventRecord;
+import com.paymentapi.dto.internal.AnalyticsRollupBucket;
+import com.paymentapi.entity.enums.RollupGranularity;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.metrics.AnalyticsMetrics;
+import com.paymentapi.repository.AnalyticsRollupRepository;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+/**
+ * Testes unitários para o AnalyticsEmitter (fila, gravação em lote e rollups, sem thread de gravação).
+ */
+@ExtendWith(MockitoExtension.class)
+class AnalyticsEmitterTest {
+
+    private static final UUID USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private AnalyticsMetrics analyticsMetrics;
+
+    @Mock
+    private AnalyticsRollupRepository rollupRepository;
+
+    @Test
+    @DisplayName("Deve gravar a fila em lotes do tamanho configurado com COPY")
+    void testFlushWritesBatchesWithCopy() throws Exception {
+        // Arrange
+        AnalyticsEmitter emitter = emitter(10, 2, "drop");
+        StringWriter copied = new StringWriter();
+        mockCopy(copied);
+        for (int i = 0; i < 3; i++) {
+            emitter.emit("TRANSFER_COMPLETED", USER_ID, UserType.COMMON_USER, null, (long) i, Map.of("amount", i));
+        }
+
+        // Act
+        int first = emitter.flush();
+        int second = emitter.flush();
+
+        // Assert
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(1);
+        assertThat(emitter.queueDepth()).isZero();
+        assertThat(copied.toString().lines()).hasSize(3)
+            .allSatisfy(line -> assertThat(line).contains("\"TRANSFER_COMPLETED\",\"" + USER_ID + "\",,"));
+        verify(analyticsMetrics).recordFlush(eq(2), any(Duration.class), eq("success"));
+        verify(analyticsMetrics).recordFlush(eq(1), any(Duration.class), eq("success"));
+        verify(connection, times(2)).commit();
+    }
+
+    @Test
+    @DisplayName("Deve somar o lote aos rollups na mesma transação do COPY")
+    void testFlushIncrementsRollupsInSameTransaction() throws Exception {
+        // Arrange
+        AnalyticsEmitter emitter = emitter(10, 10, "drop");
+        mockCopy(new StringWriter());
+        emitter.emit("TRANSFER_COMPLETED", USER_ID, UserType.COMMON_USER, null, 500L, null);
+        emitter.emit("TRANSFER_COMPLETED", USER_ID, UserType.COMMON_USER, null, 250L, null);
+
+        // Act
+        emitter.flush();
+
+        // Assert
+        InOrder order = inOrder(connection, copyManager, rollupRepository);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(copyManager).copyIn(anyString(), any(Reader.class));
+        order.verify(rollupRepository).increment(eq(connection), eq(RollupGranularity.MINUTE), argThat(buckets ->
+            buckets.size() == 1 && buckets.get(0).eventCount() == 2 && buckets.get(0).amountSum() == 750));
+        order.verify(rollupRepository).increment(eq(connection), eq(RollupGranularity.HOUR), anyList());
+        order.verify(connection).commit();
+    }
+
+    @Test
+    @DisplayName("Deve desfazer o COPY quando o upsert dos rollups falha")
+    void testRollupFailureRollsBackBatch() throws Exception {
+        // Arrange
+        AnalyticsEmitter emitter = emitter(10, 10, "drop");
+        mockCopy(new StringWriter());
+        when(rollupRepository.increment(eq(connection), eq(RollupGranularity.MINUTE), anyList()))
+            .thenThrow(new SQLException("deadlock detected"));
+        emitter.emit("E", null, null, null, null, null);
+
+        // Act
+        emitter.flush();
+
+        // Assert
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(analyticsMetrics).recordDropped(1, "write_failed");
+    }
+
+    @Test
+    @DisplayName("Deve agregar o lote por tipo de evento, tipo de usuário e bucket, ordenado pela chave")
+    void testRollupAggregatesByKey() {
+        // Arrange
+        OffsetDateTime base = OffsetDateTime.of(2026, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        List<AnalyticsEventRecord> batch = List.of(
+            record("TRANSFER_COMPLETED", UserType.MERCHANT, 100L, base.plusSeconds(10)),
+            record("TRANSFER_COMPLETED", UserType.COMMON_USER, 200L, base.plusSeconds(70)),
+            record("TRANSFER_COMPLETED", UserType.COMMON_USER, 300L, base.plusSeconds(5)),
+            record("TRANSFER_COMPLETED", UserType.COMMON_USER, null, base.plusSeconds(50)),
+            record("BALANCE_CHANGED", null, -40L, base.withOffsetSameInstant(ZoneOffset.ofHours(-3))));
+
+        // Act
+        List<AnalyticsRollupBucket> minutes = AnalyticsEmitter.rollup(batch, RollupGranularity.MINUTE);
+        List<AnalyticsRollupBucket> hours = AnalyticsEmitter.rollup(batch, RollupGranularity.HOUR);
+
+        // Assert
+        Instant noon = base.toInstant();
+        assertThat(minutes).containsExactly(
+            new AnalyticsRollupBucket("BALANCE_CHANGED", "UNKNOWN", noon, 1, -40),
+            new AnalyticsRollupBucket("TRANSFER_COMPLETED", "COMMON_USER", noon, 2, 300),
+            new AnalyticsRollupBucket("TRANSFER_COMPLETED", "COMMON_USER", noon.plusSeconds(60), 1, 200),
+            new AnalyticsRollupBucket("TRANSFER_COMPLETED", "MERCHANT", noon, 1, 100));
+        assertThat(hours).containsExactly(
+            new AnalyticsRollupBucket("BALANCE_CHANGED", "UNKNOWN", noon, 1, -40),
+            new AnalyticsRollupBucket("TRANSFER_COMPLETED", "COMMON_USER", noon, 3, 500),
+            new AnalyticsRollupBucket("TRANSFER_COMPLETED", "MERCHANT", noon, 1, 100));
+    }
+
+    @Test
+    @DisplayName("Deve descartar na hora com a política drop e a fila cheia")
+    void testDropPolicyDiscardsWhenFull() {
+        // Arrange
+        AnalyticsEmitter emitter = emitter(2, 10, "drop");
+
+        // Act
+        boolean first = emitter.emit("E", null, null, null, null, null);
+        boolean second = emitter.emit("E", null, null, null, null, null);
+        boolean third = emitter.emit("E", null, null, null, null, null);
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(emitter.queueDepth()).isEqualTo(2);
+        verify(analyticsMetrics).recordDropped(1, "queue_full");
+    }
+
+    @Test
+    @DisplayName("Deve esperar até o timeout por espaço com a política block")
+    void testBlockPolicyWaitsUntilTimeout() {
+        // Arrange
+        AnalyticsEmitter emitter = emitter(1, 10, "block");
+        emitter.emit("E", null, null, null, null, null);
+
+        // Act
+        long start = System.nanoTime();
+        boolean accepted = emitter.emit("E", null, null, null, null, null);
+        Duration waited = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertThat(accepted).isFalse();
+        assertThat(waited).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        verify(analyticsMetrics).recordDropped(1, "queue_full");
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contar o lote quando o COPY falha")
+    void testFailedWriteDropsBatch() throws Exception {
+        // Arrange
+        AnalyticsEmitter emitter = emitter(10, 10, "drop");
+        when(dataSource.getConnection()).thenThrow(new SQLException("conexão recusada"));
+        emitter.emit("E", null, null, null, null, null);
+        emitter.emit("E", null, null, null, null, null);
+
+        // Act
+        int drained = emitter.flush();
+
+        // Assert
+        assertThat(drained).isEqualTo(2);
+        assertThat(emitter.queueDepth()).isZero();
+        verify(analyticsMetrics).recordFlush(eq(2), any(Duration.class), eq("failed"));
+        verify(analyticsMetrics).recordDropped(2, "write_failed");
+    }
+
+    @Test
+    @DisplayName("Deve escapar aspas e deixar nulos sem aspas no CSV")
+    void testCsvEscaping() {
+        // Arrange
+        UUID id = UUID.fromString("00000000-0000-0000-0000-0000000000e1");
+        OffsetDateTime createdAt = OffsetDateTime.of(2026, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        AnalyticsEventRecord event = new AnalyticsEventRecord(
+            id, "E", null, null, null, null, "{\"note\":\"a,b\"}", "corr-1", createdAt);
+
+        // Act
+        String csv = AnalyticsEmitter.toCsv(List.of(event));
+
+        // Assert
+        assertThat(csv).isEqualTo("\"" + id + "\",\"E\",,,\"{\"\"note\"\":\"\"a,b\"\"}\",\"corr-1\",\""
+            + createdAt + "\"\n");
+    }
+
+    private static AnalyticsEventRecord record(String eventType, UserType userType, Long amount,
+                                               OffsetDateTime createdAt) {
+        return new AnalyticsEventRecord(UUID.randomUUID(), eventType, null, userType, null, amount, null, null,
+            createdAt);
+    }
+
+    private AnalyticsEmitter emitter(int queueCapacity, int batchSize, String policy) {
+        return new AnalyticsEmitter(dataSource, new ObjectMapper(), analyticsMetrics, rollupRepository, true,
+            queueCapacity, batchSize, Duration.ofMillis(200), policy, Duration.ofMillis(50));
+    }
+
+    private void mockCopy(StringWriter copied) throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenAnswer(invocation -> {
+            invocation.<Reader>getArgument(1).transferTo(copied);
+            return 0L;
+        });
+    }
+}
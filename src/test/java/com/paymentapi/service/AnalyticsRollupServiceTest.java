@@ -0,0 +1,116 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.dto.internal.AnalyticsRollupBucket;
+import com.paymentapi.dto.response.AnalyticsSeriesResponse;
+import com.paymentapi.entity.enums.RollupGranularity;
+import com.paymentapi.metrics.AnalyticsMetrics;
+import com.paymentapi.repository.AnalyticsRollupRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Testes unitários para o AnalyticsRollupService.
+ */
+@ExtendWith(MockitoExtension.class)
+class AnalyticsRollupServiceTest {
+
+    private static final Instant NOON = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Mock
+    private AnalyticsRollupRepository rollupRepository;
+
+    @Mock
+    private AnalyticsMetrics analyticsMetrics;
+
+    @InjectMocks
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Test
+    @DisplayName("Deve agrupar os buckets em séries por tipo de evento e tipo de usuário")
+    void testGroupsBucketsIntoSeries() {
+        // Arrange
+        Instant from = NOON.plusSeconds(30);
+        Instant to = NOON.plusSeconds(600);
+        when(rollupRepository.findBuckets(RollupGranularity.MINUTE, null, null, NOON, to)).thenReturn(List.of(
+            new AnalyticsRollupBucket("TRANSFER_COMPLETED", "COMMON_USER", NOON, 2, 750),
+            new AnalyticsRollupBucket("TRANSFER_COMPLETED", "COMMON_USER", NOON.plusSeconds(120), 1, 100),
+            new AnalyticsRollupBucket("TRANSFER_COMPLETED", "MERCHANT", NOON, 1, 50)));
+
+        // Act
+        AnalyticsSeriesResponse response = analyticsRollupService.getSeries(null, null, from, to, null);
+
+        // Assert
+        assertThat(response.granularity()).isEqualTo(RollupGranularity.MINUTE);
+        assertThat(response.from()).isEqualTo(NOON.toEpochMilli());
+        assertThat(response.to()).isEqualTo(to.toEpochMilli());
+        assertThat(response.series()).containsExactly(
+            new AnalyticsSeriesResponse.Series("TRANSFER_COMPLETED", "COMMON_USER", List.of(
+                new AnalyticsSeriesResponse.Point(NOON.toEpochMilli(), 2, 750),
+                new AnalyticsSeriesResponse.Point(NOON.plusSeconds(120).toEpochMilli(), 1, 100))),
+            new AnalyticsSeriesResponse.Series("TRANSFER_COMPLETED", "MERCHANT", List.of(
+                new AnalyticsSeriesResponse.Point(NOON.toEpochMilli(), 1, 50))));
+        verify(analyticsMetrics).recordRollupQuery(eq("minute"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Deve escolher a menor granularidade que cabe no limite de pontos")
+    void testChoosesGranularityBySpan() {
+        // Act & Assert
+        assertThat(AnalyticsRollupService.chooseGranularity(NOON, NOON.plus(Duration.ofHours(24))))
+            .isEqualTo(RollupGranularity.MINUTE);
+        assertThat(AnalyticsRollupService.chooseGranularity(NOON, NOON.plus(Duration.ofHours(24)).plusSeconds(1)))
+            .isEqualTo(RollupGranularity.HOUR);
+        assertThat(AnalyticsRollupService.chooseGranularity(NOON, NOON.plus(Duration.ofDays(60))))
+            .isEqualTo(RollupGranularity.HOUR);
+        assertThat(AnalyticsRollupService.chooseGranularity(NOON, NOON.plus(Duration.ofDays(61))))
+            .isEqualTo(RollupGranularity.DAY);
+    }
+
+    @Test
+    @DisplayName("Deve normalizar o filtro de tipo de usuário")
+    void testNormalizesUserTypeFilter() {
+        // Arrange
+        Instant to = NOON.plus(Duration.ofHours(1));
+        when(rollupRepository.findBuckets(eq(RollupGranularity.HOUR), eq("TRANSFER_COMPLETED"), eq("MERCHANT"),
+            eq(NOON), eq(to))).thenReturn(List.of());
+
+        // Act
+        AnalyticsSeriesResponse response = analyticsRollupService.getSeries(
+            "TRANSFER_COMPLETED", "merchant", NOON, to, RollupGranularity.HOUR);
+
+        // Assert
+        assertThat(response.series()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar intervalo invertido, tipo de usuário desconhecido e granularidade fina demais")
+    void testRejectsInvalidQueries() {
+        // Act & Assert
+        assertThatThrownBy(() -> analyticsRollupService.getSeries(null, null, NOON, NOON, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> analyticsRollupService.getSeries(
+            null, "ADMIN", NOON, NOON.plusSeconds(60), null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> analyticsRollupService.getSeries(
+            null, null, NOON, NOON.plus(Duration.ofDays(2)), RollupGranularity.MINUTE))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(rollupRepository);
+    }
+}
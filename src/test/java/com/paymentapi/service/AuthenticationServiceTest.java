@@ -7,6 +7,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.internal.UserCredentials;
 import com.paymentapi.dto.request.AuthenticationRequest;
 import com.paymentapi.entity.User;
 import com.paymentapi.entity.enums.UserType;
@@ -64,7 +65,7 @@ class AuthenticationServiceTest {
     void testValidateUserSuccessWithCpf() {
         // Arrange
         AuthenticationRequest request = new AuthenticationRequest(TEST_CPF, TEST_PASSWORD);
-        when(userRepository.findByCpf(TEST_CPF)).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByCpf(TEST_CPF)).thenReturn(Optional.of(testCredentials()));
         when(passwordEncoder.matches(TEST_PASSWORD, TEST_HASHED_PASSWORD)).thenReturn(true);
 
         // Act
@@ -78,7 +79,7 @@ class AuthenticationServiceTest {
         assertThat(result.userType()).isEqualTo(testUser.getUserType());
         assertThat(result.authenticatedAt()).isNotNull();
 
-        verify(userRepository).findByCpf(TEST_CPF);
+        verify(userRepository).findCredentialsByCpf(TEST_CPF);
         verify(passwordEncoder).matches(TEST_PASSWORD, TEST_HASHED_PASSWORD);
     }
 
@@ -87,7 +88,7 @@ class AuthenticationServiceTest {
     void testValidateUserSuccessWithEmail() {
         // Arrange
         AuthenticationRequest request = new AuthenticationRequest(TEST_EMAIL, TEST_PASSWORD);
-        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByEmail(TEST_EMAIL)).thenReturn(Optional.of(testCredentials()));
         when(passwordEncoder.matches(TEST_PASSWORD, TEST_HASHED_PASSWORD)).thenReturn(true);
 
         // Act
@@ -101,7 +102,7 @@ class AuthenticationServiceTest {
         assertThat(result.userType()).isEqualTo(testUser.getUserType());
         assertThat(result.authenticatedAt()).isNotNull();
 
-        verify(userRepository).findByEmail(TEST_EMAIL);
+        verify(userRepository).findCredentialsByEmail(TEST_EMAIL);
         verify(passwordEncoder).matches(TEST_PASSWORD, TEST_HASHED_PASSWORD);
     }
 
@@ -110,7 +111,7 @@ class AuthenticationServiceTest {
     void testValidateUserNotFoundCpf() {
         // Arrange
         AuthenticationRequest request = new AuthenticationRequest(TEST_CPF, TEST_PASSWORD);
-        when(userRepository.findByCpf(TEST_CPF)).thenReturn(Optional.empty());
+        when(userRepository.findCredentialsByCpf(TEST_CPF)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> authenticationService.validateUser(request))
@@ -118,7 +119,7 @@ class AuthenticationServiceTest {
                 .hasMessageContaining("User not found")
                 .hasMessageContaining("123.***.***-**");
 
-        verify(userRepository).findByCpf(TEST_CPF);
+        verify(userRepository).findCredentialsByCpf(TEST_CPF);
     }
 
     @Test
@@ -126,7 +127,7 @@ class AuthenticationServiceTest {
     void testValidateUserNotFoundEmail() {
         // Arrange
         AuthenticationRequest request = new AuthenticationRequest(TEST_EMAIL, TEST_PASSWORD);
-        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.empty());
+        when(userRepository.findCredentialsByEmail(TEST_EMAIL)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> authenticationService.validateUser(request))
@@ -134,7 +135,7 @@ class AuthenticationServiceTest {
                 .hasMessageContaining("User not found")
                 .hasMessageContaining(TEST_EMAIL);
 
-        verify(userRepository).findByEmail(TEST_EMAIL);
+        verify(userRepository).findCredentialsByEmail(TEST_EMAIL);
     }
 
     @Test
@@ -142,7 +143,7 @@ class AuthenticationServiceTest {
     void testValidateUserInvalidPassword() {
         // Arrange
         AuthenticationRequest request = new AuthenticationRequest(TEST_CPF, "WrongPassword");
-        when(userRepository.findByCpf(TEST_CPF)).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByCpf(TEST_CPF)).thenReturn(Optional.of(testCredentials()));
         when(passwordEncoder.matches("WrongPassword", TEST_HASHED_PASSWORD)).thenReturn(false);
 
         // Act & Assert
@@ -151,7 +152,7 @@ class AuthenticationServiceTest {
                 .hasMessageContaining("Invalid credentials")
                 .hasMessageContaining("123.***.***-**");
 
-        verify(userRepository).findByCpf(TEST_CPF);
+        verify(userRepository).findCredentialsByCpf(TEST_CPF);
         verify(passwordEncoder).matches("WrongPassword", TEST_HASHED_PASSWORD);
     }
 
@@ -160,7 +161,7 @@ class AuthenticationServiceTest {
     void testUserContextDoesNotExposePassword() {
         // Arrange
         AuthenticationRequest request = new AuthenticationRequest(TEST_CPF, TEST_PASSWORD);
-        when(userRepository.findByCpf(TEST_CPF)).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByCpf(TEST_CPF)).thenReturn(Optional.of(testCredentials()));
         when(passwordEncoder.matches(TEST_PASSWORD, TEST_HASHED_PASSWORD)).thenReturn(true);
 
         // Act
@@ -182,7 +183,7 @@ class AuthenticationServiceTest {
     void testUserContextDoesNotExposeWalletBalance() {
         // Arrange
         AuthenticationRequest request = new AuthenticationRequest(TEST_CPF, TEST_PASSWORD);
-        when(userRepository.findByCpf(TEST_CPF)).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByCpf(TEST_CPF)).thenReturn(Optional.of(testCredentials()));
         when(passwordEncoder.matches(TEST_PASSWORD, TEST_HASHED_PASSWORD)).thenReturn(true);
 
         // Act
@@ -198,4 +199,16 @@ class AuthenticationServiceTest {
                 .extracting("name")
                 .doesNotContain("walletBalance");
     }
+
+    /**
+     * Projeção de credenciais equivalente ao testUser, como retornada pelo repositório
+     */
+    private UserCredentials testCredentials() {
+        return new UserCredentials(
+            testUser.getId(),
+            testUser.getSenha(),
+            testUser.getUserType(),
+            testUser.getNomeCompleto(),
+            testUser.getEmail());
+    }
 }
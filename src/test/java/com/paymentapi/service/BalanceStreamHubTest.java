@@ -0,0 +1,205 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+import com.paymentapi.dto.response.WalletBalanceResponse;
+import com.paymentapi.exception.BalanceStreamLimitException;
+import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.metrics.BalanceStreamMetrics;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Testes unitários para o BalanceStreamHub.
+ * Usa um SseEmitter que grava os eventos em vez de escrever numa resposta HTTP.
+ */
+@ExtendWith(MockitoExtension.class)
+class BalanceStreamHubTest {
+
+    @Mock
+    private BalanceStreamMetrics balanceStreamMetrics;
+
+    private BalanceStreamHub hub;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        hub = new BalanceStreamHub(balanceStreamMetrics, 3, 2, 2, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        hub.start();
+        userId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve enviar o saldo inicial e as atualizações em ordem de versão")
+    void testSnapshotThenUpdates() throws Exception {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe(userId, () -> balance(10000, 1), emitter);
+
+        // Act - versão 1 repetida e versão 0 atrasada são ignoradas
+        hub.publish(balance(10000, 1));
+        hub.publish(balance(0, 0));
+        hub.publish(balance(12000, 2));
+
+        // Assert
+        waitUntil(() -> emitter.balances().size() == 2);
+        assertThat(emitter.balances()).containsExactly("id:1", "id:2");
+    }
+
+    @Test
+    @DisplayName("Deve descartar o evento mais antigo quando o buffer da conexão enche")
+    void testBoundedBufferDropsOldest() throws Exception {
+        // Arrange - o primeiro envio fica preso, simulando cliente lento
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.block();
+        hub.subscribe(userId, () -> balance(10000, 1), emitter);
+        assertThat(emitter.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act - buffer de 2: a versão 2 é descartada
+        hub.publish(balance(9000, 2));
+        hub.publish(balance(8000, 3));
+        hub.publish(balance(7000, 4));
+        emitter.unblock();
+
+        // Assert
+        waitUntil(() -> emitter.balances().size() == 3);
+        assertThat(emitter.balances()).containsExactly("id:1", "id:3", "id:4");
+        verify(balanceStreamMetrics).recordEventDropped();
+    }
+
+    @Test
+    @DisplayName("Deve enviar heartbeat para conexões ociosas")
+    void testHeartbeat() throws Exception {
+        // Arrange - intervalo de 50ms
+        hub.shutdown();
+        hub = new BalanceStreamHub(balanceStreamMetrics, 3, 2, 2, Duration.ofMillis(50), Duration.ofMinutes(1));
+        hub.start();
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe(userId, () -> balance(10000, 1), emitter);
+
+        // Act & Assert
+        waitUntil(() -> emitter.heartbeats() > 0);
+    }
+
+    @Test
+    @DisplayName("Deve recusar streams acima do limite por usuário e do nó")
+    void testStreamLimits() {
+        // Arrange - limite de 2 por usuário e 3 no nó
+        hub.subscribe(userId, () -> balance(10000, 1), new RecordingEmitter());
+        hub.subscribe(userId, () -> balance(10000, 1), new RecordingEmitter());
+
+        // Act & Assert
+        assertThatThrownBy(() -> hub.subscribe(userId, () -> balance(10000, 1), new RecordingEmitter()))
+            .isInstanceOf(BalanceStreamLimitException.class);
+        verify(balanceStreamMetrics).recordStreamRejected("user_limit");
+
+        UUID otherUser = UUID.randomUUID();
+        hub.subscribe(otherUser, () -> balance(10000, 1), new RecordingEmitter());
+        assertThatThrownBy(() -> hub.subscribe(UUID.randomUUID(), () -> balance(10000, 1), new RecordingEmitter()))
+            .isInstanceOf(BalanceStreamLimitException.class);
+        verify(balanceStreamMetrics).recordStreamRejected("node_limit");
+        assertThat(hub.openStreams()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga quando o envio falha ou a leitura inicial falha")
+    void testClosesStreamOnFailure() throws Exception {
+        // Arrange
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.fail();
+
+        // Act
+        hub.subscribe(userId, () -> balance(10000, 1), broken);
+        assertThatThrownBy(() -> hub.subscribe(userId, () -> {
+            throw new UserNotFoundException(userId);
+        }, new RecordingEmitter())).isInstanceOf(UserNotFoundException.class);
+
+        // Assert
+        waitUntil(() -> hub.openStreams() == 0);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("condição não atingida em 5s").isNegative();
+            Thread.sleep(10);
+        }
+    }
+
+    private WalletBalanceResponse balance(int amount, int version) {
+        return new WalletBalanceResponse(userId, amount, LocalDateTime.now(), version);
+    }
+
+    /**
+     * SseEmitter que grava os eventos enviados. Pode travar o envio (cliente lento) ou falhar.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean failing;
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void unblock() {
+            gate.countDown();
+        }
+
+        void fail() {
+            failing = true;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sendStarted.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new IOException("Conexão fechada pelo cliente");
+            }
+            String raw = builder.build().stream()
+                .map(part -> String.valueOf(part.getData()))
+                .reduce("", String::concat);
+            events.add(raw.startsWith(":") ? "heartbeat" : raw.lines()
+                .filter(line -> line.startsWith("id:"))
+                .findFirst()
+                .orElse("no-id"));
+        }
+
+        List<String> balances() {
+            return events.stream().filter(event -> !event.equals("heartbeat")).toList();
+        }
+
+        long heartbeats() {
+            return events.stream().filter(event -> event.equals("heartbeat")).count();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.paymentapi.metrics.CacheInvalidationMetrics;
+import com.paymentapi.service.CacheInvalidationBus.Batch;
+import com.paymentapi.service.CacheInvalidationBus.Invalidation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Testes unitários para o CacheInvalidationBus (sem conexão de escuta).
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheInvalidationMetrics cacheInvalidationMetrics;
+
+    private CacheInvalidationBus bus;
+    private List<String> received;
+    private AtomicInteger fullFlushes;
+
+    @BeforeEach
+    void setUp() {
+        bus = new CacheInvalidationBus(jdbcTemplate, new DataSourceProperties(), cacheInvalidationMetrics,
+            true, "payment_cache_invalidation", Duration.ofMillis(50), 112, Duration.ofSeconds(1));
+        received = new ArrayList<>();
+        fullFlushes = new AtomicInteger();
+        bus.subscribe("api_key_revoked", received::add);
+        bus.onFullFlush(fullFlushes::incrementAndGet);
+    }
+
+    @Test
+    @DisplayName("Deve codificar e decodificar um lote preservando a ordem")
+    void testEncodeDecodeRoundTrip() {
+        // Arrange
+        List<Invalidation> invalidations = List.of(
+            new Invalidation("api_key_revoked", "mk_0123456789ab", 2000),
+            new Invalidation("user_email", "joao:silva@example.com", 1000));
+
+        // Act
+        Batch batch = CacheInvalidationBus.decode(CacheInvalidationBus.encode("node-a", 7, invalidations));
+
+        // Assert - o instante do lote é o do commit mais antigo
+        assertThat(batch.nodeId()).isEqualTo("node-a");
+        assertThat(batch.sequence()).isEqualTo(7);
+        assertThat(batch.committedAtMillis()).isEqualTo(1000);
+        assertThat(batch.invalidations())
+            .extracting(Invalidation::type, Invalidation::key)
+            .containsExactly(
+                org.assertj.core.groups.Tuple.tuple("api_key_revoked", "mk_0123456789ab"),
+                org.assertj.core.groups.Tuple.tuple("user_email", "joao:silva@example.com"));
+    }
+
+    @Test
+    @DisplayName("Deve publicar só depois do commit, em lotes limitados pelo tamanho do payload")
+    void testPublishesAfterCommitInBatches() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (int i = 0; i < 4; i++) {
+                bus.publish("api_key_revoked", "mk_00000000000" + i);
+            }
+
+            // Act - nada na fila antes do commit
+            bus.flush();
+            verify(jdbcTemplate, never()).query(anyString(), ArgumentMatchers.<ResultSetExtractor<Object>>any(), any(), any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        bus.flush();
+
+        // Assert - limite de 112 bytes no setUp (48 de cabeçalho): 2 itens por payload
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, times(2)).query(eq("SELECT pg_notify(?, ?)"),
+            ArgumentMatchers.<ResultSetExtractor<Object>>any(), eq("payment_cache_invalidation"), payloads.capture());
+        List<Batch> batches = payloads.getAllValues().stream()
+            .map(payload -> CacheInvalidationBus.decode((String) payload))
+            .toList();
+        assertThat(batches).extracting(Batch::sequence).containsExactly(1L, 2L);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch.invalidations()).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar invalidações de outros nós e ignorar as do próprio nó")
+    void testAppliesRemoteInvalidations() {
+        // Act
+        bus.handle(payload(bus.nodeId(), 1, "mk_proprio0000"));
+        bus.handle(payload("node-b", 1, "mk_remoto00000"));
+        bus.handle(payload("node-b", 2, "mk_remoto00001"));
+
+        // Assert
+        assertThat(received).containsExactly("mk_remoto00000", "mk_remoto00001");
+        assertThat(fullFlushes).hasValue(0);
+        verify(cacheInvalidationMetrics, times(2)).recordPropagationDelay(any());
+    }
+
+    @Test
+    @DisplayName("Deve esvaziar os caches quando houver buraco na sequência")
+    void testSequenceGapTriggersFullFlush() {
+        // Act - sequência 2 perdida
+        bus.handle(payload("node-b", 1, "mk_remoto00000"));
+        bus.handle(payload("node-b", 3, "mk_remoto00002"));
+        bus.handle(payload("node-b", 4, "mk_remoto00003"));
+
+        // Assert - o lote com buraco é coberto pelo esvaziamento; o seguinte volta ao normal
+        assertThat(fullFlushes).hasValue(1);
+        assertThat(received).containsExactly("mk_remoto00000", "mk_remoto00003");
+        verify(cacheInvalidationMetrics).recordFullFlush("sequence_gap");
+    }
+
+    @Test
+    @DisplayName("Deve esvaziar os caches quando o payload for inválido")
+    void testMalformedPayloadTriggersFullFlush() {
+        // Act
+        bus.handle("lixo");
+
+        // Assert
+        assertThat(fullFlushes).hasValue(1);
+        verify(cacheInvalidationMetrics).recordFullFlush("malformed");
+    }
+
+    private static String payload(String nodeId, long sequence, String key) {
+        return CacheInvalidationBus.encode(nodeId, sequence,
+            List.of(new Invalidation("api_key_revoked", key, System.currentTimeMillis())));
+    }
+}
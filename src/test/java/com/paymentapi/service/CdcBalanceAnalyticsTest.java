@@ -0,0 +1,61 @@
+package com.paymentapi.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.paymentapi.dto.internal.CdcEvent.BalanceAuditInserted;
+import com.paymentapi.entity.enums.UserType;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Testes unitários para CdcBalanceAnalytics.
+ */
+@ExtendWith(MockitoExtension.class)
+class CdcBalanceAnalyticsTest {
+
+    @Mock
+    private ChangeDataCaptureReader changeDataCaptureReader;
+
+    @Mock
+    private AnalyticsEmitter analyticsEmitter;
+
+    @Test
+    @DisplayName("Deve assinar as auditorias de saldo só com o CDC habilitado")
+    void testSubscribesOnlyWhenEnabled() {
+        // Act
+        new CdcBalanceAnalytics(changeDataCaptureReader, analyticsEmitter, false);
+        verify(changeDataCaptureReader, never()).subscribe(eq(BalanceAuditInserted.class), any());
+        new CdcBalanceAnalytics(changeDataCaptureReader, analyticsEmitter, true);
+
+        // Assert
+        verify(changeDataCaptureReader).subscribe(eq(BalanceAuditInserted.class), any());
+    }
+
+    @Test
+    @DisplayName("Deve registrar a auditoria no mesmo formato do listener de domínio")
+    void testRecordsBalanceAnalytics() {
+        // Arrange
+        CdcBalanceAnalytics analytics = new CdcBalanceAnalytics(changeDataCaptureReader, analyticsEmitter, true);
+        UUID userId = UUID.randomUUID();
+        UUID transactionId = UUID.randomUUID();
+        BalanceAuditInserted event = new BalanceAuditInserted(UUID.randomUUID(), userId, UserType.MERCHANT,
+            transactionId, 1000, 700, -300, "TRANSFER_DEBIT", 0x180, Instant.parse("2026-01-01T12:00:00Z"));
+
+        // Act
+        analytics.recordBalanceAnalytics(event);
+
+        // Assert
+        verify(analyticsEmitter).emit(DomainEventListeners.BALANCE_CHANGED, userId, UserType.MERCHANT,
+            transactionId, -300L, Map.of("operationType", "TRANSFER_DEBIT", "previousBalance", 1000,
+                "newBalance", 700, "balanceChange", -300));
+    }
+}
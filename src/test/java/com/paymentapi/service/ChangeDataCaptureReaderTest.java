@@ -0,0 +1,204 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.dto.internal.CdcEvent;
+import com.paymentapi.dto.internal.CdcEvent.BalanceAuditInserted;
+import com.paymentapi.dto.internal.CdcEvent.UserChanged;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.metrics.CdcMetrics;
+import com.paymentapi.repository.CdcCheckpointRepository;
+import com.paymentapi.util.PgOutputDecoder.CommittedTransaction;
+import com.paymentapi.util.PgOutputDecoder.Operation;
+import com.paymentapi.util.PgOutputDecoder.RowChange;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Testes unitários para o ChangeDataCaptureReader (conversão e entrega, sem stream de replicação).
+ */
+@ExtendWith(MockitoExtension.class)
+class ChangeDataCaptureReaderTest {
+
+    private static final UUID USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID AUDIT_ID = UUID.fromString("00000000-0000-0000-0000-0000000000a1");
+    private static final UUID TRANSACTION_ID = UUID.fromString("00000000-0000-0000-0000-0000000000f1");
+    private static final Instant COMMITTED_AT = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CdcCheckpointRepository cdcCheckpointRepository;
+
+    @Mock
+    private CdcMetrics cdcMetrics;
+
+    private ChangeDataCaptureReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = new ChangeDataCaptureReader(jdbcTemplate, new DataSourceProperties(), cdcCheckpointRepository,
+            cdcMetrics, false, "payment_balance_cdc", "payment_balance_cdc", Duration.ofSeconds(1),
+            Duration.ofMillis(20), Duration.ofSeconds(5), Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Deve entregar eventos tipados na ordem da transação")
+    void testDeliversTypedEventsInOrder() {
+        // Arrange
+        List<CdcEvent> received = new ArrayList<>();
+        reader.subscribe(UserChanged.class, received::add);
+        reader.subscribe(BalanceAuditInserted.class, received::add);
+
+        // Act
+        reader.deliver(transaction(0x180, userUpdate("900", "4"), auditInsert(TRANSACTION_ID.toString())));
+
+        // Assert
+        assertThat(received).containsExactly(
+            new UserChanged(USER_ID, 900, 4, 0x180, COMMITTED_AT),
+            new BalanceAuditInserted(AUDIT_ID, USER_ID, UserType.COMMON_USER, TRANSACTION_ID, 1000, 900, -100,
+                "TRANSFER_DEBIT", 0x180, COMMITTED_AT));
+        assertThat(reader.deliveredLsn()).isEqualTo(0x180);
+        verify(cdcMetrics).recordEvent("user_changed");
+        verify(cdcMetrics).recordEvent("balance_audit_inserted");
+    }
+
+    @Test
+    @DisplayName("Deve descartar transações já entregues")
+    void testSkipsAlreadyDeliveredTransactions() {
+        // Arrange
+        List<UserChanged> received = new ArrayList<>();
+        reader.subscribe(UserChanged.class, received::add);
+        reader.deliver(transaction(0x180, userUpdate("900", "4")));
+
+        // Act - o stream reenvia a partir do checkpoint depois de uma reconexão
+        reader.deliver(transaction(0x180, userUpdate("900", "4")));
+        reader.deliver(transaction(0x100, userUpdate("1000", "3")));
+
+        // Assert
+        assertThat(received).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deve isolar a falha de um assinante")
+    void testSubscriberFailureDoesNotStopDelivery() {
+        // Arrange
+        List<UserChanged> received = new ArrayList<>();
+        reader.subscribe(UserChanged.class, event -> {
+            throw new IllegalStateException("falha");
+        });
+        reader.subscribe(UserChanged.class, received::add);
+
+        // Act
+        reader.deliver(transaction(0x180, userUpdate("900", "4")));
+
+        // Assert
+        assertThat(received).hasSize(1);
+        assertThat(reader.deliveredLsn()).isEqualTo(0x180);
+        verify(cdcMetrics).recordSubscriberError("user_changed");
+    }
+
+    @Test
+    @DisplayName("Não deve gerar evento para DELETE nem para outras tabelas")
+    void testIgnoresDeletesAndOtherTables() {
+        // Arrange
+        CommittedTransaction transaction = transaction(0x180);
+
+        // Act & Assert
+        assertThat(ChangeDataCaptureReader.toEvent(
+            new RowChange("users", Operation.DELETE, Map.of("id", USER_ID.toString())), transaction, Map.of()))
+            .isNull();
+        assertThat(ChangeDataCaptureReader.toEvent(
+            new RowChange("transactions", Operation.INSERT, Map.of("id", USER_ID.toString())), transaction, Map.of()))
+            .isNull();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar auditoria sem transação associada")
+    void testAuditWithoutTransaction() {
+        // Act
+        CdcEvent event = ChangeDataCaptureReader.toEvent(auditInsert(null), transaction(0x180), Map.of());
+
+        // Assert - sem linha de users na transação o tipo do usuário também fica nulo
+        assertThat(event).isInstanceOfSatisfying(BalanceAuditInserted.class, audit -> {
+            assertThat(audit.transactionId()).isNull();
+            assertThat(audit.userType()).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Deve tirar o tipo do usuário da linha de users da mesma transação, em qualquer ordem")
+    void testAuditUserTypeFromSameTransaction() {
+        // Arrange
+        List<BalanceAuditInserted> received = new ArrayList<>();
+        reader.subscribe(BalanceAuditInserted.class, received::add);
+
+        // Act - o Hibernate executa os INSERTs antes dos UPDATEs no flush
+        reader.deliver(transaction(0x180, auditInsert(TRANSACTION_ID.toString()), userUpdate("900", "4")));
+
+        // Assert
+        assertThat(received).singleElement()
+            .extracting(BalanceAuditInserted::userType)
+            .isEqualTo(UserType.COMMON_USER);
+    }
+
+    @Test
+    @DisplayName("Deve assumir a liderança só com o advisory lock do slot")
+    void testLeadershipFollowsAdvisoryLock() throws Exception {
+        // Arrange
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(true, false);
+
+        // Act & Assert - o segundo nó encontra o lock com o primeiro
+        assertThat(reader.acquireLeadership(connection)).isTrue();
+        assertThat(reader.acquireLeadership(connection)).isFalse();
+        verify(statement, times(2)).setString(1, "payment-cdc-reader:payment_balance_cdc");
+    }
+
+    private static CommittedTransaction transaction(long endLsn, RowChange... changes) {
+        return new CommittedTransaction(endLsn - 0x80, endLsn, COMMITTED_AT, List.of(changes));
+    }
+
+    private static RowChange userUpdate(String balance, String version) {
+        return new RowChange("users", Operation.UPDATE, Map.of(
+            "id", USER_ID.toString(), "wallet_balance", balance, "version", version, "user_type", "COMMON_USER"));
+    }
+
+    private static RowChange auditInsert(String transactionId) {
+        Map<String, String> columns = new HashMap<>(Map.of(
+            "id", AUDIT_ID.toString(),
+            "user_id", USER_ID.toString(),
+            "previous_balance", "1000",
+            "new_balance", "900",
+            "balance_change", "-100",
+            "operation_type", "TRANSFER_DEBIT"));
+        columns.put("transaction_id", transactionId);
+        return new RowChange("balance_audit", Operation.INSERT, columns);
+    }
+}
@@ -0,0 +1,152 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.dto.internal.JournalCredit;
+import com.paymentapi.metrics.WalletMetrics;
+import com.paymentapi.repository.CreditJournalRepository;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Testes unitários para CreditJournalMerger.
+ */
+@ExtendWith(MockitoExtension.class)
+class CreditJournalMergerTest {
+
+    private static final UUID USER_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID USER_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @Mock
+    private CreditJournalRepository creditJournalRepository;
+
+    @Mock
+    private WalletService walletService;
+
+    @Mock
+    private WalletMetrics walletMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Deve aplicar os créditos agrupados por user, em ordem crescente de id")
+    void testMergeGroupsPerUserInIdOrder() {
+        // Arrange
+        CreditJournalMerger merger = merger(10);
+        when(creditJournalRepository.claimBatch(10)).thenReturn(List.of(
+            credit(3, USER_B, 300), credit(1, USER_A, 100), credit(2, USER_B, 200)));
+
+        // Act
+        int merged = merger.merge();
+
+        // Assert
+        assertThat(merged).isEqualTo(3);
+        InOrder inOrder = inOrder(walletService);
+        inOrder.verify(walletService).mergeJournalCredits(USER_A, List.of(credit(1, USER_A, 100)));
+        inOrder.verify(walletService).mergeJournalCredits(USER_B,
+            List.of(credit(2, USER_B, 200), credit(3, USER_B, 300)));
+        verify(walletMetrics).recordJournalMerge(any(Duration.class), eq(3), eq("success"));
+    }
+
+    @Test
+    @DisplayName("Deve seguir para o próximo lote enquanto os lotes vierem cheios")
+    void testMergeContinuesWhileBatchesAreFull() {
+        // Arrange
+        CreditJournalMerger merger = merger(2);
+        when(creditJournalRepository.claimBatch(2))
+            .thenReturn(List.of(credit(1, USER_A, 100), credit(2, USER_A, 100)))
+            .thenReturn(List.of());
+
+        // Act
+        int merged = merger.merge();
+
+        // Assert
+        assertThat(merged).isEqualTo(2);
+        verify(creditJournalRepository, times(2)).claimBatch(2);
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha e deixar os créditos no journal")
+    void testMergeFailure() {
+        // Arrange
+        CreditJournalMerger merger = merger(10);
+        when(creditJournalRepository.claimBatch(10)).thenThrow(new CannotAcquireLockException("timeout"));
+
+        // Act
+        int merged = merger.merge();
+
+        // Assert
+        assertThat(merged).isZero();
+        verify(walletService, never()).mergeJournalCredits(any(), any());
+        verify(walletMetrics).recordJournalMerge(any(Duration.class), eq(0), eq("failed"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha quando não consegue abrir a transação")
+    void testMergeFailsToBeginTransaction() {
+        // Arrange
+        CreditJournalMerger merger = merger(10);
+        when(transactionManager.getTransaction(any()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        // Act
+        int merged = merger.merge();
+
+        // Assert
+        assertThat(merged).isZero();
+        verify(walletMetrics).recordJournalMerge(any(Duration.class), eq(0), eq("failed"));
+    }
+
+    @Test
+    @DisplayName("Deve manter a thread de merge viva enquanto o banco está fora do ar")
+    void testMergerThreadSurvivesDatabaseOutage() {
+        // Arrange
+        CreditJournalMerger merger = merger(10, Duration.ofMillis(10));
+        when(transactionManager.getTransaction(any()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        // Act
+        merger.start();
+
+        // Assert
+        try {
+            verify(transactionManager, timeout(2000).atLeast(3)).getTransaction(any());
+            verify(walletMetrics, atLeast(3)).recordJournalMerge(any(Duration.class), eq(0), eq("failed"));
+        } finally {
+            merger.stop();
+        }
+    }
+
+    private CreditJournalMerger merger(int batchSize) {
+        return merger(batchSize, Duration.ofMillis(200));
+    }
+
+    private CreditJournalMerger merger(int batchSize, Duration interval) {
+        return new CreditJournalMerger(creditJournalRepository, walletService, walletMetrics, transactionManager,
+            true, interval, batchSize);
+    }
+
+    private static JournalCredit credit(long id, UUID userId, int amount) {
+        return new JournalCredit(id, userId, null, amount, "TRANSFER_CREDIT");
+    }
+}
@@ -0,0 +1,107 @@
+package com.paymentapi.service;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.paymentapi.dto.internal.BalanceChangedEvent;
+import com.paymentapi.dto.internal.TransferCompletedEvent;
+import com.paymentapi.dto.response.WalletBalanceResponse;
+import com.paymentapi.entity.enums.UserType;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Testes unitários para DomainEventListeners.
+ */
+@ExtendWith(MockitoExtension.class)
+class DomainEventListenersTest {
+
+    @Mock
+    private BalanceStreamHub balanceStreamHub;
+
+    @Mock
+    private AnalyticsEmitter analyticsEmitter;
+
+    private DomainEventListeners domainEventListeners;
+
+    @BeforeEach
+    void setUp() {
+        domainEventListeners = new DomainEventListeners(balanceStreamHub, analyticsEmitter, false);
+    }
+
+    @Test
+    @DisplayName("Deve publicar o saldo commitado nos streams da carteira")
+    void testPublishesBalanceToStreams() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+        BalanceChangedEvent event = new BalanceChangedEvent(
+            userId, UserType.COMMON_USER, UUID.randomUUID(), "TRANSFER_CREDIT", 1000, 1500, 500, 7, updatedAt);
+
+        // Act
+        domainEventListeners.publishBalanceToStreams(event);
+
+        // Assert
+        verify(balanceStreamHub).publish(new WalletBalanceResponse(userId, 1500, updatedAt, 7));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a alteração de saldo com o delta com sinal como valor do rollup")
+    void testRecordsBalanceAnalytics() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        UUID transactionId = UUID.randomUUID();
+        BalanceChangedEvent event = new BalanceChangedEvent(
+            userId, UserType.MERCHANT, transactionId, "TRANSFER_DEBIT", 1000, 700, -300, 3,
+            LocalDateTime.of(2026, 1, 1, 12, 0));
+
+        // Act
+        domainEventListeners.recordBalanceAnalytics(event);
+
+        // Assert
+        verify(analyticsEmitter).emit(DomainEventListeners.BALANCE_CHANGED, userId, UserType.MERCHANT,
+            transactionId, -300L, Map.of("operationType", "TRANSFER_DEBIT", "previousBalance", 1000,
+                "newBalance", 700, "balanceChange", -300));
+    }
+
+    @Test
+    @DisplayName("Não deve registrar a alteração de saldo com o CDC habilitado")
+    void testSkipsBalanceAnalyticsWithCdc() {
+        // Arrange
+        DomainEventListeners listeners = new DomainEventListeners(balanceStreamHub, analyticsEmitter, true);
+        BalanceChangedEvent event = new BalanceChangedEvent(
+            UUID.randomUUID(), UserType.MERCHANT, UUID.randomUUID(), "TRANSFER_DEBIT", 1000, 700, -300, 3,
+            LocalDateTime.of(2026, 1, 1, 12, 0));
+
+        // Act
+        listeners.recordBalanceAnalytics(event);
+
+        // Assert - quem registra é o CdcBalanceAnalytics, a partir do balance_audit
+        verifyNoInteractions(analyticsEmitter);
+    }
+
+    @Test
+    @DisplayName("Deve registrar a transferência concluída nos eventos analíticos")
+    void testRecordsTransferAnalytics() {
+        // Arrange
+        UUID transactionId = UUID.randomUUID();
+        UUID payerId = UUID.randomUUID();
+        UUID payeeId = UUID.randomUUID();
+        TransferCompletedEvent event = new TransferCompletedEvent(
+            transactionId, payerId, UserType.COMMON_USER, payeeId, 5025, LocalDateTime.of(2026, 1, 1, 12, 0));
+
+        // Act
+        domainEventListeners.recordTransferAnalytics(event);
+
+        // Assert
+        verify(analyticsEmitter).emit(DomainEventListeners.TRANSFER_COMPLETED, payerId, UserType.COMMON_USER,
+            transactionId, 5025L, Map.of("payeeId", payeeId, "amount", 5025));
+    }
+}
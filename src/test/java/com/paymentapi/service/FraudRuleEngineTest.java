@@ -0,0 +1,231 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.entity.FraudRule;
+import com.paymentapi.entity.enums.FraudRuleAction;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.TransferBlockedException;
+import com.paymentapi.metrics.FraudMetrics;
+import com.paymentapi.repository.FraudRuleRepository;
+import com.paymentapi.repository.TransactionRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Testes unitários para FraudRuleEngine.
+ */
+@ExtendWith(MockitoExtension.class)
+class FraudRuleEngineTest {
+
+    private static final TransferParty PAYER = new TransferParty(UUID.randomUUID(), UserType.COMMON_USER, 100000);
+    private static final TransferParty PAYEE = new TransferParty(UUID.randomUUID(), UserType.COMMON_USER, 0);
+
+    @Mock
+    private FraudRuleRepository fraudRuleRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransferLimitService transferLimitService;
+
+    @Mock
+    private FraudMetrics fraudMetrics;
+
+    @Test
+    @DisplayName("Deve bloquear a transferência quando uma regra BLOCK casa")
+    void testBlockRule() {
+        // Arrange
+        FraudRuleEngine engine = engine(true);
+        loadRules(engine, "1:a",
+            rule("high-amount-new-payee", FraudRuleAction.BLOCK,
+                "{\"all\": [{\"amountGreaterThan\": 50000}, {\"newPayee\": true}]}"));
+        when(transactionRepository.existsByPayerIdAndPayeeId(PAYER.id(), PAYEE.id())).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> engine.check(PAYER, PAYEE, 60000))
+            .isInstanceOf(TransferBlockedException.class);
+        verify(fraudMetrics).recordMatch("high-amount-new-payee", "BLOCK");
+        verify(fraudMetrics).recordEvaluation(any(Duration.class), eq("block"));
+    }
+
+    @Test
+    @DisplayName("Deve liberar sem consultar o banco quando a condição barata não casa")
+    void testCheapConditionShortCircuits() {
+        // Arrange
+        FraudRuleEngine engine = engine(true);
+        loadRules(engine, "1:a",
+            rule("high-amount-new-payee", FraudRuleAction.BLOCK,
+                "{\"all\": [{\"newPayee\": true}, {\"amountGreaterThan\": 50000}]}"));
+
+        // Act & Assert
+        assertThatCode(() -> engine.check(PAYER, PAYEE, 1000)).doesNotThrowAnyException();
+        verifyNoInteractions(transactionRepository);
+        verify(fraudMetrics).recordEvaluation(any(Duration.class), eq("allow"));
+    }
+
+    @Test
+    @DisplayName("Deve apenas sinalizar quando a regra é FLAG")
+    void testFlagRule() {
+        // Arrange
+        FraudRuleEngine engine = engine(true);
+        loadRules(engine, "1:a", rule("large", FraudRuleAction.FLAG, "{\"amountGreaterThan\": 100}"));
+
+        // Act & Assert
+        assertThatCode(() -> engine.check(PAYER, PAYEE, 1000)).doesNotThrowAnyException();
+        verify(fraudMetrics).recordMatch("large", "FLAG");
+        verify(fraudMetrics).recordEvaluation(any(Duration.class), eq("allow"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar regra inválida e manter as demais")
+    void testInvalidRuleSkipped() {
+        // Arrange
+        FraudRuleEngine engine = engine(true);
+        loadRules(engine, "2:a",
+            rule("broken", FraudRuleAction.BLOCK, "{\"unknown\": 1}"),
+            rule("large", FraudRuleAction.BLOCK, "{\"amountGreaterThan\": 100}"));
+
+        // Act & Assert
+        verify(fraudMetrics).recordInvalidRule("broken");
+        assertThatThrownBy(() -> engine.check(PAYER, PAYEE, 1000))
+            .isInstanceOf(TransferBlockedException.class);
+    }
+
+    @Test
+    @DisplayName("Deve recompilar só quando a versão das regras muda")
+    void testReloadOnVersionChange() {
+        // Arrange
+        FraudRuleEngine engine = engine(true);
+        loadRules(engine, "1:a", rule("large", FraudRuleAction.BLOCK, "{\"amountGreaterThan\": 100}"));
+
+        // Act
+        boolean unchanged = engine.reload();
+        when(fraudRuleRepository.findVersion()).thenReturn("1:b");
+        when(fraudRuleRepository.findByEnabledTrueOrderByPriorityAscNameAsc())
+            .thenReturn(List.of(rule("large", FraudRuleAction.BLOCK, "{\"amountGreaterThan\": 5000}")));
+        boolean changed = engine.reload();
+
+        // Assert
+        assertThat(unchanged).isFalse();
+        assertThat(changed).isTrue();
+        verify(fraudRuleRepository, times(2)).findByEnabledTrueOrderByPriorityAscNameAsc();
+        assertThatCode(() -> engine.check(PAYER, PAYEE, 1000)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Deve manter as regras anteriores quando a recarga falha")
+    void testReloadFailureKeepsRules() {
+        // Arrange
+        FraudRuleEngine engine = engine(true);
+        loadRules(engine, "1:a", rule("large", FraudRuleAction.BLOCK, "{\"amountGreaterThan\": 100}"));
+        when(fraudRuleRepository.findVersion()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act
+        boolean reloaded = engine.reload();
+
+        // Assert
+        assertThat(reloaded).isFalse();
+        verify(fraudMetrics).recordReload("failed");
+        assertThatThrownBy(() -> engine.check(PAYER, PAYEE, 1000))
+            .isInstanceOf(TransferBlockedException.class);
+    }
+
+    @Test
+    @DisplayName("Deve reiniciar os fatos entre transferências avaliadas na mesma thread")
+    void testFactsResetBetweenEvaluations() {
+        // Arrange
+        FraudRuleEngine engine = engine(true);
+        loadRules(engine, "1:a", rule("new-payee", FraudRuleAction.BLOCK, "{\"newPayee\": true}"));
+        TransferParty otherPayee = new TransferParty(UUID.randomUUID(), UserType.COMMON_USER, 0);
+        when(transactionRepository.existsByPayerIdAndPayeeId(PAYER.id(), PAYEE.id())).thenReturn(true);
+        when(transactionRepository.existsByPayerIdAndPayeeId(PAYER.id(), otherPayee.id())).thenReturn(false);
+
+        // Act & Assert
+        assertThatCode(() -> engine.check(PAYER, PAYEE, 1000)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> engine.check(PAYER, otherPayee, 1000))
+            .isInstanceOf(TransferBlockedException.class);
+        assertThatCode(() -> engine.check(PAYER, PAYEE, 1000)).doesNotThrowAnyException();
+        verify(transactionRepository, times(2)).existsByPayerIdAndPayeeId(PAYER.id(), PAYEE.id());
+    }
+
+    @Test
+    @DisplayName("Deve calcular o minuto do dia no fuso, inclusive nas transições de horário de verão")
+    void testMinuteOfDayAcrossOffsetTransitions() {
+        // Arrange - Nova York: 2024-03-10 02:00 vira 03:00 e 2024-11-03 02:00 vira 01:00
+        ZoneId zone = ZoneId.of("America/New_York");
+        FraudRuleEngine engine = new FraudRuleEngine(fraudRuleRepository, transactionRepository,
+            transferLimitService, new ObjectMapper(), fraudMetrics, true, Duration.ofSeconds(5), zone.getId());
+        Instant springForward = Instant.parse("2024-03-10T07:00:00Z");
+        Instant fallBack = Instant.parse("2024-11-03T06:00:00Z");
+        List<Instant> instants = List.of(springForward.minusSeconds(1), springForward, springForward.plusSeconds(61),
+            fallBack.minusSeconds(1), fallBack, springForward.minusSeconds(3600), fallBack.plusSeconds(86_399));
+
+        // Act & Assert - inclusive voltando no tempo, o cache do offset acompanha o instante
+        for (Instant instant : instants) {
+            LocalTime expected = LocalTime.ofInstant(instant, zone);
+            assertThat(engine.minuteOfDay(instant.toEpochMilli()))
+                .as(instant.toString())
+                .isEqualTo(expected.getHour() * 60 + expected.getMinute());
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve avaliar regras quando desabilitado")
+    void testDisabled() {
+        // Arrange
+        FraudRuleEngine engine = engine(false);
+
+        // Act
+        engine.start();
+        engine.check(PAYER, PAYEE, 1000);
+
+        // Assert
+        assertThat(engine.isRunning()).isFalse();
+        verifyNoInteractions(fraudRuleRepository);
+        verify(fraudMetrics, never()).recordEvaluation(any(), any());
+    }
+
+    private FraudRuleEngine engine(boolean enabled) {
+        return new FraudRuleEngine(fraudRuleRepository, transactionRepository, transferLimitService,
+            new ObjectMapper(), fraudMetrics, enabled, Duration.ofSeconds(5), "America/Sao_Paulo");
+    }
+
+    private void loadRules(FraudRuleEngine engine, String version, FraudRule... rules) {
+        when(fraudRuleRepository.findVersion()).thenReturn(version);
+        when(fraudRuleRepository.findByEnabledTrueOrderByPriorityAscNameAsc()).thenReturn(List.of(rules));
+        engine.reload();
+    }
+
+    private static FraudRule rule(String name, FraudRuleAction action, String definition) {
+        FraudRule rule = new FraudRule();
+        rule.setName(name);
+        rule.setAction(action);
+        rule.setDefinition(definition);
+        rule.setPriority(100);
+        rule.setEnabled(true);
+        return rule;
+    }
+}
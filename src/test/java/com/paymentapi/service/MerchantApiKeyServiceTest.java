@@ -0,0 +1,222 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.dto.internal.UserContext;
+import com.paymentapi.dto.response.ApiKeyResponse;
+import com.paymentapi.entity.MerchantApiKey;
+import com.paymentapi.entity.User;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.ApiKeyNotAllowedException;
+import com.paymentapi.metrics.ApiKeyMetrics;
+import com.paymentapi.repository.MerchantApiKeyRepository;
+import com.paymentapi.repository.UserRepository;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Testes unitários para MerchantApiKeyService.
+ */
+@ExtendWith(MockitoExtension.class)
+class MerchantApiKeyServiceTest {
+
+    @Mock
+    private MerchantApiKeyRepository merchantApiKeyRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApiKeyMetrics apiKeyMetrics;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private MerchantApiKeyService merchantApiKeyService;
+
+    private User merchant;
+
+    private String lastIssuedKey;
+
+    @BeforeEach
+    void setUp() {
+        merchantApiKeyService = new MerchantApiKeyService(
+            merchantApiKeyRepository, userRepository, apiKeyMetrics, cacheInvalidationBus, Duration.ofMinutes(5), 100);
+
+        merchant = new User();
+        merchant.setId(UUID.randomUUID());
+        merchant.setNomeCompleto("Loja Teste");
+        merchant.setEmail("loja@example.com");
+        merchant.setUserType(UserType.MERCHANT);
+    }
+
+    @Test
+    @DisplayName("Deve emitir chave guardando apenas prefixo e hash")
+    void testIssueKeyStoresOnlyHash() {
+        // Arrange
+        when(userRepository.findById(merchant.getId())).thenReturn(Optional.of(merchant));
+        when(merchantApiKeyRepository.save(any(MerchantApiKey.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ApiKeyResponse response = merchantApiKeyService.issueKey(merchant.getId(), "backend");
+
+        // Assert
+        ArgumentCaptor<MerchantApiKey> captor = ArgumentCaptor.forClass(MerchantApiKey.class);
+        verify(merchantApiKeyRepository).save(captor.capture());
+        MerchantApiKey stored = captor.getValue();
+
+        assertThat(response.apiKey()).startsWith(stored.getKeyPrefix() + "_");
+        assertThat(stored.getKeyPrefix()).matches("mk_[0-9a-f]{12}");
+        assertThat(stored.getKeyHash()).hasSize(64).doesNotContain(response.apiKey());
+        assertThat(stored.getUserId()).isEqualTo(merchant.getId());
+    }
+
+    @Test
+    @DisplayName("Deve recusar emissão de chave para usuário comum")
+    void testIssueKeyRejectsCommonUser() {
+        // Arrange
+        merchant.setUserType(UserType.COMMON_USER);
+        when(userRepository.findById(merchant.getId())).thenReturn(Optional.of(merchant));
+
+        // Act & Assert
+        assertThatThrownBy(() -> merchantApiKeyService.issueKey(merchant.getId(), "backend"))
+            .isInstanceOf(ApiKeyNotAllowedException.class);
+        verify(merchantApiKeyRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve autenticar chave válida e servir as próximas verificações do cache")
+    void testAuthenticateUsesCache() {
+        // Arrange
+        MerchantApiKey stored = issueStoredKey();
+        String rawKey = lastIssuedKey;
+        when(merchantApiKeyRepository.findByKeyPrefix(stored.getKeyPrefix())).thenReturn(Optional.of(stored));
+
+        // Act
+        Optional<UserContext> first = merchantApiKeyService.authenticate(rawKey);
+        Optional<UserContext> second = merchantApiKeyService.authenticate(rawKey);
+
+        // Assert
+        assertThat(first).isPresent();
+        assertThat(first.get().userId()).isEqualTo(merchant.getId());
+        assertThat(first.get().userType()).isEqualTo(UserType.MERCHANT);
+        assertThat(second).isPresent();
+        verify(merchantApiKeyRepository, times(1)).findByKeyPrefix(stored.getKeyPrefix());
+        verify(apiKeyMetrics).recordAuthentication("success", "database");
+        verify(apiKeyMetrics).recordAuthentication("success", "cache");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar chave com segredo incorreto")
+    void testAuthenticateRejectsWrongSecret() {
+        // Arrange
+        MerchantApiKey stored = issueStoredKey();
+        when(merchantApiKeyRepository.findByKeyPrefix(stored.getKeyPrefix())).thenReturn(Optional.of(stored));
+
+        // Act
+        Optional<UserContext> result = merchantApiKeyService.authenticate(stored.getKeyPrefix() + "_segredoErrado");
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(apiKeyMetrics).recordAuthentication("invalid", "database");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar chave malformada sem consultar o banco")
+    void testAuthenticateRejectsMalformedKey() {
+        // Act & Assert
+        assertThat(merchantApiKeyService.authenticate("Bearer abc")).isEmpty();
+        assertThat(merchantApiKeyService.authenticate(null)).isEmpty();
+        verify(merchantApiKeyRepository, never()).findByKeyPrefix(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar chave revogada imediatamente, mesmo em cache")
+    void testRevokedKeyRejectedImmediately() {
+        // Arrange
+        MerchantApiKey stored = issueStoredKey();
+        String rawKey = lastIssuedKey;
+        when(merchantApiKeyRepository.findByKeyPrefix(stored.getKeyPrefix())).thenReturn(Optional.of(stored));
+        when(merchantApiKeyRepository.findByIdAndUserId(stored.getId(), merchant.getId()))
+            .thenReturn(Optional.of(stored));
+        assertThat(merchantApiKeyService.authenticate(rawKey)).isPresent();
+
+        // Act
+        ApiKeyResponse revoked = merchantApiKeyService.revokeKey(merchant.getId(), stored.getId());
+
+        // Assert
+        assertThat(revoked.revokedAt()).isNotNull();
+        assertThat(merchantApiKeyService.authenticate(rawKey)).isEmpty();
+        verify(apiKeyMetrics).recordAuthentication("revoked", "cache");
+        verify(cacheInvalidationBus).publish(MerchantApiKeyService.REVOKED_INVALIDATION, stored.getKeyPrefix());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar chave revogada em outra réplica ao receber a invalidação")
+    void testRemoteRevocationEvictsCachedKey() {
+        // Arrange
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidationBus).subscribe(eq(MerchantApiKeyService.REVOKED_INVALIDATION), handler.capture());
+
+        MerchantApiKey stored = issueStoredKey();
+        String rawKey = lastIssuedKey;
+        when(merchantApiKeyRepository.findByKeyPrefix(stored.getKeyPrefix())).thenReturn(Optional.of(stored));
+        assertThat(merchantApiKeyService.authenticate(rawKey)).isPresent();
+
+        // Act
+        handler.getValue().accept(stored.getKeyPrefix());
+
+        // Assert
+        assertThat(merchantApiKeyService.authenticate(rawKey)).isEmpty();
+        verify(apiKeyMetrics).recordAuthentication("revoked", "cache");
+    }
+
+    @Test
+    @DisplayName("Deve carregar prefixos revogados no startup")
+    void testLoadRevokedKeys() {
+        // Arrange
+        when(merchantApiKeyRepository.findRevokedPrefixes()).thenReturn(List.of("mk_0123456789ab"));
+
+        // Act
+        merchantApiKeyService.loadRevokedKeys();
+
+        // Assert
+        assertThat(merchantApiKeyService.authenticate("mk_0123456789ab_qualquerSegredo")).isEmpty();
+        verify(merchantApiKeyRepository, never()).findByKeyPrefix(anyString());
+    }
+
+    private MerchantApiKey issueStoredKey() {
+        when(userRepository.findById(merchant.getId())).thenReturn(Optional.of(merchant));
+        when(merchantApiKeyRepository.save(any(MerchantApiKey.class))).thenAnswer(invocation -> {
+            MerchantApiKey key = invocation.getArgument(0);
+            if (key.getId() == null) {
+                key.setId(UUID.randomUUID());
+            }
+            return key;
+        });
+        lastIssuedKey = merchantApiKeyService.issueKey(merchant.getId(), "backend").apiKey();
+
+        ArgumentCaptor<MerchantApiKey> captor = ArgumentCaptor.forClass(MerchantApiKey.class);
+        verify(merchantApiKeyRepository).save(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,206 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.dto.internal.OutboxDeliveryFailure;
+import com.paymentapi.dto.internal.OutboxNotification;
+import com.paymentapi.metrics.NotificationOutboxMetrics;
+import com.paymentapi.repository.NotificationOutboxRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Testes unitários para NotificationOutboxRelay.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxRelayTest {
+
+    private static final UUID MERCHANT = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID USER = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @Mock
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Mock
+    private NotificationOutboxMetrics notificationOutboxMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final StubPayeeNotifier payeeNotifier = new StubPayeeNotifier();
+
+    private NotificationOutboxRelay relay;
+
+    @AfterEach
+    void tearDown() {
+        if (relay != null) {
+            relay.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar o lote e apagar as notificações entregues numa única operação")
+    void testRelayBatchDeletesDelivered() throws InterruptedException {
+        // Arrange
+        relay = relay(10);
+        List<OutboxNotification> batch = List.of(notification(1, MERCHANT, 0), notification(2, USER, 0),
+            notification(3, MERCHANT, 0));
+        when(notificationOutboxRepository.claimBatch(10, Duration.ofMinutes(1))).thenReturn(batch);
+
+        // Act
+        int claimed = relay.relayBatch();
+
+        // Assert
+        assertThat(claimed).isEqualTo(3);
+        assertThat(payeeNotifier.delivered()).hasSize(3);
+        ArgumentCaptor<Collection<Long>> deleted = ArgumentCaptor.captor();
+        verify(notificationOutboxRepository).deleteDelivered(deleted.capture());
+        assertThat(deleted.getValue()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        verify(notificationOutboxRepository, never()).recordFailures(any());
+        verify(notificationOutboxMetrics).recordBatch(any(Duration.class), eq("success"));
+    }
+
+    @Test
+    @DisplayName("Deve reagendar com backoff as falhas e marcar como FAILED as que esgotaram as tentativas")
+    void testRelayBatchRecordsFailures() throws InterruptedException {
+        // Arrange
+        relay = relay(10);
+        payeeNotifier.failNext(2);
+        List<OutboxNotification> batch = List.of(notification(1, MERCHANT, 2), notification(2, USER, 9));
+        when(notificationOutboxRepository.claimBatch(10, Duration.ofMinutes(1))).thenReturn(batch);
+
+        // Act
+        relay.relayBatch();
+
+        // Assert
+        ArgumentCaptor<List<OutboxDeliveryFailure>> failures = ArgumentCaptor.captor();
+        verify(notificationOutboxRepository).recordFailures(failures.capture());
+        assertThat(failures.getValue())
+            .extracting(OutboxDeliveryFailure::id, OutboxDeliveryFailure::retryIn)
+            .containsExactlyInAnyOrder(
+                tuple(1L, Duration.ofSeconds(4)),
+                tuple(2L, null));
+        verify(notificationOutboxRepository, never()).deleteDelivered(any());
+        verify(notificationOutboxMetrics).recordDelivery(eq("retry"), any(Duration.class));
+        verify(notificationOutboxMetrics).recordDelivery(eq("failed"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Deve limitar as filas por recebedor a per-destination, preservando a ordem do outbox")
+    void testLanesBoundedPerDestination() {
+        // Arrange
+        relay = relay(10);
+        List<OutboxNotification> batch = List.of(notification(5, MERCHANT, 0), notification(1, MERCHANT, 0),
+            notification(2, USER, 0), notification(3, MERCHANT, 0), notification(4, MERCHANT, 0));
+
+        // Act
+        List<List<OutboxNotification>> lanes = relay.lanes(batch);
+
+        // Assert - 2 filas para o lojista, 1 para o usuário
+        assertThat(lanes).hasSize(3);
+        assertThat(lanes.get(0)).extracting(OutboxNotification::id).containsExactly(1L, 4L);
+        assertThat(lanes.get(1)).extracting(OutboxNotification::id).containsExactly(3L, 5L);
+        assertThat(lanes.get(2)).extracting(OutboxNotification::id).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Deve dobrar a espera a cada tentativa até o limite de max-backoff")
+    void testRetryDelay() {
+        // Arrange
+        relay = relay(10);
+
+        // Act & Assert
+        assertThat(relay.retryDelay(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(relay.retryDelay(4)).isEqualTo(Duration.ofSeconds(8));
+        assertThat(relay.retryDelay(12)).isEqualTo(Duration.ofMinutes(10));
+        assertThat(relay.retryDelay(64)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha ao reivindicar e não entregar nada")
+    void testRelayBatchClaimFailure() throws InterruptedException {
+        // Arrange
+        relay = relay(10);
+        when(notificationOutboxRepository.claimBatch(10, Duration.ofMinutes(1)))
+            .thenThrow(new CannotAcquireLockException("timeout"));
+
+        // Act
+        int claimed = relay.relayBatch();
+
+        // Assert
+        assertThat(claimed).isZero();
+        assertThat(payeeNotifier.delivered()).isEmpty();
+        verify(notificationOutboxMetrics).recordBatch(any(Duration.class), eq("failed"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha quando não consegue abrir a transação do claim")
+    void testRelayBatchFailsToBeginTransaction() throws InterruptedException {
+        // Arrange
+        relay = relay(10);
+        when(transactionManager.getTransaction(any()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        // Act
+        int claimed = relay.relayBatch();
+
+        // Assert
+        assertThat(claimed).isZero();
+        assertThat(payeeNotifier.delivered()).isEmpty();
+        verify(notificationOutboxMetrics).recordBatch(any(Duration.class), eq("failed"));
+    }
+
+    @Test
+    @DisplayName("Deve manter a thread do relay viva enquanto o banco está fora do ar")
+    void testRelayThreadSurvivesDatabaseOutage() {
+        // Arrange
+        relay = newRelay(10, Duration.ofMillis(10));
+        when(transactionManager.getTransaction(any()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        // Act
+        relay.start();
+
+        // Assert
+        verify(transactionManager, timeout(2000).atLeast(3)).getTransaction(any());
+        verify(notificationOutboxMetrics, atLeast(3)).recordBatch(any(Duration.class), eq("failed"));
+    }
+
+    private NotificationOutboxRelay relay(int batchSize) {
+        NotificationOutboxRelay relay = newRelay(batchSize, Duration.ofMillis(200));
+        relay.startExecutor();
+        return relay;
+    }
+
+    private NotificationOutboxRelay newRelay(int batchSize, Duration interval) {
+        return new NotificationOutboxRelay(notificationOutboxRepository, payeeNotifier,
+            notificationOutboxMetrics, transactionManager, true, interval, batchSize, 4, 2,
+            Duration.ofMinutes(1), 10, Duration.ofSeconds(1), Duration.ofMinutes(10));
+    }
+
+    private static OutboxNotification notification(long id, UUID recipientId, int attempts) {
+        return new OutboxNotification(id, UUID.randomUUID(), recipientId, "{\"type\":\"TRANSFER_RECEIVED\"}",
+            attempts, LocalDateTime.now().minusSeconds(1));
+    }
+}
@@ -0,0 +1,196 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.dto.internal.BalanceChangedEvent;
+import com.paymentapi.dto.internal.BalanceUpdate;
+import com.paymentapi.dto.internal.TransferCompletedEvent;
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.dto.request.PayoutRequest;
+import com.paymentapi.dto.response.PayoutResponse;
+import com.paymentapi.dto.response.PayoutResponse.Status;
+import com.paymentapi.entity.WalletBalanceAudit;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.InsufficientFundsException;
+import com.paymentapi.exception.TransferNotAllowedException;
+import com.paymentapi.metrics.PayoutMetrics;
+import com.paymentapi.repository.PayoutRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Testes unitários para PayoutService.
+ */
+@ExtendWith(MockitoExtension.class)
+class PayoutServiceTest {
+
+    // Em complemento de dois o bit mais alto negativo: LOW < MERCHANT < HIGH na comparação do Java
+    private static final UUID LOW = UUID.fromString("80000000-0000-0000-0000-000000000001");
+    private static final UUID MERCHANT = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID HIGH = UUID.fromString("7fffffff-0000-0000-0000-000000000001");
+
+    @Mock
+    private PayoutRepository payoutRepository;
+
+    @Mock
+    private AuthorizationService authorizationService;
+
+    @Mock
+    private PayoutMetrics payoutMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Deve debitar o total uma vez e creditar todos os recebedores num único statement")
+    void testPayoutSuccess() {
+        // Arrange
+        PayoutService service = service(10);
+        when(payoutRepository.lockInOrder(List.of(LOW, MERCHANT, HIGH))).thenReturn(List.of(
+            party(LOW, UserType.COMMON_USER, 0), party(MERCHANT, UserType.MERCHANT, 100000),
+            party(HIGH, UserType.MERCHANT, 0)));
+        when(payoutRepository.debit(MERCHANT, 3500)).thenReturn(balance(MERCHANT, 96500));
+        when(payoutRepository.creditAll(any())).thenReturn(List.of(balance(HIGH, 2500), balance(LOW, 1000)));
+
+        // Act
+        PayoutResponse response = service.payout(request(item(HIGH, "25.00"), item(LOW, "10.00")));
+
+        // Assert
+        assertThat(response.credited()).isEqualTo(2);
+        assertThat(response.rejected()).isZero();
+        assertThat(response.totalValue()).isEqualByComparingTo("35.00");
+        assertThat(response.results()).extracting(PayoutResponse.Result::payeeId).containsExactly(HIGH, LOW);
+        assertThat(response.results()).allSatisfy(result -> {
+            assertThat(result.status()).isEqualTo(Status.CREDITED);
+            assertThat(result.transactionId()).isNotNull();
+        });
+        verify(authorizationService, times(1)).authorize();
+        verify(payoutRepository, times(1)).debit(MERCHANT, 3500);
+        verify(payoutRepository).insertTransactions(eq(MERCHANT), eq(response.payoutId()), any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<WalletBalanceAudit>> audits = ArgumentCaptor.forClass(List.class);
+        verify(payoutRepository).copyAudits(audits.capture());
+        assertThat(audits.getValue()).extracting(WalletBalanceAudit::getBalanceChange).containsExactly(-3500, 2500, 1000);
+        assertThat(audits.getValue().get(0).getPreviousBalance()).isEqualTo(100000);
+        assertThat(audits.getValue().get(2).getPreviousBalance()).isZero();
+
+        verify(eventPublisher, times(3)).publishEvent(any(BalanceChangedEvent.class));
+        verify(eventPublisher, times(2)).publishEvent(any(TransferCompletedEvent.class));
+        verify(payoutMetrics).recordPayout(any(Duration.class), eq(2), eq("success"));
+    }
+
+    @Test
+    @DisplayName("Deve reportar recebedores inexistentes, repetidos ou iguais ao pagador sem barrar os demais")
+    void testPayoutPerPayeeRejections() {
+        // Arrange
+        PayoutService service = service(10);
+        when(payoutRepository.lockInOrder(List.of(MERCHANT, HIGH))).thenReturn(List.of(
+            party(MERCHANT, UserType.MERCHANT, 100000)));
+        UUID unknown = HIGH;
+
+        // Act
+        PayoutResponse response = service.payout(request(
+            item(unknown, "10.00"), item(unknown, "5.00"), item(MERCHANT, "1.00")));
+
+        // Assert - nenhum recebedor válido: nada é escrito
+        assertThat(response.credited()).isZero();
+        assertThat(response.rejected()).isEqualTo(3);
+        assertThat(response.results()).extracting(PayoutResponse.Result::status)
+            .containsExactly(Status.PAYEE_NOT_FOUND, Status.REJECTED, Status.REJECTED);
+        verify(payoutRepository, never()).debit(any(), anyInt());
+        verify(payoutRepository, never()).creditAll(any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar o repasse inteiro quando o disponível não cobre o total")
+    void testPayoutInsufficientFunds() {
+        // Arrange
+        PayoutService service = service(10);
+        when(payoutRepository.lockInOrder(any())).thenReturn(List.of(
+            party(MERCHANT, UserType.MERCHANT, 1500), party(HIGH, UserType.COMMON_USER, 0),
+            party(LOW, UserType.COMMON_USER, 0)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.payout(request(item(HIGH, "10.00"), item(LOW, "10.00"))))
+            .isInstanceOf(InsufficientFundsException.class);
+        verify(payoutRepository, never()).debit(any(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(payoutMetrics).recordPayout(any(Duration.class), eq(0), eq("failed"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar usuário comum como pagador")
+    void testPayoutRequiresMerchant() {
+        // Arrange
+        PayoutService service = service(10);
+        when(payoutRepository.lockInOrder(any())).thenReturn(List.of(
+            party(MERCHANT, UserType.COMMON_USER, 100000), party(HIGH, UserType.COMMON_USER, 0)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.payout(request(item(HIGH, "10.00"))))
+            .isInstanceOf(TransferNotAllowedException.class);
+        verify(payoutRepository, never()).debit(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve recusar repasse acima do máximo de recebedores antes de autorizar")
+    void testPayoutTooManyPayees() {
+        // Arrange
+        PayoutService service = service(2);
+        List<PayoutRequest.Item> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            items.add(item(UUID.randomUUID(), "1.00"));
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.payout(new PayoutRequest(MERCHANT, items)))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(authorizationService, payoutRepository);
+    }
+
+    private PayoutService service(int maxPayees) {
+        return new PayoutService(payoutRepository, authorizationService, payoutMetrics, eventPublisher,
+            transactionManager, maxPayees);
+    }
+
+    private static PayoutRequest request(PayoutRequest.Item... items) {
+        return new PayoutRequest(MERCHANT, List.of(items));
+    }
+
+    private static PayoutRequest.Item item(UUID payeeId, String value) {
+        return new PayoutRequest.Item(payeeId, new BigDecimal(value));
+    }
+
+    private static TransferParty party(UUID id, UserType userType, int availableBalance) {
+        return new TransferParty(id, userType, availableBalance);
+    }
+
+    private static BalanceUpdate balance(UUID userId, int newBalance) {
+        return new BalanceUpdate(userId, newBalance, 1, LocalDateTime.now());
+    }
+}
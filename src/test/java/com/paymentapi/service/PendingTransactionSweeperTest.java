@@ -0,0 +1,233 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.dto.internal.PendingTransaction;
+import com.paymentapi.dto.internal.PendingTransactionBacklog;
+import com.paymentapi.entity.User;
+import com.paymentapi.entity.enums.TransactionStatus;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.metrics.PendingTransactionMetrics;
+import com.paymentapi.repository.PendingTransactionRepository;
+import com.paymentapi.repository.UserRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Testes unitários para PendingTransactionSweeper.
+ */
+@ExtendWith(MockitoExtension.class)
+class PendingTransactionSweeperTest {
+
+    private static final UUID USER_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID USER_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UUID USER_C = UUID.fromString("00000000-0000-0000-0000-00000000000c");
+
+    @Mock
+    private PendingTransactionRepository pendingTransactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private WalletService walletService;
+
+    @Mock
+    private PendingTransactionMetrics pendingTransactionMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Deve concluir as que movimentaram os dois lados e falhar as que não movimentaram nada")
+    void testSweepCompletesAndFails() {
+        // Arrange
+        PendingTransactionSweeper sweeper = sweeper(10);
+        PendingTransaction applied = pending(USER_A, USER_B, 500, -500, 500);
+        PendingTransaction untouched = pending(USER_A, USER_C, 300, 0, 0);
+        when(pendingTransactionRepository.tryLockSweep()).thenReturn(true);
+        when(pendingTransactionRepository.lockStale(any(LocalDateTime.class), eq(10)))
+            .thenReturn(List.of(applied, untouched));
+        when(pendingTransactionRepository.backlog()).thenReturn(new PendingTransactionBacklog(0, null));
+
+        // Act
+        int resolved = sweeper.sweep();
+
+        // Assert
+        assertThat(resolved).isEqualTo(2);
+        verify(pendingTransactionRepository).markStatus(List.of(applied.id()), TransactionStatus.COMPLETED);
+        verify(pendingTransactionRepository).markStatus(List.of(untouched.id()), TransactionStatus.FAILED);
+        verify(pendingTransactionMetrics).recordResolved("completed", 1);
+        verify(pendingTransactionMetrics).recordResolved("failed", 1);
+        verify(pendingTransactionMetrics).recordSweep(any(Duration.class), eq("success"));
+        verify(walletService, never()).credit(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve estornar o lado aplicado em ordem crescente de id e cancelar a transação")
+    void testSweepCompensatesPartialTransactions() {
+        // Arrange
+        PendingTransactionSweeper sweeper = sweeper(10);
+        PendingTransaction debitedOnly = pending(USER_C, USER_B, 400, -400, 0);
+        PendingTransaction creditedOnly = pending(USER_B, USER_A, 200, 0, 200);
+        when(pendingTransactionRepository.tryLockSweep()).thenReturn(true);
+        when(pendingTransactionRepository.lockStale(any(LocalDateTime.class), eq(10)))
+            .thenReturn(List.of(debitedOnly, creditedOnly));
+        when(pendingTransactionRepository.backlog()).thenReturn(new PendingTransactionBacklog(0, null));
+        for (UUID id : List.of(USER_A, USER_B, USER_C)) {
+            when(userRepository.findByIdForUpdate(id)).thenReturn(Optional.of(user(id, 1000)));
+        }
+
+        // Act
+        int resolved = sweeper.sweep();
+
+        // Assert
+        assertThat(resolved).isEqualTo(2);
+        InOrder inOrder = inOrder(userRepository, walletService, pendingTransactionRepository);
+        inOrder.verify(userRepository).findByIdForUpdate(USER_A);
+        inOrder.verify(userRepository).findByIdForUpdate(USER_B);
+        inOrder.verify(userRepository).findByIdForUpdate(USER_C);
+        inOrder.verify(walletService).updateBalance(USER_A, -200,
+            PendingTransactionSweeper.OPERATION_REVERSAL_DEBIT, creditedOnly.id());
+        inOrder.verify(walletService).credit(USER_C, 400,
+            PendingTransactionSweeper.OPERATION_REVERSAL_CREDIT, debitedOnly.id());
+        inOrder.verify(pendingTransactionRepository).markStatus(List.of(debitedOnly.id(), creditedOnly.id()),
+            TransactionStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Deve deixar pendente quando o recebedor não tem saldo para devolver o crédito")
+    void testSweepLeavesUncoveredReversalPending() {
+        // Arrange
+        PendingTransactionSweeper sweeper = sweeper(1);
+        PendingTransaction creditedOnly = pending(USER_B, USER_A, 200, 0, 200);
+        when(pendingTransactionRepository.tryLockSweep()).thenReturn(true);
+        when(pendingTransactionRepository.lockStale(any(LocalDateTime.class), eq(1))).thenReturn(List.of(creditedOnly));
+        when(pendingTransactionRepository.backlog())
+            .thenReturn(new PendingTransactionBacklog(1, creditedOnly.createdAt()));
+        when(userRepository.findByIdForUpdate(USER_A)).thenReturn(Optional.of(user(USER_A, 100)));
+        when(userRepository.findByIdForUpdate(USER_B)).thenReturn(Optional.of(user(USER_B, 0)));
+
+        // Act
+        int resolved = sweeper.sweep();
+
+        // Assert - lote cheio, mas com pendência: não busca o próximo
+        assertThat(resolved).isZero();
+        verify(pendingTransactionRepository).lockStale(any(LocalDateTime.class), eq(1));
+        verify(walletService, never()).updateBalance(any(), anyInt(), any(), any());
+        verify(pendingTransactionRepository, never()).markStatus(any(), any());
+        verify(pendingTransactionMetrics).recordResolved("unresolved", 1);
+    }
+
+    @Test
+    @DisplayName("Deve pular a passada quando outro nó está com o advisory lock")
+    void testSweepSkippedWithoutLock() {
+        // Arrange
+        PendingTransactionSweeper sweeper = sweeper(10);
+        when(pendingTransactionRepository.tryLockSweep()).thenReturn(false);
+        when(pendingTransactionRepository.backlog()).thenReturn(new PendingTransactionBacklog(3, LocalDateTime.now()));
+
+        // Act
+        int resolved = sweeper.sweep();
+
+        // Assert
+        assertThat(resolved).isZero();
+        verify(pendingTransactionRepository, never()).lockStale(any(), anyInt());
+        verify(pendingTransactionMetrics).recordSweep(any(Duration.class), eq("skipped"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha e deixar as pendentes para a próxima passada")
+    void testSweepFailure() {
+        // Arrange
+        PendingTransactionSweeper sweeper = sweeper(10);
+        when(pendingTransactionRepository.tryLockSweep()).thenThrow(new CannotAcquireLockException("timeout"));
+
+        // Act
+        int resolved = sweeper.sweep();
+
+        // Assert
+        assertThat(resolved).isZero();
+        verify(pendingTransactionMetrics).recordSweep(any(Duration.class), eq("failed"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha quando não consegue abrir a transação")
+    void testSweepFailsToBeginTransaction() {
+        // Arrange
+        PendingTransactionSweeper sweeper = sweeper(10);
+        when(transactionManager.getTransaction(any()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        // Act
+        int resolved = sweeper.sweep();
+
+        // Assert
+        assertThat(resolved).isZero();
+        verify(pendingTransactionMetrics).recordSweep(any(Duration.class), eq("failed"));
+    }
+
+    @Test
+    @DisplayName("Deve manter a thread de varredura viva enquanto o banco está fora do ar")
+    void testSweeperThreadSurvivesDatabaseOutage() {
+        // Arrange
+        PendingTransactionSweeper sweeper = sweeper(10, Duration.ofMillis(10));
+        when(transactionManager.getTransaction(any()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        // Act
+        sweeper.start();
+
+        // Assert
+        try {
+            verify(transactionManager, timeout(2000).atLeast(3)).getTransaction(any());
+            verify(pendingTransactionMetrics, atLeast(3)).recordSweep(any(Duration.class), eq("failed"));
+        } finally {
+            sweeper.stop();
+        }
+    }
+
+    private PendingTransactionSweeper sweeper(int batchSize) {
+        return sweeper(batchSize, Duration.ofSeconds(30));
+    }
+
+    private PendingTransactionSweeper sweeper(int batchSize, Duration interval) {
+        return new PendingTransactionSweeper(pendingTransactionRepository, userRepository, walletService,
+            pendingTransactionMetrics, transactionManager, true, interval, Duration.ofMinutes(5), batchSize);
+    }
+
+    private static PendingTransaction pending(UUID payerId, UUID payeeId, int amount, int payerChange,
+                                              int payeeChange) {
+        return new PendingTransaction(UUID.randomUUID(), payerId, payeeId, amount,
+            LocalDateTime.now().minusMinutes(10), payerChange, payeeChange);
+    }
+
+    private static User user(UUID id, int balance) {
+        User user = new User();
+        user.setId(id);
+        user.setUserType(UserType.COMMON_USER);
+        user.setWalletBalance(balance);
+        return user;
+    }
+}
@@ -0,0 +1,276 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.dto.internal.BalanceChangedEvent;
+import com.paymentapi.dto.internal.OutboxNotification;
+import com.paymentapi.dto.internal.TransferCompletedEvent;
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.dto.request.TransferRequest;
+import com.paymentapi.entity.enums.TransactionStatus;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.InsufficientFundsException;
+import com.paymentapi.exception.TransferBlockedException;
+import com.paymentapi.exception.TransferTimeoutException;
+import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.metrics.TransferMetrics;
+import com.paymentapi.repository.ReactiveWalletRepository;
+import com.paymentapi.repository.ReactiveWalletRepository.AppliedBalanceChange;
+import com.paymentapi.repository.ReactiveWalletRepository.TransferRecord;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Testes unitários para ReactiveTransferService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransferServiceTest {
+
+    private static final String PAYER_CPF = "12345678909";
+    private static final String PAYEE_CPF = "98765432100";
+
+    @Mock
+    private ReactiveWalletRepository reactiveWalletRepository;
+
+    @Mock
+    private ReactiveAuthorizationService reactiveAuthorizationService;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    @Mock
+    private FraudRuleEngine fraudRuleEngine;
+
+    @Mock
+    private TransferLimitService transferLimitService;
+
+    @Mock
+    private TransferLimitService.Reservation reservation;
+
+    @Mock
+    private NotificationOutboxWriter notificationOutboxWriter;
+
+    @Mock
+    private TransferMetrics transferMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReactiveTransferService reactiveTransferService;
+
+    private final TransferParty payer = new TransferParty(UUID.randomUUID(), UserType.COMMON_USER, 10000);
+    private final TransferParty payee = new TransferParty(UUID.randomUUID(), UserType.MERCHANT, 0);
+
+    @BeforeEach
+    void setUp() {
+        reactiveTransferService = new ReactiveTransferService(reactiveWalletRepository,
+            reactiveAuthorizationService, userExistenceFilter, fraudRuleEngine, transferLimitService,
+            notificationOutboxWriter, transferMetrics, eventPublisher, Duration.ofMillis(500));
+
+        lenient().when(userExistenceFilter.mightContainCpf(anyString())).thenReturn(true);
+        lenient().when(reactiveWalletRepository.findTransferPartyByCpf(PAYER_CPF)).thenReturn(Mono.just(payer));
+        lenient().when(reactiveWalletRepository.findTransferPartyByCpf(PAYEE_CPF)).thenReturn(Mono.just(payee));
+        lenient().when(reactiveAuthorizationService.authorize()).thenReturn(Mono.empty());
+        lenient().when(transferLimitService.acquire(any(), any(), anyInt())).thenReturn(reservation);
+    }
+
+    @Test
+    @DisplayName("Deve transferir de forma não bloqueante")
+    void testTransferSuccess() {
+        // Arrange
+        UUID transactionId = UUID.randomUUID();
+        when(reactiveWalletRepository.executeTransfer(eq(payer.id()), eq(payee.id()), eq(1050),
+                eq(TransferService.OPERATION_DEBIT), eq(TransferService.OPERATION_CREDIT), any()))
+            .thenReturn(Mono.just(record(transactionId, 1050)));
+
+        // Act & Assert
+        StepVerifier.create(reactiveTransferService.transfer(request("10.50")))
+            .assertNext(response -> {
+                assertThat(response.transactionId()).isEqualTo(transactionId);
+                assertThat(response.status()).isEqualTo(TransactionStatus.COMPLETED);
+                assertThat(response.value()).isEqualByComparingTo("10.50");
+            })
+            .verifyComplete();
+        verify(fraudRuleEngine).check(payer, payee, 1050);
+        verify(transferLimitService).acquire(payer, payee, 1050);
+        verify(reservation, never()).release();
+        verify(transferMetrics).recordTransferTotal("success");
+    }
+
+    @Test
+    @DisplayName("Deve publicar os eventos de saldo e de transferência depois do commit")
+    void testTransferPublishesDomainEvents() {
+        // Arrange
+        UUID transactionId = UUID.randomUUID();
+        when(reactiveWalletRepository.executeTransfer(eq(payer.id()), eq(payee.id()), eq(1050),
+                eq(TransferService.OPERATION_DEBIT), eq(TransferService.OPERATION_CREDIT), any()))
+            .thenReturn(Mono.just(record(transactionId, 1050)));
+
+        // Act
+        StepVerifier.create(reactiveTransferService.transfer(request("10.50")))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        // Assert
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues().get(0)).isInstanceOfSatisfying(BalanceChangedEvent.class, event -> {
+            assertThat(event.userId()).isEqualTo(payer.id());
+            assertThat(event.operationType()).isEqualTo(TransferService.OPERATION_DEBIT);
+            assertThat(event.newBalance()).isEqualTo(8950);
+        });
+        assertThat(events.getAllValues().get(1)).isInstanceOfSatisfying(BalanceChangedEvent.class, event -> {
+            assertThat(event.userId()).isEqualTo(payee.id());
+            assertThat(event.operationType()).isEqualTo(TransferService.OPERATION_CREDIT);
+            assertThat(event.newBalance()).isEqualTo(1050);
+        });
+        assertThat(events.getAllValues().get(2)).isInstanceOfSatisfying(TransferCompletedEvent.class, event -> {
+            assertThat(event.transactionId()).isEqualTo(transactionId);
+            assertThat(event.amount()).isEqualTo(1050);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve gravar a notificação ao recebedor na transação da transferência")
+    void testTransferWritesOutboxInTransaction() {
+        // Arrange
+        UUID transactionId = UUID.randomUUID();
+        TransferRecord record = record(transactionId, 1050);
+        OutboxNotification notification = new OutboxNotification(0, transactionId, payee.id(), "{}", 0, null);
+        ArgumentCaptor<Function<TransferRecord, Optional<OutboxNotification>>> outbox =
+            ArgumentCaptor.captor();
+        when(reactiveWalletRepository.executeTransfer(eq(payer.id()), eq(payee.id()), eq(1050),
+                eq(TransferService.OPERATION_DEBIT), eq(TransferService.OPERATION_CREDIT), outbox.capture()))
+            .thenReturn(Mono.just(record));
+        when(notificationOutboxWriter.notificationFor(any(TransferCompletedEvent.class)))
+            .thenReturn(Optional.of(notification));
+
+        // Act
+        StepVerifier.create(reactiveTransferService.transfer(request("10.50")))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        // Assert
+        assertThat(outbox.getValue().apply(record)).contains(notification);
+        ArgumentCaptor<TransferCompletedEvent> event = ArgumentCaptor.forClass(TransferCompletedEvent.class);
+        verify(notificationOutboxWriter).notificationFor(event.capture());
+        assertThat(event.getValue().transactionId()).isEqualTo(transactionId);
+        assertThat(event.getValue().payerId()).isEqualTo(payer.id());
+        assertThat(event.getValue().payeeId()).isEqualTo(payee.id());
+        assertThat(event.getValue().amount()).isEqualTo(1050);
+        assertThat(event.getValue().createdAt()).isEqualTo(record.createdAt());
+    }
+
+    @Test
+    @DisplayName("Deve recusar sem gravar quando uma regra antifraude bloqueia")
+    void testFraudRuleBlocksTransfer() {
+        // Arrange
+        doThrow(new TransferBlockedException()).when(fraudRuleEngine).check(payer, payee, 1000);
+
+        // Act & Assert
+        StepVerifier.create(reactiveTransferService.transfer(request("10.00")))
+            .expectError(TransferBlockedException.class)
+            .verify(Duration.ofSeconds(2));
+        verify(transferLimitService, never()).acquire(any(), any(), anyInt());
+        verify(reactiveWalletRepository, never()).executeTransfer(any(), any(), anyInt(), anyString(), anyString(),
+            any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a reserva de limite quando a escrita falha")
+    void testWriteFailureReleasesLimitReservation() {
+        // Arrange
+        when(reactiveWalletRepository.executeTransfer(eq(payer.id()), eq(payee.id()), eq(1000),
+                eq(TransferService.OPERATION_DEBIT), eq(TransferService.OPERATION_CREDIT), any()))
+            .thenReturn(Mono.error(new InsufficientFundsException(payer.id(), 1000, 0)));
+
+        // Act & Assert
+        StepVerifier.create(reactiveTransferService.transfer(request("10.00")))
+            .expectError(InsufficientFundsException.class)
+            .verify(Duration.ofSeconds(2));
+        verify(reservation).release();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve cancelar a autorização quando falta saldo")
+    void testInsufficientFundsCancelsAuthorization() {
+        // Arrange
+        AtomicBoolean cancelled = new AtomicBoolean();
+        when(reactiveWalletRepository.findTransferPartyByCpf(PAYER_CPF))
+            .thenReturn(Mono.just(new TransferParty(payer.id(), UserType.COMMON_USER, 100)));
+        when(reactiveAuthorizationService.authorize())
+            .thenReturn(Mono.<Void>never().doOnCancel(() -> cancelled.set(true)));
+
+        // Act & Assert
+        StepVerifier.create(reactiveTransferService.transfer(request("10.00")))
+            .expectError(InsufficientFundsException.class)
+            .verify(Duration.ofSeconds(2));
+        assertThat(cancelled).isTrue();
+        verify(reactiveWalletRepository, never()).executeTransfer(any(), any(), anyInt(), anyString(), anyString(),
+            any());
+        verify(transferMetrics).recordTransferFailed("insufficient_funds");
+    }
+
+    @Test
+    @DisplayName("Deve falhar com timeout quando a resolução estoura o prazo")
+    void testDeadlineExceeded() {
+        // Arrange
+        when(reactiveAuthorizationService.authorize()).thenReturn(Mono.never());
+
+        // Act & Assert
+        StepVerifier.create(reactiveTransferService.transfer(request("10.00")))
+            .expectError(TransferTimeoutException.class)
+            .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro quando o usuário do saldo não existe")
+    void testGetBalanceUserNotFound() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        when(reactiveWalletRepository.findBalance(userId)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(reactiveTransferService.getBalance(userId))
+            .expectError(UserNotFoundException.class)
+            .verify();
+    }
+
+    private TransferRecord record(UUID transactionId, int amount) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TransferRecord(transactionId, now,
+            new AppliedBalanceChange(payer.id(), 10000, 10000 - amount, -amount, 2, now),
+            new AppliedBalanceChange(payee.id(), 0, amount, amount, 2, now));
+    }
+
+    private static TransferRequest request(String value) {
+        return new TransferRequest(new BigDecimal(value), PAYER_CPF, PAYEE_CPF);
+    }
+}
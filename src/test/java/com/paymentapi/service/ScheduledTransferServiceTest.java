@@ -0,0 +1,355 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.dto.request.ScheduledTransferRequest;
+import com.paymentapi.dto.request.TransferRequest;
+import com.paymentapi.dto.response.ScheduledTransferResponse;
+import com.paymentapi.dto.response.TransferResponse;
+import com.paymentapi.entity.ScheduledTransfer;
+import com.paymentapi.entity.enums.ScheduledTransferStatus;
+import com.paymentapi.entity.enums.TransactionStatus;
+import com.paymentapi.entity.enums.TransferRecurrence;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.AuthorizationUnavailableException;
+import com.paymentapi.exception.InsufficientFundsException;
+import com.paymentapi.exception.TransferNotAllowedException;
+import com.paymentapi.exception.WalletAccessDeniedException;
+import com.paymentapi.repository.ScheduledTransferRepository;
+import com.paymentapi.repository.UserRepository;
+import com.paymentapi.service.ScheduledTransferService.Outcome;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Testes unitários para ScheduledTransferService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransferServiceTest {
+
+    private static final String PAYER_CPF = "12345678909";
+    private static final String PAYEE_CPF = "98765432100";
+
+    @Mock
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransferService transferService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Deve criar agendamento único ativo com uma execução restante")
+    void testCreateOnce() {
+        // Arrange
+        ScheduledTransferService service = service();
+        LocalDateTime runAt = LocalDateTime.now().plusDays(1);
+        UUID payerId = UUID.randomUUID();
+        when(userRepository.findTransferPartyByCpf(PAYER_CPF))
+            .thenReturn(Optional.of(new TransferParty(payerId, UserType.COMMON_USER, 10000)));
+        when(userRepository.findTransferPartyByCpf(PAYEE_CPF))
+            .thenReturn(Optional.of(new TransferParty(UUID.randomUUID(), UserType.MERCHANT, 0)));
+        when(scheduledTransferRepository.save(any(ScheduledTransfer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ScheduledTransferResponse response = service.create(
+            new ScheduledTransferRequest(new BigDecimal("10.50"), PAYER_CPF, PAYEE_CPF, runAt, null, null), null);
+
+        // Assert
+        assertThat(response.payerId()).isEqualTo(payerId);
+        assertThat(response.recurrence()).isEqualTo(TransferRecurrence.ONCE);
+        assertThat(response.status()).isEqualTo(ScheduledTransferStatus.ACTIVE);
+        assertThat(response.nextRunAt()).isEqualTo(runAt);
+        assertThat(response.remainingRuns()).isEqualTo(1);
+        assertThat(response.value()).isEqualByComparingTo("10.50");
+    }
+
+    @Test
+    @DisplayName("Deve recusar agendamento de lojista ou para o próprio pagador")
+    void testCreateNotAllowed() {
+        // Arrange
+        ScheduledTransferService service = service();
+        LocalDateTime runAt = LocalDateTime.now().plusDays(1);
+        when(userRepository.findTransferPartyByCpf(PAYER_CPF))
+            .thenReturn(Optional.of(new TransferParty(UUID.randomUUID(), UserType.MERCHANT, 10000)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.create(
+            new ScheduledTransferRequest(BigDecimal.TEN, PAYER_CPF, PAYER_CPF, runAt, null, null), null))
+            .isInstanceOf(TransferNotAllowedException.class);
+        assertThatThrownBy(() -> service.create(
+            new ScheduledTransferRequest(BigDecimal.TEN, PAYER_CPF, PAYEE_CPF, runAt, null, null), null))
+            .isInstanceOf(TransferNotAllowedException.class);
+        verify(scheduledTransferRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve executar a transferência e avançar para a próxima ocorrência mensal")
+    void testExecuteAdvancesRecurring() {
+        // Arrange
+        ScheduledTransferService service = service();
+        LocalDateTime firstRunAt = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        ScheduledTransfer schedule = schedule(TransferRecurrence.MONTHLY, firstRunAt, 3);
+        UUID transactionId = UUID.randomUUID();
+        when(scheduledTransferRepository.lockForExecution(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(transferService.transfer(eq(new TransferRequest(new BigDecimal("25.00"), PAYER_CPF, PAYEE_CPF)), any()))
+            .thenAnswer(invocation -> transferWithin(invocation, transactionId));
+
+        // Act
+        Outcome outcome = service.execute(schedule.getId(), firstRunAt);
+
+        // Assert
+        assertThat(outcome).isEqualTo(Outcome.EXECUTED);
+        assertThat(schedule.getStatus()).isEqualTo(ScheduledTransferStatus.ACTIVE);
+        assertThat(schedule.getOccurrence()).isEqualTo(1);
+        assertThat(schedule.getNextRunAt()).isEqualTo(firstRunAt.plusMonths(1));
+        assertThat(schedule.getRemainingRuns()).isEqualTo(2);
+        assertThat(schedule.getRunCount()).isEqualTo(1);
+        assertThat(schedule.getLastTransactionId()).isEqualTo(transactionId);
+        assertThat(schedule.getLockedBy()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve liberar o lock da checagem antes de resolver e autorizar a transferência")
+    void testExecuteReleasesLockBeforeAuthorization() {
+        // Arrange
+        ScheduledTransferService service = service();
+        LocalDateTime runAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        ScheduledTransfer schedule = schedule(TransferRecurrence.ONCE, runAt, 1);
+        when(scheduledTransferRepository.lockForExecution(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(transferService.transfer(any(TransferRequest.class), any()))
+            .thenAnswer(invocation -> transferWithin(invocation, UUID.randomUUID()));
+
+        // Act
+        Outcome outcome = service.execute(schedule.getId(), runAt);
+
+        // Assert
+        assertThat(outcome).isEqualTo(Outcome.EXECUTED);
+        InOrder order = inOrder(transactionManager, transferService);
+        order.verify(transactionManager).commit(any());
+        order.verify(transferService).transfer(any(TransferRequest.class), any());
+        assertThat(schedule.getStatus()).isEqualTo(ScheduledTransferStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Deve desfazer a escrita quando o agendamento deixa de estar pendente antes do commit")
+    void testExecuteRollsBackWhenNoLongerDue() {
+        // Arrange
+        ScheduledTransferService service = service();
+        LocalDateTime runAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        ScheduledTransfer schedule = schedule(TransferRecurrence.ONCE, runAt, 1);
+        when(scheduledTransferRepository.lockForExecution(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(transferService.transfer(any(TransferRequest.class), any())).thenAnswer(invocation -> {
+            schedule.setStatus(ScheduledTransferStatus.CANCELLED);
+            return transferWithin(invocation, UUID.randomUUID());
+        });
+
+        // Act
+        Outcome outcome = service.execute(schedule.getId(), runAt);
+
+        // Assert
+        assertThat(outcome).isEqualTo(Outcome.SKIPPED);
+        assertThat(schedule.getStatus()).isEqualTo(ScheduledTransferStatus.CANCELLED);
+        assertThat(schedule.getRunCount()).isZero();
+        verify(scheduledTransferRepository, never()).findByIdForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("Deve executar uma vez só as ocorrências perdidas e concluir a última execução")
+    void testExecuteCoalescesMissedOccurrences() {
+        // Arrange
+        ScheduledTransferService service = service();
+        LocalDateTime firstRunAt = LocalDateTime.now().minusDays(3).minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        ScheduledTransfer daily = schedule(TransferRecurrence.DAILY, firstRunAt, null);
+        ScheduledTransfer last = schedule(TransferRecurrence.WEEKLY, firstRunAt, 1);
+        when(scheduledTransferRepository.lockForExecution(daily.getId())).thenReturn(Optional.of(daily));
+        when(scheduledTransferRepository.lockForExecution(last.getId())).thenReturn(Optional.of(last));
+        when(transferService.transfer(any(TransferRequest.class), any()))
+            .thenAnswer(invocation -> transferWithin(invocation, UUID.randomUUID()));
+
+        // Act
+        Outcome dailyOutcome = service.execute(daily.getId(), firstRunAt);
+        Outcome lastOutcome = service.execute(last.getId(), firstRunAt);
+
+        // Assert
+        assertThat(dailyOutcome).isEqualTo(Outcome.EXECUTED);
+        assertThat(daily.getOccurrence()).isEqualTo(4);
+        assertThat(daily.getNextRunAt()).isEqualTo(firstRunAt.plusDays(4));
+        assertThat(daily.getRunCount()).isEqualTo(1);
+        assertThat(lastOutcome).isEqualTo(Outcome.EXECUTED);
+        assertThat(last.getStatus()).isEqualTo(ScheduledTransferStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Não deve executar quando o agendamento já avançou, foi cancelado ou está travado")
+    void testExecuteSkipsWhenNotDue() {
+        // Arrange
+        ScheduledTransferService service = service();
+        LocalDateTime runAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        ScheduledTransfer advanced = schedule(TransferRecurrence.DAILY, runAt.minusDays(1), null);
+        advanced.setNextRunAt(runAt);
+        ScheduledTransfer cancelled = schedule(TransferRecurrence.ONCE, runAt, 1);
+        cancelled.setStatus(ScheduledTransferStatus.CANCELLED);
+        UUID locked = UUID.randomUUID();
+        when(scheduledTransferRepository.lockForExecution(advanced.getId())).thenReturn(Optional.of(advanced));
+        when(scheduledTransferRepository.lockForExecution(cancelled.getId())).thenReturn(Optional.of(cancelled));
+        when(scheduledTransferRepository.lockForExecution(locked)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThat(service.execute(advanced.getId(), runAt.minusDays(1))).isEqualTo(Outcome.SKIPPED);
+        assertThat(service.execute(cancelled.getId(), runAt)).isEqualTo(Outcome.SKIPPED);
+        assertThat(service.execute(locked, runAt)).isEqualTo(Outcome.SKIPPED);
+        verify(transferService, never()).transfer(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar como FAILED um agendamento único recusado por falta de saldo")
+    void testExecuteBusinessFailure() {
+        // Arrange
+        ScheduledTransferService service = service();
+        LocalDateTime runAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        ScheduledTransfer schedule = schedule(TransferRecurrence.ONCE, runAt, 1);
+        when(scheduledTransferRepository.lockForExecution(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(scheduledTransferRepository.findByIdForUpdate(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(transferService.transfer(any(TransferRequest.class), any()))
+            .thenThrow(new InsufficientFundsException(schedule.getPayerId(), 2500, 100));
+
+        // Act
+        Outcome outcome = service.execute(schedule.getId(), runAt);
+
+        // Assert
+        assertThat(outcome).isEqualTo(Outcome.FAILED);
+        assertThat(schedule.getStatus()).isEqualTo(ScheduledTransferStatus.FAILED);
+        assertThat(schedule.getLastError()).isNotBlank();
+        assertThat(schedule.getRunCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve agendar nova tentativa com espera crescente em falha transitória")
+    void testExecuteTransientFailureRetries() {
+        // Arrange
+        ScheduledTransferService service = service();
+        LocalDateTime runAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        ScheduledTransfer schedule = schedule(TransferRecurrence.ONCE, runAt, 1);
+        schedule.setAttempts(1);
+        when(scheduledTransferRepository.lockForExecution(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(scheduledTransferRepository.findByIdForUpdate(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(transferService.transfer(any(TransferRequest.class), any()))
+            .thenThrow(new AuthorizationUnavailableException(new RuntimeException("503")));
+
+        // Act
+        Outcome outcome = service.execute(schedule.getId(), runAt);
+
+        // Assert
+        assertThat(outcome).isEqualTo(Outcome.RETRY);
+        assertThat(schedule.getStatus()).isEqualTo(ScheduledTransferStatus.ACTIVE);
+        assertThat(schedule.getAttempts()).isEqualTo(2);
+        assertThat(schedule.getNextRunAt()).isAfter(LocalDateTime.now().plusSeconds(50));
+        assertThat(schedule.getLockedBy()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve cancelar agendamento ativo e liberar o lease")
+    void testCancel() {
+        // Arrange
+        ScheduledTransferService service = service();
+        ScheduledTransfer schedule = schedule(TransferRecurrence.DAILY, LocalDateTime.now(), null);
+        schedule.setLockedBy("node-a");
+        schedule.setLockedUntil(LocalDateTime.now().plusMinutes(2));
+        when(scheduledTransferRepository.findByIdForUpdate(schedule.getId())).thenReturn(Optional.of(schedule));
+
+        // Act
+        ScheduledTransferResponse response = service.cancel(schedule.getId(), null);
+
+        // Assert
+        assertThat(response.status()).isEqualTo(ScheduledTransferStatus.CANCELLED);
+        assertThat(schedule.getLockedBy()).isNull();
+        assertThat(schedule.getLockedUntil()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve negar criar, consultar e cancelar agendamentos de outro pagador")
+    void testOwnershipDenied() {
+        // Arrange
+        ScheduledTransferService service = service();
+        UUID otherUser = UUID.randomUUID();
+        ScheduledTransfer schedule = schedule(TransferRecurrence.DAILY, LocalDateTime.now(), null);
+        when(userRepository.findTransferPartyByCpf(PAYER_CPF))
+            .thenReturn(Optional.of(new TransferParty(schedule.getPayerId(), UserType.COMMON_USER, 10000)));
+        when(scheduledTransferRepository.findById(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(scheduledTransferRepository.findByIdForUpdate(schedule.getId())).thenReturn(Optional.of(schedule));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.create(new ScheduledTransferRequest(
+                BigDecimal.TEN, PAYER_CPF, PAYEE_CPF, LocalDateTime.now().plusDays(1), null, null), otherUser))
+            .isInstanceOf(WalletAccessDeniedException.class);
+        assertThatThrownBy(() -> service.get(schedule.getId(), otherUser))
+            .isInstanceOf(WalletAccessDeniedException.class);
+        assertThatThrownBy(() -> service.cancel(schedule.getId(), otherUser))
+            .isInstanceOf(WalletAccessDeniedException.class);
+        assertThat(schedule.getStatus()).isEqualTo(ScheduledTransferStatus.ACTIVE);
+        assertThat(service.get(schedule.getId(), schedule.getPayerId()).id()).isEqualTo(schedule.getId());
+        verify(scheduledTransferRepository, never()).save(any());
+    }
+
+    private ScheduledTransferService service() {
+        return new ScheduledTransferService(scheduledTransferRepository, userRepository, transferService,
+            transactionManager, 5, Duration.ofSeconds(30));
+    }
+
+    private static ScheduledTransfer schedule(TransferRecurrence recurrence, LocalDateTime firstRunAt,
+                                              Integer remainingRuns) {
+        ScheduledTransfer schedule = new ScheduledTransfer();
+        schedule.setId(UUID.randomUUID());
+        schedule.setPayerId(UUID.randomUUID());
+        schedule.setPayerDocument(PAYER_CPF);
+        schedule.setPayeeDocument(PAYEE_CPF);
+        schedule.setAmount(2500);
+        schedule.setRecurrence(recurrence);
+        schedule.setStatus(ScheduledTransferStatus.ACTIVE);
+        schedule.setFirstRunAt(firstRunAt);
+        schedule.setNextRunAt(firstRunAt);
+        schedule.setRemainingRuns(remainingRuns);
+        schedule.setLockedBy("node-a");
+        return schedule;
+    }
+
+    /**
+     * Simula a escrita da transferência: roda o trabalho da transação de escrita com o id gravado.
+     */
+    private static TransferResponse transferWithin(InvocationOnMock invocation, UUID transactionId) {
+        Consumer<UUID> inTransaction = invocation.getArgument(1);
+        inTransaction.accept(transactionId);
+        return transferResponse(transactionId);
+    }
+
+    private static TransferResponse transferResponse(UUID transactionId) {
+        return new TransferResponse(transactionId, UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("25.00"),
+            TransactionStatus.COMPLETED, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,76 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.metrics.ScheduledTransferMetrics;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Testes unitários para ScheduledTransferWorker.
+ */
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransferWorkerTest {
+
+    @Mock
+    private ScheduledTransferService scheduledTransferService;
+
+    @Mock
+    private ScheduledTransferMetrics scheduledTransferMetrics;
+
+    @Test
+    @DisplayName("Deve registrar a falha do claim quando não consegue abrir a transação")
+    void testPollFailsToBeginTransaction() {
+        // Arrange
+        ScheduledTransferWorker worker = worker(Duration.ofSeconds(1));
+        when(scheduledTransferService.claimDue(anyString(), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(LocalDateTime.class), anyInt()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        // Act
+        int claimed = worker.poll();
+
+        // Assert
+        assertThat(claimed).isZero();
+        verify(scheduledTransferMetrics).recordClaim(0, "failed");
+    }
+
+    @Test
+    @DisplayName("Deve manter a thread de poll viva enquanto o banco está fora do ar")
+    void testPollerThreadSurvivesDatabaseOutage() {
+        // Arrange
+        ScheduledTransferWorker worker = worker(Duration.ofMillis(10));
+        when(scheduledTransferService.claimDue(anyString(), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(LocalDateTime.class), anyInt()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"));
+        when(scheduledTransferService.releaseLeases(anyString()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        // Act
+        worker.start();
+
+        // Assert
+        try {
+            verify(scheduledTransferMetrics, timeout(2000).atLeast(3)).recordClaim(0, "failed");
+        } finally {
+            worker.stop();
+        }
+    }
+
+    private ScheduledTransferWorker worker(Duration pollInterval) {
+        return new ScheduledTransferWorker(scheduledTransferService, scheduledTransferMetrics, true, pollInterval,
+            Duration.ofSeconds(30), Duration.ofMinutes(2), 500, 10_000, 2, Duration.ofMillis(100));
+    }
+}
@@ -0,0 +1,128 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.TransferLimitExceededException;
+import com.paymentapi.metrics.TransferLimitMetrics;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * Testes unitários para TransferLimitService.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransferLimitServiceTest {
+
+    private static final TransferParty PAYER = new TransferParty(UUID.randomUUID(), UserType.COMMON_USER, 100000);
+    private static final TransferParty MERCHANT = new TransferParty(UUID.randomUUID(), UserType.MERCHANT, 0);
+    private static final TransferParty OTHER_USER = new TransferParty(UUID.randomUUID(), UserType.COMMON_USER, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransferLimitMetrics transferLimitMetrics;
+
+    @Test
+    @DisplayName("Deve recusar o pagador comum acima do valor diário")
+    void testCommonUserDailyAmount() {
+        // Arrange
+        TransferLimitService service = service(true);
+        service.acquire(PAYER, OTHER_USER, 8000);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.acquire(PAYER, OTHER_USER, 2001))
+            .isInstanceOf(TransferLimitExceededException.class)
+            .hasMessageContaining("valor diário");
+        verify(transferLimitMetrics).recordRejection("COMMON_USER", "amount");
+    }
+
+    @Test
+    @DisplayName("Deve limitar a entrada do lojista e devolver a reserva do pagador quando ela estoura")
+    void testMerchantLimitReleasesPayer() {
+        // Arrange
+        TransferLimitService service = service(true);
+        service.acquire(OTHER_USER, MERCHANT, 100);
+        service.acquire(OTHER_USER, MERCHANT, 100);
+
+        // Act & Assert - o lojista aceita 2 por minuto; o pagador ainda tem 3 de 5
+        assertThatThrownBy(() -> service.acquire(PAYER, MERCHANT, 100))
+            .isInstanceOf(TransferLimitExceededException.class)
+            .hasMessageContaining("por minuto");
+        verify(transferLimitMetrics).recordRejection("MERCHANT", "count");
+        for (int i = 0; i < 5; i++) {
+            service.acquire(PAYER, OTHER_USER, 100);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve devolver o valor ao limite quando a reserva é liberada")
+    void testReleaseReturnsAmount() {
+        // Arrange
+        TransferLimitService service = service(true);
+        TransferLimitService.Reservation reservation = service.acquire(PAYER, OTHER_USER, 10000);
+
+        // Act
+        reservation.release();
+
+        // Assert
+        assertThatCode(() -> service.acquire(PAYER, OTHER_USER, 10000)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir os contadores a partir das transações recentes")
+    void testRebuildLoadsRecentTransactions() throws Exception {
+        // Arrange
+        TransferLimitService service = service(true);
+        ResultSet row = mock(ResultSet.class);
+        when(row.getObject("user_id", UUID.class)).thenReturn(PAYER.id());
+        when(row.getLong("amount")).thenReturn(9500L);
+        when(row.getTimestamp("created_at"))
+            .thenReturn(new Timestamp(System.currentTimeMillis() - Duration.ofHours(2).toMillis()));
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        // Act
+        service.rebuild();
+
+        // Assert
+        assertThatThrownBy(() -> service.acquire(PAYER, OTHER_USER, 501))
+            .isInstanceOf(TransferLimitExceededException.class);
+        verify(transferLimitMetrics).recordRebuild(any(Duration.class), eq("success"));
+    }
+
+    @Test
+    @DisplayName("Não deve checar limites quando desabilitado")
+    void testDisabled() {
+        // Arrange
+        TransferLimitService service = service(false);
+
+        // Act & Assert
+        assertThatCode(() -> service.acquire(PAYER, OTHER_USER, 1_000_000)).doesNotThrowAnyException();
+    }
+
+    private TransferLimitService service(boolean enabled) {
+        return new TransferLimitService(jdbcTemplate, transferLimitMetrics, enabled, 1000, 10000, 5, 1000000, 2);
+    }
+}
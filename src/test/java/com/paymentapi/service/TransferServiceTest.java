@@ -0,0 +1,386 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.dto.internal.TransferCompletedEvent;
+import com.paymentapi.dto.internal.TransferParty;
+import com.paymentapi.dto.request.TransferRequest;
+import com.paymentapi.dto.response.TransferResponse;
+import com.paymentapi.entity.Transaction;
+import com.paymentapi.entity.enums.TransactionStatus;
+import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.exception.InsufficientFundsException;
+import com.paymentapi.exception.NegativeBalanceException;
+import com.paymentapi.exception.TransferBlockedException;
+import com.paymentapi.exception.TransferLimitExceededException;
+import com.paymentapi.exception.TransferNotAllowedException;
+import com.paymentapi.exception.TransferNotAuthorizedException;
+import com.paymentapi.exception.TransferTimeoutException;
+import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.metrics.TransferMetrics;
+import com.paymentapi.repository.TransactionRepository;
+import com.paymentapi.repository.UserRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Testes unitários para TransferService.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransferServiceTest {
+
+    private static final String PAYER_CPF = "12345678909";
+    private static final String PAYEE_CPF = "98765432100";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private WalletService walletService;
+
+    @Mock
+    private AuthorizationService authorizationService;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    @Mock
+    private FraudRuleEngine fraudRuleEngine;
+
+    @Mock
+    private TransferLimitService transferLimitService;
+
+    @Mock
+    private TransferLimitService.Reservation reservation;
+
+    @Mock
+    private TransferMetrics transferMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransferService transferService;
+
+    private TransferParty payer;
+    private TransferParty payee;
+
+    @BeforeEach
+    void setUp() {
+        transferService = createService(Duration.ofSeconds(3));
+
+        // Ids fixos para controlar a ordem dos locks
+        payer = new TransferParty(UUID.fromString("00000000-0000-0000-0000-000000000001"), UserType.COMMON_USER, 10000);
+        payee = new TransferParty(UUID.fromString("00000000-0000-0000-0000-000000000002"), UserType.MERCHANT, 0);
+
+        lenient().when(userExistenceFilter.mightContainCpf(anyString())).thenReturn(true);
+        lenient().when(transferLimitService.acquire(any(), any(), anyInt())).thenReturn(reservation);
+        lenient().when(userRepository.findTransferPartyByCpf(PAYER_CPF)).thenReturn(Optional.of(payer));
+        lenient().when(userRepository.findTransferPartyByCpf(PAYEE_CPF)).thenReturn(Optional.of(payee));
+        lenient().when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setId(UUID.randomUUID());
+            return transaction;
+        });
+    }
+
+    @Test
+    @DisplayName("Deve transferir debitando o pagador e creditando o recebedor")
+    void testTransferSuccess() {
+        // Act
+        TransferResponse response = transferService.transfer(request("50.25"));
+
+        // Assert
+        assertThat(response.status()).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(response.payerId()).isEqualTo(payer.id());
+        assertThat(response.payeeId()).isEqualTo(payee.id());
+        assertThat(response.value()).isEqualByComparingTo("50.25");
+
+        InOrder order = inOrder(walletService);
+        order.verify(walletService).updateBalance(payer.id(), -5025, TransferService.OPERATION_DEBIT,
+            response.transactionId());
+        order.verify(walletService).credit(payee.id(), 5025, TransferService.OPERATION_CREDIT,
+            response.transactionId());
+        verify(authorizationService).authorize();
+        verify(transferMetrics).recordTransferTotal("success");
+        verify(eventPublisher).publishEvent(new TransferCompletedEvent(
+            response.transactionId(), payer.id(), UserType.COMMON_USER, payee.id(), 5025, response.createdAt()));
+    }
+
+    @Test
+    @DisplayName("Deve travar os saldos em ordem crescente de id")
+    void testTransferLocksInIdOrder() {
+        // Arrange - recebedor com id menor que o pagador
+        TransferParty lowPayee = new TransferParty(UUID.fromString("00000000-0000-0000-0000-000000000000"),
+            UserType.COMMON_USER, 0);
+        when(userRepository.findTransferPartyByCpf(PAYEE_CPF)).thenReturn(Optional.of(lowPayee));
+
+        // Act
+        transferService.transfer(request("10.00"));
+
+        // Assert
+        InOrder order = inOrder(walletService);
+        order.verify(walletService).credit(eq(lowPayee.id()), eq(1000), anyString(), any());
+        order.verify(walletService).updateBalance(eq(payer.id()), eq(-1000), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve rodar lookups e autorização em paralelo")
+    void testResolutionRunsConcurrently() {
+        // Arrange - as três etapas só terminam quando todas estiverem rodando ao mesmo tempo
+        CountDownLatch allStarted = new CountDownLatch(3);
+        when(userRepository.findTransferPartyByCpf(PAYER_CPF)).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return Optional.of(payer);
+        });
+        when(userRepository.findTransferPartyByCpf(PAYEE_CPF)).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return Optional.of(payee);
+        });
+        doAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return null;
+        }).when(authorizationService).authorize();
+
+        // Act
+        TransferResponse response = transferService.transfer(request("10.00"));
+
+        // Assert
+        assertThat(response.status()).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(allStarted.getCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve cancelar a autorização quando o pagador não tem saldo")
+    void testFailureCancelsOtherSubtasks() {
+        // Arrange - o lookup do pagador só retorna depois que a autorização começou
+        CountDownLatch authorizationStarted = new CountDownLatch(1);
+        when(userRepository.findTransferPartyByCpf(PAYER_CPF)).thenAnswer(invocation -> {
+            authorizationStarted.await(5, TimeUnit.SECONDS);
+            return Optional.of(new TransferParty(payer.id(), UserType.COMMON_USER, 100));
+        });
+        AtomicBoolean authorizationInterrupted = new AtomicBoolean();
+        doAnswer(invocation -> {
+            authorizationStarted.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                authorizationInterrupted.set(true);
+            }
+            return null;
+        }).when(authorizationService).authorize();
+
+        // Act & Assert
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> transferService.transfer(request("10.00")))
+            .isInstanceOf(InsufficientFundsException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(authorizationInterrupted).isTrue();
+        verify(walletService, never()).updateBalance(any(), anyInt(), anyString(), any());
+        verify(transferMetrics).recordTransferFailed("insufficient_funds");
+    }
+
+    @Test
+    @DisplayName("Não deve interromper a busca do pagador quando o recebedor não existe")
+    void testFailureDoesNotInterruptLookups() throws InterruptedException {
+        // Arrange - o recebedor só falha depois que a busca do pagador está bloqueada no banco
+        CountDownLatch payerLookupStarted = new CountDownLatch(1);
+        CountDownLatch releasePayerLookup = new CountDownLatch(1);
+        CountDownLatch payerLookupFinished = new CountDownLatch(1);
+        AtomicBoolean payerLookupInterrupted = new AtomicBoolean();
+        when(userRepository.findTransferPartyByCpf(PAYER_CPF)).thenAnswer(invocation -> {
+            payerLookupStarted.countDown();
+            try {
+                releasePayerLookup.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                payerLookupInterrupted.set(true);
+            }
+            payerLookupFinished.countDown();
+            return Optional.of(payer);
+        });
+        when(userRepository.findTransferPartyByCpf(PAYEE_CPF)).thenAnswer(invocation -> {
+            payerLookupStarted.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+
+        // Act
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> transferService.transfer(request("10.00")))
+            .isInstanceOf(UserNotFoundException.class);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        releasePayerLookup.countDown();
+
+        // Assert - a falha não espera a busca do pagador, que termina sem interrupção
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+        assertThat(payerLookupFinished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(payerLookupInterrupted).isFalse();
+        verify(walletService, never()).updateBalance(any(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve falhar com timeout quando a resolução estoura o prazo")
+    void testDeadlineExceeded() {
+        // Arrange
+        transferService = createService(Duration.ofMillis(200));
+        doAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        }).when(authorizationService).authorize();
+
+        // Act & Assert
+        assertThatThrownBy(() -> transferService.transfer(request("10.00")))
+            .isInstanceOf(TransferTimeoutException.class);
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar transferência negada pelo autorizador")
+    void testAuthorizationDenied() {
+        // Arrange
+        doThrow(new TransferNotAuthorizedException()).when(authorizationService).authorize();
+
+        // Act & Assert
+        assertThatThrownBy(() -> transferService.transfer(request("10.00")))
+            .isInstanceOf(TransferNotAuthorizedException.class);
+        verify(walletService, never()).updateBalance(any(), anyInt(), anyString(), any());
+        verify(transferMetrics).recordTransferFailed("authorization_denied");
+    }
+
+    @Test
+    @DisplayName("Deve recusar lojista como pagador")
+    void testMerchantCannotPay() {
+        // Arrange
+        when(userRepository.findTransferPartyByCpf(PAYER_CPF))
+            .thenReturn(Optional.of(new TransferParty(payer.id(), UserType.MERCHANT, 10000)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> transferService.transfer(request("10.00")))
+            .isInstanceOf(TransferNotAllowedException.class);
+    }
+
+    @Test
+    @DisplayName("Deve recusar recebedor descartado pelo filtro de existência sem consultar o banco")
+    void testPayeeNotFoundByFilter() {
+        // Arrange
+        when(userExistenceFilter.mightContainCpf(PAYEE_CPF)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> transferService.transfer(request("10.00")))
+            .isInstanceOf(UserNotFoundException.class);
+        verify(userRepository, never()).findTransferPartyByCpf(PAYEE_CPF);
+    }
+
+    @Test
+    @DisplayName("Deve recusar transferência acima do limite sem abrir a escrita")
+    void testLimitExceededSkipsWrite() {
+        // Arrange
+        when(transferLimitService.acquire(payer, payee, 1000))
+            .thenThrow(new TransferLimitExceededException(payer.id(), "10 transferências por minuto"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> transferService.transfer(request("10.00")))
+            .isInstanceOf(TransferLimitExceededException.class);
+        verify(transactionRepository, never()).save(any());
+        verify(transferMetrics).recordTransferFailed("limit_exceeded");
+    }
+
+    @Test
+    @DisplayName("Deve recusar transferência bloqueada pelo antifraude sem reservar limite")
+    void testFraudBlockSkipsLimitAndWrite() {
+        // Arrange
+        doThrow(new TransferBlockedException()).when(fraudRuleEngine).check(payer, payee, 1000);
+
+        // Act & Assert
+        assertThatThrownBy(() -> transferService.transfer(request("10.00")))
+            .isInstanceOf(TransferBlockedException.class);
+        verify(transferLimitService, never()).acquire(any(), any(), anyInt());
+        verify(transactionRepository, never()).save(any());
+        verify(transferMetrics).recordTransferFailed("fraud_blocked");
+    }
+
+    @Test
+    @DisplayName("Deve devolver a reserva do limite quando a escrita falha")
+    void testWriteFailureReleasesLimitReservation() {
+        // Arrange
+        doThrow(new NegativeBalanceException(payer.id(), -1000)).when(walletService)
+            .updateBalance(eq(payer.id()), eq(-1000), eq(TransferService.OPERATION_DEBIT), any());
+
+        // Act & Assert
+        assertThatThrownBy(() -> transferService.transfer(request("10.00")))
+            .isInstanceOf(NegativeBalanceException.class);
+        verify(reservation).release();
+    }
+
+    @Test
+    @DisplayName("Deve desfazer a escrita quando o trabalho na transação da transferência falha")
+    void testInTransactionFailureRollsBack() {
+        // Arrange
+        IllegalStateException failure = new IllegalStateException("agendamento mudou");
+
+        // Act & Assert
+        assertThatThrownBy(() -> transferService.transfer(request("10.00"), transactionId -> {
+            throw failure;
+        })).isSameAs(failure);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(reservation).release();
+    }
+
+    private TransferService createService(Duration deadline) {
+        return new TransferService(
+            userRepository,
+            transactionRepository,
+            walletService,
+            authorizationService,
+            userExistenceFilter,
+            fraudRuleEngine,
+            transferLimitService,
+            transferMetrics,
+            eventPublisher,
+            transactionManager,
+            deadline
+        );
+    }
+
+    private static TransferRequest request(String value) {
+        return new TransferRequest(new BigDecimal(value), PAYER_CPF, PAYEE_CPF);
+    }
+
+    private static void awaitOthers(CountDownLatch latch) throws InterruptedException {
+        latch.countDown();
+        if (!latch.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Etapas não rodaram em paralelo");
+        }
+    }
+}
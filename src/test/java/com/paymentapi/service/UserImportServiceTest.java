@@ -0,0 +1,217 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.dto.internal.ExistingUserKeys;
+import com.paymentapi.dto.response.UserImportResponse;
+import com.paymentapi.entity.User;
+import com.paymentapi.metrics.UserImportMetrics;
+import com.paymentapi.repository.UserRepository;
+import com.paymentapi.service.UserImportService.ImportFormat;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Testes unitários para UserImportService.
+ * Usa o Validator real para exercitar os validadores de CPF/CNPJ existentes.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final String CSV_HEADER = "nomeCompleto,cpf,email,senha,userType,cnpj\n";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserImportMetrics userImportMetrics;
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportService(
+            userRepository,
+            passwordEncoder,
+            userExistenceFilter,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new ObjectMapper(),
+            transactionManager,
+            userImportMetrics,
+            2,
+            2,
+            10
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve importar linhas válidas de CSV em lotes")
+    void testImportCsvInBatches() throws Exception {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
+        when(userRepository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> allIds(invocation.getArgument(0)));
+
+        String csv = CSV_HEADER
+            + "João da Silva,12345678909,joao@example.com,Password123,COMMON_USER,\n"
+            + "Maria Souza,98765432100,maria@example.com,Password123,COMMON_USER,\n"
+            + "\"Loja, Ltda\",11144477735,loja@example.com,Password123,MERCHANT,11222333000181\n";
+
+        // Act
+        UserImportResponse response = importCsv(csv);
+
+        // Assert - 3 linhas com lote de 2 = 2 inserções
+        assertThat(response.totalRows()).isEqualTo(3);
+        assertThat(response.importedRows()).isEqualTo(3);
+        assertThat(response.failedRows()).isZero();
+        assertThat(response.errors()).isEmpty();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(2)).insertAllIfAbsent(batchCaptor.capture());
+        User merchant = batchCaptor.getAllValues().get(1).get(0);
+        assertThat(merchant.getNomeCompleto()).isEqualTo("Loja, Ltda");
+        assertThat(merchant.getCnpj()).isEqualTo("11222333000181");
+        assertThat(merchant.getSenha()).isEqualTo("$2a$10$hashedPassword");
+        verify(passwordEncoder, times(3)).encode("Password123");
+        verify(userExistenceFilter, times(3)).record(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve reportar erros por linha para CPF, CNPJ e senha inválidos")
+    void testImportReportsInvalidRows() throws Exception {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
+        when(userRepository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> allIds(invocation.getArgument(0)));
+
+        String csv = CSV_HEADER
+            + "CPF Inválido,12345678900,a@example.com,Password123,COMMON_USER,\n"
+            + "Senha Fraca,12345678909,b@example.com,password,COMMON_USER,\n"
+            + "CNPJ Inválido,98765432100,c@example.com,Password123,MERCHANT,11222333000100\n"
+            + "Tipo Inválido,98765432100,d@example.com,Password123,ADMIN,\n"
+            + "Válido,11144477735,e@example.com,Password123,COMMON_USER,\n";
+
+        // Act
+        UserImportResponse response = importCsv(csv);
+
+        // Assert - linhas contadas a partir do cabeçalho (linha 1)
+        assertThat(response.totalRows()).isEqualTo(5);
+        assertThat(response.importedRows()).isEqualTo(1);
+        assertThat(response.failedRows()).isEqualTo(4);
+        assertThat(response.errors())
+            .extracting(UserImportResponse.RowError::line)
+            .containsExactly(2L, 3L, 4L, 5L);
+        assertThat(response.errors().get(0).message()).contains("CPF inválido");
+        assertThat(response.errors().get(2).message()).contains("CNPJ inválido");
+        assertThat(response.errors().get(3).message()).contains("Tipo de usuário inválido");
+    }
+
+    @Test
+    @DisplayName("Deve reportar linhas duplicadas detectadas pelo ON CONFLICT")
+    void testImportReportsDuplicates() throws Exception {
+        // Arrange - nenhuma linha inserida
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
+        when(userRepository.insertAllIfAbsent(anyList())).thenReturn(Set.of());
+        when(userRepository.findExistingKeys(List.of("12345678909", "52998224725"),
+                List.of("joao@example.com", "maria@example.com"), Arrays.asList(null, null)))
+            .thenReturn(new ExistingUserKeys(Set.of("52998224725"), Set.of("joao@example.com"), Set.of()));
+
+        String ndjson = """
+            {"nomeCompleto":"João da Silva","cpf":"12345678909","email":"joao@example.com","senha":"Password123","userType":"COMMON_USER"}
+            {"nomeCompleto":"Maria Souza","cpf":"52998224725","email":"maria@example.com","senha":"Password123","userType":"COMMON_USER"}
+            """;
+
+        // Act
+        UserImportResponse response = userImportService.importUsers(
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON);
+
+        // Assert
+        assertThat(response.importedRows()).isZero();
+        assertThat(response.failedRows()).isEqualTo(2);
+        assertThat(response.errors()).containsExactly(
+            new UserImportResponse.RowError(1, "Email já cadastrado"),
+            new UserImportResponse.RowError(2, "CPF já cadastrado"));
+        verify(userRepository, times(1)).findExistingKeys(anyList(), anyList(), anyList());
+        verify(userExistenceFilter, never()).record(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar linha NDJSON malformada sem interromper a importação")
+    void testImportRejectsMalformedJson() throws Exception {
+        // Arrange
+        String ndjson = "{\"nomeCompleto\": \n";
+
+        // Act
+        UserImportResponse response = userImportService.importUsers(
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON);
+
+        // Assert
+        assertThat(response.failedRows()).isEqualTo(1);
+        assertThat(response.errors().get(0).message()).startsWith("JSON inválido");
+        verify(userRepository, never()).insertAllIfAbsent(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de erros retornados")
+    void testImportTruncatesErrors() throws Exception {
+        // Arrange - 12 linhas inválidas com limite de 10 erros
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i < 12; i++) {
+            csv.append("Nome,00000000000,x@example.com,Password123,COMMON_USER,\n");
+        }
+
+        // Act
+        UserImportResponse response = importCsv(csv.toString());
+
+        // Assert
+        assertThat(response.failedRows()).isEqualTo(12);
+        assertThat(response.errors()).hasSize(10);
+        assertThat(response.errorsTruncated()).isTrue();
+    }
+
+    private UserImportResponse importCsv(String csv) throws Exception {
+        return userImportService.importUsers(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+    }
+
+    private static Set<UUID> allIds(List<User> users) {
+        return users.stream().map(User::getId).collect(Collectors.toSet());
+    }
+}
@@ -17,6 +17,7 @@ import com.paymentapi.exception.DuplicateCpfException;
 import com.paymentapi.exception.DuplicateEmailException;
 import com.paymentapi.exception.InvalidPasswordException;
 import com.paymentapi.repository.UserRepository;
+import com.paymentapi.repository.UserRepositoryCustom;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -43,6 +44,9 @@ class UserServiceTest {
     @Mock
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
     @InjectMocks
     private UserService userService;
 
@@ -63,8 +67,6 @@ class UserServiceTest {
     @DisplayName("Deve criar usuário com sucesso quando todos os dados são válidos")
     void testCreateUserSuccess() {
         // Arrange
-        when(userRepository.findByCpf(anyString())).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
         when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
 
         User savedUser = new User();
@@ -77,7 +79,7 @@ class UserServiceTest {
         savedUser.setWalletBalance(0);
         savedUser.setCreatedAt(LocalDateTime.now());
 
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.insertIfAbsent(any(User.class))).thenReturn(Optional.of(savedUser));
 
         // Act
         UserResponse response = userService.createUser(validRequest);
@@ -92,49 +94,63 @@ class UserServiceTest {
         assertThat(response.walletBalance()).isEqualTo(0);
         assertThat(response.createdAt()).isNotNull();
 
-        verify(userRepository, times(1)).findByCpf(validRequest.cpf());
-        verify(userRepository, times(1)).findByEmail(validRequest.email());
         verify(passwordEncoder, times(1)).encode(validRequest.senha());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).insertIfAbsent(any(User.class));
+        // Nenhuma consulta prévia de unicidade
+        verify(userRepository, never()).findByCpf(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, never()).findConflictingConstraint(anyString(), anyString(), any());
     }
 
     @Test
     @DisplayName("Deve lançar DuplicateCpfException quando CPF já existe")
     void testCreateUserDuplicateCpf() {
-        // Arrange
-        User existingUser = new User();
-        existingUser.setCpf(validRequest.cpf());
-        when(userRepository.findByCpf(validRequest.cpf())).thenReturn(Optional.of(existingUser));
+        // Arrange - INSERT ... ON CONFLICT não retorna linha
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
+        when(userRepository.insertIfAbsent(any(User.class))).thenReturn(Optional.empty());
+        when(userRepository.findConflictingConstraint(validRequest.cpf(), validRequest.email(), null))
+            .thenReturn(Optional.of(UserRepositoryCustom.CPF_CONSTRAINT));
 
         // Act & Assert
         assertThatThrownBy(() -> userService.createUser(validRequest))
             .isInstanceOf(DuplicateCpfException.class)
             .hasMessageContaining("CPF já cadastrado");
 
-        verify(userRepository, times(1)).findByCpf(validRequest.cpf());
-        verify(userRepository, never()).findByEmail(anyString());
-        verify(passwordEncoder, never()).encode(anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, times(1)).insertIfAbsent(any(User.class));
+        verify(userExistenceFilter, never()).record(anyString(), anyString(), any());
     }
 
     @Test
     @DisplayName("Deve lançar DuplicateEmailException quando email já existe")
     void testCreateUserDuplicateEmail() {
         // Arrange
-        when(userRepository.findByCpf(validRequest.cpf())).thenReturn(Optional.empty());
-        User existingUser = new User();
-        existingUser.setEmail(validRequest.email());
-        when(userRepository.findByEmail(validRequest.email())).thenReturn(Optional.of(existingUser));
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
+        when(userRepository.insertIfAbsent(any(User.class))).thenReturn(Optional.empty());
+        when(userRepository.findConflictingConstraint(validRequest.cpf(), validRequest.email(), null))
+            .thenReturn(Optional.of(UserRepositoryCustom.EMAIL_CONSTRAINT));
 
         // Act & Assert
         assertThatThrownBy(() -> userService.createUser(validRequest))
             .isInstanceOf(DuplicateEmailException.class)
             .hasMessageContaining("Email já cadastrado");
 
-        verify(userRepository, times(1)).findByCpf(validRequest.cpf());
-        verify(userRepository, times(1)).findByEmail(validRequest.email());
-        verify(passwordEncoder, never()).encode(anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, times(1)).insertIfAbsent(any(User.class));
+        verify(userExistenceFilter, never()).record(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar DuplicateCpfException quando o conflito é no CNPJ")
+    void testCreateUserDuplicateCnpj() {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
+        when(userRepository.insertIfAbsent(any(User.class))).thenReturn(Optional.empty());
+        when(userRepository.findConflictingConstraint(validRequest.cpf(), validRequest.email(), null))
+            .thenReturn(Optional.of(UserRepositoryCustom.CNPJ_CONSTRAINT));
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.createUser(validRequest))
+            .isInstanceOf(DuplicateCpfException.class)
+            .hasMessageContaining("CNPJ já cadastrado");
     }
 
     @Test
@@ -157,7 +173,7 @@ class UserServiceTest {
         verify(userRepository, never()).findByCpf(anyString());
         verify(userRepository, never()).findByEmail(anyString());
         verify(passwordEncoder, never()).encode(anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).insertIfAbsent(any(User.class));
     }
 
     @Test
@@ -177,7 +193,7 @@ class UserServiceTest {
             .isInstanceOf(InvalidPasswordException.class)
             .hasMessageContaining("letra maiúscula");
 
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).insertIfAbsent(any(User.class));
     }
 
     @Test
@@ -197,7 +213,7 @@ class UserServiceTest {
             .isInstanceOf(InvalidPasswordException.class)
             .hasMessageContaining("letra minúscula");
 
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).insertIfAbsent(any(User.class));
     }
 
     @Test
@@ -217,15 +233,13 @@ class UserServiceTest {
             .isInstanceOf(InvalidPasswordException.class)
             .hasMessageContaining("dígito");
 
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).insertIfAbsent(any(User.class));
     }
 
     @Test
     @DisplayName("Deve chamar BCryptPasswordEncoder.encode() com senha em texto plano")
     void testCreateUserPasswordHashed() {
         // Arrange
-        when(userRepository.findByCpf(anyString())).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
         when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
 
         User savedUser = new User();
@@ -238,7 +252,7 @@ class UserServiceTest {
         savedUser.setWalletBalance(0);
         savedUser.setCreatedAt(LocalDateTime.now());
 
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.insertIfAbsent(any(User.class))).thenReturn(Optional.of(savedUser));
 
         // Act
         userService.createUser(validRequest);
@@ -248,7 +262,7 @@ class UserServiceTest {
 
         // Verifica que a entity salva tem senha hasheada
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).insertIfAbsent(userCaptor.capture());
         User capturedUser = userCaptor.getValue();
         assertThat(capturedUser.getSenha()).isEqualTo("$2a$10$hashedPassword");
     }
@@ -257,8 +271,6 @@ class UserServiceTest {
     @DisplayName("Deve inicializar walletBalance com 0 para novo usuário")
     void testCreateUserWalletBalanceInitialized() {
         // Arrange
-        when(userRepository.findByCpf(anyString())).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
         when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
 
         User savedUser = new User();
@@ -271,7 +283,7 @@ class UserServiceTest {
         savedUser.setWalletBalance(0);
         savedUser.setCreatedAt(LocalDateTime.now());
 
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.insertIfAbsent(any(User.class))).thenReturn(Optional.of(savedUser));
 
         // Act
         UserResponse response = userService.createUser(validRequest);
@@ -280,8 +292,28 @@ class UserServiceTest {
         assertThat(response.walletBalance()).isEqualTo(0);
 
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).insertIfAbsent(userCaptor.capture());
         User capturedUser = userCaptor.getValue();
         assertThat(capturedUser.getWalletBalance()).isEqualTo(0);
     }
+
+    @Test
+    @DisplayName("Deve registrar as chaves do novo usuário no filtro de existência")
+    void testCreateUserRecordsKeysInExistenceFilter() {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
+
+        User savedUser = new User();
+        savedUser.setId(UUID.randomUUID());
+        savedUser.setCpf(validRequest.cpf());
+        savedUser.setEmail(validRequest.email());
+        savedUser.setCreatedAt(LocalDateTime.now());
+        when(userRepository.insertIfAbsent(any(User.class))).thenReturn(Optional.of(savedUser));
+
+        // Act
+        userService.createUser(validRequest);
+
+        // Assert
+        verify(userExistenceFilter).record(validRequest.cpf(), validRequest.email(), null);
+    }
 }
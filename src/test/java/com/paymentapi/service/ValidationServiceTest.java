@@ -2,6 +2,9 @@ package com.paymentapi.service;
 
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -11,6 +14,7 @@ import com.paymentapi.exception.UserNotFoundException;
 import com.paymentapi.repository.UserRepository;
 import java.util.Optional;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -26,9 +30,18 @@ class ValidationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
     @InjectMocks
     private ValidationService validationService;
 
+    @BeforeEach
+    void setUp() {
+        // Por padrão o filtro responde "talvez", forçando a consulta ao banco
+        lenient().when(userExistenceFilter.mightContainCpf(anyString())).thenReturn(true);
+    }
+
     @Test
     void testValidateUserExistsWithCpf() {
         // Arrange
@@ -111,4 +124,17 @@ class ValidationServiceTest {
         // Assert - verifica que o repositório foi chamado exatamente uma vez
         verify(userRepository).findByCpf(cpf);
     }
+
+    @Test
+    void testValidateUserNotFoundSkipsRepositoryOnFilterNegative() {
+        // Arrange
+        String cpf = "12345678909";
+        when(userExistenceFilter.mightContainCpf(cpf)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> validationService.validateUserExists(cpf))
+            .isInstanceOf(UserNotFoundException.class);
+
+        verify(userRepository, never()).findByCpf(anyString());
+    }
 }
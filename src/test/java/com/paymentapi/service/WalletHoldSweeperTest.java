@@ -0,0 +1,178 @@
+package com.paymentapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paymentapi.entity.WalletHold;
+import com.paymentapi.entity.enums.WalletHoldStatus;
+import com.paymentapi.metrics.WalletMetrics;
+import com.paymentapi.repository.UserRepository;
+import com.paymentapi.repository.WalletHoldRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Testes unitários para WalletHoldSweeper.
+ */
+@ExtendWith(MockitoExtension.class)
+class WalletHoldSweeperTest {
+
+    private static final UUID USER_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID USER_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @Mock
+    private WalletHoldRepository walletHoldRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private WalletMetrics walletMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Deve devolver o reservado por user em ordem crescente de id e marcar as reservas")
+    void testSweepReleasesPerUserInIdOrder() {
+        // Arrange
+        WalletHoldSweeper sweeper = sweeper(10);
+        List<WalletHold> holds = List.of(hold(USER_B, 300), hold(USER_A, 100), hold(USER_B, 200));
+        when(walletHoldRepository.lockExpired(any(LocalDateTime.class), eq(10))).thenReturn(holds);
+
+        // Act
+        int expired = sweeper.sweep();
+
+        // Assert
+        assertThat(expired).isEqualTo(3);
+        InOrder inOrder = inOrder(userRepository, walletHoldRepository);
+        inOrder.verify(userRepository).releaseHeldAmount(USER_A, 100);
+        inOrder.verify(userRepository).releaseHeldAmount(USER_B, 500);
+        inOrder.verify(walletHoldRepository).markExpired(eq(holds.stream().map(WalletHold::getId).toList()),
+            any(LocalDateTime.class));
+        verify(walletMetrics).recordHoldSweep(any(Duration.class), eq(3), eq("success"));
+    }
+
+    @Test
+    @DisplayName("Deve seguir para o próximo lote enquanto os lotes vierem cheios")
+    void testSweepContinuesWhileBatchesAreFull() {
+        // Arrange
+        WalletHoldSweeper sweeper = sweeper(2);
+        when(walletHoldRepository.lockExpired(any(LocalDateTime.class), eq(2)))
+            .thenReturn(List.of(hold(USER_A, 100), hold(USER_A, 100)))
+            .thenReturn(List.of(hold(USER_B, 100)));
+
+        // Act
+        int expired = sweeper.sweep();
+
+        // Assert
+        assertThat(expired).isEqualTo(3);
+        verify(walletHoldRepository, times(2)).lockExpired(any(LocalDateTime.class), anyInt());
+        verify(walletHoldRepository, times(2)).markExpired(any(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Não deve atualizar nada quando não há reservas vencidas")
+    void testSweepWithoutExpiredHolds() {
+        // Arrange
+        WalletHoldSweeper sweeper = sweeper(10);
+        when(walletHoldRepository.lockExpired(any(LocalDateTime.class), eq(10))).thenReturn(List.of());
+
+        // Act
+        int expired = sweeper.sweep();
+
+        // Assert
+        assertThat(expired).isZero();
+        verify(userRepository, never()).releaseHeldAmount(any(), anyInt());
+        verify(walletHoldRepository, never()).markExpired(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha e deixar as reservas para a próxima passada")
+    void testSweepFailure() {
+        // Arrange
+        WalletHoldSweeper sweeper = sweeper(10);
+        when(walletHoldRepository.lockExpired(any(LocalDateTime.class), eq(10)))
+            .thenThrow(new CannotAcquireLockException("timeout"));
+
+        // Act
+        int expired = sweeper.sweep();
+
+        // Assert
+        assertThat(expired).isZero();
+        verify(walletMetrics).recordHoldSweep(any(Duration.class), eq(0), eq("failed"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha quando não consegue abrir a transação")
+    void testSweepFailsToBeginTransaction() {
+        // Arrange
+        WalletHoldSweeper sweeper = sweeper(10);
+        when(transactionManager.getTransaction(any()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        // Act
+        int expired = sweeper.sweep();
+
+        // Assert
+        assertThat(expired).isZero();
+        verify(walletMetrics).recordHoldSweep(any(Duration.class), eq(0), eq("failed"));
+    }
+
+    @Test
+    @DisplayName("Deve manter a thread de varredura viva enquanto o banco está fora do ar")
+    void testSweeperThreadSurvivesDatabaseOutage() {
+        // Arrange
+        WalletHoldSweeper sweeper = new WalletHoldSweeper(walletHoldRepository, userRepository, walletMetrics,
+            transactionManager, true, Duration.ofMillis(10), 10);
+        when(transactionManager.getTransaction(any()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        // Act
+        sweeper.start();
+
+        // Assert
+        try {
+            verify(transactionManager, timeout(2000).atLeast(3)).getTransaction(any());
+            verify(walletMetrics, atLeast(3)).recordHoldSweep(any(Duration.class), eq(0), eq("failed"));
+        } finally {
+            sweeper.stop();
+        }
+    }
+
+    private WalletHoldSweeper sweeper(int batchSize) {
+        return new WalletHoldSweeper(walletHoldRepository, userRepository, walletMetrics, transactionManager,
+            true, Duration.ofSeconds(5), batchSize);
+    }
+
+    private static WalletHold hold(UUID userId, int amount) {
+        WalletHold hold = new WalletHold();
+        hold.setId(UUID.randomUUID());
+        hold.setUserId(userId);
+        hold.setMerchantId(UUID.randomUUID());
+        hold.setAmount(amount);
+        hold.setStatus(WalletHoldStatus.ACTIVE);
+        hold.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        return hold;
+    }
+}
@@ -3,29 +3,58 @@ package com.paymentapi.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.paymentapi.dto.internal.BalanceChangedEvent;
+import com.paymentapi.dto.internal.JournalCredit;
+import com.paymentapi.dto.internal.TransferCompletedEvent;
+import com.paymentapi.dto.internal.WalletBalanceView;
+import com.paymentapi.dto.request.BulkBalanceRequest;
+import com.paymentapi.dto.response.BulkBalanceResponse;
 import com.paymentapi.dto.response.WalletBalanceResponse;
+import com.paymentapi.dto.response.WalletHoldResponse;
+import com.paymentapi.entity.Transaction;
 import com.paymentapi.entity.User;
 import com.paymentapi.entity.WalletBalanceAudit;
+import com.paymentapi.entity.WalletHold;
 import com.paymentapi.entity.enums.UserType;
+import com.paymentapi.entity.enums.WalletHoldStatus;
 import com.paymentapi.exception.InsufficientFundsException;
 import com.paymentapi.exception.NegativeBalanceException;
 import com.paymentapi.exception.UserNotFoundException;
+import com.paymentapi.exception.WalletHoldNotActiveException;
+import com.paymentapi.metrics.WalletMetrics;
+import com.paymentapi.repository.CreditJournalRepository;
+import com.paymentapi.repository.TransactionRepository;
 import com.paymentapi.repository.UserRepository;
 import com.paymentapi.repository.WalletBalanceAuditRepository;
+import com.paymentapi.repository.WalletHoldRepository;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * Testes unitários para o WalletService.
@@ -38,7 +67,19 @@ class WalletServiceTest {
 
   @Mock private WalletBalanceAuditRepository walletBalanceAuditRepository;
 
-  @InjectMocks private WalletService walletService;
+  @Mock private WalletHoldRepository walletHoldRepository;
+
+  @Mock private TransactionRepository transactionRepository;
+
+  @Mock private CreditJournalRepository creditJournalRepository;
+
+  @Mock private WalletMetrics walletMetrics;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private WalletService walletService;
 
   private User commonUser;
   private User merchantUser;
@@ -47,6 +88,8 @@ class WalletServiceTest {
 
   @BeforeEach
   void setUp() {
+    walletService = walletService(false);
+
     userId = UUID.randomUUID();
     merchantId = UUID.randomUUID();
 
@@ -107,28 +150,203 @@ class WalletServiceTest {
   }
 
   @Test
-  void testValidateSufficientFundsSuccess() {
+  void testGetBalanceCoalescesConcurrentReads() throws Exception {
+    // Arrange - a leitura no banco fica presa até todas as chamadas chegarem
+    CountDownLatch readStarted = new CountDownLatch(1);
+    CountDownLatch releaseRead = new CountDownLatch(1);
+    when(userRepository.findById(userId)).thenAnswer(invocation -> {
+      readStarted.countDown();
+      releaseRead.await(5, TimeUnit.SECONDS);
+      return Optional.of(commonUser);
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      // Act
+      Future<WalletBalanceResponse> leader = executor.submit(() -> walletService.getBalance(userId));
+      assertThat(readStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      List<Future<WalletBalanceResponse>> followers = List.of(
+          executor.submit(() -> walletService.getBalance(userId)),
+          executor.submit(() -> walletService.getBalance(userId)),
+          executor.submit(() -> walletService.getBalance(userId)));
+      verify(walletMetrics, timeout(5000).times(3)).recordBalanceRead("coalesced");
+      releaseRead.countDown();
+
+      // Assert - uma leitura no banco, mesmo resultado para todos
+      WalletBalanceResponse expected = leader.get(5, TimeUnit.SECONDS);
+      for (Future<WalletBalanceResponse> follower : followers) {
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(expected);
+      }
+      verify(userRepository, times(1)).findById(userId);
+      verify(walletMetrics, times(1)).recordBalanceRead("leader");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testGetBalanceCoalescedReadsShareFailure() throws Exception {
+    // Arrange
+    CountDownLatch readStarted = new CountDownLatch(1);
+    CountDownLatch releaseRead = new CountDownLatch(1);
+    when(userRepository.findById(userId)).thenAnswer(invocation -> {
+      readStarted.countDown();
+      releaseRead.await(5, TimeUnit.SECONDS);
+      return Optional.empty();
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      // Act
+      Future<WalletBalanceResponse> leader = executor.submit(() -> walletService.getBalance(userId));
+      assertThat(readStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      Future<WalletBalanceResponse> follower = executor.submit(() -> walletService.getBalance(userId));
+      verify(walletMetrics, timeout(5000)).recordBalanceRead("coalesced");
+      releaseRead.countDown();
+
+      // Assert - a mesma exceção de negócio, sem embrulho
+      assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(UserNotFoundException.class);
+      assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(UserNotFoundException.class);
+      verify(userRepository, times(1)).findById(userId);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testGetBalanceDoesNotReuseCompletedRead() {
     // Arrange
     when(userRepository.findById(userId)).thenReturn(Optional.of(commonUser));
 
+    // Act - chamadas sequenciais não são coalescidas
+    walletService.getBalance(userId);
+    commonUser.setWalletBalance(7000);
+    WalletBalanceResponse response = walletService.getBalance(userId);
+
+    // Assert
+    assertThat(response.walletBalance()).isEqualTo(7000);
+    verify(userRepository, times(2)).findById(userId);
+    verify(walletMetrics, times(2)).recordBalanceRead("leader");
+  }
+
+  @Test
+  void testGetBalancesKeepsRequestOrderAndMarksNotFound() {
+    // Arrange
+    UUID missingId = UUID.randomUUID();
+    when(userRepository.findBalancesByIds(List.of(merchantId, missingId, userId))).thenReturn(List.of(
+        new WalletBalanceView(userId, "12345678901", null, 10000, LocalDateTime.now()),
+        new WalletBalanceView(merchantId, "98765432100", "11222333000181", 5000, LocalDateTime.now())));
+
+    // Act - merchantId repetido: uma vez na query, duas na resposta
+    BulkBalanceResponse response = walletService.getBalances(
+        new BulkBalanceRequest(List.of(merchantId, missingId, userId, merchantId), null));
+
+    // Assert
+    assertThat(response.balances())
+        .extracting(BulkBalanceResponse.Entry::key)
+        .containsExactly(merchantId.toString(), missingId.toString(), userId.toString(), merchantId.toString());
+    assertThat(response.balances())
+        .extracting(BulkBalanceResponse.Entry::found)
+        .containsExactly(true, false, true, true);
+    assertThat(response.balances().get(0).walletBalance()).isEqualTo(5000);
+    assertThat(response.balances().get(1).userId()).isNull();
+    assertThat(response.found()).isEqualTo(3);
+    assertThat(response.notFound()).isEqualTo(1);
+  }
+
+  @Test
+  void testGetBalancesByDocumentMatchesCpfAndCnpj() {
+    // Arrange
+    when(userRepository.findBalancesByDocuments(List.of("11222333000181", "12345678901", "00000000000")))
+        .thenReturn(List.of(
+            new WalletBalanceView(userId, "12345678901", null, 10000, LocalDateTime.now()),
+            new WalletBalanceView(merchantId, "98765432100", "11222333000181", 5000, LocalDateTime.now())));
+
+    // Act
+    BulkBalanceResponse response = walletService.getBalances(
+        new BulkBalanceRequest(null, List.of("11222333000181", "12345678901", "00000000000")));
+
+    // Assert
+    assertThat(response.balances())
+        .extracting(BulkBalanceResponse.Entry::userId)
+        .containsExactly(merchantId, userId, null);
+    assertThat(response.notFound()).isEqualTo(1);
+  }
+
+  @Test
+  void testGetBalancesRejectsTooManyKeys() {
+    // Arrange - limite de 4 chaves no setUp
+    List<UUID> ids = List.of(
+        UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+    // Act & Assert
+    assertThatThrownBy(() -> walletService.getBalances(new BulkBalanceRequest(ids, null)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("no máximo 4");
+    verify(userRepository, never()).findBalancesByIds(anyList());
+  }
+
+  @Test
+  void testGetBalancesRequiresExactlyOneKeyList() {
+    // Act & Assert
+    assertThatThrownBy(() -> walletService.getBalances(new BulkBalanceRequest(null, List.of())))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> walletService.getBalances(
+        new BulkBalanceRequest(List.of(userId), List.of("12345678901"))))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testValidateSufficientFundsSuccess() {
+    // Arrange
+    when(userRepository.findAvailableBalanceById(userId)).thenReturn(Optional.of(10000));
+
     // Act
     walletService.validateSufficientFunds(userId, 5000);
 
     // Assert
-    verify(userRepository, times(1)).findById(userId);
+    verify(userRepository, times(1)).findAvailableBalanceById(userId);
   }
 
   @Test
   void testValidateSufficientFundsInsufficient() {
-    // Arrange
-    when(userRepository.findById(userId)).thenReturn(Optional.of(commonUser));
+    // Arrange - saldo de 100,00 com 60,00 reservados
+    when(userRepository.findAvailableBalanceById(userId)).thenReturn(Optional.of(4000));
 
     // Act & Assert
-    assertThatThrownBy(() -> walletService.validateSufficientFunds(userId, 15000))
+    assertThatThrownBy(() -> walletService.validateSufficientFunds(userId, 5000))
         .isInstanceOf(InsufficientFundsException.class)
         .hasMessageContaining("Saldo insuficiente")
         .hasMessageContaining(userId.toString());
-    verify(userRepository, times(1)).findById(userId);
+    verify(userRepository, times(1)).findAvailableBalanceById(userId);
+  }
+
+  @Test
+  void testUpdateBalancePublishesBalanceChangedEventAfterFlush() {
+    // Arrange
+    UUID transactionId = UUID.randomUUID();
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(commonUser));
+    when(userRepository.save(any(User.class))).thenReturn(commonUser);
+    when(walletBalanceAuditRepository.save(any(WalletBalanceAudit.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    doAnswer(invocation -> {
+      commonUser.setVersion(1); // flush do Hibernate
+      return null;
+    }).when(userRepository).flush();
+
+    // Act
+    walletService.updateBalance(userId, 2000, "TRANSFER_CREDIT", transactionId);
+
+    // Assert - o evento sai depois do flush, com a versão gravada
+    InOrder inOrder = inOrder(userRepository, eventPublisher);
+    inOrder.verify(userRepository).flush();
+    ArgumentCaptor<BalanceChangedEvent> published = ArgumentCaptor.forClass(BalanceChangedEvent.class);
+    inOrder.verify(eventPublisher).publishEvent(published.capture());
+    assertThat(published.getValue()).isEqualTo(new BalanceChangedEvent(
+        userId, UserType.COMMON_USER, transactionId, "TRANSFER_CREDIT", 10000, 12000, 2000, 1,
+        commonUser.getUpdatedAt()));
   }
 
   @Test
@@ -283,4 +501,224 @@ class WalletServiceTest {
     assertThat(audit.getOperationType()).isEqualTo("ADJUSTMENT");
     assertThat(audit.getCreatedBy()).isEqualTo("system");
   }
+
+  @Test
+  void testUpdateBalanceDebitCannotConsumeHeldAmount() {
+    // Arrange - 100,00 de saldo com 80,00 reservados
+    commonUser.setHeldAmount(8000);
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(commonUser));
+
+    // Act & Assert
+    assertThatThrownBy(
+            () -> walletService.updateBalance(userId, -3000, "TRANSFER_DEBIT", UUID.randomUUID()))
+        .isInstanceOf(InsufficientFundsException.class);
+    verify(userRepository, never()).save(any(User.class));
+  }
+
+  @Test
+  void testHoldReservesAvailableBalance() {
+    // Arrange
+    when(userRepository.findById(merchantId)).thenReturn(Optional.of(merchantUser));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(commonUser));
+    when(walletHoldRepository.save(any(WalletHold.class))).thenAnswer(invocation -> {
+      WalletHold hold = invocation.getArgument(0);
+      hold.setId(UUID.randomUUID());
+      return hold;
+    });
+
+    // Act
+    WalletHoldResponse response = walletService.hold(userId, merchantId, 6000, Duration.ofMinutes(15));
+
+    // Assert - o saldo não muda, só o reservado
+    assertThat(response.status()).isEqualTo(WalletHoldStatus.ACTIVE);
+    assertThat(response.amount()).isEqualTo(6000);
+    assertThat(response.expiresAt()).isAfter(LocalDateTime.now().plusMinutes(14));
+    assertThat(commonUser.getWalletBalance()).isEqualTo(10000);
+    assertThat(commonUser.getHeldAmount()).isEqualTo(6000);
+    verify(walletMetrics).recordHoldOperation("hold");
+  }
+
+  @Test
+  void testHoldRejectsAmountAboveAvailable() {
+    // Arrange
+    commonUser.setHeldAmount(6000);
+    when(userRepository.findById(merchantId)).thenReturn(Optional.of(merchantUser));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(commonUser));
+
+    // Act & Assert
+    assertThatThrownBy(() -> walletService.hold(userId, merchantId, 5000, Duration.ofMinutes(15)))
+        .isInstanceOf(InsufficientFundsException.class);
+    assertThat(commonUser.getHeldAmount()).isEqualTo(6000);
+    verify(walletHoldRepository, never()).save(any());
+  }
+
+  @Test
+  void testHoldRejectsTtlAboveMaximum() {
+    assertThatThrownBy(() -> walletService.hold(userId, merchantId, 1000, Duration.ofDays(8)))
+        .isInstanceOf(IllegalArgumentException.class);
+    verify(userRepository, never()).findByIdForUpdate(any());
+  }
+
+  @Test
+  void testCapturePartialTransfersAndReleasesRemainder() {
+    // Arrange - reserva de 60,00, captura de 45,00
+    commonUser.setHeldAmount(6000);
+    WalletHold hold = activeHold(6000, LocalDateTime.now().plusMinutes(10));
+    UUID transactionId = UUID.randomUUID();
+    when(walletHoldRepository.findByIdForUpdate(hold.getId())).thenReturn(Optional.of(hold));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(commonUser));
+    when(userRepository.findByIdForUpdate(merchantId)).thenReturn(Optional.of(merchantUser));
+    when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+      Transaction transaction = invocation.getArgument(0);
+      transaction.setId(transactionId);
+      return transaction;
+    });
+    when(walletBalanceAuditRepository.save(any(WalletBalanceAudit.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    // Act
+    WalletHoldResponse response = walletService.capture(hold.getId(), 4500);
+
+    // Assert
+    assertThat(response.status()).isEqualTo(WalletHoldStatus.CAPTURED);
+    assertThat(response.capturedAmount()).isEqualTo(4500);
+    assertThat(response.transactionId()).isEqualTo(transactionId);
+    assertThat(commonUser.getHeldAmount()).isZero();
+    assertThat(commonUser.getWalletBalance()).isEqualTo(5500);
+    assertThat(merchantUser.getWalletBalance()).isEqualTo(9500);
+    ArgumentCaptor<TransferCompletedEvent> completed = ArgumentCaptor.forClass(TransferCompletedEvent.class);
+    verify(eventPublisher).publishEvent(completed.capture());
+    assertThat(completed.getValue().transactionId()).isEqualTo(transactionId);
+    assertThat(completed.getValue().payeeId()).isEqualTo(merchantId);
+    assertThat(completed.getValue().amount()).isEqualTo(4500);
+  }
+
+  @Test
+  void testCaptureRejectsExpiredHold() {
+    // Arrange - vencida, mas a varredura ainda não passou
+    WalletHold hold = activeHold(6000, LocalDateTime.now().minusSeconds(1));
+    when(walletHoldRepository.findByIdForUpdate(hold.getId())).thenReturn(Optional.of(hold));
+
+    // Act & Assert
+    assertThatThrownBy(() -> walletService.capture(hold.getId(), 1000))
+        .isInstanceOf(WalletHoldNotActiveException.class)
+        .hasMessageContaining("EXPIRED");
+    verify(transactionRepository, never()).save(any());
+  }
+
+  @Test
+  void testReleaseReturnsHeldAmount() {
+    // Arrange
+    commonUser.setHeldAmount(7000);
+    WalletHold hold = activeHold(6000, LocalDateTime.now().plusMinutes(10));
+    when(walletHoldRepository.findByIdForUpdate(hold.getId())).thenReturn(Optional.of(hold));
+    when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(commonUser));
+
+    // Act
+    WalletHoldResponse response = walletService.release(hold.getId());
+
+    // Assert
+    assertThat(response.status()).isEqualTo(WalletHoldStatus.RELEASED);
+    assertThat(commonUser.getHeldAmount()).isEqualTo(1000);
+    assertThatThrownBy(() -> walletService.release(hold.getId()))
+        .isInstanceOf(WalletHoldNotActiveException.class);
+  }
+
+  @Test
+  void testCreditUpdatesBalanceWhenNotDeferred() {
+    // Arrange
+    when(userRepository.findByIdForUpdate(merchantId)).thenReturn(Optional.of(merchantUser));
+
+    // Act
+    walletService.credit(merchantId, 2000, "TRANSFER_CREDIT", UUID.randomUUID());
+
+    // Assert
+    assertThat(merchantUser.getWalletBalance()).isEqualTo(7000);
+    verify(creditJournalRepository, never()).append(any(), any(), any(Integer.class), any());
+  }
+
+  @Test
+  void testCreditAppendsToJournalWhenDeferred() {
+    // Arrange
+    walletService = walletService(true);
+    UUID transactionId = UUID.randomUUID();
+
+    // Act
+    walletService.credit(merchantId, 2000, "TRANSFER_CREDIT", transactionId);
+
+    // Assert - sem lock e sem UPDATE na linha do lojista
+    verify(creditJournalRepository).append(merchantId, transactionId, 2000, "TRANSFER_CREDIT");
+    verify(userRepository, never()).findByIdForUpdate(any());
+    verify(userRepository, never()).save(any(User.class));
+  }
+
+  @Test
+  void testCreditRejectsNonPositiveAmount() {
+    assertThatThrownBy(() -> walletService.credit(merchantId, 0, "TRANSFER_CREDIT", UUID.randomUUID()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testMergeJournalCreditsAppliesAllCreditsWithOneUpdate() {
+    // Arrange
+    when(userRepository.findByIdForUpdate(merchantId)).thenReturn(Optional.of(merchantUser));
+    UUID firstTransaction = UUID.randomUUID();
+    UUID secondTransaction = UUID.randomUUID();
+    List<JournalCredit> credits = List.of(
+        new JournalCredit(1, merchantId, firstTransaction, 1000, "TRANSFER_CREDIT"),
+        new JournalCredit(2, merchantId, secondTransaction, 2500, "TRANSFER_CREDIT"));
+
+    // Act
+    walletService.mergeJournalCredits(merchantId, credits);
+
+    // Assert - um save, uma auditoria por crédito com o saldo corrente
+    assertThat(merchantUser.getWalletBalance()).isEqualTo(8500);
+    verify(userRepository, times(1)).save(merchantUser);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<WalletBalanceAudit>> audits = ArgumentCaptor.forClass(List.class);
+    verify(walletBalanceAuditRepository).saveAll(audits.capture());
+    assertThat(audits.getValue()).extracting(WalletBalanceAudit::getPreviousBalance).containsExactly(5000, 6000);
+    assertThat(audits.getValue()).extracting(WalletBalanceAudit::getNewBalance).containsExactly(6000, 8500);
+    assertThat(audits.getValue()).extracting(WalletBalanceAudit::getTransactionId)
+        .containsExactly(firstTransaction, secondTransaction);
+
+    ArgumentCaptor<BalanceChangedEvent> event = ArgumentCaptor.forClass(BalanceChangedEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertThat(event.getValue().previousBalance()).isEqualTo(5000);
+    assertThat(event.getValue().newBalance()).isEqualTo(8500);
+  }
+
+  @Test
+  void testGetBalanceIncludesPendingCreditsWhenDeferred() {
+    // Arrange
+    walletService = walletService(true);
+    when(userRepository.findBalanceWithPendingCredits(merchantId))
+        .thenReturn(Optional.of(new WalletBalanceResponse(merchantId, 7500, LocalDateTime.now(), 0)));
+
+    // Act
+    WalletBalanceResponse response = walletService.getBalance(merchantId);
+
+    // Assert - a versão não cobre os créditos pendentes
+    assertThat(response.walletBalance()).isEqualTo(7500);
+    assertThat(walletService.getBalanceVersion(merchantId)).isEmpty();
+    verify(userRepository, never()).findVersionById(any());
+  }
+
+  private WalletService walletService(boolean deferredCredits) {
+    return new WalletService(
+        userRepository, walletBalanceAuditRepository, walletHoldRepository, transactionRepository,
+        creditJournalRepository, walletMetrics, eventPublisher, transactionManager, 4, Duration.ofDays(7),
+        deferredCredits);
+  }
+
+  private WalletHold activeHold(int amount, LocalDateTime expiresAt) {
+    WalletHold hold = new WalletHold();
+    hold.setId(UUID.randomUUID());
+    hold.setUserId(userId);
+    hold.setMerchantId(merchantId);
+    hold.setAmount(amount);
+    hold.setStatus(WalletHoldStatus.ACTIVE);
+    hold.setExpiresAt(expiresAt);
+    return hold;
+  }
 }
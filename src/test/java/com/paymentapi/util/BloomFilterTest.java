@@ -0,0 +1,91 @@
+package com.paymentapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes unitários para BloomFilter.
+ * Valida ausência de falsos negativos e a taxa de falso positivo dentro do dimensionado.
+ */
+class BloomFilterTest {
+
+    @Test
+    void testInsertedKeysAreAlwaysFound() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("cpf:" + i);
+        }
+
+        // Assert - nunca há falso negativo
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("cpf:" + i)).isTrue();
+        }
+        assertThat(filter.insertions()).isEqualTo(10_000);
+    }
+
+    @Test
+    void testFalsePositiveRateWithinConfiguredBound() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("email:user" + i + "@example.com");
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("email:other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert - margem de 2x sobre a taxa configurada
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.02);
+    }
+
+    @Test
+    void testEmptyFilterContainsNothing() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(100, 0.01);
+
+        // Assert
+        assertThat(filter.mightContain("cpf:12345678909")).isFalse();
+        assertThat(filter.mightContain(null)).isFalse();
+        assertThat(filter.expectedFalsePositiveRate()).isZero();
+    }
+
+    @Test
+    void testPutReportsBitChanges() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(100, 0.01);
+
+        // Act & Assert - a segunda inserção da mesma chave não muda nenhum bit
+        assertThat(filter.put("cpf:12345678909")).isTrue();
+        assertThat(filter.put("cpf:12345678909")).isFalse();
+    }
+
+    @Test
+    void testMemoryFootprintMatchesBitSize() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+
+        // Assert - ~9.6 bits por chave para 1% de falso positivo
+        assertThat(filter.bitSize()).isBetween(9_000_000L, 10_000_000L);
+        assertThat(filter.memoryBytes()).isEqualTo(filter.bitSize() / 8);
+        assertThat(filter.hashFunctions()).isEqualTo(7);
+    }
+
+    @Test
+    void testInvalidParameters() {
+        assertThatThrownBy(() -> BloomFilter.create(0, 0.01))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(100, 1.0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,160 @@
+package com.paymentapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.paymentapi.util.FailFastTaskScope.Subtask;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+/**
+ * Testes unitários para FailFastTaskScope.
+ */
+class FailFastTaskScopeTest {
+
+    @Test
+    @DisplayName("Deve retornar os resultados de todas as subtarefas")
+    void testJoinReturnsResults() throws Exception {
+        try (FailFastTaskScope scope = new FailFastTaskScope("test")) {
+            Subtask<Integer> a = scope.fork(() -> 1);
+            Subtask<String> b = scope.fork(() -> "b");
+
+            scope.joinUntil(Instant.now().plusSeconds(5));
+            scope.throwIfFailed();
+
+            assertThat(a.get()).isEqualTo(1);
+            assertThat(b.get()).isEqualTo("b");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve cancelar as demais subtarefas na primeira falha")
+    void testFirstFailureCancelsOthers() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (FailFastTaskScope scope = new FailFastTaskScope("test")) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                throw new IllegalArgumentException("falhou");
+            });
+
+            scope.joinUntil(Instant.now().plusSeconds(5));
+            assertThatThrownBy(scope::throwIfFailed)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("falhou");
+        }
+
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve manter aberta a conexão de uma subtarefa não interrompível na primeira falha")
+    void testFailureKeepsUninterruptibleConnectionOpen() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             Socket client = new Socket(server.getInetAddress(), server.getLocalPort());
+             Socket peer = server.accept()) {
+            CountDownLatch reading = new CountDownLatch(1);
+            CompletableFuture<Integer> read = new CompletableFuture<>();
+
+            try (FailFastTaskScope scope = new FailFastTaskScope("test")) {
+                // Como uma consulta JDBC: bloqueada lendo do socket de uma conexão do pool
+                scope.forkUninterruptible(() -> {
+                    reading.countDown();
+                    read.complete(client.getInputStream().read());
+                    return null;
+                });
+                scope.fork(() -> {
+                    reading.await();
+                    throw new IllegalArgumentException("falhou");
+                });
+
+                scope.joinUntil(Instant.now().plusSeconds(5));
+                assertThatThrownBy(scope::throwIfFailed).isInstanceOf(IllegalArgumentException.class);
+            }
+
+            // A conexão segue utilizável: a leitura pendente recebe a resposta
+            peer.getOutputStream().write(42);
+            assertThat(read.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            assertThat(client.isClosed()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve estourar o prazo compartilhado")
+    void testDeadline() {
+        try (FailFastTaskScope scope = new FailFastTaskScope("test")) {
+            Subtask<Object> slow = scope.fork(() -> {
+                Thread.sleep(10_000);
+                return null;
+            });
+
+            assertThatThrownBy(() -> scope.joinUntil(Instant.now().plus(Duration.ofMillis(100))))
+                .isInstanceOf(TimeoutException.class);
+            assertThatThrownBy(slow::get).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve esperar no close as subtarefas canceladas terminarem")
+    void testCloseWaitsForCancelledSubtasks() throws Exception {
+        AtomicBoolean finished = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(1);
+
+        try (FailFastTaskScope scope = new FailFastTaskScope("test")) {
+            scope.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    // Limpeza lenta depois do cancelamento, que não reage a novas interrupções
+                    long cleanupEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+                    while (System.nanoTime() < cleanupEnd) {
+                        Thread.onSpinWait();
+                    }
+                    finished.set(true);
+                }
+                return null;
+            });
+            started.await();
+            scope.fork(() -> {
+                throw new IllegalStateException("falha");
+            });
+            scope.joinUntil(Instant.now().plusSeconds(5));
+        }
+
+        assertThat(finished).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve propagar o MDC para as subtarefas")
+    void testPropagatesMdc() throws Exception {
+        MDC.put("correlationId", "abc-123");
+        try (FailFastTaskScope scope = new FailFastTaskScope("test")) {
+            Subtask<String> correlationId = scope.fork(() -> MDC.get("correlationId"));
+
+            scope.joinUntil(Instant.now().plusSeconds(5));
+
+            assertThat(correlationId.get()).isEqualTo("abc-123");
+        } finally {
+            MDC.clear();
+        }
+    }
+}
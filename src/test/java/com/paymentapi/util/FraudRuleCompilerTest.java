@@ -0,0 +1,150 @@
+package com.paymentapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentapi.util.FraudRuleCompiler.Condition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes unitários para FraudRuleCompiler.
+ */
+class FraudRuleCompilerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve avaliar condição composta de valor, horário e velocidade")
+    void testCompositeCondition() {
+        // Arrange
+        Condition condition = compile("""
+            {"all": [
+              {"amountGreaterThan": 50000},
+              {"any": [{"timeOfDayBetween": ["22:00", "06:00"]}, {"payerTransfersLastMinuteGreaterThan": 3}]}
+            ]}
+            """);
+
+        // Act & Assert
+        assertThat(condition.test(new StubFacts(60000, 23 * 60, false, 0, 0))).isTrue();
+        assertThat(condition.test(new StubFacts(60000, 12 * 60, false, 4, 0))).isTrue();
+        assertThat(condition.test(new StubFacts(60000, 12 * 60, false, 3, 0))).isFalse();
+        assertThat(condition.test(new StubFacts(40000, 23 * 60, false, 9, 0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve tratar intervalo de horário que vira a meia-noite")
+    void testTimeOfDayWrap() {
+        // Arrange
+        Condition night = compile("{\"timeOfDayBetween\": [\"22:00\", \"06:00\"]}");
+        Condition day = compile("{\"timeOfDayBetween\": [\"09:00\", \"18:00\"]}");
+
+        // Act & Assert
+        assertThat(night.test(new StubFacts(0, 22 * 60, false, 0, 0))).isTrue();
+        assertThat(night.test(new StubFacts(0, 5 * 60 + 59, false, 0, 0))).isTrue();
+        assertThat(night.test(new StubFacts(0, 6 * 60, false, 0, 0))).isFalse();
+        assertThat(day.test(new StubFacts(0, 9 * 60, false, 0, 0))).isTrue();
+        assertThat(day.test(new StubFacts(0, 18 * 60, false, 0, 0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve avaliar as condições baratas antes da consulta de recebedor novo")
+    void testCostOrderingSkipsExpensiveFacts() {
+        // Arrange - newPayee aparece primeiro na definição
+        Condition condition = compile("""
+            {"all": [{"newPayee": true}, {"payerAmountLast24hGreaterThan": 100000}, {"amountGreaterThan": 1000}]}
+            """);
+        StubFacts facts = new StubFacts(500, 0, true, 0, 200000);
+
+        // Act
+        boolean matched = condition.test(facts);
+
+        // Assert
+        assertThat(matched).isFalse();
+        assertThat(facts.newPayeeReads).isZero();
+        assertThat(facts.usageReads).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve achatar grupos aninhados e eliminar negação dupla")
+    void testFlattenAndDoubleNegation() {
+        // Arrange
+        Condition condition = compile("""
+            {"all": [{"all": [{"amountGreaterThan": 100}, {"not": {"not": {"newPayee": true}}}]}]}
+            """);
+
+        // Act & Assert
+        assertThat(condition).isInstanceOf(FraudRuleCompiler.All.class);
+        assertThat(compile("{\"not\": {\"not\": {\"amountGreaterThan\": 1}}}"))
+            .isInstanceOf(FraudRuleCompiler.AmountGreaterThan.class);
+        assertThat(condition.test(new StubFacts(200, 0, true, 0, 0))).isTrue();
+        assertThat(condition.test(new StubFacts(200, 0, false, 0, 0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve recusar definições inválidas")
+    void testInvalidDefinitions() {
+        assertThatThrownBy(() -> compile("{not json")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> compile("{\"unknown\": 1}"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("unknown");
+        assertThatThrownBy(() -> compile("{\"all\": []}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> compile("{\"amountGreaterThan\": \"10\"}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> compile("{\"timeOfDayBetween\": [\"25:00\", \"06:00\"]}"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> compile("{\"amountGreaterThan\": 1, \"amountLessThan\": 5}"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Condition compile(String definition) {
+        return FraudRuleCompiler.compile(objectMapper, definition);
+    }
+
+    private static final class StubFacts implements FraudRuleCompiler.Facts {
+
+        private final long amount;
+        private final int minuteOfDay;
+        private final boolean newPayee;
+        private final long transfersLastMinute;
+        private final long amountLast24h;
+        int newPayeeReads;
+        int usageReads;
+
+        StubFacts(long amount, int minuteOfDay, boolean newPayee, long transfersLastMinute, long amountLast24h) {
+            this.amount = amount;
+            this.minuteOfDay = minuteOfDay;
+            this.newPayee = newPayee;
+            this.transfersLastMinute = transfersLastMinute;
+            this.amountLast24h = amountLast24h;
+        }
+
+        @Override
+        public long amount() {
+            return amount;
+        }
+
+        @Override
+        public int minuteOfDay() {
+            return minuteOfDay;
+        }
+
+        @Override
+        public boolean newPayee() {
+            newPayeeReads++;
+            return newPayee;
+        }
+
+        @Override
+        public long payerTransfersLastMinute() {
+            usageReads++;
+            return transfersLastMinute;
+        }
+
+        @Override
+        public long payerAmountLast24h() {
+            usageReads++;
+            return amountLast24h;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.paymentapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.paymentapi.util.PgOutputDecoder.CommittedTransaction;
+import com.paymentapi.util.PgOutputDecoder.Operation;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes unitários para PgOutputDecoder, com mensagens montadas no formato do protocolo v1.
+ */
+class PgOutputDecoderTest {
+
+    private static final int USERS_RELATION = 16384;
+    // 2026-01-01T00:00:00Z em microssegundos desde 2000-01-01
+    private static final long COMMIT_MICROS = 820_540_800_000_000L;
+
+    @Test
+    @DisplayName("Deve devolver a transação só no commit, com as linhas na ordem do WAL")
+    void testReturnsTransactionOnCommit() throws IOException {
+        // Arrange
+        PgOutputDecoder decoder = new PgOutputDecoder();
+
+        // Act
+        Optional<CommittedTransaction> begin = decoder.decode(begin());
+        decoder.decode(usersRelation());
+        Optional<CommittedTransaction> insert = decoder.decode(insert("u1", "1000", "0"));
+        decoder.decode(update(null, "u1", "900", "1"));
+        boolean openBeforeCommit = decoder.inTransaction();
+        Optional<CommittedTransaction> commit = decoder.decode(commit(0x100, 0x180));
+
+        // Assert
+        assertThat(begin).isEmpty();
+        assertThat(insert).isEmpty();
+        assertThat(openBeforeCommit).isTrue();
+        assertThat(decoder.inTransaction()).isFalse();
+        CommittedTransaction transaction = commit.orElseThrow();
+        assertThat(transaction.commitLsn()).isEqualTo(0x100);
+        assertThat(transaction.endLsn()).isEqualTo(0x180);
+        assertThat(transaction.committedAt()).isEqualTo(Instant.parse("2026-01-01T00:00:00Z"));
+        assertThat(transaction.changes()).extracting(change -> change.operation())
+            .containsExactly(Operation.INSERT, Operation.UPDATE);
+        assertThat(transaction.changes().get(1).table()).isEqualTo("users");
+        assertThat(transaction.changes().get(1).columns())
+            .containsEntry("id", "u1")
+            .containsEntry("wallet_balance", "900")
+            .containsEntry("version", "1");
+    }
+
+    @Test
+    @DisplayName("Deve usar a linha nova quando o UPDATE traz a chave antiga")
+    void testUpdateWithOldKeyUsesNewTuple() throws IOException {
+        // Arrange
+        PgOutputDecoder decoder = new PgOutputDecoder();
+        decoder.decode(begin());
+        decoder.decode(usersRelation());
+
+        // Act
+        decoder.decode(update("u-old", "u1", "500", "3"));
+        CommittedTransaction transaction = decoder.decode(commit(0x200, 0x280)).orElseThrow();
+
+        // Assert
+        assertThat(transaction.changes()).singleElement()
+            .satisfies(change -> assertThat(change.columns()).containsEntry("id", "u1"));
+    }
+
+    @Test
+    @DisplayName("Deve decodificar colunas nulas e ignorar mensagens sem evento")
+    void testNullColumnsAndIgnoredMessages() throws IOException {
+        // Arrange
+        PgOutputDecoder decoder = new PgOutputDecoder();
+        decoder.decode(begin());
+        decoder.decode(usersRelation());
+
+        // Act
+        decoder.decode(ByteBuffer.wrap(new byte[] {'O', 0, 0, 0, 0, 0, 0, 0, 0, 'x', 0}));
+        decoder.decode(insert("u1", "0", null));
+        CommittedTransaction transaction = decoder.decode(commit(0x300, 0x380)).orElseThrow();
+
+        // Assert
+        assertThat(transaction.changes()).singleElement()
+            .satisfies(change -> assertThat(change.columns()).containsEntry("version", null));
+    }
+
+    @Test
+    @DisplayName("Deve falhar para alteração de relação desconhecida")
+    void testUnknownRelation() throws IOException {
+        // Arrange
+        PgOutputDecoder decoder = new PgOutputDecoder();
+        decoder.decode(begin());
+
+        // Act & Assert
+        assertThatThrownBy(() -> decoder.decode(insert("u1", "0", "0")))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static ByteBuffer begin() throws IOException {
+        return message(out -> {
+            out.writeByte('B');
+            out.writeLong(0x100);
+            out.writeLong(COMMIT_MICROS);
+            out.writeInt(42);
+        });
+    }
+
+    private static ByteBuffer commit(long commitLsn, long endLsn) throws IOException {
+        return message(out -> {
+            out.writeByte('C');
+            out.writeByte(0);
+            out.writeLong(commitLsn);
+            out.writeLong(endLsn);
+            out.writeLong(COMMIT_MICROS);
+        });
+    }
+
+    private static ByteBuffer usersRelation() throws IOException {
+        return message(out -> {
+            out.writeByte('R');
+            out.writeInt(USERS_RELATION);
+            writeString(out, "public");
+            writeString(out, "users");
+            out.writeByte('d');
+            out.writeShort(3);
+            for (String column : new String[] {"id", "wallet_balance", "version"}) {
+                out.writeByte(column.equals("id") ? 1 : 0);
+                writeString(out, column);
+                out.writeInt(23);
+                out.writeInt(-1);
+            }
+        });
+    }
+
+    private static ByteBuffer insert(String id, String balance, String version) throws IOException {
+        return message(out -> {
+            out.writeByte('I');
+            out.writeInt(USERS_RELATION);
+            out.writeByte('N');
+            writeTuple(out, id, balance, version);
+        });
+    }
+
+    private static ByteBuffer update(String oldId, String id, String balance, String version) throws IOException {
+        return message(out -> {
+            out.writeByte('U');
+            out.writeInt(USERS_RELATION);
+            if (oldId != null) {
+                out.writeByte('K');
+                writeTuple(out, oldId, null, null);
+            }
+            out.writeByte('N');
+            writeTuple(out, id, balance, version);
+        });
+    }
+
+    private static void writeTuple(DataOutputStream out, String... values) throws IOException {
+        out.writeShort(values.length);
+        for (String value : values) {
+            if (value == null) {
+                out.writeByte('n');
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeByte('t');
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.write(value.getBytes(StandardCharsets.UTF_8));
+        out.writeByte(0);
+    }
+
+    private static ByteBuffer message(MessageWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writer.write(new DataOutputStream(bytes));
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    @FunctionalInterface
+    private interface MessageWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
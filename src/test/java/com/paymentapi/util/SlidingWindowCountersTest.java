@@ -0,0 +1,128 @@
+package com.paymentapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.paymentapi.util.SlidingWindowCounters.Decision;
+import com.paymentapi.util.SlidingWindowCounters.Usage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes unitários para SlidingWindowCounters.
+ */
+class SlidingWindowCountersTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+    private static final long MINUTE = 60_000L;
+    private static final long T0 = 1_767_225_600_000L; // 2026-01-01T00:00:00Z
+
+    private static final UUID USER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Test
+    @DisplayName("Deve recusar quando a soma da janela passaria do limite de valor")
+    void testAmountLimit() {
+        // Arrange
+        SlidingWindowCounters counters = counters(100);
+
+        // Act
+        Decision first = counters.tryAcquire(USER, 600, 1000, 100, T0);
+        Decision second = counters.tryAcquire(USER, 400, 1000, 100, T0 + HOUR);
+        Decision third = counters.tryAcquire(USER, 1, 1000, 100, T0 + 2 * HOUR);
+
+        // Assert
+        assertThat(first).isEqualTo(Decision.ALLOWED);
+        assertThat(second).isEqualTo(Decision.ALLOWED);
+        assertThat(third).isEqualTo(Decision.AMOUNT_EXCEEDED);
+        assertThat(counters.usage(USER, T0 + 2 * HOUR)).isEqualTo(new Usage(1000, 0));
+    }
+
+    @Test
+    @DisplayName("Deve recusar quando a contagem da janela passaria do limite")
+    void testCountLimit() {
+        // Arrange
+        SlidingWindowCounters counters = counters(100);
+        counters.tryAcquire(USER, 1, 1000, 2, T0);
+        counters.tryAcquire(USER, 1, 1000, 2, T0 + 1000);
+
+        // Act
+        Decision decision = counters.tryAcquire(USER, 1, 1000, 2, T0 + 2000);
+
+        // Assert
+        assertThat(decision).isEqualTo(Decision.COUNT_EXCEEDED);
+    }
+
+    @Test
+    @DisplayName("Deve liberar o que saiu da janela conforme o tempo passa")
+    void testWindowSlides() {
+        // Arrange
+        SlidingWindowCounters counters = counters(100);
+        counters.tryAcquire(USER, 600, 1000, 2, T0);
+        counters.tryAcquire(USER, 400, 1000, 2, T0 + 30_000);
+
+        // Act & Assert
+        assertThat(counters.tryAcquire(USER, 0, 1000, 2, T0 + 40_000)).isEqualTo(Decision.COUNT_EXCEEDED);
+        assertThat(counters.usage(USER, T0 + MINUTE)).isEqualTo(new Usage(1000, 1));
+        assertThat(counters.usage(USER, T0 + 2 * MINUTE)).isEqualTo(new Usage(1000, 0));
+        assertThat(counters.usage(USER, T0 + DAY)).isEqualTo(new Usage(0, 0));
+        assertThat(counters.tryAcquire(USER, 1000, 1000, 2, T0 + DAY)).isEqualTo(Decision.ALLOWED);
+    }
+
+    @Test
+    @DisplayName("Deve desfazer uma reserva e ignorar eventos mais velhos que a janela")
+    void testReleaseAndOldEvents() {
+        // Arrange
+        SlidingWindowCounters counters = counters(100);
+        counters.tryAcquire(USER, 700, 1000, 10, T0 + HOUR);
+
+        // Act
+        counters.release(USER, 700, T0 + HOUR);
+        counters.record(USER, 500, T0 - DAY);
+        counters.record(USER, 300, T0 + 30 * MINUTE);
+
+        // Assert
+        assertThat(counters.usage(USER, T0 + HOUR)).isEqualTo(new Usage(300, 0));
+    }
+
+    @Test
+    @DisplayName("Deve manter no máximo maxKeys chaves, removendo as menos recentes")
+    void testEvictionKeepsSizeBounded() {
+        // Arrange
+        SlidingWindowCounters counters = counters(64);
+        List<UUID> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            keys.add(UUID.randomUUID());
+        }
+
+        // Act
+        for (int i = 0; i < keys.size(); i++) {
+            counters.record(keys.get(i), 1, T0 + i);
+        }
+
+        // Assert
+        assertThat(counters.size()).isLessThanOrEqualTo(64);
+        assertThat(counters.evictions()).isEqualTo(1000 - counters.size());
+        // As chaves que sobraram continuam encontráveis depois dos deslocamentos da remoção
+        long found = keys.stream().filter(key -> counters.usage(key, T0 + 1000).amount() == 1).count();
+        assertThat(found).isEqualTo(counters.size());
+        assertThat(counters.usage(keys.get(999), T0 + 1000).amount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar parâmetros inválidos")
+    void testInvalidParameters() {
+        // Act & Assert
+        assertThatThrownBy(() -> SlidingWindowCounters.create(0, DAY, 24, MINUTE, 6))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SlidingWindowCounters.create(10, DAY, 0, MINUTE, 6))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SlidingWindowCounters counters(int maxKeys) {
+        return SlidingWindowCounters.create(maxKeys, DAY, 24, MINUTE, 6);
+    }
+}
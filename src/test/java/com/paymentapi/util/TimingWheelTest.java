@@ -0,0 +1,80 @@
+package com.paymentapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes unitários para TimingWheel.
+ */
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Deve vencer o item no tick do seu instante, nunca antes")
+    void testExpiresAtDeadline() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, 0);
+        wheel.schedule("a", 250);
+
+        // Act & Assert
+        assertThat(wheel.advance(200)).isEmpty();
+        assertThat(wheel.advance(299)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve esperar as voltas extras de itens além de uma volta da roda")
+    void testMultipleRounds() {
+        // Arrange - roda de 4 ticks (400ms), item em 1s
+        TimingWheel<String> wheel = new TimingWheel<>(100, 4, 0);
+        wheel.schedule("far", 1000);
+        wheel.schedule("near", 200);
+
+        // Act & Assert - avança de tick em tick
+        for (long now = 0; now < 1000; now += 100) {
+            assertThat(wheel.advance(now)).doesNotContain("far");
+        }
+        assertThat(wheel.advance(1000)).containsExactly("far");
+    }
+
+    @Test
+    @DisplayName("Deve vencer tudo o que passou num avanço atrasado de várias voltas")
+    void testLateAdvanceSkippingRounds() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(100, 4, 0);
+        wheel.schedule("a", 300);
+        wheel.schedule("b", 900);
+        wheel.schedule("c", 2500);
+
+        // Act
+        var expired = wheel.advance(1500);
+
+        // Assert
+        assertThat(expired).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(2400)).isEmpty();
+        assertThat(wheel.advance(2500)).containsExactly("c");
+    }
+
+    @Test
+    @DisplayName("Deve vencer no próximo avanço um item agendado no passado")
+    void testPastDeadline() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, 1000);
+        wheel.advance(1000);
+        wheel.schedule("late", 500);
+
+        // Act & Assert
+        assertThat(wheel.advance(1100)).containsExactly("late");
+    }
+
+    @Test
+    @DisplayName("Deve recusar tick ou tamanho inválidos")
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> new TimingWheel<>(0, 8, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel<>(100, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}